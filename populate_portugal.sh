@@ -1,33 +1,52 @@
 #!/bin/bash
 
+# Imports every OpenChargeMap station in mainland Portugal with a single server-side job.
+# The service tiles the bounding box, fetches tiles concurrently within its OCM rate budget,
+# and resumes from its last checkpoint if it is restarted mid-import.
+
+base_url="${BASE_URL:-http://localhost/station/api/v1/openchargemap}"
+
 # Latitude and longitude bounds for Portugal
 min_lat=36.8
 max_lat=42.1
 min_lon=-9.5
 max_lon=-6.2
 
-# Degree steps (~0.1 ≈ 11 km lat, 8-9 km lon)
-lat_step=0.1
-lon_step=0.1
-
-# Delay in seconds between calls (adjust as needed)
-delay=1.5
+# Delay in seconds between progress checks
+poll_interval=5
 
 echo "Starting to populate Portugal..."
 
-for lat in $(seq $min_lat $lat_step $max_lat); do
-  for lon in $(seq $min_lon $lon_step $max_lon); do
-    echo "→ Populating at lat=$lat, lon=$lon"
-    
-    response=$(curl -s -w "\nHTTP_CODE:%{http_code}" -X POST "http://localhost/station/api/v1/openchargemap/populate?latitude=$lat&longitude=$lon&radius=100")
-    http_code=$(echo "$response" | grep "HTTP_CODE" | cut -d: -f2)
-    body=$(echo "$response" | sed '/HTTP_CODE/d')
-
-    echo "   ↳ Response ($http_code): $body"
-    echo ""
-
-    sleep $delay
-  done
+job=$(curl -s -X POST "$base_url/import-jobs" \
+  -H "Content-Type: application/json" \
+  -d "{\"minLatitude\": $min_lat, \"minLongitude\": $min_lon, \"maxLatitude\": $max_lat, \"maxLongitude\": $max_lon}")
+job_id=$(echo "$job" | sed -n 's/.*"id":\([0-9]*\).*/\1/p')
+
+if [ -z "$job_id" ]; then
+  echo "❌ Could not start import job: $job"
+  exit 1
+fi
+
+echo "→ Import job $job_id started"
+
+while true; do
+  job=$(curl -s "$base_url/import-jobs/$job_id")
+  status=$(echo "$job" | sed -n 's/.*"status":"\([A-Z]*\)".*/\1/p')
+  completed=$(echo "$job" | sed -n 's/.*"completedTiles":\([0-9]*\).*/\1/p')
+  total=$(echo "$job" | sed -n 's/.*"totalTiles":\([0-9]*\).*/\1/p')
+
+  echo "   ↳ $status: $completed/$total tiles"
+
+  case "$status" in
+    COMPLETED)
+      echo "✅ Population complete: $job"
+      exit 0
+      ;;
+    FAILED)
+      echo "❌ Import failed: $job"
+      exit 1
+      ;;
+  esac
+
+  sleep $poll_interval
 done
-
-echo "✅ Population complete."
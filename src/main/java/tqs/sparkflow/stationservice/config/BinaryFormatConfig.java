@@ -0,0 +1,34 @@
+package tqs.sparkflow.stationservice.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/**
+ * Binary encodings of the JSON API for bandwidth-constrained clients. A request with
+ * {@code Accept: application/cbor} or {@code Accept: application/x-jackson-smile} gets the same
+ * document as JSON, encoded in CBOR or Smile. Both converters are built from Boot's mapper
+ * builder, so they share the JSON mapper's modules and settings; clients that do not ask keep
+ * getting JSON.
+ */
+@Configuration
+public class BinaryFormatConfig {
+
+  @Bean
+  MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(
+      Jackson2ObjectMapperBuilder builder) {
+    return new MappingJackson2CborHttpMessageConverter(
+        builder.factory(new CBORFactory()).build());
+  }
+
+  @Bean
+  MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(
+      Jackson2ObjectMapperBuilder builder) {
+    return new MappingJackson2SmileHttpMessageConverter(
+        builder.factory(new SmileFactory()).build());
+  }
+}
@@ -0,0 +1,33 @@
+package tqs.sparkflow.stationservice.config;
+
+import org.springframework.boot.autoconfigure.cache.CacheManagerCustomizer;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Enables the read-through station caches. Size and expiry come from
+ * {@code spring.cache.caffeine.spec}; the caches are listed in {@code spring.cache.cache-names} so
+ * they exist at startup and their hit, miss and eviction counts are published as
+ * {@code cache.*} metrics.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+  /** Stations keyed by database ID. */
+  public static final String STATIONS_BY_ID = "stationsById";
+
+  /** Stations keyed by OpenChargeMap external ID. */
+  public static final String STATIONS_BY_EXTERNAL_ID = "stationsByExternalId";
+
+  /**
+   * Defers evictions made inside a transaction until it commits, so a concurrent read cannot
+   * cache the old row again between the eviction and the commit.
+   */
+  @Bean
+  public CacheManagerCustomizer<CaffeineCacheManager> transactionAwareCaches() {
+    return cacheManager -> cacheManager.setTransactionAware(true);
+  }
+}
@@ -0,0 +1,40 @@
+package tqs.sparkflow.stationservice.config;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/** Settings for the background backfill of the BIGINT references of charging sessions. */
+@Configuration
+@ConfigurationProperties(prefix = "station.session-ref-backfill")
+public class ChargingSessionRefBackfillConfig {
+  private boolean enabled = true;
+  private int batchSize = 5000;
+  private Duration pause = Duration.ofMillis(50);
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  public void setEnabled(boolean enabled) {
+    this.enabled = enabled;
+  }
+
+  /** Width of the ID range updated by one statement. */
+  public int getBatchSize() {
+    return batchSize;
+  }
+
+  public void setBatchSize(int batchSize) {
+    this.batchSize = batchSize;
+  }
+
+  /** Pause between two batches, which leaves room for other writers and for replicas. */
+  public Duration getPause() {
+    return pause;
+  }
+
+  public void setPause(Duration pause) {
+    this.pause = pause;
+  }
+}
@@ -0,0 +1,93 @@
+package tqs.sparkflow.stationservice.config;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Connection pool and timeout settings for outbound HTTP clients, one pool per downstream
+ * service so a slow dependency cannot starve calls to the others.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "http.client")
+public class HttpClientPoolConfig {
+  private Pool openchargemap = new Pool(10, Duration.ofSeconds(5), Duration.ofSeconds(30));
+  private Pool userService = new Pool(50, Duration.ofSeconds(1), Duration.ofSeconds(2));
+
+  public Pool getOpenchargemap() {
+    return openchargemap;
+  }
+
+  public void setOpenchargemap(Pool openchargemap) {
+    this.openchargemap = openchargemap;
+  }
+
+  public Pool getUserService() {
+    return userService;
+  }
+
+  public void setUserService(Pool userService) {
+    this.userService = userService;
+  }
+
+  /** Settings of a single client's connection pool. */
+  public static class Pool {
+    private int maxConnections;
+    private Duration connectTimeout;
+    private Duration readTimeout;
+    private Duration connectionRequestTimeout = Duration.ofSeconds(1);
+    private Duration idleTimeout = Duration.ofSeconds(30);
+
+    public Pool() {
+      this(20, Duration.ofSeconds(2), Duration.ofSeconds(5));
+    }
+
+    public Pool(int maxConnections, Duration connectTimeout, Duration readTimeout) {
+      this.maxConnections = maxConnections;
+      this.connectTimeout = connectTimeout;
+      this.readTimeout = readTimeout;
+    }
+
+    /** Maximum open connections; each client talks to one destination, so this is per route. */
+    public int getMaxConnections() {
+      return maxConnections;
+    }
+
+    public void setMaxConnections(int maxConnections) {
+      this.maxConnections = maxConnections;
+    }
+
+    public Duration getConnectTimeout() {
+      return connectTimeout;
+    }
+
+    public void setConnectTimeout(Duration connectTimeout) {
+      this.connectTimeout = connectTimeout;
+    }
+
+    public Duration getReadTimeout() {
+      return readTimeout;
+    }
+
+    public void setReadTimeout(Duration readTimeout) {
+      this.readTimeout = readTimeout;
+    }
+
+    /** How long a request may wait for a free pooled connection. */
+    public Duration getConnectionRequestTimeout() {
+      return connectionRequestTimeout;
+    }
+
+    public void setConnectionRequestTimeout(Duration connectionRequestTimeout) {
+      this.connectionRequestTimeout = connectionRequestTimeout;
+    }
+
+    public Duration getIdleTimeout() {
+      return idleTimeout;
+    }
+
+    public void setIdleTimeout(Duration idleTimeout) {
+      this.idleTimeout = idleTimeout;
+    }
+  }
+}
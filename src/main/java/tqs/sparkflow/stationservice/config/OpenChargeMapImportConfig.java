@@ -0,0 +1,76 @@
+package tqs.sparkflow.stationservice.config;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/** Settings for server-side OpenChargeMap region import jobs. */
+@Configuration
+@ConfigurationProperties(prefix = "openchargemap.import")
+public class OpenChargeMapImportConfig {
+  private double tileSizeDegrees = 0.5;
+  private int concurrency = 4;
+  private double requestsPerSecond = 1.0;
+  private int maxResultsPerTile = 5000;
+  private boolean resumeOnStartup = true;
+  private int tileAttempts = 3;
+  private Duration tileRetryDelay = Duration.ofSeconds(2);
+
+  public double getTileSizeDegrees() {
+    return tileSizeDegrees;
+  }
+
+  public void setTileSizeDegrees(double tileSizeDegrees) {
+    this.tileSizeDegrees = tileSizeDegrees;
+  }
+
+  public int getConcurrency() {
+    return concurrency;
+  }
+
+  public void setConcurrency(int concurrency) {
+    this.concurrency = concurrency;
+  }
+
+  public double getRequestsPerSecond() {
+    return requestsPerSecond;
+  }
+
+  public void setRequestsPerSecond(double requestsPerSecond) {
+    this.requestsPerSecond = requestsPerSecond;
+  }
+
+  public int getMaxResultsPerTile() {
+    return maxResultsPerTile;
+  }
+
+  public void setMaxResultsPerTile(int maxResultsPerTile) {
+    this.maxResultsPerTile = maxResultsPerTile;
+  }
+
+  public boolean isResumeOnStartup() {
+    return resumeOnStartup;
+  }
+
+  public void setResumeOnStartup(boolean resumeOnStartup) {
+    this.resumeOnStartup = resumeOnStartup;
+  }
+
+  /** Attempts per tile before the job fails, including the first one. */
+  public int getTileAttempts() {
+    return tileAttempts;
+  }
+
+  public void setTileAttempts(int tileAttempts) {
+    this.tileAttempts = tileAttempts;
+  }
+
+  /** Delay before the second attempt of a tile; later attempts wait proportionally longer. */
+  public Duration getTileRetryDelay() {
+    return tileRetryDelay;
+  }
+
+  public void setTileRetryDelay(Duration tileRetryDelay) {
+    this.tileRetryDelay = tileRetryDelay;
+  }
+}
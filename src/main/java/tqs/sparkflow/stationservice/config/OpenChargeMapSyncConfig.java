@@ -0,0 +1,71 @@
+package tqs.sparkflow.stationservice.config;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/** Settings for the scheduled OpenChargeMap delta sync. */
+@Configuration
+@ConfigurationProperties(prefix = "openchargemap.sync")
+public class OpenChargeMapSyncConfig {
+  private boolean enabled = true;
+  private int pageSize = 1000;
+  private int maxPages = 500;
+  private int initialLookbackDays = 7;
+  private int overlapMinutes = 5;
+  private List<String> countryCodes = new ArrayList<>();
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  public void setEnabled(boolean enabled) {
+    this.enabled = enabled;
+  }
+
+  public int getPageSize() {
+    return pageSize;
+  }
+
+  public void setPageSize(int pageSize) {
+    this.pageSize = pageSize;
+  }
+
+  public int getMaxPages() {
+    return maxPages;
+  }
+
+  public void setMaxPages(int maxPages) {
+    this.maxPages = maxPages;
+  }
+
+  public int getInitialLookbackDays() {
+    return initialLookbackDays;
+  }
+
+  public void setInitialLookbackDays(int initialLookbackDays) {
+    this.initialLookbackDays = initialLookbackDays;
+  }
+
+  public int getOverlapMinutes() {
+    return overlapMinutes;
+  }
+
+  public void setOverlapMinutes(int overlapMinutes) {
+    this.overlapMinutes = overlapMinutes;
+  }
+
+  /**
+   * ISO codes of the countries the service imports. The sync only fetches changes in these
+   * countries and inserts the stations new to them; when empty, it fetches worldwide changes but
+   * only updates stations already imported.
+   */
+  public List<String> getCountryCodes() {
+    return countryCodes;
+  }
+
+  public void setCountryCodes(List<String> countryCodes) {
+    this.countryCodes = countryCodes;
+  }
+}
@@ -0,0 +1,39 @@
+package tqs.sparkflow.stationservice.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/** Settings for the monthly partitions of charging sessions and bookings. */
+@Configuration
+@ConfigurationProperties(prefix = "station.archive")
+public class PartitionArchiveConfig {
+  private boolean enabled = true;
+  private int retentionMonths = 24;
+  private int monthsAhead = 3;
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  public void setEnabled(boolean enabled) {
+    this.enabled = enabled;
+  }
+
+  /** Months kept in the live tables besides the current one; older months are archived. */
+  public int getRetentionMonths() {
+    return retentionMonths;
+  }
+
+  public void setRetentionMonths(int retentionMonths) {
+    this.retentionMonths = retentionMonths;
+  }
+
+  /** Months after the current one that must already have their own partition. */
+  public int getMonthsAhead() {
+    return monthsAhead;
+  }
+
+  public void setMonthsAhead(int monthsAhead) {
+    this.monthsAhead = monthsAhead;
+  }
+}
@@ -0,0 +1,77 @@
+package tqs.sparkflow.stationservice.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.util.StringUtils;
+
+/**
+ * Routes read-only transactions to a MySQL read replica once {@code spring.datasource.replica.url}
+ * is set; without it Boot's single auto-configured pool is used. Both pools are Hikari pools: the
+ * primary takes the usual {@code spring.datasource.*} and {@code spring.datasource.hikari.*}
+ * settings, the replica {@code spring.datasource.replica.*} and
+ * {@code spring.datasource.replica.hikari.*}, with the primary's credentials when it has none.
+ * Each pool publishes its {@code hikaricp.*} metrics under its own pool name.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "spring.datasource.replica", name = "url")
+public class ReadReplicaDataSourceConfig {
+  static final String PRIMARY_POOL = "station-primary";
+  static final String REPLICA_POOL = "station-replica";
+
+  /**
+   * The application's data source, choosing the pool per transaction.
+   *
+   * @param properties The primary's {@code spring.datasource.*} settings
+   * @param environment The environment holding the replica's settings
+   * @param meterRegistry The registry for the pool metrics, if metrics are enabled
+   * @return The routing data source
+   */
+  @Bean
+  @Primary
+  public DataSource dataSource(DataSourceProperties properties, Environment environment,
+      ObjectProvider<MeterRegistry> meterRegistry) {
+    Binder binder = Binder.get(environment);
+    DataSourceProperties replicaProperties =
+        binder.bind("spring.datasource.replica", DataSourceProperties.class).get();
+    if (!StringUtils.hasText(replicaProperties.getUsername())) {
+      replicaProperties.setUsername(properties.getUsername());
+      replicaProperties.setPassword(properties.getPassword());
+    }
+    if (!StringUtils.hasText(replicaProperties.getDriverClassName())) {
+      replicaProperties.setDriverClassName(properties.getDriverClassName());
+    }
+    MeterRegistry registry = meterRegistry.getIfAvailable();
+    HikariDataSource primary =
+        pool(properties, binder, "spring.datasource.hikari", PRIMARY_POOL, registry);
+    HikariDataSource replica =
+        pool(replicaProperties, binder, "spring.datasource.replica.hikari", REPLICA_POOL, registry);
+    replica.setReadOnly(true);
+    return new ReadWriteDataSource(primary, replica);
+  }
+
+  private static HikariDataSource pool(DataSourceProperties properties, Binder binder,
+      String hikariPrefix, String defaultPoolName, MeterRegistry registry) {
+    HikariDataSource pool =
+        properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    binder.bind(hikariPrefix, Bindable.ofInstance(pool));
+    if (!StringUtils.hasText(pool.getPoolName())) {
+      pool.setPoolName(defaultPoolName);
+    }
+    if (registry != null) {
+      // Boot only binds metrics to the pool it unwraps from the DataSource bean, not the replica
+      pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry));
+    }
+    return pool;
+  }
+}
@@ -0,0 +1,62 @@
+package tqs.sparkflow.stationservice.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import java.io.Closeable;
+import java.util.Map;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Sends the statements of read-only transactions to the replica pool and everything else to the
+ * primary pool. The physical connection is only fetched on the first statement: the transaction
+ * manager asks for a connection before it marks the transaction read-only, so choosing the pool
+ * any earlier would always pick the primary.
+ */
+class ReadWriteDataSource extends LazyConnectionDataSourceProxy implements Closeable {
+
+  /** The pool a connection is taken from. */
+  enum Target {
+    PRIMARY, REPLICA
+  }
+
+  private final HikariDataSource primary;
+  private final HikariDataSource replica;
+
+  ReadWriteDataSource(HikariDataSource primary, HikariDataSource replica) {
+    super(routing(primary, replica));
+    this.primary = primary;
+    this.replica = replica;
+  }
+
+  /**
+   * The pool the current thread's next connection comes from.
+   *
+   * @return {@link Target#REPLICA} inside a read-only transaction, otherwise {@link Target#PRIMARY}
+   */
+  static Target currentTarget() {
+    return TransactionSynchronizationManager.isCurrentTransactionReadOnly() ? Target.REPLICA
+        : Target.PRIMARY;
+  }
+
+  @Override
+  public void close() {
+    replica.close();
+    primary.close();
+  }
+
+  private static AbstractRoutingDataSource routing(HikariDataSource primary,
+      HikariDataSource replica) {
+    AbstractRoutingDataSource routing = new AbstractRoutingDataSource() {
+      @Override
+      protected Object determineCurrentLookupKey() {
+        return currentTarget();
+      }
+    };
+    routing.setTargetDataSources(Map.of(Target.PRIMARY, primary, Target.REPLICA, replica));
+    routing.setDefaultTargetDataSource(primary);
+    routing.setLenientFallback(false);
+    routing.afterPropertiesSet();
+    return routing;
+  }
+}
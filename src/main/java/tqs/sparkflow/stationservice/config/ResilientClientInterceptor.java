@@ -0,0 +1,177 @@
+package tqs.sparkflow.stationservice.config;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.web.client.HttpServerErrorException;
+
+/**
+ * Guards an outbound client with a semaphore bulkhead and a circuit breaker, so a slow or failing
+ * downstream is rejected immediately instead of holding request threads. I/O failures and 5xx
+ * answers count against the breaker; 4xx answers mean the downstream is working. A call holds its
+ * permit and is timed until its response is closed, so reading the body is guarded too. Rejected
+ * calls throw {@link BulkheadFullException} or {@link CallNotPermittedException} and are counted in
+ * {@code http.client.requests.rejected}, tagged with the client name and the reason.
+ */
+class ResilientClientInterceptor implements ClientHttpRequestInterceptor {
+
+  static final String REJECTED_METRIC = "http.client.requests.rejected";
+
+  private final String name;
+  private final CircuitBreaker circuitBreaker;
+  private final Bulkhead bulkhead;
+  private final MeterRegistry meterRegistry;
+
+  ResilientClientInterceptor(String name, CircuitBreaker circuitBreaker, Bulkhead bulkhead,
+      MeterRegistry meterRegistry) {
+    this.name = name;
+    this.circuitBreaker = circuitBreaker;
+    this.bulkhead = bulkhead;
+    this.meterRegistry = meterRegistry;
+  }
+
+  @Override
+  public ClientHttpResponse intercept(HttpRequest request, byte[] body,
+      ClientHttpRequestExecution execution) throws IOException {
+    if (!bulkhead.tryAcquirePermission()) {
+      recordRejection("bulkhead");
+      throw BulkheadFullException.createBulkheadFullException(bulkhead);
+    }
+    long start;
+    ClientHttpResponse response;
+    HttpStatusCode status;
+    try {
+      if (!circuitBreaker.tryAcquirePermission()) {
+        recordRejection("circuit_open");
+        throw CallNotPermittedException.createCallNotPermittedException(circuitBreaker);
+      }
+      start = circuitBreaker.getCurrentTimestamp();
+      try {
+        response = execution.execute(request, body);
+        status = response.getStatusCode();
+      } catch (IOException | RuntimeException e) {
+        circuitBreaker.onError(circuitBreaker.getCurrentTimestamp() - start,
+            circuitBreaker.getTimestampUnit(), e);
+        throw e;
+      }
+    } catch (IOException | RuntimeException e) {
+      bulkhead.onComplete();
+      throw e;
+    }
+    return new GuardedResponse(response, status, start);
+  }
+
+  private void recordRejection(String reason) {
+    if (meterRegistry != null) {
+      meterRegistry.counter(REJECTED_METRIC, "client", name, "reason", reason).increment();
+    }
+  }
+
+  /**
+   * Holds the bulkhead permit until the body has been read and the response closed, and records
+   * the outcome then, so a slow or broken body counts like a slow or failed call. A body read
+   * error counts as a failure.
+   */
+  private final class GuardedResponse implements ClientHttpResponse {
+
+    private final ClientHttpResponse delegate;
+    private final HttpStatusCode status;
+    private final long start;
+    private final AtomicBoolean completed = new AtomicBoolean();
+    private InputStream body;
+
+    GuardedResponse(ClientHttpResponse delegate, HttpStatusCode status, long start) {
+      this.delegate = delegate;
+      this.status = status;
+      this.start = start;
+    }
+
+    @Override
+    public HttpStatusCode getStatusCode() {
+      return status;
+    }
+
+    @Override
+    public String getStatusText() throws IOException {
+      return delegate.getStatusText();
+    }
+
+    @Override
+    public HttpHeaders getHeaders() {
+      return delegate.getHeaders();
+    }
+
+    @Override
+    public InputStream getBody() throws IOException {
+      if (body == null) {
+        try {
+          body = new FilterInputStream(delegate.getBody()) {
+            @Override
+            public int read() throws IOException {
+              try {
+                return super.read();
+              } catch (IOException e) {
+                complete(e);
+                throw e;
+              }
+            }
+
+            @Override
+            public int read(byte[] buffer, int offset, int length) throws IOException {
+              try {
+                return super.read(buffer, offset, length);
+              } catch (IOException e) {
+                complete(e);
+                throw e;
+              }
+            }
+          };
+        } catch (IOException e) {
+          complete(e);
+          throw e;
+        }
+      }
+      return body;
+    }
+
+    @Override
+    public void close() {
+      try {
+        delegate.close();
+      } finally {
+        complete(null);
+      }
+    }
+
+    private void complete(Throwable failure) {
+      if (!completed.compareAndSet(false, true)) {
+        return;
+      }
+      try {
+        long duration = circuitBreaker.getCurrentTimestamp() - start;
+        if (failure != null) {
+          circuitBreaker.onError(duration, circuitBreaker.getTimestampUnit(), failure);
+        } else if (status.is5xxServerError()) {
+          circuitBreaker.onError(duration, circuitBreaker.getTimestampUnit(),
+              new HttpServerErrorException(status));
+        } else {
+          circuitBreaker.onSuccess(duration, circuitBreaker.getTimestampUnit());
+        }
+      } finally {
+        bulkhead.onComplete();
+      }
+    }
+  }
+}
@@ -1,20 +1,114 @@
 package tqs.sparkflow.stationservice.config;
 
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
-/** Configuration for RestTemplate. */
+/**
+ * Configuration for RestTemplate. OpenChargeMap and the user service each get their own pooled
+ * Apache HttpClient with bounded timeouts; pool usage is published as
+ * {@code httpcomponents.httpclient.pool.*} metrics tagged with the client name. Each client is
+ * also guarded by the Resilience4j circuit breaker and bulkhead instances of the same name,
+ * configured under {@code resilience4j.circuitbreaker.instances.*} and
+ * {@code resilience4j.bulkhead.instances.*}.
+ */
 @Configuration
 public class RestTemplateConfig {
 
+  public static final String OPEN_CHARGE_MAP = "openChargeMapRestTemplate";
+  public static final String USER_SERVICE = "userServiceRestTemplate";
+  static final String OPEN_CHARGE_MAP_CLIENT = "openchargemap";
+  static final String USER_SERVICE_CLIENT = "user-service";
+
+  /**
+   * Creates the RestTemplate used for OpenChargeMap API calls.
+   *
+   * @param config The HTTP client pool settings
+   * @param meterRegistry The registry for pool metrics, if available
+   * @param circuitBreakers The circuit breaker registry, if available
+   * @param bulkheads The bulkhead registry, if available
+   * @return the RestTemplate instance
+   */
+  @Bean(OPEN_CHARGE_MAP)
+  public RestTemplate openChargeMapRestTemplate(HttpClientPoolConfig config,
+      ObjectProvider<MeterRegistry> meterRegistry,
+      ObjectProvider<CircuitBreakerRegistry> circuitBreakers,
+      ObjectProvider<BulkheadRegistry> bulkheads) {
+    RestTemplate restTemplate = pooledRestTemplate(OPEN_CHARGE_MAP_CLIENT,
+        config.getOpenchargemap(), meterRegistry.getIfAvailable());
+    return guarded(restTemplate, OPEN_CHARGE_MAP_CLIENT, circuitBreakers.getIfAvailable(),
+        bulkheads.getIfAvailable(), meterRegistry.getIfAvailable());
+  }
+
   /**
-   * Creates a RestTemplate bean.
+   * Creates the RestTemplate used for user-service permission checks.
    *
+   * @param config The HTTP client pool settings
+   * @param meterRegistry The registry for pool metrics, if available
+   * @param circuitBreakers The circuit breaker registry, if available
+   * @param bulkheads The bulkhead registry, if available
    * @return the RestTemplate instance
    */
-  @Bean
-  public RestTemplate restTemplate() {
-    return new RestTemplate();
+  @Bean(USER_SERVICE)
+  public RestTemplate userServiceRestTemplate(HttpClientPoolConfig config,
+      ObjectProvider<MeterRegistry> meterRegistry,
+      ObjectProvider<CircuitBreakerRegistry> circuitBreakers,
+      ObjectProvider<BulkheadRegistry> bulkheads) {
+    RestTemplate restTemplate = pooledRestTemplate(USER_SERVICE_CLIENT, config.getUserService(),
+        meterRegistry.getIfAvailable());
+    return guarded(restTemplate, USER_SERVICE_CLIENT, circuitBreakers.getIfAvailable(),
+        bulkheads.getIfAvailable(), meterRegistry.getIfAvailable());
+  }
+
+  static RestTemplate guarded(RestTemplate restTemplate, String name,
+      CircuitBreakerRegistry circuitBreakers, BulkheadRegistry bulkheads,
+      MeterRegistry meterRegistry) {
+    if (circuitBreakers != null && bulkheads != null) {
+      restTemplate.getInterceptors().add(new ResilientClientInterceptor(name,
+          circuitBreakers.circuitBreaker(name), bulkheads.bulkhead(name), meterRegistry));
+    }
+    return restTemplate;
+  }
+
+  static RestTemplate pooledRestTemplate(String name, HttpClientPoolConfig.Pool pool,
+      MeterRegistry meterRegistry) {
+    PoolingHttpClientConnectionManager connectionManager =
+        PoolingHttpClientConnectionManagerBuilder.create()
+            .setMaxConnTotal(pool.getMaxConnections())
+            .setMaxConnPerRoute(pool.getMaxConnections())
+            .setDefaultConnectionConfig(ConnectionConfig.custom()
+                .setConnectTimeout(Timeout.of(pool.getConnectTimeout()))
+                .setSocketTimeout(Timeout.of(pool.getReadTimeout()))
+                .build())
+            .build();
+    if (meterRegistry != null) {
+      new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, name)
+          .bindTo(meterRegistry);
+    }
+
+    CloseableHttpClient httpClient = HttpClients.custom()
+        .setConnectionManager(connectionManager)
+        .setDefaultRequestConfig(RequestConfig.custom()
+            .setConnectionRequestTimeout(Timeout.of(pool.getConnectionRequestTimeout()))
+            .setResponseTimeout(Timeout.of(pool.getReadTimeout()))
+            .build())
+        .evictExpiredConnections()
+        .evictIdleConnections(TimeValue.of(pool.getIdleTimeout()))
+        .build();
+    return new RestTemplate(new HttpComponentsClientHttpRequestFactory(httpClient));
   }
 }
@@ -10,6 +10,11 @@ public class RoutePlanningConfig {
   private double maxBatteryPercentage = 0.8;
   private double maxDetourDistance = 20.0;
   private double requestsPerSecond = 10.0;
+  private String scoringStrategy = "fastest";
+  private double averageSpeedKmh = 90.0;
+  private double defaultPowerKw = 22.0;
+  private double defaultPricePerKwh = 0.35;
+  private double queueWaitMinutes = 30.0;
 
   public double getMinBatteryPercentage() {
     return minBatteryPercentage;
@@ -42,4 +47,44 @@ public class RoutePlanningConfig {
   public void setRequestsPerSecond(double requestsPerSecond) {
     this.requestsPerSecond = requestsPerSecond;
   }
+
+  public String getScoringStrategy() {
+    return scoringStrategy;
+  }
+
+  public void setScoringStrategy(String scoringStrategy) {
+    this.scoringStrategy = scoringStrategy;
+  }
+
+  public double getAverageSpeedKmh() {
+    return averageSpeedKmh;
+  }
+
+  public void setAverageSpeedKmh(double averageSpeedKmh) {
+    this.averageSpeedKmh = averageSpeedKmh;
+  }
+
+  public double getDefaultPowerKw() {
+    return defaultPowerKw;
+  }
+
+  public void setDefaultPowerKw(double defaultPowerKw) {
+    this.defaultPowerKw = defaultPowerKw;
+  }
+
+  public double getDefaultPricePerKwh() {
+    return defaultPricePerKwh;
+  }
+
+  public void setDefaultPricePerKwh(double defaultPricePerKwh) {
+    this.defaultPricePerKwh = defaultPricePerKwh;
+  }
+
+  public double getQueueWaitMinutes() {
+    return queueWaitMinutes;
+  }
+
+  public void setQueueWaitMinutes(double queueWaitMinutes) {
+    this.queueWaitMinutes = queueWaitMinutes;
+  }
 }
@@ -0,0 +1,10 @@
+package tqs.sparkflow.stationservice.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/** Enables scheduled background jobs such as the statistics rollup backfill. */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,106 @@
+package tqs.sparkflow.stationservice.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Records the latency of every JDBC statement in the {@code db.query} timer, tagged with the
+ * statement's signature (its SQL with literals and IN lists collapsed) and outcome, and logs the
+ * slow and sampled statements. The log goes through an asynchronous appender (see
+ * {@code logback-spring.xml}), so a burst of slow statements never blocks the calling thread.
+ * Signatures beyond {@code maxSignatures} share the tag {@code other}, and each timer publishes
+ * only four latency buckets (10 ms, 50 ms, the slow threshold and 1 s) rather than a full
+ * percentile histogram, to bound the number of series.
+ */
+class SlowQueryListener implements QueryExecutionListener {
+
+  static final String METRIC = "db.query";
+  static final String OTHER_SIGNATURE = "other";
+
+  private static final Logger log = LoggerFactory.getLogger(SlowQueryListener.class);
+  private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+  private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+  private static final Pattern IN_LIST = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)+\\s*\\)");
+  private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+  private static final int MAX_SIGNATURE_LENGTH = 300;
+
+  private final MeterRegistry meterRegistry;
+  private final long slowThresholdMillis;
+  private final double sampleRate;
+  private final int maxSignatures;
+  private final Duration[] buckets;
+  private final Map<String, String> signatures = new ConcurrentHashMap<>();
+
+  SlowQueryListener(SqlMonitoringConfig config, MeterRegistry meterRegistry) {
+    this.meterRegistry = meterRegistry;
+    this.slowThresholdMillis = config.getSlowThreshold().toMillis();
+    this.sampleRate = config.getSampleRate();
+    this.maxSignatures = config.getMaxSignatures();
+    this.buckets = new Duration[] {Duration.ofMillis(10), Duration.ofMillis(50),
+        config.getSlowThreshold(), Duration.ofSeconds(1)};
+  }
+
+  @Override
+  public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    // Only completed statements are recorded
+  }
+
+  @Override
+  public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    if (queryInfoList.isEmpty()) {
+      return;
+    }
+    long elapsedMillis = execInfo.getElapsedTime();
+    String signature = tag(signature(queryInfoList.get(0).getQuery()));
+    Timer.builder(METRIC).tag("signature", signature)
+        .tag("outcome", execInfo.isSuccess() ? "success" : "error")
+        .serviceLevelObjectives(buckets).register(meterRegistry)
+        .record(elapsedMillis, TimeUnit.MILLISECONDS);
+    if (elapsedMillis >= slowThresholdMillis) {
+      log.warn("Slow query took {} ms (batch size {}): {}", elapsedMillis,
+          execInfo.getBatchSize(), signature);
+    } else if (sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate) {
+      log.info("Sampled query took {} ms (batch size {}): {}", elapsedMillis,
+          execInfo.getBatchSize(), signature);
+    }
+  }
+
+  /**
+   * Reduces a statement to its shape: literals become {@code ?}, IN lists become {@code (?)} and
+   * whitespace is collapsed, so statements differing only in their values share a signature.
+   *
+   * @param sql The statement
+   * @return The signature, truncated to a bounded length
+   */
+  static String signature(String sql) {
+    String signature = STRING_LITERAL.matcher(sql).replaceAll("?");
+    signature = NUMBER_LITERAL.matcher(signature).replaceAll("?");
+    signature = IN_LIST.matcher(signature).replaceAll("(?)");
+    signature = WHITESPACE.matcher(signature).replaceAll(" ").trim();
+    return signature.length() > MAX_SIGNATURE_LENGTH
+        ? signature.substring(0, MAX_SIGNATURE_LENGTH) : signature;
+  }
+
+  private String tag(String signature) {
+    String known = signatures.get(signature);
+    if (known != null) {
+      return known;
+    }
+    if (signatures.size() >= maxSignatures) {
+      return OTHER_SIGNATURE;
+    }
+    return signatures.computeIfAbsent(signature, s -> s);
+  }
+}
@@ -0,0 +1,75 @@
+package tqs.sparkflow.stationservice.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import javax.sql.DataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.lang.NonNull;
+
+/**
+ * Monitors every JDBC statement by wrapping the data source in a datasource-proxy that reports to
+ * {@link SlowQueryListener}: each statement is timed per signature, and only statements slower
+ * than {@code slowThreshold}, plus a {@code sampleRate} fraction of the others, are logged.
+ * Replaces Hibernate's {@code show-sql}, which prints every statement synchronously.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "station.sql")
+public class SqlMonitoringConfig {
+  private Duration slowThreshold = Duration.ofMillis(200);
+  private double sampleRate = 0.0;
+  private int maxSignatures = 50;
+
+  /**
+   * Wraps data sources as they are created. Static, and resolving its dependencies only then, so
+   * that registering the post-processor does not initialise other beans early.
+   */
+  @Bean
+  static BeanPostProcessor dataSourceProxyPostProcessor(
+      ObjectProvider<SqlMonitoringConfig> config, ObjectProvider<MeterRegistry> meterRegistry) {
+    return new BeanPostProcessor() {
+      @Override
+      public Object postProcessAfterInitialization(@NonNull Object bean,
+          @NonNull String beanName) {
+        if (!(bean instanceof DataSource dataSource) || bean instanceof ProxyDataSource) {
+          return bean;
+        }
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        if (registry == null) {
+          return bean;
+        }
+        return ProxyDataSourceBuilder.create(dataSource).name(beanName)
+            .listener(new SlowQueryListener(config.getObject(), registry)).build();
+      }
+    };
+  }
+
+  public Duration getSlowThreshold() {
+    return slowThreshold;
+  }
+
+  public void setSlowThreshold(Duration slowThreshold) {
+    this.slowThreshold = slowThreshold;
+  }
+
+  public double getSampleRate() {
+    return sampleRate;
+  }
+
+  public void setSampleRate(double sampleRate) {
+    this.sampleRate = sampleRate;
+  }
+
+  public int getMaxSignatures() {
+    return maxSignatures;
+  }
+
+  public void setMaxSignatures(int maxSignatures) {
+    this.maxSignatures = maxSignatures;
+  }
+}
@@ -0,0 +1,98 @@
+package tqs.sparkflow.stationservice.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.util.Map;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.lang.NonNull;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+import tqs.sparkflow.stationservice.controller.StationETag;
+import tqs.sparkflow.stationservice.controller.StationETags;
+import tqs.sparkflow.stationservice.service.StationSnapshot;
+import tqs.sparkflow.stationservice.service.StationSnapshotService;
+
+/**
+ * Answers conditional GETs on endpoints annotated with {@link StationETag} from the in-memory
+ * station snapshot, so a client whose copy is current gets a 304 without a database query or
+ * JSON serialisation. Otherwise the request proceeds with the configured {@code Cache-Control};
+ * the list and count ETags are set here, computed before the body so the tag is never newer than
+ * the body, while a single station's ETag is set by the controller from the station it returns.
+ * Tags depend on the encoding the {@code Accept} header selects, so every such response carries
+ * {@code Vary: Accept}.
+ *
+ * <p>The snapshot reflects writes from other instances only after
+ * {@code station.snapshot.max-age}, which therefore also bounds how long such a write can go
+ * unnoticed by a revalidating client.
+ */
+class StationConditionalGetInterceptor implements HandlerInterceptor {
+
+  private final StationSnapshotService stationSnapshots;
+  private final StationHttpCacheConfig config;
+
+  StationConditionalGetInterceptor(StationSnapshotService stationSnapshots,
+      StationHttpCacheConfig config) {
+    this.stationSnapshots = stationSnapshots;
+    this.config = config;
+  }
+
+  @Override
+  public boolean preHandle(@NonNull HttpServletRequest request,
+      @NonNull HttpServletResponse response, @NonNull Object handler) {
+    if (!(handler instanceof HandlerMethod method)
+        || !HttpMethod.GET.matches(request.getMethod())) {
+      return true;
+    }
+    StationETag annotation = method.getMethodAnnotation(StationETag.class);
+    if (annotation == null) {
+      return true;
+    }
+    StationSnapshot snapshot = stationSnapshots.current();
+    String accept = request.getHeader(HttpHeaders.ACCEPT);
+    response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+    String etag;
+    switch (annotation.value()) {
+      case LIST:
+        response.setHeader(HttpHeaders.CACHE_CONTROL, config.getListCacheControl());
+        etag = StationETags.forAccept(
+            StationETags.stations(snapshot, request.getParameter("fields")), accept);
+        response.setHeader(HttpHeaders.ETAG, etag);
+        break;
+      case COUNT:
+        response.setHeader(HttpHeaders.CACHE_CONTROL, config.getCountCacheControl());
+        etag = StationETags.forAccept(StationETags.stations(snapshot), accept);
+        response.setHeader(HttpHeaders.ETAG, etag);
+        break;
+      default:
+        response.setHeader(HttpHeaders.CACHE_CONTROL, config.getStationCacheControl());
+        etag = stationETag(request, snapshot);
+        etag = etag != null ? StationETags.forAccept(etag, accept) : null;
+        break;
+    }
+    if (etag == null || !StationETags.matches(request.getHeaders(HttpHeaders.IF_NONE_MATCH),
+        etag)) {
+      return true;
+    }
+    response.setHeader(HttpHeaders.ETAG, etag);
+    response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+    return false;
+  }
+
+  /** The ETag of the requested station, or null when the snapshot does not hold it. */
+  private static String stationETag(HttpServletRequest request, StationSnapshot snapshot) {
+    Object variables = request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+    if (!(variables instanceof Map<?, ?> map) || !(map.get("id") instanceof String value)) {
+      return null;
+    }
+    long id;
+    try {
+      id = Long.parseLong(value);
+    } catch (NumberFormatException e) {
+      return null;
+    }
+    int row = snapshot.indexOf(id);
+    return row >= 0 ? StationETags.station(id, snapshot.version(row)) : null;
+  }
+}
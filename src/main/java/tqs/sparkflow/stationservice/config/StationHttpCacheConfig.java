@@ -0,0 +1,49 @@
+package tqs.sparkflow.stationservice.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import tqs.sparkflow.stationservice.service.StationSnapshotService;
+
+/**
+ * HTTP caching of the station read endpoints. Each endpoint has its own {@code Cache-Control}
+ * value; the default, {@code no-cache}, lets clients keep a copy but makes them revalidate it
+ * with its ETag on every use.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "station.http-cache")
+public class StationHttpCacheConfig {
+  private String listCacheControl = "no-cache";
+  private String stationCacheControl = "no-cache";
+  private String countCacheControl = "no-cache";
+
+  @Bean
+  StationConditionalGetInterceptor stationConditionalGetInterceptor(
+      StationSnapshotService stationSnapshots) {
+    return new StationConditionalGetInterceptor(stationSnapshots, this);
+  }
+
+  public String getListCacheControl() {
+    return listCacheControl;
+  }
+
+  public void setListCacheControl(String listCacheControl) {
+    this.listCacheControl = listCacheControl;
+  }
+
+  public String getStationCacheControl() {
+    return stationCacheControl;
+  }
+
+  public void setStationCacheControl(String stationCacheControl) {
+    this.stationCacheControl = stationCacheControl;
+  }
+
+  public String getCountCacheControl() {
+    return countCacheControl;
+  }
+
+  public void setCountCacheControl(String countCacheControl) {
+    this.countCacheControl = countCacheControl;
+  }
+}
@@ -0,0 +1,47 @@
+package tqs.sparkflow.stationservice.config;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/** Size, expiry and concurrency settings for the cached user-service lookups. */
+@Configuration
+@ConfigurationProperties(prefix = "user.service.cache")
+public class UserServiceCacheConfig {
+  private long maxSize = 10_000;
+  private Duration ttl = Duration.ofMinutes(5);
+  private Duration negativeTtl = Duration.ofSeconds(30);
+  private int lookupThreads = 16;
+
+  public long getMaxSize() {
+    return maxSize;
+  }
+
+  public void setMaxSize(long maxSize) {
+    this.maxSize = maxSize;
+  }
+
+  public Duration getTtl() {
+    return ttl;
+  }
+
+  public void setTtl(Duration ttl) {
+    this.ttl = ttl;
+  }
+
+  public Duration getNegativeTtl() {
+    return negativeTtl;
+  }
+
+  public void setNegativeTtl(Duration negativeTtl) {
+    this.negativeTtl = negativeTtl;
+  }
+
+  public int getLookupThreads() {
+    return lookupThreads;
+  }
+
+  public void setLookupThreads(int lookupThreads) {
+    this.lookupThreads = lookupThreads;
+  }
+}
@@ -1,7 +1,9 @@
 package tqs.sparkflow.stationservice.config;
 
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.lang.NonNull;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.PathMatchConfigurer;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
@@ -9,11 +11,23 @@ import tqs.sparkflow.stationservice.controller.RootController;
 
 /**
  * Web configuration that adds the /api/v1 prefix to controllers except RootController and
- * SpringDoc. This centralizes the API versioning and makes it easier to maintain.
+ * SpringDoc. This centralizes the API versioning and makes it easier to maintain. Also registers
+ * the conditional GET handling of the station endpoints, when the station beans are present.
  */
 @Configuration
 public class WebConfig implements WebMvcConfigurer {
 
+  private final ObjectProvider<StationConditionalGetInterceptor> stationConditionalGet;
+
+  public WebConfig(ObjectProvider<StationConditionalGetInterceptor> stationConditionalGet) {
+    this.stationConditionalGet = stationConditionalGet;
+  }
+
+  @Override
+  public void addInterceptors(@NonNull InterceptorRegistry registry) {
+    stationConditionalGet.ifAvailable(registry::addInterceptor);
+  }
+
   @Override
   public void configurePathMatch(@NonNull PathMatchConfigurer configurer) {
     configurer.addPathPrefix("/api/v1", c -> {
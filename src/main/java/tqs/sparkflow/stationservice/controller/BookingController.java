@@ -220,14 +220,16 @@ public class BookingController {
   }
 
   /**
-   * Retrieves all bookings for a specific user.
+   * Retrieves one page of the bookings of a specific user, most recent first.
    *
    * @param userId The ID of the user whose bookings to retrieve
+   * @param page The zero-based page number
+   * @param size The number of bookings per page
    * @return ResponseEntity containing the list of bookings or error status
    */
   @GetMapping("/user/{userId}")
   @Operation(summary = "Get bookings by user ID",
-      description = "Retrieves all bookings for a specific user")
+      description = "Retrieves one page of the bookings of a specific user, most recent first")
   @ApiResponses(value = {
       @ApiResponse(responseCode = "200", description = "Bookings found",
           content = @Content(schema = @Schema(implementation = Booking.class))),
@@ -236,9 +238,13 @@ public class BookingController {
       @ApiResponse(responseCode = "401", description = "User not authenticated"),
       @ApiResponse(responseCode = "404", description = "User not found")})
   public ResponseEntity<List<Booking>> getBookingsByUserId(
-      @Parameter(description = "User ID", required = true) @PathVariable Long userId) {
+      @Parameter(description = "User ID", required = true) @PathVariable Long userId,
+      @Parameter(description = "Zero-based page number") @RequestParam(
+          defaultValue = "0") int page,
+      @Parameter(description = "Bookings per page, at most 100") @RequestParam(
+          defaultValue = "20") int size) {
     try {
-      List<Booking> bookings = bookingService.getBookingsByUserId(userId);
+      List<Booking> bookings = bookingService.getBookingsByUserId(userId, page, size);
       if (bookings.isEmpty()) {
         return new ResponseEntity<>(HttpStatus.NO_CONTENT);
       }
@@ -15,6 +15,8 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestParam;
 
+import java.util.List;
+
 import tqs.sparkflow.stationservice.model.ChargingSession;
 import tqs.sparkflow.stationservice.service.ChargingSessionService;
 
@@ -50,9 +52,9 @@ public class ChargingSessionController {
   @PostMapping("/start")
   public ResponseEntity<ChargingSession> startSession(
       @Parameter(description = "ID of the station to use",
-          required = true) @RequestParam String stationId,
+          required = true) @RequestParam Long stationId,
       @Parameter(description = "ID of the user starting the session",
-          required = true) @RequestParam String userId) {
+          required = true) @RequestParam Long userId) {
     return ResponseEntity.ok(chargingSessionService.createSession(stationId, userId));
   }
 
@@ -97,4 +99,27 @@ public class ChargingSessionController {
           required = true) @PathVariable String sessionId) {
     return ResponseEntity.ok(chargingSessionService.getSession(sessionId));
   }
+
+  /**
+   * Retrieves one page of a user's charging sessions, most recent first.
+   *
+   * @param userId The ID of the user
+   * @param page The zero-based page number
+   * @param size The number of sessions per page
+   * @return The sessions of the page with 200 OK status
+   */
+  @Operation(summary = "Get a user's charging sessions",
+      description = "Retrieves one page of a user's charging sessions, most recent first")
+  @ApiResponses(value = {
+      @ApiResponse(responseCode = "200", description = "Sessions retrieved successfully"),
+      @ApiResponse(responseCode = "400", description = "Invalid page or page size")})
+  @GetMapping("/user/{userId}")
+  public ResponseEntity<List<ChargingSession>> getSessionsByUser(
+      @Parameter(description = "ID of the user", required = true) @PathVariable Long userId,
+      @Parameter(description = "Zero-based page number") @RequestParam(
+          defaultValue = "0") int page,
+      @Parameter(description = "Sessions per page, at most 100") @RequestParam(
+          defaultValue = "20") int size) {
+    return ResponseEntity.ok(chargingSessionService.getSessionsByUser(userId, page, size));
+  }
 }
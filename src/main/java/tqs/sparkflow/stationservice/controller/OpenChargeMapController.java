@@ -1,7 +1,11 @@
 package tqs.sparkflow.stationservice.controller;
 
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
@@ -13,6 +17,10 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import tqs.sparkflow.stationservice.dto.ImportJobRequestDTO;
+import tqs.sparkflow.stationservice.dto.StationImportResult;
+import tqs.sparkflow.stationservice.model.ImportJob;
+import tqs.sparkflow.stationservice.service.OpenChargeMapImportJobService;
 import tqs.sparkflow.stationservice.service.OpenChargeMapService;
 
 /**
@@ -25,9 +33,12 @@ import tqs.sparkflow.stationservice.service.OpenChargeMapService;
 public class OpenChargeMapController {
 
   private final OpenChargeMapService openChargeMapService;
+  private final OpenChargeMapImportJobService importJobService;
 
-  public OpenChargeMapController(OpenChargeMapService openChargeMapService) {
+  public OpenChargeMapController(OpenChargeMapService openChargeMapService,
+      OpenChargeMapImportJobService importJobService) {
     this.openChargeMapService = openChargeMapService;
+    this.importJobService = importJobService;
   }
 
   /**
@@ -38,7 +49,7 @@ public class OpenChargeMapController {
    * @param latitude The latitude coordinate (-90 to 90 degrees)
    * @param longitude The longitude coordinate (-180 to 180 degrees)
    * @param radius The search radius in kilometers (must be positive)
-   * @return ResponseEntity with success message
+   * @return ResponseEntity with a success message including inserted/updated/unchanged counts
    * @throws IllegalArgumentException if coordinates or radius are invalid
    * @throws IllegalStateException if there's an error accessing the OpenChargeMap API
    */
@@ -64,12 +75,85 @@ public class OpenChargeMapController {
       @Parameter(description = "Search radius in kilometers (must be positive)",
           example = "50") @RequestParam int radius) {
     try {
-      openChargeMapService.populateStations(latitude, longitude, radius);
-      return ResponseEntity.ok("Stations populated successfully");
+      StationImportResult result =
+          openChargeMapService.populateStations(latitude, longitude, radius);
+      return ResponseEntity.ok("Stations populated successfully (" + result + ")");
     } catch (IllegalArgumentException e) {
       return ResponseEntity.badRequest().body(e.getMessage());
     } catch (IllegalStateException e) {
       return ResponseEntity.internalServerError().body(e.getMessage());
     }
   }
+
+  /**
+   * Starts a background import of every station inside a bounding box. The region is split into
+   * non-overlapping tiles that are fetched concurrently within the configured OpenChargeMap rate
+   * budget.
+   *
+   * @param request The bounding box to import
+   * @return ResponseEntity with the created job, or an error message for an invalid box
+   */
+  @Operation(summary = "Start a region import job",
+      description = "Imports all OpenChargeMap stations inside a bounding box in the background")
+  @ApiResponses(value = {
+      @ApiResponse(responseCode = "202", description = "Import job created",
+          content = @Content(schema = @Schema(implementation = ImportJob.class))),
+      @ApiResponse(responseCode = "400", description = "Invalid bounding box",
+          content = @Content(schema = @Schema(implementation = String.class)))})
+  @PostMapping("/import-jobs")
+  public ResponseEntity<Object> createImportJob(@RequestBody ImportJobRequestDTO request) {
+    try {
+      return ResponseEntity.status(HttpStatus.ACCEPTED).body(importJobService.createJob(request));
+    } catch (IllegalArgumentException e) {
+      return ResponseEntity.badRequest().body(e.getMessage());
+    } catch (IllegalStateException e) {
+      return ResponseEntity.internalServerError().body(e.getMessage());
+    }
+  }
+
+  /**
+   * Gets the progress of a region import job.
+   *
+   * @param id The ID of the job
+   * @return ResponseEntity with the job, or 404 if it does not exist
+   */
+  @Operation(summary = "Get a region import job",
+      description = "Returns the status, tile progress and station counts of an import job")
+  @ApiResponses(value = {
+      @ApiResponse(responseCode = "200", description = "Import job found",
+          content = @Content(schema = @Schema(implementation = ImportJob.class))),
+      @ApiResponse(responseCode = "404", description = "Import job not found")})
+  @GetMapping("/import-jobs/{id}")
+  public ResponseEntity<ImportJob> getImportJob(
+      @Parameter(description = "Import job ID") @PathVariable Long id) {
+    return importJobService.getJob(id).map(ResponseEntity::ok)
+        .orElse(ResponseEntity.notFound().build());
+  }
+
+  /**
+   * Resumes a failed region import job from its last checkpoint.
+   *
+   * @param id The ID of the job
+   * @return ResponseEntity with the resumed job, 404 if it does not exist, or 409 if it has not
+   *     failed
+   */
+  @Operation(summary = "Resume a failed region import job",
+      description = "Continues a failed import job from the last tile it completed")
+  @ApiResponses(value = {
+      @ApiResponse(responseCode = "202", description = "Import job resumed",
+          content = @Content(schema = @Schema(implementation = ImportJob.class))),
+      @ApiResponse(responseCode = "404", description = "Import job not found"),
+      @ApiResponse(responseCode = "409", description = "Import job has not failed",
+          content = @Content(schema = @Schema(implementation = String.class)))})
+  @PostMapping("/import-jobs/{id}/resume")
+  public ResponseEntity<Object> resumeImportJob(
+      @Parameter(description = "Import job ID") @PathVariable Long id) {
+    try {
+      return importJobService.resumeJob(id)
+          .<ResponseEntity<Object>>map(job -> ResponseEntity.status(HttpStatus.ACCEPTED).body(job))
+          .orElse(ResponseEntity.notFound().build());
+    } catch (IllegalStateException e) {
+      return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+    }
+  }
 }
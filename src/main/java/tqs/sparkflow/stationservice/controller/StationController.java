@@ -2,6 +2,7 @@ package tqs.sparkflow.stationservice.controller;
 
 import java.util.List;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -10,6 +11,7 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
@@ -17,6 +19,7 @@ import jakarta.validation.Valid;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.enums.ParameterIn;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -27,13 +30,17 @@ import tqs.sparkflow.stationservice.service.StationService;
 
 /**
  * Controller for managing charging stations. Provides endpoints for CRUD operations and advanced
- * search functionality.
+ * search functionality. The list endpoints accept a {@code fields} sparse fieldset, applied by
+ * {@link StationFieldsAdvice}.
  */
 @RestController
 @RequestMapping("/stations")
 @Tag(name = "Station", description = "The Station API")
 public class StationController {
 
+  private static final String FIELDS_DESCRIPTION = "Comma-separated station properties to "
+      + "return, e.g. id,name,latitude,longitude; all properties when omitted";
+
   private final StationService stationService;
 
   public StationController(StationService stationService) {
@@ -52,7 +59,10 @@ public class StationController {
           content = @Content(mediaType = "application/json",
               schema = @Schema(implementation = Station.class))),
       @ApiResponse(responseCode = "500", description = "Internal server error")})
+  @Parameter(name = StationFieldsAdvice.FIELDS_PARAMETER, in = ParameterIn.QUERY,
+      description = FIELDS_DESCRIPTION)
   @GetMapping
+  @StationETag(StationETag.Resource.LIST)
   public ResponseEntity<List<Station>> getAllStations() {
     return ResponseEntity.ok(stationService.getAllStations());
   }
@@ -71,11 +81,15 @@ public class StationController {
               schema = @Schema(implementation = Station.class))),
       @ApiResponse(responseCode = "404", description = "Station not found")})
   @GetMapping("/{id}")
+  @StationETag(StationETag.Resource.STATION)
   public ResponseEntity<Station> getStationById(@Parameter(
-      description = "ID of the station to retrieve", required = true) @PathVariable Long id) {
+      description = "ID of the station to retrieve", required = true) @PathVariable Long id,
+      @Parameter(hidden = true) @RequestHeader(value = HttpHeaders.ACCEPT, required = false)
+      String accept) {
     try {
       Station station = stationService.getStationById(id);
-      return ResponseEntity.ok(station);
+      return ResponseEntity.ok().eTag(StationETags.forAccept(StationETags.station(station), accept))
+          .body(station);
     } catch (IllegalArgumentException e) {
       return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
     }
@@ -191,6 +205,8 @@ public class StationController {
           content = @Content(mediaType = "application/json",
               schema = @Schema(implementation = Station.class))),
       @ApiResponse(responseCode = "400", description = "Invalid search parameters")})
+  @Parameter(name = StationFieldsAdvice.FIELDS_PARAMETER, in = ParameterIn.QUERY,
+      description = FIELDS_DESCRIPTION)
   @GetMapping("/search")
   public ResponseEntity<List<Station>> searchStations(
       @Parameter(description = "Station name to search for") @RequestParam(
@@ -218,6 +234,8 @@ public class StationController {
           content = @Content(mediaType = "application/json",
               schema = @Schema(implementation = Station.class))),
       @ApiResponse(responseCode = "400", description = "Invalid coordinates or radius")})
+  @Parameter(name = StationFieldsAdvice.FIELDS_PARAMETER, in = ParameterIn.QUERY,
+      description = FIELDS_DESCRIPTION)
   @GetMapping("/nearby")
   public ResponseEntity<List<Station>> getNearbyStations(
       @Parameter(description = "Latitude coordinate",
@@ -238,6 +256,8 @@ public class StationController {
    * @throws NullPointerException if minChargers is null
    * @throws IllegalArgumentException if minChargers is less than 1
    */
+  @Parameter(name = StationFieldsAdvice.FIELDS_PARAMETER, in = ParameterIn.QUERY,
+      description = FIELDS_DESCRIPTION)
   @GetMapping("/quantity/{minChargers}")
   public ResponseEntity<List<Station>> getStationsByQuantityOfChargers(@Parameter(
       description = "Minimum number of chargers", required = true) @PathVariable int minChargers) {
@@ -257,6 +277,7 @@ public class StationController {
               schema = @Schema(implementation = Long.class))),
       @ApiResponse(responseCode = "500", description = "Internal server error")})
   @GetMapping("/count")
+  @StationETag(StationETag.Resource.COUNT)
   public ResponseEntity<Long> getTotalStationCount() {
     return ResponseEntity.ok(stationService.getTotalStationCount());
   }
@@ -0,0 +1,28 @@
+package tqs.sparkflow.stationservice.controller;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a station read endpoint whose ETag is derived from the station snapshot, so a request
+ * carrying a matching {@code If-None-Match} is answered with 304 before the handler runs.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface StationETag {
+
+  /** Which representation the endpoint returns. */
+  Resource value();
+
+  /** The kinds of station representation that carry an ETag. */
+  enum Resource {
+    /** The station list; tagged with the version of the whole station set. */
+    LIST,
+    /** The station count; tagged with the version of the whole station set. */
+    COUNT,
+    /** A single station, identified by the {@code id} path variable; tagged with its version. */
+    STATION
+  }
+}
@@ -0,0 +1,138 @@
+package tqs.sparkflow.stationservice.controller;
+
+import java.util.Enumeration;
+import java.util.List;
+import org.springframework.http.MediaType;
+import org.springframework.util.MimeTypeUtils;
+import tqs.sparkflow.stationservice.model.Station;
+import tqs.sparkflow.stationservice.service.StationSnapshot;
+
+/**
+ * Builds and matches the strong ETags of the station endpoints. A single station is tagged with
+ * its ID and version, which change on every update; the station list and count are tagged with
+ * the snapshot fingerprint and size, which change whenever any station is added, updated or
+ * removed. The CBOR and Smile encodings are different representations from JSON, so their tags
+ * carry a suffix; responses tagged here vary on {@code Accept}.
+ */
+public final class StationETags {
+
+  private static final MediaType CBOR = MediaType.valueOf("application/cbor");
+  private static final MediaType SMILE = MediaType.valueOf("application/x-jackson-smile");
+
+  private StationETags() {}
+
+  /**
+   * Tags an ETag with the encoding a request's {@code Accept} header selects: the JSON tag is
+   * returned as is, CBOR and Smile get a {@code -cbor} or {@code -smile} suffix.
+   *
+   * @param etag The quoted ETag of the JSON representation
+   * @param accept The {@code Accept} header, or null
+   * @return The quoted ETag of the selected representation
+   */
+  public static String forAccept(String etag, String accept) {
+    String suffix = encodingSuffix(accept);
+    return suffix.isEmpty() ? etag : etag.substring(0, etag.length() - 1) + suffix + "\"";
+  }
+
+  /** The suffix of the first encoding the accepted types select, JSON for anything generic. */
+  private static String encodingSuffix(String accept) {
+    if (accept == null || accept.isBlank()) {
+      return "";
+    }
+    List<MediaType> accepted;
+    try {
+      accepted = MediaType.parseMediaTypes(accept);
+      MimeTypeUtils.sortBySpecificity(accepted);
+    } catch (IllegalArgumentException e) {
+      // Malformed or oversized header; content negotiation falls back to JSON too
+      return "";
+    }
+    for (MediaType type : accepted) {
+      if (type.getQualityValue() == 0) {
+        continue;
+      }
+      if (type.isCompatibleWith(MediaType.APPLICATION_JSON)) {
+        return "";
+      }
+      if (type.isCompatibleWith(CBOR)) {
+        return "-cbor";
+      }
+      if (type.isCompatibleWith(SMILE)) {
+        return "-smile";
+      }
+    }
+    return "";
+  }
+
+  /**
+   * The ETag of a single station.
+   *
+   * @param id The station ID
+   * @param version The station version
+   * @return The quoted ETag
+   */
+  public static String station(Long id, long version) {
+    return "\"" + id + "." + version + "\"";
+  }
+
+  /**
+   * The ETag of a single station.
+   *
+   * @param station The station
+   * @return The quoted ETag
+   */
+  public static String station(Station station) {
+    return station(station.getId(), station.getVersion() != null ? station.getVersion() : 0L);
+  }
+
+  /**
+   * The ETag of the station set held by a snapshot.
+   *
+   * @param snapshot The snapshot
+   * @return The quoted ETag
+   */
+  public static String stations(StationSnapshot snapshot) {
+    return "\"stations-" + Long.toHexString(snapshot.fingerprint()) + "-" + snapshot.size()
+        + "\"";
+  }
+
+  /**
+   * The ETag of the station set held by a snapshot, as rendered with a sparse fieldset. Each
+   * fieldset is a different representation and so gets a different tag.
+   *
+   * @param snapshot The snapshot
+   * @param fields The {@code fields} parameter, or null for the full representation
+   * @return The quoted ETag
+   */
+  public static String stations(StationSnapshot snapshot, String fields) {
+    if (fields == null) {
+      return stations(snapshot);
+    }
+    return "\"stations-" + Long.toHexString(snapshot.fingerprint()) + "-" + snapshot.size() + "-"
+        + Integer.toHexString(fields.hashCode()) + "\"";
+  }
+
+  /**
+   * Whether any {@code If-None-Match} header value matches the given ETag. Values may list
+   * several tags separated by commas; a weak tag matches its strong counterpart, as the weak
+   * comparison used for {@code If-None-Match} requires, and {@code *} matches any tag.
+   *
+   * @param ifNoneMatch The {@code If-None-Match} header values
+   * @param etag The current quoted ETag
+   * @return Whether the client's copy is current
+   */
+  public static boolean matches(Enumeration<String> ifNoneMatch, String etag) {
+    while (ifNoneMatch.hasMoreElements()) {
+      for (String candidate : ifNoneMatch.nextElement().split(",")) {
+        String tag = candidate.trim();
+        if (tag.startsWith("W/")) {
+          tag = tag.substring(2);
+        }
+        if (tag.equals(etag) || tag.equals("*")) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+}
@@ -0,0 +1,54 @@
+package tqs.sparkflow.stationservice.controller;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.lang.NonNull;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+import tqs.sparkflow.stationservice.dto.StationFieldSet;
+import tqs.sparkflow.stationservice.model.Station;
+
+/**
+ * Applies the {@code fields} sparse fieldset to the station lists returned by
+ * {@link StationController}: when the parameter is present, each station is replaced by a map of
+ * the requested properties before serialisation. Responses without the parameter, and single
+ * stations, are written unchanged.
+ */
+@RestControllerAdvice(assignableTypes = StationController.class)
+class StationFieldsAdvice implements ResponseBodyAdvice<Object> {
+
+  static final String FIELDS_PARAMETER = "fields";
+
+  @Override
+  public boolean supports(@NonNull MethodParameter returnType,
+      @NonNull Class<? extends HttpMessageConverter<?>> converterType) {
+    return true;
+  }
+
+  @Override
+  public Object beforeBodyWrite(Object body, @NonNull MethodParameter returnType,
+      @NonNull MediaType selectedContentType,
+      @NonNull Class<? extends HttpMessageConverter<?>> selectedConverterType,
+      @NonNull ServerHttpRequest request, @NonNull ServerHttpResponse response) {
+    if (!(body instanceof List<?> stations)
+        || !(request instanceof ServletServerHttpRequest servletRequest)) {
+      return body;
+    }
+    String fields = servletRequest.getServletRequest().getParameter(FIELDS_PARAMETER);
+    if (fields == null) {
+      return body;
+    }
+    StationFieldSet fieldSet = StationFieldSet.parse(fields);
+    List<Object> projected = new ArrayList<>(stations.size());
+    for (Object station : stations) {
+      projected.add(station instanceof Station s ? fieldSet.project(s) : station);
+    }
+    return projected;
+  }
+}
@@ -101,4 +101,25 @@ public class StatisticsController {
     StatisticsDTO.PeriodDetails details = statisticsService.getPeriodDetails(userId, type, value);
     return ResponseEntity.ok(details);
   }
+
+  @GetMapping("/dashboard")
+  @Operation(summary = "Get dashboard statistics",
+      description = "Returns current month statistics, monthly data and cost trend computed "
+          + "together in one pass")
+  @ApiResponses(value = {
+      @ApiResponse(responseCode = "200", description = "Dashboard retrieved successfully",
+          content = @Content(mediaType = "application/json",
+              schema = @Schema(implementation = StatisticsDTO.Dashboard.class))),
+      @ApiResponse(responseCode = "400", description = "Invalid months parameter"),
+      @ApiResponse(responseCode = "404", description = "User not found")})
+  public ResponseEntity<StatisticsDTO.Dashboard> getDashboard(
+      @Parameter(description = "User ID", required = true) @RequestParam Long userId,
+      @Parameter(description = "Number of months of monthly data",
+          example = "12") @RequestParam(defaultValue = "12") int months,
+      @Parameter(description = "Number of months for trend analysis",
+          example = "8") @RequestParam(defaultValue = "8") int trendMonths) {
+    StatisticsDTO.Dashboard dashboard =
+        statisticsService.getDashboard(userId, months, trendMonths);
+    return ResponseEntity.ok(dashboard);
+  }
 }
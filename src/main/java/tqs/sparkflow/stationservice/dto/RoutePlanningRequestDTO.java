@@ -34,6 +34,8 @@ public class RoutePlanningRequestDTO {
     @Min(value = 0, message = "Car autonomy must be positive")
     private Double carAutonomy; // in km/kWh
 
+    private String strategy; // fastest, cheapest or least-detour; null for the configured default
+
     // Getters and Setters
     public Double getStartLatitude() {
         return startLatitude;
@@ -83,6 +85,14 @@ public class RoutePlanningRequestDTO {
         this.carAutonomy = carAutonomy;
     }
 
+    public String getStrategy() {
+        return strategy;
+    }
+
+    public void setStrategy(String strategy) {
+        this.strategy = strategy;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o)
@@ -95,13 +105,14 @@ public class RoutePlanningRequestDTO {
                 && Objects.equals(destLatitude, that.destLatitude)
                 && Objects.equals(destLongitude, that.destLongitude)
                 && Objects.equals(batteryCapacity, that.batteryCapacity)
-                && Objects.equals(carAutonomy, that.carAutonomy);
+                && Objects.equals(carAutonomy, that.carAutonomy)
+                && Objects.equals(strategy, that.strategy);
     }
 
     @Override
     public int hashCode() {
         return Objects.hash(startLatitude, startLongitude, destLatitude, destLongitude,
-                batteryCapacity, carAutonomy);
+                batteryCapacity, carAutonomy, strategy);
     }
 
     @Override
@@ -109,6 +120,6 @@ public class RoutePlanningRequestDTO {
         return "RoutePlanningRequestDTO{" + "startLatitude=" + startLatitude + ", startLongitude="
                 + startLongitude + ", destLatitude=" + destLatitude + ", destLongitude="
                 + destLongitude + ", batteryCapacity=" + batteryCapacity + ", carAutonomy="
-                + carAutonomy + '}';
+                + carAutonomy + ", strategy='" + strategy + '\'' + '}';
     }
 }
@@ -0,0 +1,93 @@
+package tqs.sparkflow.stationservice.dto;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import tqs.sparkflow.stationservice.model.Station;
+
+/**
+ * A sparse fieldset for station responses, parsed from a {@code fields=id,name,latitude} query
+ * parameter. Projected stations are plain maps holding only the selected JSON properties, so
+ * nothing else is read or serialised.
+ */
+public final class StationFieldSet {
+
+    private static final Map<String, Function<Station, Object>> FIELDS = fields();
+
+    private final List<String> names;
+    private final List<Function<Station, Object>> getters;
+
+    private StationFieldSet(List<String> names, List<Function<Station, Object>> getters) {
+        this.names = names;
+        this.getters = getters;
+    }
+
+    /**
+     * Parses a comma-separated list of station properties. Blank entries are ignored and
+     * duplicates are kept once, in the order first given.
+     *
+     * @param fields The requested properties
+     * @return The fieldset
+     * @throws IllegalArgumentException if a property is unknown or none is given
+     */
+    public static StationFieldSet parse(String fields) {
+        List<String> names = new ArrayList<>();
+        List<Function<Station, Object>> getters = new ArrayList<>();
+        for (String field : fields.split(",")) {
+            String name = field.trim();
+            if (name.isEmpty() || names.contains(name)) {
+                continue;
+            }
+            Function<Station, Object> getter = FIELDS.get(name);
+            if (getter == null) {
+                throw new IllegalArgumentException(
+                        "Unknown station field: " + name + ", expected one of " + FIELDS.keySet());
+            }
+            names.add(name);
+            getters.add(getter);
+        }
+        if (names.isEmpty()) {
+            throw new IllegalArgumentException("At least one station field must be requested");
+        }
+        return new StationFieldSet(Collections.unmodifiableList(names), getters);
+    }
+
+    public List<String> getNames() {
+        return names;
+    }
+
+    /**
+     * Projects a station onto the selected properties.
+     *
+     * @param station The station
+     * @return The selected properties, in the requested order
+     */
+    public Map<String, Object> project(Station station) {
+        Map<String, Object> projected = new LinkedHashMap<>(names.size() * 2);
+        for (int i = 0; i < names.size(); i++) {
+            projected.put(names.get(i), getters.get(i).apply(station));
+        }
+        return projected;
+    }
+
+    private static Map<String, Function<Station, Object>> fields() {
+        Map<String, Function<Station, Object>> fields = new LinkedHashMap<>();
+        fields.put("id", Station::getId);
+        fields.put("externalId", Station::getExternalId);
+        fields.put("name", Station::getName);
+        fields.put("address", Station::getAddress);
+        fields.put("city", Station::getCity);
+        fields.put("country", Station::getCountry);
+        fields.put("latitude", Station::getLatitude);
+        fields.put("longitude", Station::getLongitude);
+        fields.put("quantityOfChargers", Station::getQuantityOfChargers);
+        fields.put("power", Station::getPower);
+        fields.put("status", Station::getStatus);
+        fields.put("isOperational", Station::getIsOperational);
+        fields.put("price", Station::getPrice);
+        return Collections.unmodifiableMap(fields);
+    }
+}
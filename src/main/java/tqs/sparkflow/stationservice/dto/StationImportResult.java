@@ -0,0 +1,66 @@
+package tqs.sparkflow.stationservice.dto;
+
+import java.util.Objects;
+
+/** Outcome of an OpenChargeMap import: how many stations were inserted, updated or left as is. */
+public class StationImportResult {
+    private final int inserted;
+    private final int updated;
+    private final int unchanged;
+
+    public StationImportResult(int inserted, int updated, int unchanged) {
+        this.inserted = inserted;
+        this.updated = updated;
+        this.unchanged = unchanged;
+    }
+
+    public int getInserted() {
+        return inserted;
+    }
+
+    public int getUpdated() {
+        return updated;
+    }
+
+    public int getUnchanged() {
+        return unchanged;
+    }
+
+    public int getTotal() {
+        return inserted + updated + unchanged;
+    }
+
+    /**
+     * Combines this result with another one, e.g. from the next import batch.
+     *
+     * @param other The result to add
+     * @return A new result holding the summed counts
+     */
+    public StationImportResult plus(StationImportResult other) {
+        return new StationImportResult(inserted + other.inserted, updated + other.updated,
+                unchanged + other.unchanged);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof StationImportResult)) {
+            return false;
+        }
+        StationImportResult that = (StationImportResult) o;
+        return inserted == that.inserted && updated == that.updated
+                && unchanged == that.unchanged;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(inserted, updated, unchanged);
+    }
+
+    @Override
+    public String toString() {
+        return "inserted: " + inserted + ", updated: " + updated + ", unchanged: " + unchanged;
+    }
+}
@@ -238,4 +238,38 @@ public class StatisticsDTO {
             this.reservations = reservations;
         }
     }
+
+    /**
+     * Current month stats, monthly data and cost trend computed together from one read of the
+     * monthly rollup, for dashboards that show all three.
+     */
+    public static class Dashboard {
+        private CurrentMonthStats currentMonth;
+        private List<MonthlyData> monthly;
+        private List<CostTrendData> costTrend;
+
+        public CurrentMonthStats getCurrentMonth() {
+            return currentMonth;
+        }
+
+        public void setCurrentMonth(CurrentMonthStats currentMonth) {
+            this.currentMonth = currentMonth;
+        }
+
+        public List<MonthlyData> getMonthly() {
+            return monthly;
+        }
+
+        public void setMonthly(List<MonthlyData> monthly) {
+            this.monthly = monthly;
+        }
+
+        public List<CostTrendData> getCostTrend() {
+            return costTrend;
+        }
+
+        public void setCostTrend(List<CostTrendData> costTrend) {
+            this.costTrend = costTrend;
+        }
+    }
 }
@@ -2,6 +2,7 @@ package tqs.sparkflow.stationservice.exception;
 
 import java.util.HashMap;
 import java.util.Map;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -124,6 +125,22 @@ public class GlobalExceptionHandler {
     return new ResponseEntity<>(error, HttpStatus.NOT_FOUND);
   }
 
+  /**
+   * Handles an update that raced with a concurrent update of the same row.
+   *
+   * @param ex The exception to handle
+   * @param request The web request
+   * @return A response entity with the error details
+   */
+  @ExceptionHandler(OptimisticLockingFailureException.class)
+  public ResponseEntity<ErrorResponse> handleOptimisticLockingFailureException(
+      OptimisticLockingFailureException ex, WebRequest request) {
+    ErrorResponse error = new ErrorResponse(HttpStatus.CONFLICT.value(), "Conflict",
+        "The resource was modified concurrently, retry the request",
+        request.getDescription(false));
+    return new ResponseEntity<>(error, HttpStatus.CONFLICT);
+  }
+
   /**
    * Handles general exceptions.
    *
@@ -3,24 +3,34 @@ package tqs.sparkflow.stationservice.model;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.persistence.CollectionTable;
 import jakarta.persistence.Column;
+import jakarta.persistence.ConstraintMode;
 import jakarta.persistence.ElementCollection;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
+import jakarta.persistence.ForeignKey;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import java.time.LocalDateTime;
 import java.util.Set;
+import org.hibernate.annotations.BatchSize;
 
 @Entity
-@Table(name = "bookings")
+@Table(name = "bookings",
+    indexes = {@Index(name = "idx_bookings_station_status_time",
+        columnList = "station_id, status, start_time, end_time"),
+        @Index(name = "idx_bookings_user_start", columnList = "user_id, start_time"),
+        @Index(name = "idx_bookings_start_user", columnList = "start_time, user_id")})
 @Schema(description = "Booking entity representing a charging station reservation")
 public class Booking {
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "booking_ids")
+  @SequenceGenerator(name = "booking_ids", sequenceName = "booking_ids", allocationSize = 50)
   @Schema(description = "Unique identifier of the booking")
   private Long id;
 
@@ -40,8 +50,12 @@ public class Booking {
   @Schema(description = "End time of the booking")
   private LocalDateTime endTime;
 
+  // bookings is partitioned, so no foreign key can point at it. Paged history queries cannot
+  // fetch-join the days either; they load them for a whole page at a time instead.
   @ElementCollection
-  @CollectionTable(name = "booking_recurring_days", joinColumns = @JoinColumn(name = "booking_id"))
+  @BatchSize(size = 100)
+  @CollectionTable(name = "booking_recurring_days", joinColumns = @JoinColumn(name = "booking_id"),
+      foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))
   @Column(name = "day_of_week")
   @Schema(description = "Set of days of the week for recurring bookings (0-6, where 0 is Sunday)")
   private Set<Integer> recurringDays;
@@ -2,12 +2,18 @@ package tqs.sparkflow.stationservice.model;
 
 import java.time.LocalDateTime;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import io.swagger.v3.oas.annotations.media.Schema;
 
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 
 /**
@@ -15,26 +21,53 @@ import jakarta.persistence.Table;
  * creation to completion.
  */
 @Entity
-@Table(name = "charging_sessions")
+@Table(name = "charging_sessions",
+    indexes = {@Index(name = "idx_charging_sessions_station_finished_start",
+        columnList = "station_ref, finished, start_time"),
+        @Index(name = "idx_charging_sessions_user_finished_start",
+            columnList = "user_ref, finished, start_time, end_time, station_ref"),
+        @Index(name = "idx_charging_sessions_finished_start_user",
+            columnList = "finished, start_time, user_ref, end_time, station_ref"),
+        @Index(name = "idx_charging_sessions_user_start", columnList = "user_ref, start_time")})
 @Schema(description = "Represents a charging session and its lifecycle")
 public class ChargingSession {
 
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "charging_session_ids")
+  @SequenceGenerator(name = "charging_session_ids", sequenceName = "charging_session_ids",
+      allocationSize = 50)
   @Schema(description = "Unique identifier of the charging session", example = "1")
   private Long id;
 
   /**
    * The ID of the charging station associated with this session.
    */
-  @Schema(description = "ID of the charging station", example = "STATION-001")
-  private String stationId;
+  @Column(name = "station_ref")
+  @Schema(description = "ID of the charging station", example = "1")
+  private Long stationId;
 
   /**
    * The ID of the user who initiated this charging session.
    */
-  @Schema(description = "ID of the user who initiated the session", example = "USER-001")
-  private String userId;
+  @Column(name = "user_ref")
+  @Schema(description = "ID of the user who initiated the session", example = "1")
+  private Long userId;
+
+  /**
+   * Copy of the station ID in the original VARCHAR column, written alongside {@link #stationId}
+   * until the legacy columns are dropped.
+   */
+  @JsonIgnore
+  @Column(name = "station_id")
+  private String legacyStationId;
+
+  /**
+   * Copy of the user ID in the original VARCHAR column, written alongside {@link #userId} until
+   * the legacy columns are dropped.
+   */
+  @JsonIgnore
+  @Column(name = "user_id")
+  private String legacyUserId;
 
   /**
    * Flag indicating whether the charging session has finished. False when session is active, true
@@ -72,7 +105,7 @@ public class ChargingSession {
    * @param stationId The ID of the charging station
    * @param userId The ID of the user starting the session
    */
-  public ChargingSession(String stationId, String userId) {
+  public ChargingSession(Long stationId, Long userId) {
     this.stationId = stationId;
     this.userId = userId;
     this.finished = false;
@@ -88,22 +121,32 @@ public class ChargingSession {
     this.id = id;
   }
 
-  public String getStationId() {
+  public Long getStationId() {
     return stationId;
   }
 
-  public void setStationId(String stationId) {
+  public void setStationId(Long stationId) {
     this.stationId = stationId;
   }
 
-  public String getUserId() {
+  public Long getUserId() {
     return userId;
   }
 
-  public void setUserId(String userId) {
+  public void setUserId(Long userId) {
     this.userId = userId;
   }
 
+  /**
+   * Keeps the legacy VARCHAR columns in step with the BIGINT ones during the dual-write period.
+   */
+  @PrePersist
+  @PreUpdate
+  void syncLegacyIds() {
+    this.legacyStationId = stationId != null ? stationId.toString() : null;
+    this.legacyUserId = userId != null ? userId.toString() : null;
+  }
+
   public boolean isFinished() {
     return finished;
   }
@@ -0,0 +1,218 @@
+package tqs.sparkflow.stationservice.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+
+/**
+ * A server-side import of every OpenChargeMap station inside a bounding box. The box is split into
+ * non-overlapping tiles, numbered row by row from the south-west corner; {@code completedTiles} is
+ * the checkpoint from which an interrupted job resumes.
+ */
+@Entity
+@Table(name = "import_jobs")
+@Schema(description = "OpenChargeMap region import job")
+public class ImportJob {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Long id;
+
+  @Column(name = "min_latitude", nullable = false)
+  private double minLatitude;
+
+  @Column(name = "min_longitude", nullable = false)
+  private double minLongitude;
+
+  @Column(name = "max_latitude", nullable = false)
+  private double maxLatitude;
+
+  @Column(name = "max_longitude", nullable = false)
+  private double maxLongitude;
+
+  @Column(name = "tile_size_degrees", nullable = false)
+  private double tileSizeDegrees;
+
+  @Column(name = "tile_columns", nullable = false)
+  private int tileColumns;
+
+  @Column(name = "total_tiles", nullable = false)
+  private int totalTiles;
+
+  /** Every tile below this index has been imported. */
+  @Column(name = "completed_tiles", nullable = false)
+  private int completedTiles;
+
+  @Column(name = "inserted", nullable = false)
+  private int inserted;
+
+  @Column(name = "updated", nullable = false)
+  private int updated;
+
+  @Column(name = "unchanged", nullable = false)
+  private int unchanged;
+
+  @Enumerated(EnumType.STRING)
+  @Column(name = "status", nullable = false, length = 20)
+  private ImportJobStatus status = ImportJobStatus.PENDING;
+
+  @Column(name = "error", length = 1000)
+  private String error;
+
+  @Column(name = "created_at", nullable = false)
+  private LocalDateTime createdAt;
+
+  @Column(name = "updated_at", nullable = false)
+  private LocalDateTime updatedAt;
+
+  /**
+   * Default constructor required by JPA.
+   */
+  public ImportJob() {
+    // Fields are populated by JPA or the setters
+  }
+
+  /**
+   * Gets the import progress as a percentage of tiles.
+   *
+   * @return the percentage of tiles imported, from 0 to 100
+   */
+  public double getProgressPercentage() {
+    return totalTiles == 0 ? 100.0 : completedTiles * 100.0 / totalTiles;
+  }
+
+  public Long getId() {
+    return id;
+  }
+
+  public void setId(Long id) {
+    this.id = id;
+  }
+
+  public double getMinLatitude() {
+    return minLatitude;
+  }
+
+  public void setMinLatitude(double minLatitude) {
+    this.minLatitude = minLatitude;
+  }
+
+  public double getMinLongitude() {
+    return minLongitude;
+  }
+
+  public void setMinLongitude(double minLongitude) {
+    this.minLongitude = minLongitude;
+  }
+
+  public double getMaxLatitude() {
+    return maxLatitude;
+  }
+
+  public void setMaxLatitude(double maxLatitude) {
+    this.maxLatitude = maxLatitude;
+  }
+
+  public double getMaxLongitude() {
+    return maxLongitude;
+  }
+
+  public void setMaxLongitude(double maxLongitude) {
+    this.maxLongitude = maxLongitude;
+  }
+
+  public double getTileSizeDegrees() {
+    return tileSizeDegrees;
+  }
+
+  public void setTileSizeDegrees(double tileSizeDegrees) {
+    this.tileSizeDegrees = tileSizeDegrees;
+  }
+
+  public int getTileColumns() {
+    return tileColumns;
+  }
+
+  public void setTileColumns(int tileColumns) {
+    this.tileColumns = tileColumns;
+  }
+
+  public int getTotalTiles() {
+    return totalTiles;
+  }
+
+  public void setTotalTiles(int totalTiles) {
+    this.totalTiles = totalTiles;
+  }
+
+  public int getCompletedTiles() {
+    return completedTiles;
+  }
+
+  public void setCompletedTiles(int completedTiles) {
+    this.completedTiles = completedTiles;
+  }
+
+  public int getInserted() {
+    return inserted;
+  }
+
+  public void setInserted(int inserted) {
+    this.inserted = inserted;
+  }
+
+  public int getUpdated() {
+    return updated;
+  }
+
+  public void setUpdated(int updated) {
+    this.updated = updated;
+  }
+
+  public int getUnchanged() {
+    return unchanged;
+  }
+
+  public void setUnchanged(int unchanged) {
+    this.unchanged = unchanged;
+  }
+
+  public ImportJobStatus getStatus() {
+    return status;
+  }
+
+  public void setStatus(ImportJobStatus status) {
+    this.status = status;
+  }
+
+  public String getError() {
+    return error;
+  }
+
+  public void setError(String error) {
+    this.error = error;
+  }
+
+  public LocalDateTime getCreatedAt() {
+    return createdAt;
+  }
+
+  public void setCreatedAt(LocalDateTime createdAt) {
+    this.createdAt = createdAt;
+  }
+
+  public LocalDateTime getUpdatedAt() {
+    return updatedAt;
+  }
+
+  public void setUpdatedAt(LocalDateTime updatedAt) {
+    this.updatedAt = updatedAt;
+  }
+}
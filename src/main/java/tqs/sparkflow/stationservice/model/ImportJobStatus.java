@@ -0,0 +1,18 @@
+package tqs.sparkflow.stationservice.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Status of an OpenChargeMap region import job")
+public enum ImportJobStatus {
+    @Schema(description = "The job is queued and has not fetched any tile yet")
+    PENDING,
+
+    @Schema(description = "The job is fetching tiles")
+    RUNNING,
+
+    @Schema(description = "All tiles have been imported")
+    COMPLETED,
+
+    @Schema(description = "A tile failed; progress up to the last checkpoint is kept")
+    FAILED
+}
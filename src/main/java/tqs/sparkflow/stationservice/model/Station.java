@@ -1,5 +1,6 @@
 package tqs.sparkflow.stationservice.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
@@ -7,14 +8,18 @@ import jakarta.persistence.Id;
 import jakarta.persistence.Inheritance;
 import jakarta.persistence.InheritanceType;
 import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import jakarta.persistence.Version;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
 import jakarta.persistence.Column;
 import java.util.Objects;
+import org.hibernate.annotations.ColumnDefault;
 
 /** Represents a charging station. */
 @Entity
-@Table(name = "stations")
+@Table(name = "stations", uniqueConstraints = @UniqueConstraint(
+    name = "uk_stations_external_id", columnNames = "external_id"))
 @Inheritance(strategy = InheritanceType.SINGLE_TABLE)
 public class Station extends BaseStationFields {
 
@@ -22,8 +27,21 @@ public class Station extends BaseStationFields {
   @GeneratedValue(strategy = GenerationType.IDENTITY)
   private Long id;
 
+  @Column(name = "external_id")
   private String externalId;
 
+  /** SHA-256 of the imported OpenChargeMap fields, used to skip unchanged rows on re-import. */
+  @JsonIgnore
+  @Column(name = "content_hash", length = 64)
+  private String contentHash;
+
+  /** Incremented on every update; identifies the representation in station ETags. */
+  @JsonIgnore
+  @Version
+  @ColumnDefault("0")
+  @Column(name = "version", nullable = false)
+  private Long version;
+
   @Column(name = "power")
   private Integer power;
 
@@ -137,6 +155,22 @@ public class Station extends BaseStationFields {
     this.externalId = externalId;
   }
 
+  public Long getVersion() {
+    return version;
+  }
+
+  public void setVersion(Long version) {
+    this.version = version;
+  }
+
+  public String getContentHash() {
+    return contentHash;
+  }
+
+  public void setContentHash(String contentHash) {
+    this.contentHash = contentHash;
+  }
+
   @Override
   public String getAddress() {
     return address;
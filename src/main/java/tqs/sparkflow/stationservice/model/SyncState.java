@@ -0,0 +1,91 @@
+package tqs.sparkflow.stationservice.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+
+/**
+ * Watermark and last-run figures of an incremental sync with an external source, keyed by the
+ * source name.
+ */
+@Entity
+@Table(name = "sync_state")
+@Schema(description = "State of an incremental sync")
+public class SyncState {
+
+  @Id
+  @Column(name = "name", length = 64)
+  private String name;
+
+  /** Changes made at or after this UTC time have not been synced yet. */
+  @Column(name = "last_synced_at")
+  private LocalDateTime lastSyncedAt;
+
+  @Column(name = "last_run_at")
+  private LocalDateTime lastRunAt;
+
+  @Column(name = "last_duration_millis")
+  private long lastDurationMillis;
+
+  @Column(name = "last_rows_touched")
+  private int lastRowsTouched;
+
+  /**
+   * Default constructor required by JPA.
+   */
+  public SyncState() {
+    // Fields are populated by JPA or the setters
+  }
+
+  /**
+   * Creates the state of a source that has never been synced.
+   *
+   * @param name The name of the source
+   */
+  public SyncState(String name) {
+    this.name = name;
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public void setName(String name) {
+    this.name = name;
+  }
+
+  public LocalDateTime getLastSyncedAt() {
+    return lastSyncedAt;
+  }
+
+  public void setLastSyncedAt(LocalDateTime lastSyncedAt) {
+    this.lastSyncedAt = lastSyncedAt;
+  }
+
+  public LocalDateTime getLastRunAt() {
+    return lastRunAt;
+  }
+
+  public void setLastRunAt(LocalDateTime lastRunAt) {
+    this.lastRunAt = lastRunAt;
+  }
+
+  public long getLastDurationMillis() {
+    return lastDurationMillis;
+  }
+
+  public void setLastDurationMillis(long lastDurationMillis) {
+    this.lastDurationMillis = lastDurationMillis;
+  }
+
+  public int getLastRowsTouched() {
+    return lastRowsTouched;
+  }
+
+  public void setLastRowsTouched(int lastRowsTouched) {
+    this.lastRowsTouched = lastRowsTouched;
+  }
+}
@@ -0,0 +1,157 @@
+package tqs.sparkflow.stationservice.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import java.time.YearMonth;
+
+/**
+ * Pre-aggregated charging statistics for one user and one calendar month. Rows are maintained
+ * incrementally when sessions finish and bookings are created, and rebuilt by the nightly backfill.
+ */
+@Entity
+@Table(name = "user_monthly_stats",
+    uniqueConstraints = @UniqueConstraint(name = "uk_user_monthly_stats_user_month",
+        columnNames = {"user_id", "month_key"}),
+    indexes = @Index(name = "idx_user_monthly_stats_month", columnList = "month_key"))
+@Schema(description = "Monthly statistics rollup for a user")
+public class UserMonthlyStats {
+
+  /**
+   * Assigned by {@code AUTO_INCREMENT}: rows are only written by
+   * {@link tqs.sparkflow.stationservice.repository.UserMonthlyStatsUpsertRepository}, whose upserts
+   * insert without an ID.
+   */
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Long id;
+
+  @Column(name = "user_id", nullable = false)
+  private Long userId;
+
+  /** Month encoded as yyyyMM, e.g. 202403, so ranges can be queried on a single column. */
+  @Column(name = "month_key", nullable = false)
+  private int monthKey;
+
+  @Column(name = "sessions", nullable = false)
+  private int sessions;
+
+  @Column(name = "duration_minutes", nullable = false)
+  private long durationMinutes;
+
+  @Column(name = "kwh", nullable = false)
+  private int kwh;
+
+  @Column(name = "cost", nullable = false)
+  private double cost;
+
+  @Column(name = "bookings", nullable = false)
+  private int bookings;
+
+  /**
+   * Default constructor required by JPA.
+   */
+  public UserMonthlyStats() {
+    // Counters start at zero
+  }
+
+  /**
+   * Creates an empty rollup row for a user and month.
+   *
+   * @param userId The ID of the user
+   * @param monthKey The month encoded as yyyyMM
+   */
+  public UserMonthlyStats(Long userId, int monthKey) {
+    this.userId = userId;
+    this.monthKey = monthKey;
+  }
+
+  /**
+   * Encodes a month as a yyyyMM key.
+   *
+   * @param yearMonth The month
+   * @return the month key
+   */
+  public static int monthKey(YearMonth yearMonth) {
+    return yearMonth.getYear() * 100 + yearMonth.getMonthValue();
+  }
+
+  /**
+   * Decodes the month key of this row.
+   *
+   * @return the month
+   */
+  public YearMonth getYearMonth() {
+    return YearMonth.of(monthKey / 100, monthKey % 100);
+  }
+
+  public Long getId() {
+    return id;
+  }
+
+  public void setId(Long id) {
+    this.id = id;
+  }
+
+  public Long getUserId() {
+    return userId;
+  }
+
+  public void setUserId(Long userId) {
+    this.userId = userId;
+  }
+
+  public int getMonthKey() {
+    return monthKey;
+  }
+
+  public void setMonthKey(int monthKey) {
+    this.monthKey = monthKey;
+  }
+
+  public int getSessions() {
+    return sessions;
+  }
+
+  public void setSessions(int sessions) {
+    this.sessions = sessions;
+  }
+
+  public long getDurationMinutes() {
+    return durationMinutes;
+  }
+
+  public void setDurationMinutes(long durationMinutes) {
+    this.durationMinutes = durationMinutes;
+  }
+
+  public int getKwh() {
+    return kwh;
+  }
+
+  public void setKwh(int kwh) {
+    this.kwh = kwh;
+  }
+
+  public double getCost() {
+    return cost;
+  }
+
+  public void setCost(double cost) {
+    this.cost = cost;
+  }
+
+  public int getBookings() {
+    return bookings;
+  }
+
+  public void setBookings(int bookings) {
+    this.bookings = bookings;
+  }
+}
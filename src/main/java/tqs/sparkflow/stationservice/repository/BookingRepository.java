@@ -1,7 +1,10 @@
 package tqs.sparkflow.stationservice.repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -22,19 +25,62 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
     List<Booking> findActiveBookingsForStationAtTime(@Param("stationId") Long stationId,
             @Param("currentTime") LocalDateTime currentTime);
 
+    /**
+     * Counts active bookings at the given time, grouped by station.
+     */
+    @Query("SELECT b.stationId AS stationId, COUNT(b) AS usageCount FROM Booking b "
+            + "WHERE b.stationId IN :stationIds AND b.status = 'ACTIVE' "
+            + "AND b.startTime <= :currentTime AND b.endTime >= :currentTime "
+            + "GROUP BY b.stationId")
+    List<StationUsageCount> countActiveBookingsByStationAtTime(
+            @Param("stationIds") Collection<Long> stationIds,
+            @Param("currentTime") LocalDateTime currentTime);
+
+    /**
+     * Finds all bookings, together with their recurring days.
+     */
+    @Override
+    @EntityGraph(attributePaths = "recurringDays")
+    List<Booking> findAll();
+
+    /**
+     * Finds the bookings of a station. Recurring days are fetched in the same query, since the
+     * bookings are serialised with them.
+     */
+    @EntityGraph(attributePaths = "recurringDays")
     List<Booking> findByStationId(Long stationId);
 
-    List<Booking> findByUserId(Long userId);
+    /**
+     * Finds one page of a user's bookings, most recent first. The recurring days are loaded in
+     * batches, since a fetch join would make Hibernate page in memory.
+     */
+    @Query("SELECT b FROM Booking b WHERE b.userId = :userId ORDER BY b.startTime DESC, b.id DESC")
+    List<Booking> findRecentBookingsByUser(@Param("userId") Long userId, Pageable pageable);
 
+    /**
+     * Finds the bookings of a user at a station, together with their recurring days.
+     */
+    @EntityGraph(attributePaths = "recurringDays")
     @Query("SELECT b FROM Booking b WHERE b.stationId = :stationId AND b.userId = :userId")
     List<Booking> findByStationIdAndUserId(@Param("stationId") Long stationId,
             @Param("userId") Long userId);
 
     /**
-     * Find bookings for a specific user within a time range.
+     * Find bookings for a specific user within a time range, ordered by start time.
      */
     @Query("SELECT b FROM Booking b WHERE b.userId = :userId "
-            + "AND b.startTime >= :startDate AND b.startTime <= :endDate")
-    List<Booking> findBookingsByUserInPeriod(@Param("userId") String userId,
+            + "AND b.startTime >= :startDate AND b.startTime <= :endDate ORDER BY b.startTime")
+    List<Booking> findBookingsByUserInPeriod(@Param("userId") Long userId,
             @Param("startDate") LocalDateTime startDate, @Param("endDate") LocalDateTime endDate);
+
+    /**
+     * Counts the bookings starting since the given time per user and month of their start time.
+     * Cancelled bookings are counted too.
+     */
+    @Query(value = "SELECT b.user_id AS userId, "
+            + "YEAR(b.start_time) * 100 + MONTH(b.start_time) AS monthKey, COUNT(*) AS bookings "
+            + "FROM bookings b WHERE b.start_time >= :since "
+            + "GROUP BY b.user_id, YEAR(b.start_time) * 100 + MONTH(b.start_time)",
+            nativeQuery = true)
+    List<UserMonthlyBookingCount> countBookingsByUserAndMonth(@Param("since") LocalDateTime since);
 }
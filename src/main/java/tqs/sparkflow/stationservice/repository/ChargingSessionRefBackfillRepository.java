@@ -0,0 +1,85 @@
+package tqs.sparkflow.stationservice.repository;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.regex.Pattern;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Fills the BIGINT {@code station_ref} and {@code user_ref} columns of the charging sessions
+ * written before those columns existed, from the VARCHAR {@code station_id} and {@code user_id}
+ * (MySQL only). Each call updates one bounded range of IDs in a statement of its own, committed on
+ * its own, so no call locks more than one range of rows or builds up a long undo history.
+ * Non-numeric VARCHAR values cannot reference a station or user and leave the reference NULL.
+ */
+@Repository
+public class ChargingSessionRefBackfillRepository {
+
+  /** Rows of a session table that still lack a reference their VARCHAR column can provide. */
+  static final String PENDING_SQL = "(station_ref IS NULL AND station_id REGEXP '^[0-9]+$') "
+      + "OR (user_ref IS NULL AND user_id REGEXP '^[0-9]+$')";
+
+  static final String REF_COLUMNS_SQL = "station_ref = COALESCE(station_ref, "
+      + "IF(station_id REGEXP '^[0-9]+$', CAST(station_id AS UNSIGNED), NULL)), "
+      + "user_ref = COALESCE(user_ref, "
+      + "IF(user_id REGEXP '^[0-9]+$', CAST(user_id AS UNSIGNED), NULL))";
+
+  private static final Pattern IDENTIFIER = Pattern.compile("[A-Za-z0-9_]+");
+
+  private final NamedParameterJdbcTemplate jdbcTemplate;
+
+  public ChargingSessionRefBackfillRepository(NamedParameterJdbcTemplate jdbcTemplate) {
+    this.jdbcTemplate = jdbcTemplate;
+  }
+
+  /**
+   * Checks whether a table exists in the current schema.
+   *
+   * @param table The table name
+   * @return Whether the table exists
+   */
+  public boolean tableExists(String table) {
+    Long count = jdbcTemplate.queryForObject(PartitionRepository.TABLE_EXISTS_SQL,
+        Map.of("table", table), Long.class);
+    return count != null && count > 0;
+  }
+
+  /**
+   * Finds the lowest and highest ID of the sessions of a table that still need their references.
+   * Reads a consistent snapshot without locking any rows.
+   *
+   * @param table The session table
+   * @return The inclusive ID range, empty when no session needs a reference
+   */
+  public Optional<long[]> findPendingIdRange(String table) {
+    return jdbcTemplate.getJdbcTemplate().query("SELECT MIN(id), MAX(id) FROM "
+        + identifier(table) + " WHERE " + PENDING_SQL, rs -> {
+          if (!rs.next() || rs.getObject(1) == null) {
+            return Optional.empty();
+          }
+          return Optional.of(new long[] {rs.getLong(1), rs.getLong(2)});
+        });
+  }
+
+  /**
+   * Fills the missing references of the sessions of a table within an ID range.
+   *
+   * @param table The session table
+   * @param fromId The first ID of the range
+   * @param toId The first ID after the range
+   * @return The number of sessions updated
+   */
+  public int backfillRange(String table, long fromId, long toId) {
+    return jdbcTemplate.update("UPDATE " + identifier(table) + " SET " + REF_COLUMNS_SQL
+        + " WHERE id >= :fromId AND id < :toId AND (" + PENDING_SQL + ")",
+        Map.of("fromId", fromId, "toId", toId));
+  }
+
+  private static String identifier(String name) {
+    if (name == null || !IDENTIFIER.matcher(name).matches()) {
+      throw new IllegalArgumentException("Invalid table name: " + name);
+    }
+    return name;
+  }
+}
@@ -1,20 +1,66 @@
 package tqs.sparkflow.stationservice.repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import tqs.sparkflow.stationservice.model.ChargingSession;
 
 @Repository
 public interface ChargingSessionRepository extends JpaRepository<ChargingSession, Long> {
 
+  /** Charging minutes of a session, shared by the native aggregation queries below. */
+  String SESSION_MINUTES_SQL = "TIMESTAMPDIFF(MINUTE, cs.start_time, cs.end_time)";
+
+  /** Estimated kWh of a session: 7.5 kWh per charging hour, rounded per session. */
+  String SESSION_KWH_SQL = "ROUND(" + SESSION_MINUTES_SQL + " * 7.5 / 60)";
+
+  /** Aggregate columns of a session usage projection over the joined charging_sessions/stations. */
+  String SESSION_USAGE_COLUMNS_SQL = "COUNT(*) AS sessions, "
+      + "COALESCE(SUM(" + SESSION_MINUTES_SQL + "), 0) AS durationMinutes, "
+      + "COALESCE(SUM(" + SESSION_KWH_SQL + "), 0) AS kwh, "
+      + "COALESCE(SUM(" + SESSION_KWH_SQL + " * COALESCE(s.price, 0.35)), 0) AS cost "
+      + "FROM charging_sessions cs LEFT JOIN stations s ON s.id = cs.station_ref ";
+
+  /** Day of a session start encoded as yyyyMMdd. */
+  String SESSION_DAY_KEY_SQL = "EXTRACT(YEAR FROM cs.start_time) * 10000 "
+      + "+ EXTRACT(MONTH FROM cs.start_time) * 100 + EXTRACT(DAY FROM cs.start_time)";
+
   @Query("SELECT cs FROM ChargingSession cs WHERE cs.stationId = :stationId AND cs.finished = false")
   List<ChargingSession> findUnfinishedSessionsByStation(@Param("stationId") Long stationId);
+
+  /**
+   * Finishes a session unless it is already finished, in one conditional update, so that two
+   * concurrent requests to end the same session cannot both finish it. Clears the persistence
+   * context afterwards, so the session is read back with the new state.
+   *
+   * @param id The session ID
+   * @param endTime The end time to set
+   * @return 1 if the session was finished by this call, 0 if it is unknown or already finished
+   */
+  @Transactional
+  @Modifying(flushAutomatically = true, clearAutomatically = true)
+  @Query("UPDATE ChargingSession cs SET cs.finished = true, cs.endTime = :endTime "
+      + "WHERE cs.id = :id AND cs.finished = false")
+  int finishSession(@Param("id") Long id, @Param("endTime") LocalDateTime endTime);
+
+  /**
+   * Checks whether a user has an unfinished session at a station.
+   */
+  boolean existsByStationIdAndUserIdAndFinishedFalse(Long stationId, Long userId);
+
+  @Query("SELECT cs.stationId AS stationId, COUNT(cs) AS usageCount FROM ChargingSession cs " +
+         "WHERE cs.stationId IN :stationIds AND cs.finished = false GROUP BY cs.stationId")
+  List<StationUsageCount> countUnfinishedSessionsByStations(
+      @Param("stationIds") Collection<Long> stationIds);
   
   @Query("SELECT cs FROM ChargingSession cs WHERE cs.stationId = :stationId AND cs.finished = false " +
          "AND cs.startTime >= :startTime AND cs.startTime <= :endTime")
@@ -27,12 +73,42 @@ public interface ChargingSessionRepository extends JpaRepository<ChargingSession
   @Query("SELECT cs FROM ChargingSession cs WHERE cs.userId = :userId AND cs.finished = true " +
          "AND cs.startTime >= :startDate AND cs.startTime <= :endDate")
   List<ChargingSession> findFinishedSessionsByUserInPeriod(
-      @Param("userId") String userId,
+      @Param("userId") Long userId,
       @Param("startDate") LocalDateTime startDate,
       @Param("endDate") LocalDateTime endDate
   );
 
+  /**
+   * Aggregates the finished sessions started since the given time per user and month in one pass.
+   * kWh and cost mirror StatisticsRollupService: 7.5 kWh per charging hour, rounded per session,
+   * priced at the station price or 0.35 per kWh when unknown.
+   */
+  @Query(value = "SELECT cs.user_ref AS userId, "
+      + "YEAR(cs.start_time) * 100 + MONTH(cs.start_time) AS monthKey, "
+      + SESSION_USAGE_COLUMNS_SQL
+      + "WHERE cs.finished = TRUE AND cs.start_time >= :since "
+      + "GROUP BY cs.user_ref, YEAR(cs.start_time) * 100 + MONTH(cs.start_time)",
+      nativeQuery = true)
+  List<UserMonthlySessionUsage> aggregateFinishedSessionsByUserAndMonth(
+      @Param("since") LocalDateTime since);
+
+  /**
+   * Aggregates the finished sessions of a user within a period per day of their start time,
+   * pricing each session with its station in the same query. Callers fold the days into weeks.
+   */
+  @Query(value = "SELECT " + SESSION_DAY_KEY_SQL + " AS dayKey, "
+      + SESSION_USAGE_COLUMNS_SQL
+      + "WHERE cs.user_ref = :userId AND cs.finished = TRUE "
+      + "AND cs.start_time >= :startDate AND cs.start_time <= :endDate "
+      + "GROUP BY " + SESSION_DAY_KEY_SQL + " ORDER BY dayKey",
+      nativeQuery = true)
+  List<DailySessionUsage> aggregateFinishedSessionsByUserPerDay(@Param("userId") Long userId,
+      @Param("startDate") LocalDateTime startDate, @Param("endDate") LocalDateTime endDate);
+
+  /**
+   * Finds one page of a user's sessions, most recent first.
+   */
   @Query("SELECT cs FROM ChargingSession cs WHERE cs.userId = :userId " +
-         "ORDER BY cs.startTime DESC")
-  List<ChargingSession> findRecentSessionsByUser(@Param("userId") String userId);
+         "ORDER BY cs.startTime DESC, cs.id DESC")
+  List<ChargingSession> findRecentSessionsByUser(@Param("userId") Long userId, Pageable pageable);
 } 
@@ -0,0 +1,18 @@
+package tqs.sparkflow.stationservice.repository;
+
+/**
+ * Projection for the finished charging sessions of a user aggregated per day.
+ */
+public interface DailySessionUsage {
+
+  /** Day encoded as yyyyMMdd. */
+  Integer getDayKey();
+
+  Long getSessions();
+
+  Long getDurationMinutes();
+
+  Long getKwh();
+
+  Double getCost();
+}
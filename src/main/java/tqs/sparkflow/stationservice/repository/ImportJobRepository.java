@@ -0,0 +1,21 @@
+package tqs.sparkflow.stationservice.repository;
+
+import java.util.Collection;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+import tqs.sparkflow.stationservice.model.ImportJob;
+import tqs.sparkflow.stationservice.model.ImportJobStatus;
+
+/** Repository for OpenChargeMap region import jobs. */
+@Repository
+public interface ImportJobRepository extends JpaRepository<ImportJob, Long> {
+
+  /**
+   * Finds jobs in any of the given states, oldest first.
+   *
+   * @param statuses The states to match
+   * @return the matching jobs
+   */
+  List<ImportJob> findByStatusInOrderById(Collection<ImportJobStatus> statuses);
+}
@@ -0,0 +1,43 @@
+package tqs.sparkflow.stationservice.repository;
+
+import java.time.LocalDate;
+
+/**
+ * A partition of a table range-partitioned on a start time. Each partition holds the rows below
+ * its upper bound that no earlier partition holds; the last one usually has no bound
+ * ({@code MAXVALUE}).
+ */
+public final class MonthPartition {
+  private final String name;
+  private final LocalDate upperBound;
+
+  public MonthPartition(String name, LocalDate upperBound) {
+    this.name = name;
+    this.upperBound = upperBound;
+  }
+
+  /**
+   * Reads a partition from its {@code information_schema} description, such as
+   * {@code '2025-02-01'} or {@code MAXVALUE}.
+   *
+   * @param name The partition name
+   * @param description The {@code PARTITION_DESCRIPTION} of the partition
+   * @return The partition
+   */
+  static MonthPartition of(String name, String description) {
+    if (description == null || description.equalsIgnoreCase("MAXVALUE")) {
+      return new MonthPartition(name, null);
+    }
+    String bound = description.replace("'", "").trim();
+    return new MonthPartition(name, LocalDate.parse(bound.substring(0, 10)));
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  /** The first start time not held by this partition, or {@code null} when unbounded. */
+  public LocalDate getUpperBound() {
+    return upperBound;
+  }
+}
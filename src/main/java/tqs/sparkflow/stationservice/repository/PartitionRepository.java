@@ -0,0 +1,239 @@
+package tqs.sparkflow.stationservice.repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Maintains the monthly partitions of {@code charging_sessions} and {@code bookings} (MySQL only).
+ * Old partitions are exchanged into a staging table ({@code <table>_exchange}), copied from there
+ * to an archive table and dropped once empty; copies use {@code INSERT IGNORE} on the shared
+ * primary key, so a run interrupted at any step can simply be repeated. Partition DDL commits
+ * implicitly and is never transactional.
+ */
+@Repository
+public class PartitionRepository {
+
+  /** Name of the unbounded partition that new months are split from. */
+  public static final String MAX_PARTITION = "pmax";
+
+  static final String PARTITIONS_SQL = "SELECT PARTITION_NAME, PARTITION_DESCRIPTION "
+      + "FROM information_schema.PARTITIONS WHERE TABLE_SCHEMA = DATABASE() "
+      + "AND TABLE_NAME = :table AND PARTITION_NAME IS NOT NULL "
+      + "ORDER BY PARTITION_ORDINAL_POSITION";
+
+  static final String TABLE_EXISTS_SQL = "SELECT COUNT(*) FROM information_schema.TABLES "
+      + "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = :table";
+
+  private static final Pattern IDENTIFIER = Pattern.compile("[A-Za-z0-9_]+");
+  private static final DateTimeFormatter MONTH_NAME = DateTimeFormatter.ofPattern("'p'yyyyMM");
+
+  private final NamedParameterJdbcTemplate jdbcTemplate;
+
+  public PartitionRepository(NamedParameterJdbcTemplate jdbcTemplate) {
+    this.jdbcTemplate = jdbcTemplate;
+  }
+
+  /**
+   * Lists the partitions of a table in order.
+   *
+   * @param table The table name
+   * @return The partitions, empty when the table is not partitioned
+   */
+  public List<MonthPartition> findPartitions(String table) {
+    return jdbcTemplate.query(PARTITIONS_SQL, Map.of("table", table),
+        (rs, row) -> MonthPartition.of(rs.getString(1), rs.getString(2)));
+  }
+
+  /**
+   * Adds one partition per month after the last bounded partition. Rows already in
+   * {@link #MAX_PARTITION} for those months move into the new partitions.
+   *
+   * @param table The table name
+   * @param months The months to add, consecutive and in order
+   * @param hasMaxPartition Whether the table ends with {@link #MAX_PARTITION}
+   */
+  public void addMonthPartitions(String table, List<YearMonth> months, boolean hasMaxPartition) {
+    String partitions = months.stream()
+        .map(month -> "PARTITION " + month.format(MONTH_NAME) + " VALUES LESS THAN ('"
+            + month.plusMonths(1).atDay(1) + "')")
+        .collect(Collectors.joining(", "));
+    if (hasMaxPartition) {
+      jdbcTemplate.getJdbcTemplate().execute("ALTER TABLE " + identifier(table)
+          + " REORGANIZE PARTITION " + MAX_PARTITION + " INTO (" + partitions + ", PARTITION "
+          + MAX_PARTITION + " VALUES LESS THAN (MAXVALUE))");
+    } else {
+      jdbcTemplate.getJdbcTemplate()
+          .execute("ALTER TABLE " + identifier(table) + " ADD PARTITION (" + partitions + ")");
+    }
+  }
+
+  /**
+   * Counts the active bookings of a partition that end at or after the given time.
+   *
+   * @param partition The bookings partition
+   * @param time The time
+   * @return The number of such bookings
+   */
+  public long countActiveBookingsEndingAfter(String partition, LocalDateTime time) {
+    Long count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM bookings PARTITION ("
+        + identifier(partition) + ") WHERE status = 'ACTIVE' AND end_time >= :time",
+        Map.of("time", time), Long.class);
+    return count != null ? count : 0;
+  }
+
+  /**
+   * Moves the recurring days of the bookings in a partition to
+   * {@code booking_recurring_days_archive}, replacing any copied by an earlier, interrupted run.
+   *
+   * @param partition The bookings partition
+   */
+  @Transactional
+  public void moveRecurringDays(String partition) {
+    String bookings = "bookings PARTITION (" + identifier(partition) + ") b";
+    jdbcTemplate.getJdbcTemplate().update("DELETE a FROM booking_recurring_days_archive a JOIN "
+        + bookings + " ON b.id = a.booking_id");
+    jdbcTemplate.getJdbcTemplate().update("INSERT INTO booking_recurring_days_archive "
+        + "SELECT d.* FROM booking_recurring_days d JOIN " + bookings + " ON b.id = d.booking_id");
+    jdbcTemplate.getJdbcTemplate().update("DELETE d FROM booking_recurring_days d JOIN "
+        + bookings + " ON b.id = d.booking_id");
+  }
+
+  /**
+   * Counts the unfinished charging sessions of a partition.
+   *
+   * @param partition The charging_sessions partition
+   * @return The number of unfinished sessions
+   */
+  public long countUnfinishedSessions(String partition) {
+    Long count = jdbcTemplate.getJdbcTemplate().queryForObject("SELECT COUNT(*) FROM "
+        + "charging_sessions PARTITION (" + identifier(partition) + ") WHERE finished = FALSE",
+        Long.class);
+    return count != null ? count : 0;
+  }
+
+  /**
+   * Swaps the rows of a partition into a new, unpartitioned staging table with
+   * {@code EXCHANGE PARTITION}, which is atomic: every row is either still in the partition or
+   * already in the staging table, never lost in between. The partition is left empty.
+   *
+   * @param table The partitioned table
+   * @param partition The partition to empty
+   */
+  public void exchangeToStaging(String table, String partition) {
+    String staging = identifier(stagingTable(table));
+    JdbcTemplate jdbc = jdbcTemplate.getJdbcTemplate();
+    jdbc.execute("CREATE TABLE " + staging + " LIKE " + identifier(table));
+    jdbc.execute("ALTER TABLE " + staging + " REMOVE PARTITIONING");
+    jdbc.execute("ALTER TABLE " + identifier(table) + " EXCHANGE PARTITION "
+        + identifier(partition) + " WITH TABLE " + staging);
+  }
+
+  /**
+   * Copies the rows of the staging table of a table into its archive table, skipping rows already
+   * there, and drops the staging table. Does nothing when there is no staging table, so it also
+   * finishes a run interrupted after its exchange.
+   *
+   * @param table The partitioned table
+   * @param archiveTable The archive table, with the same columns and primary key
+   * @return The number of rows copied
+   */
+  public int archiveStaged(String table, String archiveTable) {
+    String staging = stagingTable(table);
+    Long exists = jdbcTemplate.queryForObject(TABLE_EXISTS_SQL, Map.of("table", staging),
+        Long.class);
+    if (exists == null || exists == 0) {
+      return 0;
+    }
+    JdbcTemplate jdbc = jdbcTemplate.getJdbcTemplate();
+    int rows = jdbc.update("INSERT IGNORE INTO " + identifier(archiveTable) + " SELECT * FROM "
+        + identifier(staging));
+    jdbc.execute("DROP TABLE " + identifier(staging));
+    return rows;
+  }
+
+  /**
+   * Drops a partition if it is empty. The table is write-locked from the check to the drop, so a
+   * row written to the partition in the meantime is never dropped with it.
+   *
+   * @param table The partitioned table
+   * @param partition The partition to drop
+   * @return Whether the partition was empty and has been dropped
+   */
+  public boolean dropPartitionIfEmpty(String table, String partition) {
+    String sql = "ALTER TABLE " + identifier(table) + " DROP PARTITION " + identifier(partition);
+    String countSql = "SELECT COUNT(*) FROM " + identifier(table) + " PARTITION ("
+        + identifier(partition) + ")";
+    Boolean dropped = jdbcTemplate.getJdbcTemplate().execute((ConnectionCallback<Boolean>) con -> {
+      try (Statement statement = con.createStatement()) {
+        statement.execute("LOCK TABLES " + identifier(table) + " WRITE");
+        try {
+          try (ResultSet rs = statement.executeQuery(countSql)) {
+            if (!rs.next() || rs.getLong(1) > 0) {
+              return false;
+            }
+          }
+          statement.execute(sql);
+          return true;
+        } finally {
+          statement.execute("UNLOCK TABLES");
+        }
+      }
+    });
+    return Boolean.TRUE.equals(dropped);
+  }
+
+  /**
+   * Runs a task while holding a MySQL named lock, so that only one instance runs it at a time. The
+   * lock is tied to one connection, which is held for the whole task.
+   *
+   * @param lockName The lock name
+   * @param task The task
+   * @return Whether the lock was free and the task ran
+   */
+  public boolean runExclusively(String lockName, Runnable task) {
+    Boolean ran = jdbcTemplate.getJdbcTemplate().execute((ConnectionCallback<Boolean>) con -> {
+      try (PreparedStatement lock = con.prepareStatement("SELECT GET_LOCK(?, 0)")) {
+        lock.setString(1, lockName);
+        try (ResultSet rs = lock.executeQuery()) {
+          if (!rs.next() || rs.getInt(1) != 1) {
+            return false;
+          }
+        }
+      }
+      try {
+        task.run();
+        return true;
+      } finally {
+        try (PreparedStatement release = con.prepareStatement("SELECT RELEASE_LOCK(?)")) {
+          release.setString(1, lockName);
+          release.executeQuery().close();
+        }
+      }
+    });
+    return Boolean.TRUE.equals(ran);
+  }
+
+  static String stagingTable(String table) {
+    return table + "_exchange";
+  }
+
+  private static String identifier(String name) {
+    if (name == null || !IDENTIFIER.matcher(name).matches()) {
+      throw new IllegalArgumentException("Invalid table or partition name: " + name);
+    }
+    return name;
+  }
+}
@@ -0,0 +1,27 @@
+package tqs.sparkflow.stationservice.repository;
+
+import java.util.Optional;
+import tqs.sparkflow.stationservice.model.Station;
+
+/**
+ * The station lookups that fill the station caches. They always read the primary, so a lagging
+ * replica can never put a stale station into a cache for its whole time to live.
+ */
+public interface StationPrimaryLookups {
+
+  /**
+   * Finds a station by its ID on the primary.
+   *
+   * @param id The station ID
+   * @return An Optional containing the station if found
+   */
+  Optional<Station> findById(Long id);
+
+  /**
+   * Finds a station by its external ID on the primary.
+   *
+   * @param externalId The external ID to find the station by
+   * @return An Optional containing the station if found
+   */
+  Optional<Station> findByExternalId(String externalId);
+}
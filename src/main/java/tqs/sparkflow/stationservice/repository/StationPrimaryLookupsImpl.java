@@ -0,0 +1,50 @@
+package tqs.sparkflow.stationservice.repository;
+
+import jakarta.persistence.EntityManager;
+import java.util.Optional;
+import java.util.function.Supplier;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import tqs.sparkflow.stationservice.model.Station;
+
+/**
+ * Reads in the caller's transaction unless that transaction is read-only: its connection then
+ * belongs to the replica, so the lookup runs in a read-write transaction of its own, which is
+ * answered by the primary. A read-only caller has no uncommitted writes that the separate
+ * transaction could miss.
+ */
+class StationPrimaryLookupsImpl implements StationPrimaryLookups {
+
+  static final String FIND_BY_EXTERNAL_ID_JPQL =
+      "SELECT s FROM Station s WHERE s.externalId = :externalId";
+
+  private final EntityManager entityManager;
+  private final TransactionTemplate primaryTemplate;
+
+  StationPrimaryLookupsImpl(EntityManager entityManager,
+      PlatformTransactionManager transactionManager) {
+    this.entityManager = entityManager;
+    this.primaryTemplate = new TransactionTemplate(transactionManager);
+    this.primaryTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+  }
+
+  @Override
+  public Optional<Station> findById(Long id) {
+    return onPrimary(() -> Optional.ofNullable(entityManager.find(Station.class, id)));
+  }
+
+  @Override
+  public Optional<Station> findByExternalId(String externalId) {
+    return onPrimary(() -> entityManager.createQuery(FIND_BY_EXTERNAL_ID_JPQL, Station.class)
+        .setParameter("externalId", externalId).getResultStream().findFirst());
+  }
+
+  private <T> T onPrimary(Supplier<T> lookup) {
+    if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+      return primaryTemplate.execute(status -> lookup.get());
+    }
+    return lookup.get();
+  }
+}
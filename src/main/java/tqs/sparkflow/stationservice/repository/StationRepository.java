@@ -3,16 +3,114 @@ package tqs.sparkflow.stationservice.repository;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
+import tqs.sparkflow.stationservice.config.CacheConfig;
 import tqs.sparkflow.stationservice.model.Station;
 
-/** Repository for managing stations. */
+/**
+ * Repository for managing stations. Lookups by ID and external ID are cached; writes through this
+ * repository evict the affected entries, and bulk writes clear both caches. A cache miss is loaded
+ * from the primary by {@link StationPrimaryLookups}, even when the caller is read-only.
+ */
 @Repository
-public interface StationRepository extends JpaRepository<Station, Long> {
+public interface StationRepository extends JpaRepository<Station, Long>, StationPrimaryLookups {
+    /**
+     * Finds a station by its ID, served from the station cache when present. Missing stations are
+     * not cached. Runs read-write rather than in the base repository's read-only transaction, so
+     * that a caller without a transaction is answered by the primary too.
+     *
+     * @param id The station ID
+     * @return An Optional containing the station if found
+     */
+    @Override
+    @Transactional
+    @Cacheable(cacheNames = CacheConfig.STATIONS_BY_ID, unless = "#result == null")
+    Optional<Station> findById(Long id);
+
+    /**
+     * Saves a station and evicts its cached copies. The conditions are checked before the save,
+     * while a new station still has no ID. An update may change the external ID, and the previous
+     * one is not known here, so updates clear the external ID cache.
+     *
+     * @param station The station to save
+     * @return The saved station
+     */
+    @Override
+    @Caching(evict = {
+        @CacheEvict(cacheNames = CacheConfig.STATIONS_BY_ID, key = "#p0.id",
+                condition = "#p0.id != null", beforeInvocation = true),
+        @CacheEvict(cacheNames = CacheConfig.STATIONS_BY_EXTERNAL_ID, key = "#p0.externalId",
+                condition = "#p0.id == null && #p0.externalId != null", beforeInvocation = true),
+        @CacheEvict(cacheNames = CacheConfig.STATIONS_BY_EXTERNAL_ID, allEntries = true,
+                condition = "#p0.id != null", beforeInvocation = true)})
+    <S extends Station> S save(S station);
+
+    @Override
+    @CacheEvict(cacheNames = {CacheConfig.STATIONS_BY_ID, CacheConfig.STATIONS_BY_EXTERNAL_ID},
+            allEntries = true)
+    <S extends Station> List<S> saveAll(Iterable<S> stations);
+
+    /**
+     * Deletes a station by ID and evicts it. The external ID is not known here, so the external
+     * ID cache is cleared.
+     *
+     * @param id The station ID
+     */
+    @Override
+    @Caching(evict = {@CacheEvict(cacheNames = CacheConfig.STATIONS_BY_ID, key = "#p0"),
+        @CacheEvict(cacheNames = CacheConfig.STATIONS_BY_EXTERNAL_ID, allEntries = true)})
+    void deleteById(Long id);
+
+    @Override
+    @Caching(evict = {
+        @CacheEvict(cacheNames = CacheConfig.STATIONS_BY_ID, key = "#p0.id",
+                condition = "#p0.id != null"),
+        @CacheEvict(cacheNames = CacheConfig.STATIONS_BY_EXTERNAL_ID, key = "#p0.externalId",
+                condition = "#p0.externalId != null")})
+    void delete(Station station);
+
+    @Override
+    @CacheEvict(cacheNames = {CacheConfig.STATIONS_BY_ID, CacheConfig.STATIONS_BY_EXTERNAL_ID},
+            allEntries = true)
+    void deleteAll();
+
+    @Override
+    @CacheEvict(cacheNames = {CacheConfig.STATIONS_BY_ID, CacheConfig.STATIONS_BY_EXTERNAL_ID},
+            allEntries = true)
+    void deleteAllInBatch();
+
+    /**
+     * Reads the current version of a station without loading it. Runs in a read-write transaction
+     * so that it is answered by the primary: a lagging replica would return a stale version and
+     * fail the optimistic-lock check of the update that follows.
+     *
+     * @param id The station ID
+     * @return An Optional containing the version if the station exists
+     */
+    @Transactional
+    @Query("SELECT s.version FROM Station s WHERE s.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    /**
+     * Reads every station from the primary, in a transaction of its own so that it is not routed
+     * to the replica even when called inside a read-only transaction. Used to load the station
+     * snapshot, which would otherwise keep a lagging replica's view until its next reload.
+     *
+     * @return All stations
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    @Query("SELECT s FROM Station s")
+    List<Station> findAllOnPrimary();
+
     /**
      * Finds stations by city.
      *
@@ -23,11 +121,15 @@ public interface StationRepository extends JpaRepository<Station, Long> {
     List<Station> findByCity(@Param("city") String city);
 
     /**
-     * Finds a station by its external ID.
+     * Finds a station by its external ID, served from the external ID cache when present and
+     * otherwise read from the primary, like {@link #findById(Long)}.
      *
      * @param externalId The external ID to find the station by
      * @return An Optional containing the station if found
      */
+    @Override
+    @Transactional
+    @Cacheable(cacheNames = CacheConfig.STATIONS_BY_EXTERNAL_ID, unless = "#result == null")
     Optional<Station> findByExternalId(String externalId);
 
     /**
@@ -0,0 +1,239 @@
+package tqs.sparkflow.stationservice.repository;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import tqs.sparkflow.stationservice.config.CacheConfig;
+import tqs.sparkflow.stationservice.dto.StationImportResult;
+import tqs.sparkflow.stationservice.model.Station;
+
+/**
+ * Bulk upsert of imported stations keyed on {@code external_id}. Existing content hashes are read
+ * in one query per chunk, so only new or changed stations are written, via a batched MySQL
+ * {@code INSERT ... ON DUPLICATE KEY UPDATE} backed by the {@code uk_stations_external_id} index.
+ * Updated stations are evicted from the station caches, which the JDBC writes would otherwise
+ * bypass. A new external ID first adopts a legacy station imported without one that has the same
+ * name and coordinates, so re-importing does not add a second copy of it.
+ */
+@Repository
+public class StationUpsertRepository {
+
+  static final int BATCH_SIZE = 500;
+
+  static final String SELECT_HASHES_SQL =
+      "SELECT id, external_id, content_hash FROM stations WHERE external_id IN (:externalIds)";
+
+  /** Gives one legacy station without an external ID the external ID of its imported twin. */
+  static final String ADOPT_LEGACY_SQL = "UPDATE stations SET external_id = :externalId "
+      + "WHERE external_id IS NULL AND name = :name AND latitude = :latitude "
+      + "AND longitude = :longitude LIMIT 1";
+
+  /**
+   * Only the columns owned by the import are refreshed on conflict; price, operational state and
+   * status are managed locally and must survive a re-import. New stations take all three from the
+   * import.
+   */
+  static final String UPSERT_SQL = "INSERT INTO stations (external_id, name, address, city, "
+      + "country, latitude, longitude, status, quantity_of_chargers, power, is_operational, "
+      + "price, content_hash) VALUES (:externalId, :name, :address, :city, :country, :latitude, "
+      + ":longitude, :status, :quantityOfChargers, :power, :isOperational, :price, :contentHash) "
+      + "ON DUPLICATE KEY UPDATE name = VALUES(name), address = VALUES(address), "
+      + "city = VALUES(city), country = VALUES(country), latitude = VALUES(latitude), "
+      + "longitude = VALUES(longitude), "
+      + "quantity_of_chargers = VALUES(quantity_of_chargers), power = VALUES(power), "
+      + "content_hash = VALUES(content_hash), version = version + 1";
+
+  private final NamedParameterJdbcTemplate jdbcTemplate;
+  private final CacheManager cacheManager;
+
+  public StationUpsertRepository(NamedParameterJdbcTemplate jdbcTemplate,
+      CacheManager cacheManager) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.cacheManager = cacheManager;
+  }
+
+  /**
+   * Inserts new stations and updates changed ones, matching on external ID. Stations without an
+   * external ID cannot be matched and are ignored; when the same external ID appears more than
+   * once, the last occurrence wins.
+   *
+   * @param stations The imported stations
+   * @return The number of inserted, updated and unchanged stations
+   */
+  @Transactional
+  public StationImportResult upsertByExternalId(Collection<Station> stations) {
+    return write(stations, true);
+  }
+
+  /**
+   * Updates the changed stations among those already stored, matching on external ID. Stations
+   * not stored yet are skipped and not counted.
+   *
+   * @param stations The imported stations
+   * @return The number of updated and unchanged stations
+   */
+  @Transactional
+  public StationImportResult updateByExternalId(Collection<Station> stations) {
+    return write(stations, false);
+  }
+
+  private StationImportResult write(Collection<Station> stations, boolean insertNew) {
+    Map<String, Station> byExternalId = new LinkedHashMap<>();
+    for (Station station : stations) {
+      if (station != null && station.getExternalId() != null) {
+        byExternalId.put(station.getExternalId(), station);
+      }
+    }
+
+    int inserted = 0;
+    int updated = 0;
+    int unchanged = 0;
+    List<String> externalIds = new ArrayList<>(byExternalId.keySet());
+    for (int from = 0; from < externalIds.size(); from += BATCH_SIZE) {
+      List<String> chunk =
+          externalIds.subList(from, Math.min(from + BATCH_SIZE, externalIds.size()));
+      Map<String, String> existingHashes = new HashMap<>();
+      Map<String, Long> existingIds = new HashMap<>();
+      findExisting(chunk, existingHashes, existingIds);
+
+      List<SqlParameterSource> writes = new ArrayList<>();
+      List<Station> fresh = new ArrayList<>();
+      List<String> changed = new ArrayList<>();
+      for (String externalId : chunk) {
+        Station station = byExternalId.get(externalId);
+        String hash = contentHash(station);
+        if (!existingHashes.containsKey(externalId)) {
+          if (!insertNew) {
+            continue;
+          }
+          fresh.add(station);
+        } else if (!hash.equals(existingHashes.get(externalId))) {
+          updated++;
+          changed.add(externalId);
+        } else {
+          unchanged++;
+          continue;
+        }
+        station.setContentHash(hash);
+        writes.add(toParameters(station));
+      }
+      int adopted = adoptLegacy(fresh);
+      inserted += fresh.size() - adopted;
+      updated += adopted;
+      if (!writes.isEmpty()) {
+        jdbcTemplate.batchUpdate(UPSERT_SQL, writes.toArray(new SqlParameterSource[0]));
+      }
+      evict(changed, existingIds);
+    }
+    return new StationImportResult(inserted, updated, unchanged);
+  }
+
+  /**
+   * Hands the external IDs of new stations to matching legacy stations, which the upsert then
+   * updates instead of inserting a copy. Adopted stations may be cached by ID only, so that cache
+   * is cleared when any is adopted.
+   *
+   * @return The number of adopted stations
+   */
+  private int adoptLegacy(List<Station> stations) {
+    if (stations.isEmpty()) {
+      return 0;
+    }
+    SqlParameterSource[] parameters = stations.stream()
+        .map(station -> new MapSqlParameterSource()
+            .addValue("externalId", station.getExternalId())
+            .addValue("name", station.getName())
+            .addValue("latitude", station.getLatitude())
+            .addValue("longitude", station.getLongitude()))
+        .toArray(SqlParameterSource[]::new);
+    int[] counts = jdbcTemplate.batchUpdate(ADOPT_LEGACY_SQL, parameters);
+    int adopted = 0;
+    for (int count : counts != null ? counts : new int[0]) {
+      if (count > 0) {
+        adopted++;
+      }
+    }
+    Cache byId = cacheManager.getCache(CacheConfig.STATIONS_BY_ID);
+    if (adopted > 0 && byId != null) {
+      byId.clear();
+    }
+    return adopted;
+  }
+
+  private void findExisting(List<String> externalIds, Map<String, String> hashes,
+      Map<String, Long> ids) {
+    jdbcTemplate.query(SELECT_HASHES_SQL, new MapSqlParameterSource("externalIds", externalIds),
+        rs -> {
+          String externalId = rs.getString("external_id");
+          hashes.put(externalId, rs.getString("content_hash"));
+          ids.put(externalId, rs.getLong("id"));
+        });
+  }
+
+  /**
+   * Evicts updated stations by both keys. Inserted stations need no eviction, since missing
+   * stations are never cached.
+   */
+  private void evict(List<String> externalIds, Map<String, Long> ids) {
+    Cache byId = cacheManager.getCache(CacheConfig.STATIONS_BY_ID);
+    Cache byExternalId = cacheManager.getCache(CacheConfig.STATIONS_BY_EXTERNAL_ID);
+    for (String externalId : externalIds) {
+      if (byId != null) {
+        byId.evict(ids.get(externalId));
+      }
+      if (byExternalId != null) {
+        byExternalId.evict(externalId);
+      }
+    }
+  }
+
+  private static SqlParameterSource toParameters(Station station) {
+    return new MapSqlParameterSource().addValue("externalId", station.getExternalId())
+        .addValue("name", station.getName()).addValue("address", station.getAddress())
+        .addValue("city", station.getCity()).addValue("country", station.getCountry())
+        .addValue("latitude", station.getLatitude()).addValue("longitude", station.getLongitude())
+        .addValue("status", station.getStatus())
+        .addValue("quantityOfChargers", station.getQuantityOfChargers())
+        .addValue("power", station.getPower())
+        .addValue("isOperational", station.getIsOperational())
+        .addValue("price", station.getPrice())
+        .addValue("contentHash", station.getContentHash());
+  }
+
+  /**
+   * Hashes the fields refreshed by an import, so a station whose hash matches the stored one can
+   * be skipped without being written.
+   *
+   * @param station The imported station
+   * @return Hex-encoded SHA-256 of the imported fields
+   */
+  static String contentHash(Station station) {
+    String canonical = String.join("\u001f", Objects.toString(station.getName(), ""),
+        Objects.toString(station.getAddress(), ""), Objects.toString(station.getCity(), ""),
+        Objects.toString(station.getCountry(), ""), Objects.toString(station.getLatitude(), ""),
+        Objects.toString(station.getLongitude(), ""),
+        Objects.toString(station.getQuantityOfChargers(), ""),
+        Objects.toString(station.getPower(), ""));
+    try {
+      MessageDigest digest = MessageDigest.getInstance("SHA-256");
+      return HexFormat.of().formatHex(digest.digest(canonical.getBytes(StandardCharsets.UTF_8)));
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 not available", e);
+    }
+  }
+}
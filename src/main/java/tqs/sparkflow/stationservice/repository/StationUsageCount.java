@@ -0,0 +1,21 @@
+package tqs.sparkflow.stationservice.repository;
+
+/**
+ * Projection for grouped per-station usage counts (active bookings or unfinished sessions).
+ */
+public interface StationUsageCount {
+
+  /**
+   * Gets the station the count refers to.
+   *
+   * @return the station ID
+   */
+  Long getStationId();
+
+  /**
+   * Gets the number of chargers in use at the station.
+   *
+   * @return the usage count
+   */
+  Long getUsageCount();
+}
@@ -0,0 +1,10 @@
+package tqs.sparkflow.stationservice.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+import tqs.sparkflow.stationservice.model.SyncState;
+
+/** Repository for incremental sync watermarks. */
+@Repository
+public interface SyncStateRepository extends JpaRepository<SyncState, String> {
+}
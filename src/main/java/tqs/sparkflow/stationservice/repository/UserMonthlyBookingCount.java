@@ -0,0 +1,14 @@
+package tqs.sparkflow.stationservice.repository;
+
+/**
+ * Projection for bookings counted per user and month.
+ */
+public interface UserMonthlyBookingCount {
+
+  Long getUserId();
+
+  /** Month encoded as yyyyMM. */
+  Integer getMonthKey();
+
+  Long getBookings();
+}
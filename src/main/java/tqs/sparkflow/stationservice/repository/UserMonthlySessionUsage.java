@@ -0,0 +1,20 @@
+package tqs.sparkflow.stationservice.repository;
+
+/**
+ * Projection for finished charging sessions aggregated per user and month.
+ */
+public interface UserMonthlySessionUsage {
+
+  Long getUserId();
+
+  /** Month encoded as yyyyMM. */
+  Integer getMonthKey();
+
+  Long getSessions();
+
+  Long getDurationMinutes();
+
+  Long getKwh();
+
+  Double getCost();
+}
@@ -0,0 +1,41 @@
+package tqs.sparkflow.stationservice.repository;
+
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import tqs.sparkflow.stationservice.model.UserMonthlyStats;
+
+/**
+ * Repository for the per-user monthly statistics rollup. Rows are written through
+ * {@link UserMonthlyStatsUpsertRepository}.
+ */
+@Repository
+public interface UserMonthlyStatsRepository extends JpaRepository<UserMonthlyStats, Long> {
+
+  Optional<UserMonthlyStats> findByUserIdAndMonthKey(Long userId, int monthKey);
+
+  /**
+   * Finds the rollup rows of a user for an inclusive range of months.
+   *
+   * @param userId The ID of the user
+   * @param fromMonthKey The first month, as yyyyMM
+   * @param toMonthKey The last month, as yyyyMM
+   * @return the rows ordered by month
+   */
+  List<UserMonthlyStats> findByUserIdAndMonthKeyBetweenOrderByMonthKey(Long userId,
+      int fromMonthKey, int toMonthKey);
+
+  /**
+   * Deletes the rollup rows of a month and all later months.
+   *
+   * @param monthKey The first month to delete, as yyyyMM
+   * @return the number of deleted rows
+   */
+  @Modifying
+  @Query("DELETE FROM UserMonthlyStats s WHERE s.monthKey >= :monthKey")
+  int deleteFromMonth(@Param("monthKey") int monthKey);
+}
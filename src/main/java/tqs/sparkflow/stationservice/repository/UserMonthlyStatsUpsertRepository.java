@@ -0,0 +1,89 @@
+package tqs.sparkflow.stationservice.repository;
+
+import java.util.Collection;
+import java.util.Map;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Repository;
+import tqs.sparkflow.stationservice.model.UserMonthlyStats;
+
+/**
+ * Writes {@code user_monthly_stats} rows with MySQL {@code INSERT ... ON DUPLICATE KEY UPDATE} on
+ * the {@code uk_user_monthly_stats_user_month} key. The first increment of a user and month and a
+ * concurrent one cannot both insert, so a duplicate key never fails the caller's transaction. New
+ * rows take their ID from {@code AUTO_INCREMENT}.
+ */
+@Repository
+public class UserMonthlyStatsUpsertRepository {
+
+  static final String ADD_SESSION_SQL = "INSERT INTO user_monthly_stats "
+      + "(user_id, month_key, sessions, duration_minutes, kwh, cost, bookings) "
+      + "VALUES (:userId, :monthKey, 1, :minutes, :kwh, :cost, 0) "
+      + "ON DUPLICATE KEY UPDATE sessions = sessions + 1, "
+      + "duration_minutes = duration_minutes + :minutes, kwh = kwh + :kwh, cost = cost + :cost";
+
+  static final String ADD_BOOKING_SQL = "INSERT INTO user_monthly_stats "
+      + "(user_id, month_key, sessions, duration_minutes, kwh, cost, bookings) "
+      + "VALUES (:userId, :monthKey, 0, 0, 0, 0, 1) "
+      + "ON DUPLICATE KEY UPDATE bookings = bookings + 1";
+
+  /** Rebuilt rows replace any row an increment recreated since the month was cleared. */
+  static final String REPLACE_SQL = "INSERT INTO user_monthly_stats "
+      + "(user_id, month_key, sessions, duration_minutes, kwh, cost, bookings) "
+      + "VALUES (:userId, :monthKey, :sessions, :durationMinutes, :kwh, :cost, :bookings) "
+      + "ON DUPLICATE KEY UPDATE sessions = :sessions, duration_minutes = :durationMinutes, "
+      + "kwh = :kwh, cost = :cost, bookings = :bookings";
+
+  private final NamedParameterJdbcTemplate jdbcTemplate;
+
+  public UserMonthlyStatsUpsertRepository(NamedParameterJdbcTemplate jdbcTemplate) {
+    this.jdbcTemplate = jdbcTemplate;
+  }
+
+  /**
+   * Adds one finished session to the row of a user and month, creating the row if needed.
+   *
+   * @param userId The ID of the user
+   * @param monthKey The month, as yyyyMM
+   * @param minutes The charging minutes of the session
+   * @param kwh The estimated kWh of the session
+   * @param cost The estimated cost of the session
+   */
+  public void addSession(Long userId, int monthKey, long minutes, int kwh, double cost) {
+    jdbcTemplate.update(ADD_SESSION_SQL, Map.of("userId", userId, "monthKey", monthKey,
+        "minutes", minutes, "kwh", kwh, "cost", cost));
+  }
+
+  /**
+   * Adds one booking to the row of a user and month, creating the row if needed.
+   *
+   * @param userId The ID of the user
+   * @param monthKey The month, as yyyyMM
+   */
+  public void addBooking(Long userId, int monthKey) {
+    jdbcTemplate.update(ADD_BOOKING_SQL, Map.of("userId", userId, "monthKey", monthKey));
+  }
+
+  /**
+   * Writes rebuilt rows in one batch, overwriting the counters of rows that already exist.
+   *
+   * @param rows The rows to write
+   */
+  public void replaceAll(Collection<UserMonthlyStats> rows) {
+    if (rows.isEmpty()) {
+      return;
+    }
+    SqlParameterSource[] parameters = rows.stream()
+        .map(row -> new MapSqlParameterSource()
+            .addValue("userId", row.getUserId())
+            .addValue("monthKey", row.getMonthKey())
+            .addValue("sessions", row.getSessions())
+            .addValue("durationMinutes", row.getDurationMinutes())
+            .addValue("kwh", row.getKwh())
+            .addValue("cost", row.getCost())
+            .addValue("bookings", row.getBookings()))
+        .toArray(SqlParameterSource[]::new);
+    jdbcTemplate.batchUpdate(REPLACE_SQL, parameters);
+  }
+}
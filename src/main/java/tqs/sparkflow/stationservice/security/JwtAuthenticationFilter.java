@@ -1,14 +1,16 @@
 package tqs.sparkflow.stationservice.security;
 
+import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
-import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
 import org.springframework.context.annotation.Profile;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
@@ -48,10 +50,12 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         
     final String requestTokenHeader = request.getHeader("Authorization");
     String jwtToken = extractJwtToken(requestTokenHeader);
-    String username = extractUsernameFromToken(jwtToken);
+    // The token is verified once; username, expiry and roles all come from the same claims
+    Claims claims = extractClaimsFromToken(jwtToken);
+    String username = claims != null ? claims.getSubject() : null;
 
     if (shouldAuthenticate(username)) {
-      authenticateUser(jwtToken, username, request);
+      authenticateUser(claims, username, request);
     }
     
     chain.doFilter(request, response);
@@ -65,12 +69,12 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     return null;
   }
   
-  private String extractUsernameFromToken(String jwtToken) {
+  private Claims extractClaimsFromToken(String jwtToken) {
     if (jwtToken == null) {
       return null;
     }
     try {
-      return jwtUtil.extractUsername(jwtToken);
+      return jwtUtil.parseClaims(jwtToken);
     } catch (JwtException | IllegalArgumentException e) {
       logger.warn("Unable to get JWT Token or JWT Token has expired");
       return null;
@@ -83,22 +87,24 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
            SecurityContextHolder.getContext().getAuthentication() == null;
   }
   
-  private void authenticateUser(String jwtToken, String username, HttpServletRequest request) {
+  private void authenticateUser(Claims claims, String username, HttpServletRequest request) {
     try {
-      if (Boolean.TRUE.equals(jwtUtil.validateToken(jwtToken, username))) {
-        Boolean isOperator = jwtUtil.extractIsOperator(jwtToken);
-        
-        SimpleGrantedAuthority authority = Boolean.TRUE.equals(isOperator) ? 
-            new SimpleGrantedAuthority("ROLE_OPERATOR") : 
-            new SimpleGrantedAuthority("ROLE_USER");
-        
-        UsernamePasswordAuthenticationToken authToken = 
-            new UsernamePasswordAuthenticationToken(
-                username, null, Collections.singletonList(authority));
-        authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                  
-        SecurityContextHolder.getContext().setAuthentication(authToken);
+      Boolean isOperator = JwtUtil.isOperator(claims);
+      List<String> roles = JwtUtil.roles(claims);
+
+      Set<SimpleGrantedAuthority> authorities = new LinkedHashSet<>();
+      authorities.add(Boolean.TRUE.equals(isOperator) ? 
+          new SimpleGrantedAuthority("ROLE_OPERATOR") : 
+          new SimpleGrantedAuthority("ROLE_USER"));
+      if (roles != null) {
+        roles.forEach(role -> authorities.add(new SimpleGrantedAuthority("ROLE_" + role)));
       }
+      
+      JwtRoleAuthenticationToken authToken = new JwtRoleAuthenticationToken(username,
+          JwtUtil.userId(claims), authorities, roles != null);
+      authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                
+      SecurityContextHolder.getContext().setAuthentication(authToken);
     } catch (JwtException | IllegalArgumentException e) {
       logger.warn("Unable to validate JWT token for username: " + username);
     }
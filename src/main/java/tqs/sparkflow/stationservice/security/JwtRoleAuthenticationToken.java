@@ -0,0 +1,65 @@
+package tqs.sparkflow.stationservice.security;
+
+import java.util.Collection;
+import java.util.Optional;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+/**
+ * Authentication built from a verified JWT. Records the user ID claim and whether the token
+ * carried a roles claim, so role checks can be answered from the security context instead of
+ * asking user-service. The name is the token's subject, a username, and is never compared with
+ * user IDs.
+ */
+public class JwtRoleAuthenticationToken extends UsernamePasswordAuthenticationToken {
+
+  private static final long serialVersionUID = 1L;
+  private static final String ROLE_PREFIX = "ROLE_";
+
+  private final Long userId;
+  private final boolean rolesClaimPresent;
+
+  /**
+   * Creates an authenticated token.
+   *
+   * @param username the subject of the JWT
+   * @param userId the user ID claim of the JWT, or null if it has none
+   * @param authorities the authorities granted by the JWT
+   * @param rolesClaimPresent whether the JWT carried a roles claim
+   */
+  public JwtRoleAuthenticationToken(String username, Long userId,
+      Collection<? extends GrantedAuthority> authorities, boolean rolesClaimPresent) {
+    super(username, null, authorities);
+    this.userId = userId;
+    this.rolesClaimPresent = rolesClaimPresent;
+  }
+
+  public Long getUserId() {
+    return userId;
+  }
+
+  public boolean isRolesClaimPresent() {
+    return rolesClaimPresent;
+  }
+
+  /**
+   * Checks a role of the user authenticated on the current thread.
+   *
+   * @param userId the ID of the user to check
+   * @param role the role name without the {@code ROLE_} prefix
+   * @return whether the user has the role, or empty if the current authentication's user ID
+   *     claim is missing or belongs to another user, or its token carried no roles claim
+   */
+  public static Optional<Boolean> currentUserHasRole(Long userId, String role) {
+    Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+    if (userId == null || !(authentication instanceof JwtRoleAuthenticationToken token)
+        || !token.isRolesClaimPresent() || !userId.equals(token.getUserId())) {
+      return Optional.empty();
+    }
+    String authority = ROLE_PREFIX + role;
+    return Optional.of(token.getAuthorities().stream()
+        .anyMatch(granted -> authority.equals(granted.getAuthority())));
+  }
+}
@@ -68,12 +68,15 @@ public interface BookingService {
   List<Booking> getBookingsByStationId(Long stationId, Long requestingUserId);
 
   /**
-   * Gets all bookings for a specific user. Validates that the requesting user has permission to
-   * view the bookings.
+   * Gets one page of the bookings of a specific user, most recent first. Validates that the
+   * requesting user has permission to view the bookings.
    *
    * @param userId The ID of the user whose bookings to retrieve
+   * @param page The zero-based page number
+   * @param size The number of bookings per page, at most 100
    * @return List of bookings for the user that the requesting user has permission to view
    * @throws IllegalStateException if the requesting user is not authorized to view the bookings
+   * @throws IllegalArgumentException if the page is negative or the size is below 1
    */
-  List<Booking> getBookingsByUserId(Long userId);
+  List<Booking> getBookingsByUserId(Long userId, int page, int size);
 }
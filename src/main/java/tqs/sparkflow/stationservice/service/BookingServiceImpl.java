@@ -4,77 +4,100 @@ import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
-import org.springframework.beans.factory.annotation.Value;
+import java.util.concurrent.CompletableFuture;
+import org.hibernate.Hibernate;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import tqs.sparkflow.stationservice.model.Booking;
 import tqs.sparkflow.stationservice.model.BookingStatus;
 import tqs.sparkflow.stationservice.model.Station;
 import tqs.sparkflow.stationservice.repository.BookingRepository;
 import tqs.sparkflow.stationservice.repository.StationRepository;
+import tqs.sparkflow.stationservice.security.JwtRoleAuthenticationToken;
 
 @Service
 public class BookingServiceImpl implements BookingService {
-  @Value("${api.paths.users}")
-  private String usersPath;
-
   private final BookingRepository bookingRepository;
   private final StationRepository stationRepository;
-  private final RestTemplate restTemplate;
-  private final String userServiceUrl;
-  private static final String ADMIN_ROLE_CHECK = "/has-role/ADMIN";
+  private final UserServiceClient userServiceClient;
+  private final StatisticsRollupService statisticsRollupService;
+  private final TransactionTemplate transactionTemplate;
+  private final TransactionTemplate readOnlyTemplate;
+  private static final String ADMIN_ROLE = "ADMIN";
 
   /**
    * Creates a new instance of BookingServiceImpl.
    *
    * @param bookingRepository The repository for booking operations
    * @param stationRepository The repository for station operations
-   * @param restTemplate The RestTemplate for making HTTP requests
-   * @param userServiceUrl The URL of the user service
+   * @param userServiceClient The cached client for user and role lookups
+   * @param statisticsRollupService The service maintaining the monthly statistics rollup
+   * @param transactionManager The transaction manager for the booking insert and reads
    */
   public BookingServiceImpl(BookingRepository bookingRepository,
-      StationRepository stationRepository, RestTemplate restTemplate, String userServiceUrl) {
+      StationRepository stationRepository, UserServiceClient userServiceClient,
+      StatisticsRollupService statisticsRollupService,
+      PlatformTransactionManager transactionManager) {
     this.bookingRepository = bookingRepository;
     this.stationRepository = stationRepository;
-    this.restTemplate = restTemplate;
-    this.userServiceUrl = userServiceUrl;
+    this.userServiceClient = userServiceClient;
+    this.statisticsRollupService = statisticsRollupService;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.readOnlyTemplate = new TransactionTemplate(transactionManager);
+    this.readOnlyTemplate.setReadOnly(true);
   }
 
   private void validateUser(Long userId) {
-    try {
-      restTemplate.getForObject(userServiceUrl + usersPath + userId, Object.class);
-    } catch (Exception e) {
+    validateUser(userServiceClient.userExists(userId));
+  }
+
+  private static void validateUser(boolean userExists) {
+    if (!userExists) {
       throw new IllegalStateException("User not found or not authorized");
     }
   }
 
   private void validateUserPermission(Long userId, Long bookingUserId) {
-    if (!userId.equals(bookingUserId)) {
-      try {
-        restTemplate.getForObject(userServiceUrl + usersPath + userId + ADMIN_ROLE_CHECK,
-            Boolean.class);
-      } catch (Exception e) {
-        throw new IllegalStateException("User not authorized to access this booking");
-      }
+    if (!userId.equals(bookingUserId) && !isAdmin(userId)) {
+      throw new IllegalStateException("User not authorized to access this booking");
     }
   }
 
+  private boolean isAdmin(Long userId) {
+    // Tokens carrying a roles claim are answered locally; older tokens still ask user-service
+    return JwtRoleAuthenticationToken.currentUserHasRole(userId, ADMIN_ROLE)
+        .orElseGet(() -> userServiceClient.isAdmin(userId));
+  }
+
+  /**
+   * Checks the user with user-service and the station before opening a transaction, so a slow
+   * user-service never holds a pooled connection, then checks for overlaps and inserts the booking
+   * in one short transaction on the primary.
+   */
   @Override
   public Booking createRecurringBooking(Long userId, Long stationId, LocalDateTime startTime,
       LocalDateTime endTime, Set<Integer> recurringDays) {
-    validateUser(userId);
+    // The remote user check does not depend on the station read, so both run at once
+    CompletableFuture<Boolean> userExists = userServiceClient.userExistsAsync(userId);
+    Station station = stationRepository.findById(stationId).orElse(null);
 
-    Station station = stationRepository.findById(stationId)
-        .orElseThrow(() -> new IllegalStateException("Station not found"));
+    validateUser(userExists.join());
+    if (station == null) {
+      throw new IllegalStateException("Station not found");
+    }
     if (Boolean.FALSE.equals(station.getIsOperational())) {
       throw new IllegalStateException("Station is not operational");
     }
+    return transactionTemplate.execute(status ->
+        insertBooking(userId, stationId, startTime, endTime, recurringDays));
+  }
 
+  private Booking insertBooking(Long userId, Long stationId, LocalDateTime startTime,
+      LocalDateTime endTime, Set<Integer> recurringDays) {
     // Check for overlapping bookings
-    List<Booking> overlappingBookings =
-        bookingRepository.findOverlappingBookings(stationId, startTime, endTime);
-
-    if (!overlappingBookings.isEmpty()) {
+    if (!bookingRepository.findOverlappingBookings(stationId, startTime, endTime).isEmpty()) {
       throw new IllegalStateException("There are overlapping bookings for this time slot");
     }
 
@@ -86,19 +109,29 @@ public class BookingServiceImpl implements BookingService {
     booking.setRecurringDays(recurringDays);
     booking.setStatus(BookingStatus.ACTIVE);
 
-    return bookingRepository.save(booking);
+    Booking saved = bookingRepository.save(booking);
+    statisticsRollupService.recordBooking(saved);
+    return saved;
   }
 
   @Override
   public Booking createBooking(Booking booking) {
-    validateUser(booking.getUserId());
     return createRecurringBooking(booking.getUserId(), booking.getStationId(),
         booking.getStartTime(), booking.getEndTime(), booking.getRecurringDays());
   }
 
+  /**
+   * The remote user and role checks in this and the following reads run outside the transaction,
+   * which then only covers the repository read, so a slow user-service never holds a connection.
+   */
   @Override
   public Optional<Booking> getBookingById(Long id, Long requestingUserId) {
-    Optional<Booking> booking = bookingRepository.findById(id);
+    Optional<Booking> booking = readOnlyTemplate.execute(status -> {
+      Optional<Booking> found = bookingRepository.findById(id);
+      // Loaded here, since the session closes with the transaction
+      found.ifPresent(b -> Hibernate.initialize(b.getRecurringDays()));
+      return found;
+    });
     if (booking.isPresent()) {
       validateUserPermission(requestingUserId, booking.get().getUserId());
     }
@@ -108,16 +141,14 @@ public class BookingServiceImpl implements BookingService {
   @Override
   public List<Booking> getAllBookings(Long userId) {
     validateUser(userId);
-    try {
-      restTemplate.getForObject(userServiceUrl + usersPath + userId + ADMIN_ROLE_CHECK,
-          Boolean.class);
-    } catch (Exception e) {
+    if (!isAdmin(userId)) {
       throw new IllegalStateException("User not authorized to access all bookings");
     }
-    return bookingRepository.findAll();
+    return readOnlyTemplate.execute(status -> bookingRepository.findAll());
   }
 
   @Override
+  @Transactional
   public Booking cancelBooking(Long id) {
     Optional<Booking> bookingOpt = bookingRepository.findById(id);
     if (bookingOpt.isEmpty()) {
@@ -127,6 +158,7 @@ public class BookingServiceImpl implements BookingService {
     Booking booking = bookingOpt.get();
     validateUserPermission(booking.getUserId(), booking.getUserId());
 
+    // The statistics rollup keeps counting the booking, as its nightly backfill does
     booking.setStatus(BookingStatus.CANCELLED);
     return bookingRepository.save(booking);
   }
@@ -134,19 +166,23 @@ public class BookingServiceImpl implements BookingService {
   @Override
   public List<Booking> getBookingsByStationId(Long stationId, Long requestingUserId) {
     validateUser(requestingUserId);
-    try {
-      restTemplate.getForObject(userServiceUrl + usersPath + requestingUserId + ADMIN_ROLE_CHECK,
-          Boolean.class);
-    } catch (Exception e) {
+    if (!isAdmin(requestingUserId)) {
       // If not admin, only return bookings for this user
-      return bookingRepository.findByStationIdAndUserId(stationId, requestingUserId);
+      return readOnlyTemplate.execute(status ->
+          bookingRepository.findByStationIdAndUserId(stationId, requestingUserId));
     }
-    return bookingRepository.findByStationId(stationId);
+    return readOnlyTemplate.execute(status -> bookingRepository.findByStationId(stationId));
   }
 
   @Override
-  public List<Booking> getBookingsByUserId(Long userId) {
+  public List<Booking> getBookingsByUserId(Long userId, int page, int size) {
     validateUser(userId);
-    return bookingRepository.findByUserId(userId);
+    return readOnlyTemplate.execute(status -> {
+      List<Booking> bookings =
+          bookingRepository.findRecentBookingsByUser(userId, HistoryPages.of(page, size));
+      // The first one loads the days of the whole page in one batch
+      bookings.forEach(booking -> Hibernate.initialize(booking.getRecurringDays()));
+      return bookings;
+    });
   }
 }
@@ -0,0 +1,106 @@
+package tqs.sparkflow.stationservice.service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import tqs.sparkflow.stationservice.config.ChargingSessionRefBackfillConfig;
+import tqs.sparkflow.stationservice.repository.ChargingSessionRefBackfillRepository;
+import tqs.sparkflow.stationservice.repository.PartitionRepository;
+
+/**
+ * Backfills the BIGINT {@code station_ref} and {@code user_ref} columns of charging sessions
+ * written before migration V4 added them, walking the IDs in ranges of the configured batch size
+ * with a pause between ranges. New sessions get their references on insert, so once a run has
+ * walked every table, this instance stops looking. Runs under a database lock, so when several
+ * instances start it at once, only one does the work.
+ */
+@Service
+public class ChargingSessionRefBackfillService {
+
+  static final List<String> TABLES = List.of("charging_sessions", "charging_sessions_archive");
+  static final String LOCK_NAME = "charging_session_ref_backfill";
+
+  private static final Logger log =
+      LoggerFactory.getLogger(ChargingSessionRefBackfillService.class);
+
+  private final ChargingSessionRefBackfillRepository backfillRepository;
+  private final PartitionRepository partitionRepository;
+  private final ChargingSessionRefBackfillConfig config;
+  private final AtomicBoolean complete = new AtomicBoolean();
+
+  public ChargingSessionRefBackfillService(ChargingSessionRefBackfillRepository backfillRepository,
+      PartitionRepository partitionRepository, ChargingSessionRefBackfillConfig config) {
+    this.backfillRepository = backfillRepository;
+    this.partitionRepository = partitionRepository;
+    this.config = config;
+  }
+
+  /** Runs the backfill on the configured schedule until it has completed. */
+  @Scheduled(cron = "${station.session-ref-backfill.cron:0 */10 * * * *}")
+  public void scheduledBackfill() {
+    if (config.isEnabled() && !complete.get()) {
+      backfill();
+    }
+  }
+
+  /**
+   * Fills the missing references of every session table, one ID range per statement.
+   *
+   * @return The number of sessions updated
+   * @throws IllegalStateException if the backfill is interrupted
+   */
+  public long backfill() {
+    AtomicLong updated = new AtomicLong();
+    boolean ran = partitionRepository.runExclusively(LOCK_NAME, () -> {
+      for (String table : TABLES) {
+        if (!backfillRepository.tableExists(table)) {
+          continue;
+        }
+        Optional<long[]> range = backfillRepository.findPendingIdRange(table);
+        range.ifPresent(ids -> updated.addAndGet(backfillTable(table, ids[0], ids[1])));
+      }
+    });
+    if (!ran) {
+      log.info("Session reference backfill is already running elsewhere; skipping this run");
+    } else {
+      complete.set(true);
+      log.info("Session reference backfill complete ({} sessions updated by this run)",
+          updated.get());
+    }
+    return updated.get();
+  }
+
+  /** Whether a run of this instance has walked every session table. */
+  public boolean isComplete() {
+    return complete.get();
+  }
+
+  private long backfillTable(String table, long firstId, long lastId) {
+    long updated = 0;
+    long batchSize = Math.max(1, config.getBatchSize());
+    for (long from = firstId; from <= lastId; from += batchSize) {
+      updated += backfillRepository.backfillRange(table, from, from + batchSize);
+      if (from + batchSize <= lastId) {
+        pause(config.getPause());
+      }
+    }
+    log.info("Backfilled the references of {} sessions in {} (IDs {} to {})", updated, table,
+        firstId, lastId);
+    return updated;
+  }
+
+  private static void pause(Duration delay) {
+    try {
+      Thread.sleep(delay.toMillis());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Session reference backfill interrupted", e);
+    }
+  }
+}
@@ -21,12 +21,15 @@ public class ChargingSessionService {
   private final ChargingSessionRepository chargingSessionRepository;
   private final BookingRepository bookingRepository;
   private final StationService stationService;
+  private final StatisticsRollupService statisticsRollupService;
 
   public ChargingSessionService(ChargingSessionRepository chargingSessionRepository,
-      BookingRepository bookingRepository, StationService stationService) {
+      BookingRepository bookingRepository, StationService stationService,
+      StatisticsRollupService statisticsRollupService) {
     this.chargingSessionRepository = chargingSessionRepository;
     this.bookingRepository = bookingRepository;
     this.stationService = stationService;
+    this.statisticsRollupService = statisticsRollupService;
   }
 
   /**
@@ -39,9 +42,9 @@ public class ChargingSessionService {
    * @throws IllegalStateException if the user cannot start a session
    */
   @Transactional
-  public ChargingSession createSession(String stationId, String userId) {
+  public ChargingSession createSession(Long stationId, Long userId) {
     // Validate that the user can start a session
-    stationService.validateSessionStart(Long.valueOf(stationId), Long.valueOf(userId));
+    stationService.validateSessionStart(stationId, userId);
 
     ChargingSession session = new ChargingSession(stationId, userId);
     session = chargingSessionRepository.save(session);
@@ -58,8 +61,8 @@ public class ChargingSessionService {
    * @param session The charging session that is starting
    */
   private void closeUserBooking(ChargingSession session) {
-    Long stationId = Long.valueOf(session.getStationId());
-    Long userId = Long.valueOf(session.getUserId());
+    Long stationId = session.getStationId();
+    Long userId = session.getUserId();
     LocalDateTime now = LocalDateTime.now();
 
     List<Booking> activeBookings =
@@ -73,7 +76,9 @@ public class ChargingSessionService {
   }
 
   /**
-   * Ends a charging session. Marks the session as finished and sets the end time.
+   * Ends a charging session. Marks the session as finished, sets the end time and adds the session
+   * to the user's monthly statistics rollup. A session that is already finished is returned
+   * unchanged and is not counted again.
    * 
    * @param sessionId The ID of the session to end
    * @return The updated charging session
@@ -81,13 +86,15 @@ public class ChargingSessionService {
    */
   @Transactional
   public ChargingSession endSession(String sessionId) {
-    ChargingSession session =
-        chargingSessionRepository.findById(Long.valueOf(sessionId)).orElseThrow(
-            () -> new ChargingSessionNotFoundException(SESSION_NOT_FOUND_MESSAGE + sessionId));
+    Long id = Long.valueOf(sessionId);
+    boolean finishedNow = chargingSessionRepository.finishSession(id, LocalDateTime.now()) == 1;
+    ChargingSession session = chargingSessionRepository.findById(id).orElseThrow(
+        () -> new ChargingSessionNotFoundException(SESSION_NOT_FOUND_MESSAGE + sessionId));
 
-    session.setFinished(true);
-    session.setEndTime(LocalDateTime.now());
-    return chargingSessionRepository.save(session);
+    if (finishedNow) {
+      statisticsRollupService.recordFinishedSession(session);
+    }
+    return session;
   }
 
 
@@ -98,8 +105,24 @@ public class ChargingSessionService {
    * @return The charging session
    * @throws ChargingSessionNotFoundException if the session is not found
    */
+  @Transactional(readOnly = true)
   public ChargingSession getSession(String sessionId) {
     return chargingSessionRepository.findById(Long.valueOf(sessionId)).orElseThrow(
         () -> new ChargingSessionNotFoundException(SESSION_NOT_FOUND_MESSAGE + sessionId));
   }
+
+  /**
+   * Retrieves one page of a user's charging sessions, most recent first.
+   *
+   * @param userId The ID of the user
+   * @param page The zero-based page number
+   * @param size The number of sessions per page, at most 100
+   * @return The sessions of the page
+   * @throws IllegalArgumentException if the page is negative or the size is below 1
+   */
+  @Transactional(readOnly = true)
+  public List<ChargingSession> getSessionsByUser(Long userId, int page, int size) {
+    return chargingSessionRepository.findRecentSessionsByUser(userId,
+        HistoryPages.of(page, size));
+  }
 }
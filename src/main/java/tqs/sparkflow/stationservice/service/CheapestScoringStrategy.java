@@ -0,0 +1,19 @@
+package tqs.sparkflow.stationservice.service;
+
+import org.springframework.stereotype.Component;
+
+/** Prefers the stop with the lowest estimated charging cost among stations with a free charger. */
+@Component
+public class CheapestScoringStrategy implements RouteScoringStrategy {
+
+  @Override
+  public String getName() {
+    return "cheapest";
+  }
+
+  @Override
+  public double score(double detourKm, double driveHours, double chargeHours, double chargeCost,
+      double waitHours) {
+    return waitHours > 0 ? chargeCost + OCCUPIED_PENALTY : chargeCost;
+  }
+}
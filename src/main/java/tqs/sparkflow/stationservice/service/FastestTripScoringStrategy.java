@@ -0,0 +1,19 @@
+package tqs.sparkflow.stationservice.service;
+
+import org.springframework.stereotype.Component;
+
+/** Prefers the stop that minimises total trip time: driving, queueing and charging. */
+@Component
+public class FastestTripScoringStrategy implements RouteScoringStrategy {
+
+  @Override
+  public String getName() {
+    return "fastest";
+  }
+
+  @Override
+  public double score(double detourKm, double driveHours, double chargeHours, double chargeCost,
+      double waitHours) {
+    return driveHours + waitHours + chargeHours;
+  }
+}
@@ -0,0 +1,31 @@
+package tqs.sparkflow.stationservice.service;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+/** Page requests for the booking and session history endpoints. */
+final class HistoryPages {
+
+  /** Largest page a client may ask for; larger sizes are reduced to it. */
+  static final int MAX_PAGE_SIZE = 100;
+
+  private HistoryPages() {}
+
+  /**
+   * Creates the request for one page of a history, capping the page size.
+   *
+   * @param page The zero-based page number
+   * @param size The number of entries per page
+   * @return The page request
+   * @throws IllegalArgumentException if the page is negative or the size is below 1
+   */
+  static Pageable of(int page, int size) {
+    if (page < 0) {
+      throw new IllegalArgumentException("Page must not be negative");
+    }
+    if (size < 1) {
+      throw new IllegalArgumentException("Page size must be at least 1");
+    }
+    return PageRequest.of(page, Math.min(size, MAX_PAGE_SIZE));
+  }
+}
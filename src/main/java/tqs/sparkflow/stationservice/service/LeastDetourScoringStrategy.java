@@ -0,0 +1,19 @@
+package tqs.sparkflow.stationservice.service;
+
+import org.springframework.stereotype.Component;
+
+/** Prefers the stop closest to the direct route among stations with a free charger. */
+@Component
+public class LeastDetourScoringStrategy implements RouteScoringStrategy {
+
+  @Override
+  public String getName() {
+    return "least-detour";
+  }
+
+  @Override
+  public double score(double detourKm, double driveHours, double chargeHours, double chargeCost,
+      double waitHours) {
+    return waitHours > 0 ? detourKm + OCCUPIED_PENALTY : detourKm;
+  }
+}
@@ -0,0 +1,301 @@
+package tqs.sparkflow.stationservice.service;
+
+import com.google.common.util.concurrent.RateLimiter;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import tqs.sparkflow.stationservice.config.OpenChargeMapImportConfig;
+import tqs.sparkflow.stationservice.dto.ImportJobRequestDTO;
+import tqs.sparkflow.stationservice.dto.StationImportResult;
+import tqs.sparkflow.stationservice.model.ImportJob;
+import tqs.sparkflow.stationservice.model.ImportJobStatus;
+import tqs.sparkflow.stationservice.repository.ImportJobRepository;
+
+/**
+ * Runs OpenChargeMap region imports in the background. A bounding box is split into
+ * non-overlapping tiles which are fetched concurrently under a shared requests-per-second budget.
+ * Tiles are processed in waves of {@code concurrency} tiles and the job is checkpointed after each
+ * wave, so a restarted application resumes from the last completed wave; re-importing a tile is
+ * harmless because stations are upserted by external ID. A tile with more stations than
+ * {@code maxResultsPerTile} is read in pages keyed on the OpenChargeMap ID, so it is never cut
+ * short. A failing tile is retried a bounded number of times before the job fails; a failed job
+ * can be resumed from its checkpoint.
+ */
+@Service
+public class OpenChargeMapImportJobService {
+
+  private static final double EPSILON = 1e-9;
+  private static final int MAX_ERROR_LENGTH = 1000;
+  private static final Logger log = LoggerFactory.getLogger(OpenChargeMapImportJobService.class);
+
+  private final ImportJobRepository importJobRepository;
+  private final OpenChargeMapService openChargeMapService;
+  private final OpenChargeMapImportConfig config;
+  private final RateLimiter rateLimiter;
+  private final ExecutorService jobExecutor;
+  private final ExecutorService tileExecutor;
+
+  /**
+   * Creates a new instance of OpenChargeMapImportJobService.
+   *
+   * @param importJobRepository The repository for import jobs
+   * @param openChargeMapService The service that fetches and upserts stations
+   * @param config The import settings
+   */
+  public OpenChargeMapImportJobService(ImportJobRepository importJobRepository,
+      OpenChargeMapService openChargeMapService, OpenChargeMapImportConfig config) {
+    this.importJobRepository = importJobRepository;
+    this.openChargeMapService = openChargeMapService;
+    this.config = config;
+    this.rateLimiter = RateLimiter.create(config.getRequestsPerSecond());
+    // Jobs run one at a time so they never compete for the rate budget
+    this.jobExecutor = Executors.newSingleThreadExecutor();
+    this.tileExecutor = Executors.newFixedThreadPool(Math.max(1, config.getConcurrency()));
+  }
+
+  /**
+   * Creates an import job for a bounding box and starts it in the background.
+   *
+   * @param request The bounding box to import
+   * @return The created job
+   * @throws IllegalArgumentException if the bounding box is invalid
+   */
+  public ImportJob createJob(ImportJobRequestDTO request) {
+    validate(request);
+    double tileSize = config.getTileSizeDegrees();
+    int rows = tileCount(request.getMaxLatitude() - request.getMinLatitude(), tileSize);
+    int columns = tileCount(request.getMaxLongitude() - request.getMinLongitude(), tileSize);
+
+    ImportJob job = new ImportJob();
+    job.setMinLatitude(request.getMinLatitude());
+    job.setMinLongitude(request.getMinLongitude());
+    job.setMaxLatitude(request.getMaxLatitude());
+    job.setMaxLongitude(request.getMaxLongitude());
+    job.setTileSizeDegrees(tileSize);
+    job.setTileColumns(columns);
+    job.setTotalTiles(rows * columns);
+    job.setStatus(ImportJobStatus.PENDING);
+    LocalDateTime now = LocalDateTime.now();
+    job.setCreatedAt(now);
+    job.setUpdatedAt(now);
+    ImportJob saved = importJobRepository.save(job);
+
+    submit(saved.getId());
+    return saved;
+  }
+
+  /**
+   * Gets an import job.
+   *
+   * @param id The ID of the job
+   * @return The job, if it exists
+   */
+  public Optional<ImportJob> getJob(Long id) {
+    return importJobRepository.findById(id);
+  }
+
+  /**
+   * Resumes a failed import job from its last checkpoint.
+   *
+   * @param id The ID of the job
+   * @return The resumed job, if it exists
+   * @throws IllegalStateException if the job has not failed
+   */
+  public Optional<ImportJob> resumeJob(Long id) {
+    Optional<ImportJob> job = importJobRepository.findById(id);
+    job.ifPresent(found -> {
+      if (found.getStatus() != ImportJobStatus.FAILED) {
+        throw new IllegalStateException("Only failed import jobs can be resumed");
+      }
+      found.setStatus(ImportJobStatus.PENDING);
+      found.setError(null);
+      checkpoint(found);
+      submit(found.getId());
+    });
+    return job;
+  }
+
+  /** Resumes jobs that were queued or running when the application stopped. */
+  @EventListener(ApplicationReadyEvent.class)
+  public void resumeInterruptedJobs() {
+    if (!config.isResumeOnStartup()) {
+      return;
+    }
+    importJobRepository
+        .findByStatusInOrderById(EnumSet.of(ImportJobStatus.PENDING, ImportJobStatus.RUNNING))
+        .forEach(job -> submit(job.getId()));
+  }
+
+  @PreDestroy
+  void shutdown() {
+    jobExecutor.shutdownNow();
+    tileExecutor.shutdownNow();
+  }
+
+  private void submit(Long jobId) {
+    jobExecutor.execute(() -> runJob(jobId));
+  }
+
+  /**
+   * Imports the remaining tiles of a job, checkpointing after each wave.
+   *
+   * @param jobId The ID of the job
+   */
+  void runJob(Long jobId) {
+    ImportJob job = importJobRepository.findById(jobId).orElse(null);
+    if (job == null || job.getStatus() == ImportJobStatus.COMPLETED
+        || job.getStatus() == ImportJobStatus.FAILED) {
+      return;
+    }
+    job.setStatus(ImportJobStatus.RUNNING);
+    checkpoint(job);
+
+    int waveSize = Math.max(1, config.getConcurrency());
+    while (job.getCompletedTiles() < job.getTotalTiles()) {
+      int from = job.getCompletedTiles();
+      int to = Math.min(from + waveSize, job.getTotalTiles());
+      List<CompletableFuture<StationImportResult>> wave = new ArrayList<>(to - from);
+      for (int tile = from; tile < to; tile++) {
+        int index = tile;
+        wave.add(CompletableFuture.supplyAsync(() -> importTileWithRetries(job, index),
+            tileExecutor));
+      }
+
+      // Every tile of the wave is awaited, so none is still running once the job fails. The
+      // tiles before the first failed one are checkpointed; later ones are re-imported on resume.
+      StationImportResult waveResult = new StationImportResult(0, 0, 0);
+      int completed = from;
+      Throwable failure = null;
+      for (CompletableFuture<StationImportResult> future : wave) {
+        try {
+          StationImportResult result = future.join();
+          if (failure == null) {
+            waveResult = waveResult.plus(result);
+            completed++;
+          }
+        } catch (CompletionException e) {
+          if (failure == null) {
+            failure = e.getCause() != null ? e.getCause() : e;
+          }
+        }
+      }
+
+      job.setCompletedTiles(completed);
+      job.setInserted(job.getInserted() + waveResult.getInserted());
+      job.setUpdated(job.getUpdated() + waveResult.getUpdated());
+      job.setUnchanged(job.getUnchanged() + waveResult.getUnchanged());
+      if (failure != null) {
+        job.setStatus(ImportJobStatus.FAILED);
+        job.setError(truncate("Tile import failed: " + failure.getMessage()));
+      }
+      checkpoint(job);
+      if (failure != null) {
+        return;
+      }
+    }
+    job.setStatus(ImportJobStatus.COMPLETED);
+    checkpoint(job);
+  }
+
+  private StationImportResult importTileWithRetries(ImportJob job, int index) {
+    int attempts = Math.max(1, config.getTileAttempts());
+    for (int attempt = 1;; attempt++) {
+      try {
+        return importTile(job, index);
+      } catch (RuntimeException e) {
+        if (attempt >= attempts) {
+          throw e;
+        }
+        log.warn("Tile {} of import job {} failed on attempt {} of {}: {}", index, job.getId(),
+            attempt, attempts, e.getMessage());
+        pause(config.getTileRetryDelay().multipliedBy(attempt));
+      }
+    }
+  }
+
+  private static void pause(Duration delay) {
+    try {
+      Thread.sleep(delay.toMillis());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Import interrupted", e);
+    }
+  }
+
+  private StationImportResult importTile(ImportJob job, int index) {
+    double size = job.getTileSizeDegrees();
+    int row = index / job.getTileColumns();
+    int column = index % job.getTileColumns();
+    double minLatitude = job.getMinLatitude() + row * size;
+    double minLongitude = job.getMinLongitude() + column * size;
+    double maxLatitude = Math.min(minLatitude + size, job.getMaxLatitude());
+    double maxLongitude = Math.min(minLongitude + size, job.getMaxLongitude());
+
+    // A full page may have cut the tile short, so the tile is read page by page until one comes
+    // back with room to spare
+    int pageSize = config.getMaxResultsPerTile();
+    StationImportResult result = new StationImportResult(0, 0, 0);
+    long afterId = 0;
+    while (true) {
+      rateLimiter.acquire();
+      OpenChargeMapService.DeltaPage page = openChargeMapService.importBoundingBox(minLatitude,
+          minLongitude, maxLatitude, maxLongitude, afterId, pageSize);
+      result = result.plus(page.getResult());
+      if (page.getStationsRead() < pageSize) {
+        return result;
+      }
+      if (page.getLastId() <= afterId) {
+        throw new IllegalStateException("Tile " + index + " returned a full page without "
+            + "OpenChargeMap IDs to continue after " + afterId);
+      }
+      afterId = page.getLastId();
+    }
+  }
+
+  private void checkpoint(ImportJob job) {
+    job.setUpdatedAt(LocalDateTime.now());
+    importJobRepository.save(job);
+  }
+
+  private static int tileCount(double span, double tileSize) {
+    return Math.max(1, (int) Math.ceil(span / tileSize - EPSILON));
+  }
+
+  private static String truncate(String message) {
+    return message.length() <= MAX_ERROR_LENGTH ? message
+        : message.substring(0, MAX_ERROR_LENGTH);
+  }
+
+  private void validate(ImportJobRequestDTO request) {
+    if (request == null || request.getMinLatitude() == null || request.getMinLongitude() == null
+        || request.getMaxLatitude() == null || request.getMaxLongitude() == null) {
+      throw new IllegalArgumentException("Bounding box must define all four edges");
+    }
+    if (request.getMinLatitude() < -90 || request.getMaxLatitude() > 90) {
+      throw new IllegalArgumentException("Latitude must be between -90 and 90 degrees");
+    }
+    if (request.getMinLongitude() < -180 || request.getMaxLongitude() > 180) {
+      throw new IllegalArgumentException("Longitude must be between -180 and 180 degrees");
+    }
+    if (request.getMinLatitude() >= request.getMaxLatitude()
+        || request.getMinLongitude() >= request.getMaxLongitude()) {
+      throw new IllegalArgumentException("Minimum coordinates must be below maximum coordinates");
+    }
+    if (config.getTileSizeDegrees() <= 0) {
+      throw new IllegalStateException("Import tile size must be positive");
+    }
+  }
+}
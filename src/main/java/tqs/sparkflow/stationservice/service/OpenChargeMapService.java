@@ -1,28 +1,53 @@
 package tqs.sparkflow.stationservice.service;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
-import org.springframework.http.ResponseEntity;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RequestCallback;
 import org.springframework.web.client.RestTemplate;
+import tqs.sparkflow.stationservice.config.RestTemplateConfig;
+import tqs.sparkflow.stationservice.dto.StationImportResult;
 import tqs.sparkflow.stationservice.model.OpenChargeMapResponse;
 import tqs.sparkflow.stationservice.model.OpenChargeMapStation;
 import tqs.sparkflow.stationservice.model.Station;
-import tqs.sparkflow.stationservice.repository.StationRepository;
+import tqs.sparkflow.stationservice.repository.StationUpsertRepository;
 
 /** Service for interacting with the OpenChargeMap API. */
 @Service
 public class OpenChargeMapService {
 
   private static final String UNKNOWN_VALUE = "Unknown";
+  private static final String NO_STATIONS_FOUND = "No stations found";
+  /** Number of converted stations held in memory before they are written to the database. */
+  static final int IMPORT_BATCH_SIZE = 500;
+  private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+  private static final TypeReference<Map<String, Object>> POI_TYPE = new TypeReference<>() {};
+  private static final RequestCallback ACCEPT_JSON =
+      request -> request.getHeaders().setAccept(List.of(MediaType.APPLICATION_JSON));
   private final RestTemplate restTemplate;
-  private final StationRepository stationRepository;
+  private final StationUpsertRepository stationUpsertRepository;
+  private final StationSnapshotService stationSnapshots;
   private final String apiKey;
   private final String baseUrl;
 
@@ -30,15 +55,19 @@ public class OpenChargeMapService {
    * Creates a new instance of OpenChargeMapService.
    *
    * @param restTemplate The RestTemplate for making HTTP requests
-   * @param stationRepository The repository for station operations
+   * @param stationUpsertRepository The repository used to upsert imported stations
+   * @param stationSnapshots The station snapshot to invalidate after an import changes stations
    * @param apiKey The OpenChargeMap API key
    * @param baseUrl The base URL for the OpenChargeMap API
    */
-  public OpenChargeMapService(RestTemplate restTemplate, StationRepository stationRepository,
+  public OpenChargeMapService(
+      @Qualifier(RestTemplateConfig.OPEN_CHARGE_MAP) RestTemplate restTemplate,
+      StationUpsertRepository stationUpsertRepository, StationSnapshotService stationSnapshots,
       @Value("${openchargemap.api.key}") String apiKey,
       @Value("${openchargemap.api.url}") String baseUrl) {
     this.restTemplate = restTemplate;
-    this.stationRepository = stationRepository;
+    this.stationUpsertRepository = stationUpsertRepository;
+    this.stationSnapshots = stationSnapshots;
     this.apiKey = apiKey;
     this.baseUrl = baseUrl;
   }
@@ -71,14 +100,16 @@ public class OpenChargeMapService {
   }
 
   /**
-   * Populates the database with stations from OpenChargeMap API.
+   * Populates the database with stations from OpenChargeMap API. Stations are matched on their
+   * OpenChargeMap ID, so overlapping searches update existing rows instead of duplicating them.
+   * The response is streamed and written in batches, so memory use does not grow with its size.
    *
    * @param latitude The latitude coordinate
    * @param longitude The longitude coordinate
    * @param radius The search radius in kilometers
-   * @return List of populated stations
+   * @return The number of inserted, updated and unchanged stations
    */
-  public List<Station> populateStations(double latitude, double longitude, int radius) {
+  public StationImportResult populateStations(double latitude, double longitude, int radius) {
     // Validate coordinates
     if (latitude < -90 || latitude > 90) {
       throw new IllegalArgumentException("Latitude must be between -90 and 90 degrees");
@@ -93,16 +124,11 @@ public class OpenChargeMapService {
     try {
       String url = String.format("%s?key=%s&latitude=%f&longitude=%f&distance=%d", baseUrl, apiKey,
           latitude, longitude, radius);
-      ResponseEntity<List<Map<String, Object>>> response = restTemplate.exchange(url,
-          HttpMethod.GET, null, new ParameterizedTypeReference<List<Map<String, Object>>>() {});
-
-      List<Map<String, Object>> responseBody = response.getBody();
-      if (responseBody == null || responseBody.isEmpty()) {
-        throw new IllegalStateException("No stations found");
+      StationImportResult result = fetchAndImport(url);
+      if (result.getTotal() == 0) {
+        throw new IllegalStateException(NO_STATIONS_FOUND);
       }
-
-      List<Station> stations = convertToStations(responseBody);
-      return stationRepository.saveAll(stations);
+      return result;
     } catch (HttpClientErrorException e) {
       if (e.getStatusCode() == HttpStatus.UNAUTHORIZED) {
         throw new IllegalStateException("Invalid Open Charge Map API key");
@@ -115,6 +141,81 @@ public class OpenChargeMapService {
     }
   }
 
+  /**
+   * Imports one page of the stations inside a bounding box. Unlike {@link #populateStations}, an
+   * empty box is not an error, since region import jobs routinely cover tiles without stations.
+   * Pages are keyed on the OpenChargeMap ID like {@link #importModifiedSince}: a page that comes
+   * back full may have more stations after its {@link DeltaPage#getLastId() last ID}.
+   *
+   * @param minLatitude The southern edge
+   * @param minLongitude The western edge
+   * @param maxLatitude The northern edge
+   * @param maxLongitude The eastern edge
+   * @param afterId Only stations with a greater OpenChargeMap ID are returned
+   * @param maxResults The page size
+   * @return The import result, the number of stations read and the highest ID seen
+   */
+  public DeltaPage importBoundingBox(double minLatitude, double minLongitude,
+      double maxLatitude, double maxLongitude, long afterId, int maxResults) {
+    String url = String.format(Locale.ROOT,
+        "%s?key=%s&boundingbox=(%f,%f),(%f,%f)&greaterthanid=%d&maxresults=%d", baseUrl, apiKey,
+        minLatitude, minLongitude, maxLatitude, maxLongitude, afterId, maxResults);
+    return importPage(url, afterId, stationUpsertRepository::upsertByExternalId);
+  }
+
+  /**
+   * Imports one page of stations modified since a point in time. Pages are keyed on the
+   * OpenChargeMap ID: pass the {@link DeltaPage#getLastId() last ID} of a full page to fetch the
+   * next one. With country codes, the page is limited to those countries and new stations are
+   * inserted; without, it covers the whole world and only stations already imported are updated.
+   *
+   * @param since Only stations modified at or after this UTC time are returned
+   * @param afterId Only stations with a greater OpenChargeMap ID are returned
+   * @param maxResults The page size
+   * @param countryCodes ISO country codes to limit the page to, or empty for no limit
+   * @return The import result, the number of stations read and the highest ID seen
+   */
+  public DeltaPage importModifiedSince(LocalDateTime since, long afterId, int maxResults,
+      List<String> countryCodes) {
+    String url = String.format(Locale.ROOT,
+        "%s?key=%s&modifiedsince=%s&greaterthanid=%d&maxresults=%d", baseUrl, apiKey,
+        since.truncatedTo(ChronoUnit.SECONDS).format(DateTimeFormatter.ISO_LOCAL_DATE_TIME),
+        afterId, maxResults);
+    Function<List<Station>, StationImportResult> writer;
+    if (countryCodes.isEmpty()) {
+      writer = stationUpsertRepository::updateByExternalId;
+    } else {
+      url += "&countrycode=" + String.join(",", countryCodes);
+      writer = stationUpsertRepository::upsertByExternalId;
+    }
+    return importPage(url, afterId, writer);
+  }
+
+  private DeltaPage importPage(String url, long afterId,
+      Function<List<Station>, StationImportResult> writer) {
+    AtomicInteger read = new AtomicInteger();
+    AtomicLong lastId = new AtomicLong(afterId);
+    try {
+      StationImportResult result = restTemplate.execute(url, HttpMethod.GET, ACCEPT_JSON,
+          response -> importStations(response.getBody(), station -> {
+            read.incrementAndGet();
+            if (station.getExternalId() != null) {
+              lastId.accumulateAndGet(Long.parseLong(station.getExternalId()), Math::max);
+            }
+          }, writer));
+      return new DeltaPage(result != null ? result : new StationImportResult(0, 0, 0),
+          read.get(), lastId.get());
+    } catch (HttpClientErrorException e) {
+      throw new IllegalStateException("Error accessing Open Charge Map API: " + e.getMessage());
+    }
+  }
+
+  private StationImportResult fetchAndImport(String url) {
+    StationImportResult result = restTemplate.execute(url, HttpMethod.GET, ACCEPT_JSON,
+        response -> importStations(response.getBody()));
+    return result != null ? result : new StationImportResult(0, 0, 0);
+  }
+
   /**
    * Converts an OpenChargeMap station to our Station model.
    *
@@ -140,8 +241,54 @@ public class OpenChargeMapService {
     return station;
   }
 
-  private List<Station> convertToStations(List<Map<String, Object>> stationsData) {
-    return stationsData.stream().map(this::convertMapToStation).toList();
+  /**
+   * Reads an OpenChargeMap POI array one element at a time, converting each POI into a station
+   * and upserting them every {@link #IMPORT_BATCH_SIZE} stations. An empty body or array yields
+   * an empty result.
+   *
+   * @param body The JSON response body
+   * @return The combined result of all batches
+   * @throws IOException if the body cannot be read
+   */
+  protected StationImportResult importStations(InputStream body) throws IOException {
+    return importStations(body, station -> { }, stationUpsertRepository::upsertByExternalId);
+  }
+
+  private StationImportResult importStations(InputStream body, Consumer<Station> onStation,
+      Function<List<Station>, StationImportResult> writer) throws IOException {
+    StationImportResult result = new StationImportResult(0, 0, 0);
+    if (body == null) {
+      return result;
+    }
+    try (JsonParser parser = OBJECT_MAPPER.createParser(body)) {
+      JsonToken first = parser.nextToken();
+      if (first == null) {
+        return result;
+      }
+      if (first != JsonToken.START_ARRAY) {
+        throw new IllegalStateException("Unexpected Open Charge Map response: " + first);
+      }
+
+      List<Station> batch = new ArrayList<>(IMPORT_BATCH_SIZE);
+      while (parser.nextToken() == JsonToken.START_OBJECT) {
+        Station station = convertMapToStation(OBJECT_MAPPER.readValue(parser, POI_TYPE));
+        onStation.accept(station);
+        batch.add(station);
+        if (batch.size() == IMPORT_BATCH_SIZE) {
+          result = result.plus(writer.apply(batch));
+          batch.clear();
+        }
+      }
+      if (!batch.isEmpty()) {
+        result = result.plus(writer.apply(batch));
+      }
+      return result;
+    } finally {
+      // Batches written before a failure are committed, so they invalidate the snapshot too
+      if (result.getInserted() + result.getUpdated() > 0) {
+        stationSnapshots.invalidate();
+      }
+    }
   }
 
   protected Station convertMapToStation(Map<String, Object> data) {
@@ -188,9 +335,9 @@ public class OpenChargeMapService {
   private void setStationId(Map<String, Object> data, Station station) {
     Object id = data.get("ID");
     if (isNumber(id)) {
-      station.setId(getNumber(id).longValue());
+      station.setExternalId(String.valueOf(getNumber(id).longValue()));
     } else if (id != null) {
-      station.setId(Long.parseLong(id.toString()));
+      station.setExternalId(String.valueOf(Long.parseLong(id.toString())));
     }
   }
 
@@ -282,4 +429,29 @@ public class OpenChargeMapService {
     // Ensure at least 1 charger
     station.setQuantityOfChargers(totalChargers > 0 ? totalChargers : 1);
   }
+
+  /** One page of an import keyed on the OpenChargeMap ID. */
+  public static class DeltaPage {
+    private final StationImportResult result;
+    private final int stationsRead;
+    private final long lastId;
+
+    public DeltaPage(StationImportResult result, int stationsRead, long lastId) {
+      this.result = result;
+      this.stationsRead = stationsRead;
+      this.lastId = lastId;
+    }
+
+    public StationImportResult getResult() {
+      return result;
+    }
+
+    public int getStationsRead() {
+      return stationsRead;
+    }
+
+    public long getLastId() {
+      return lastId;
+    }
+  }
 }
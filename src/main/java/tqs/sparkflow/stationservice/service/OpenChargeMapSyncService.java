@@ -0,0 +1,127 @@
+package tqs.sparkflow.stationservice.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import tqs.sparkflow.stationservice.config.OpenChargeMapSyncConfig;
+import tqs.sparkflow.stationservice.dto.StationImportResult;
+import tqs.sparkflow.stationservice.model.SyncState;
+import tqs.sparkflow.stationservice.repository.SyncStateRepository;
+
+/**
+ * Keeps imported stations current by fetching only the OpenChargeMap POIs modified since the last
+ * successful sync and applying them through the upsert path, limited to the configured countries
+ * (or, without any, to stations already imported). The watermark only advances when a run
+ * completes, so a failed run is retried from the same point.
+ */
+@Service
+public class OpenChargeMapSyncService {
+
+  static final String SYNC_NAME = "openchargemap";
+  static final String DURATION_METRIC = "openchargemap.sync.duration";
+  static final String ROWS_METRIC = "openchargemap.sync.rows";
+
+  private final OpenChargeMapService openChargeMapService;
+  private final SyncStateRepository syncStateRepository;
+  private final OpenChargeMapSyncConfig config;
+  private final MeterRegistry meterRegistry;
+  private final AtomicBoolean running = new AtomicBoolean();
+
+  /**
+   * Creates a new instance of OpenChargeMapSyncService.
+   *
+   * @param openChargeMapService The service that fetches and upserts stations
+   * @param syncStateRepository The repository holding the sync watermark
+   * @param config The sync settings
+   * @param meterRegistry The registry for run time and row metrics
+   */
+  public OpenChargeMapSyncService(OpenChargeMapService openChargeMapService,
+      SyncStateRepository syncStateRepository, OpenChargeMapSyncConfig config,
+      MeterRegistry meterRegistry) {
+    this.openChargeMapService = openChargeMapService;
+    this.syncStateRepository = syncStateRepository;
+    this.config = config;
+    this.meterRegistry = meterRegistry;
+  }
+
+  /** Runs the delta sync on the configured schedule. */
+  @Scheduled(cron = "${openchargemap.sync.cron:0 15 * * * *}")
+  public void scheduledSync() {
+    if (config.isEnabled()) {
+      sync();
+    }
+  }
+
+  /**
+   * Imports every station modified since the last successful sync. Does nothing if a sync is
+   * already running.
+   *
+   * @return The number of inserted, updated and unchanged stations
+   * @throws IllegalStateException if OpenChargeMap cannot be read or the page limit is exceeded
+   */
+  public StationImportResult sync() {
+    if (!running.compareAndSet(false, true)) {
+      return new StationImportResult(0, 0, 0);
+    }
+    long started = System.nanoTime();
+    LocalDateTime startedAt = LocalDateTime.now(ZoneOffset.UTC);
+    try {
+      SyncState state = syncStateRepository.findById(SYNC_NAME)
+          .orElseGet(() -> new SyncState(SYNC_NAME));
+      LocalDateTime since = state.getLastSyncedAt() != null ? state.getLastSyncedAt()
+          : startedAt.minusDays(config.getInitialLookbackDays());
+
+      StationImportResult result = fetchChanges(since);
+
+      long durationMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+      // Overlap the next window a little to absorb clock skew; unchanged rows cost no writes
+      state.setLastSyncedAt(startedAt.minusMinutes(config.getOverlapMinutes()));
+      state.setLastRunAt(startedAt);
+      state.setLastDurationMillis(durationMillis);
+      state.setLastRowsTouched(result.getInserted() + result.getUpdated());
+      syncStateRepository.save(state);
+
+      recordRows(result);
+      recordDuration(started, "success");
+      return result;
+    } catch (RuntimeException e) {
+      recordDuration(started, "failure");
+      throw e;
+    } finally {
+      running.set(false);
+    }
+  }
+
+  private StationImportResult fetchChanges(LocalDateTime since) {
+    StationImportResult result = new StationImportResult(0, 0, 0);
+    long afterId = 0;
+    for (int page = 0; page < config.getMaxPages(); page++) {
+      OpenChargeMapService.DeltaPage delta =
+          openChargeMapService.importModifiedSince(since, afterId, config.getPageSize(),
+              config.getCountryCodes());
+      result = result.plus(delta.getResult());
+      if (delta.getStationsRead() < config.getPageSize() || delta.getLastId() <= afterId) {
+        return result;
+      }
+      afterId = delta.getLastId();
+    }
+    throw new IllegalStateException(
+        "OpenChargeMap sync exceeded " + config.getMaxPages() + " pages");
+  }
+
+  private void recordRows(StationImportResult result) {
+    meterRegistry.counter(ROWS_METRIC, "result", "inserted").increment(result.getInserted());
+    meterRegistry.counter(ROWS_METRIC, "result", "updated").increment(result.getUpdated());
+    meterRegistry.counter(ROWS_METRIC, "result", "unchanged").increment(result.getUnchanged());
+  }
+
+  private void recordDuration(long started, String outcome) {
+    Timer.builder(DURATION_METRIC).tag("outcome", outcome).register(meterRegistry)
+        .record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+  }
+}
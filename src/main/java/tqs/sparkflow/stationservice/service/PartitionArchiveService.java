@@ -0,0 +1,142 @@
+package tqs.sparkflow.stationservice.service;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import tqs.sparkflow.stationservice.config.PartitionArchiveConfig;
+import tqs.sparkflow.stationservice.repository.MonthPartition;
+import tqs.sparkflow.stationservice.repository.PartitionRepository;
+
+/**
+ * Keeps the monthly partitions of {@code charging_sessions} and {@code bookings} in shape: splits
+ * partitions for the coming months off the unbounded one, and moves months older than the
+ * retention period into the archive tables, one whole partition at a time. Queries on the live
+ * tables then only ever see the retained months. Months still holding active bookings or
+ * unfinished sessions are kept until those end.
+ */
+@Service
+public class PartitionArchiveService {
+
+  static final String SESSIONS = "charging_sessions";
+  static final String BOOKINGS = "bookings";
+  static final String LOCK_NAME = "station_partition_maintenance";
+
+  private static final Logger log = LoggerFactory.getLogger(PartitionArchiveService.class);
+
+  private final PartitionRepository partitionRepository;
+  private final PartitionArchiveConfig config;
+
+  public PartitionArchiveService(PartitionRepository partitionRepository,
+      PartitionArchiveConfig config) {
+    this.partitionRepository = partitionRepository;
+    this.config = config;
+  }
+
+  /** Runs the partition maintenance on the configured schedule. */
+  @Scheduled(cron = "${station.archive.cron:0 0 4 * * *}")
+  public void scheduledMaintenance() {
+    if (config.isEnabled()) {
+      maintain(YearMonth.now());
+    }
+  }
+
+  /**
+   * Adds the partitions of the coming months and archives the months past the retention period.
+   * Tables that are not partitioned are left alone. Runs under a database lock, so when several
+   * instances start it at once, only one does the work.
+   *
+   * @param currentMonth The current month
+   * @return The number of partitions archived
+   */
+  public int maintain(YearMonth currentMonth) {
+    AtomicInteger archived = new AtomicInteger();
+    boolean ran = partitionRepository.runExclusively(LOCK_NAME, () -> {
+      for (String table : List.of(SESSIONS, BOOKINGS)) {
+        List<MonthPartition> partitions = partitionRepository.findPartitions(table);
+        if (partitions.isEmpty()) {
+          log.warn("Table {} is not partitioned; skipping partition maintenance", table);
+          continue;
+        }
+        addComingMonths(table, partitions, currentMonth);
+        archived.addAndGet(archiveOldMonths(table, partitions, currentMonth));
+      }
+    });
+    if (!ran) {
+      log.info("Partition maintenance is already running elsewhere; skipping this run");
+    }
+    return archived.get();
+  }
+
+  private void addComingMonths(String table, List<MonthPartition> partitions,
+      YearMonth currentMonth) {
+    LocalDate lastBound = null;
+    boolean hasMaxPartition = false;
+    for (MonthPartition partition : partitions) {
+      if (partition.getUpperBound() == null) {
+        hasMaxPartition = true;
+      } else {
+        lastBound = partition.getUpperBound();
+      }
+    }
+    if (lastBound == null) {
+      return;
+    }
+    YearMonth lastMonth = currentMonth.plusMonths(config.getMonthsAhead());
+    List<YearMonth> months = new ArrayList<>();
+    for (YearMonth month = YearMonth.from(lastBound); !month.isAfter(lastMonth);
+        month = month.plusMonths(1)) {
+      months.add(month);
+    }
+    if (!months.isEmpty()) {
+      partitionRepository.addMonthPartitions(table, months, hasMaxPartition);
+      log.info("Added {} monthly partitions to {}, up to {}", months.size(), table, lastMonth);
+    }
+  }
+
+  private int archiveOldMonths(String table, List<MonthPartition> partitions,
+      YearMonth currentMonth) {
+    LocalDate cutoff = currentMonth.minusMonths(config.getRetentionMonths()).atDay(1);
+    String archiveTable = table + "_archive";
+    int recovered = partitionRepository.archiveStaged(table, archiveTable);
+    if (recovered > 0) {
+      log.info("Archived {} rows of {} left staged by an interrupted run", recovered, table);
+    }
+    int archived = 0;
+    for (MonthPartition partition : partitions) {
+      LocalDate bound = partition.getUpperBound();
+      if (bound == null || bound.isAfter(cutoff)) {
+        continue;
+      }
+      String name = partition.getName();
+      if (BOOKINGS.equals(table) && partitionRepository
+          .countActiveBookingsEndingAfter(name, cutoff.atStartOfDay()) > 0) {
+        log.warn("Partition {} of {} still has active bookings; not archiving it", name, table);
+        continue;
+      }
+      if (SESSIONS.equals(table) && partitionRepository.countUnfinishedSessions(name) > 0) {
+        log.warn("Partition {} of {} still has unfinished sessions; not archiving it", name,
+            table);
+        continue;
+      }
+      if (BOOKINGS.equals(table)) {
+        partitionRepository.moveRecurringDays(name);
+      }
+      partitionRepository.exchangeToStaging(table, name);
+      int rows = partitionRepository.archiveStaged(table, archiveTable);
+      if (!partitionRepository.dropPartitionIfEmpty(table, name)) {
+        log.warn("Partition {} of {} received rows while being archived; archiving them next run",
+            name, table);
+        continue;
+      }
+      log.info("Archived partition {} of {} ({} rows)", name, table, rows);
+      archived++;
+    }
+    return archived;
+  }
+}
@@ -2,7 +2,6 @@ package tqs.sparkflow.stationservice.service;
 
 import java.util.List;
 import java.util.ArrayList;
-import java.util.Comparator;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.http.HttpStatus;
@@ -11,22 +10,25 @@ import com.google.common.util.concurrent.RateLimiter;
 import tqs.sparkflow.stationservice.dto.RoutePlanningRequestDTO;
 import tqs.sparkflow.stationservice.dto.RoutePlanningResponseDTO;
 import tqs.sparkflow.stationservice.model.Station;
-import tqs.sparkflow.stationservice.repository.StationRepository;
 import tqs.sparkflow.stationservice.config.RoutePlanningConfig;
+import tqs.sparkflow.stationservice.util.GeoUtil;
 
 @Service
 public class RoutePlanningServiceImpl implements RoutePlanningService {
 
-  private final StationRepository stationRepository;
+  private final StationSnapshotService stationSnapshots;
   private final RoutePlanningConfig config;
   private final RateLimiter rateLimiter;
+  private final RouteScoringEngine scoringEngine;
 
   @Autowired
-  public RoutePlanningServiceImpl(StationRepository stationRepository, RoutePlanningConfig config,
-      RateLimiter routePlanningRateLimiter) {
-    this.stationRepository = stationRepository;
+  public RoutePlanningServiceImpl(StationSnapshotService stationSnapshots,
+      RoutePlanningConfig config, RateLimiter routePlanningRateLimiter,
+      RouteScoringEngine scoringEngine) {
+    this.stationSnapshots = stationSnapshots;
     this.config = config;
     this.rateLimiter = routePlanningRateLimiter;
+    this.scoringEngine = scoringEngine;
   }
 
   @Override
@@ -36,7 +38,8 @@ public class RoutePlanningServiceImpl implements RoutePlanningService {
       throw new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS, "Rate limit exceeded");
     }
 
-    // Validate coordinates
+    // Validate coordinates and fail fast on an unknown scoring strategy
+    scoringEngine.resolveStrategy(request.getStrategy());
     validateCoordinates(request.getStartLatitude(), request.getStartLongitude(), "start");
     validateCoordinates(request.getDestLatitude(), request.getDestLongitude(), "destination");
 
@@ -50,13 +53,9 @@ public class RoutePlanningServiceImpl implements RoutePlanningService {
           "Car autonomy must be greater than 0");
     }
 
-    // Get all stations and filter for available ones
-    List<Station> allStations = stationRepository.findAll();
-    List<Station> availableStations = allStations.stream()
-        .filter(station -> station.getIsOperational() && "Available".equals(station.getStatus()))
-        .toList();
-
-    if (availableStations.isEmpty()) {
+    // Scan the station snapshot; only available stations are considered
+    StationSnapshot stations = stationSnapshots.current();
+    if (!hasAvailableStation(stations)) {
       throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE,
           "No charging stations available in the system");
     }
@@ -79,9 +78,10 @@ public class RoutePlanningServiceImpl implements RoutePlanningService {
     }
 
     // Find optimal charging stations
-    List<Station> optimalStations = findOptimalChargingStations(availableStations,
+    List<Station> optimalStations = findOptimalChargingStations(stations,
         request.getStartLatitude(), request.getStartLongitude(), request.getDestLatitude(),
-        request.getDestLongitude(), request.getBatteryCapacity(), request.getCarAutonomy());
+        request.getDestLongitude(), request.getBatteryCapacity(), request.getCarAutonomy(),
+        request.getStrategy());
 
     // Create response
     RoutePlanningResponseDTO response = new RoutePlanningResponseDTO();
@@ -102,37 +102,40 @@ public class RoutePlanningServiceImpl implements RoutePlanningService {
 
   private double calculateDistance(double startLat, double startLon, double destLat,
       double destLon) {
-    // Haversine formula implementation
-    final int R = 6371; // Earth's radius in kilometers
-
-    double latDistance = Math.toRadians(destLat - startLat);
-    double lonDistance = Math.toRadians(destLon - startLon);
-    double a = Math.sin(latDistance / 2) * Math.sin(latDistance / 2)
-        + Math.cos(Math.toRadians(startLat)) * Math.cos(Math.toRadians(destLat))
-            * Math.sin(lonDistance / 2) * Math.sin(lonDistance / 2);
-    double c = 2 * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
-    return R * c;
+    return GeoUtil.distanceKm(startLat, startLon, destLat, destLon);
   }
 
-  private List<Station> findOptimalChargingStations(List<Station> stations, double startLat,
-      double startLon, double destLat, double destLon, double batteryCapacity, double carAutonomy) {
+  private static boolean isAvailable(StationSnapshot stations, int row) {
+    return stations.isOperational(row) && "Available".equals(stations.status(row))
+        && stations.hasCoordinates(row);
+  }
 
-    // Calculate direct route distance
-    double directDistance = calculateDistance(startLat, startLon, destLat, destLon);
+  private static boolean hasAvailableStation(StationSnapshot stations) {
+    for (int row = 0; row < stations.size(); row++) {
+      if (isAvailable(stations, row)) {
+        return true;
+      }
+    }
+    return false;
+  }
 
-    // Filter stations within max detour distance and not too far from the route
-    List<Station> candidateStations = stations.stream().filter(station -> {
+  private List<Station> findOptimalChargingStations(StationSnapshot stations, double startLat,
+      double startLon, double destLat, double destLon, double batteryCapacity, double carAutonomy,
+      String strategy) {
+
+    // Keep available stations within max detour distance. calculateDetourDistance already
+    // excludes any station whose route via it is more than 50% longer than the direct route.
+    List<Station> candidateStations = new ArrayList<>();
+    for (int row = 0; row < stations.size(); row++) {
+      if (!isAvailable(stations, row)) {
+        continue;
+      }
       double detourDistance = calculateDetourDistance(startLat, startLon, destLat, destLon,
-          station.getLatitude(), station.getLongitude());
-      double totalDistance =
-          calculateDistance(startLat, startLon, station.getLatitude(), station.getLongitude())
-              + calculateDistance(station.getLatitude(), station.getLongitude(), destLat, destLon);
-      double detourRatio = totalDistance / directDistance;
-
-      // Station must be within max detour distance and not require a detour more than 50% longer
-      // than direct route
-      return detourDistance <= config.getMaxDetourDistance() && detourRatio <= 1.5;
-    }).toList();
+          stations.latitude(row), stations.longitude(row));
+      if (detourDistance <= config.getMaxDetourDistance()) {
+        candidateStations.add(stations.station(row));
+      }
+    }
 
     // If no stations are within the acceptable detour distance, throw an exception
     if (candidateStations.isEmpty()) {
@@ -140,14 +143,9 @@ public class RoutePlanningServiceImpl implements RoutePlanningService {
           "No suitable charging stations found for the given route");
     }
 
-    // Score and sort stations by optimality
-    List<Station> optimalStations = candidateStations.stream()
-        .map(station -> new Object[] {station,
-            calculateStationScore(station, startLat, startLon, destLat, destLon, batteryCapacity,
-                carAutonomy)})
-        .filter(arr -> (double) arr[1] < Double.MAX_VALUE)
-        .sorted(Comparator.comparingDouble(arr -> (double) arr[1])).limit(3)
-        .map(arr -> (Station) arr[0]).toList();
+    // Score candidates in a single pass and keep the best three
+    List<Station> optimalStations = scoringEngine.selectStations(candidateStations, strategy,
+        startLat, startLon, destLat, destLon, batteryCapacity, carAutonomy, 3);
 
     // If no stations are suitable after scoring, throw an exception
     if (optimalStations.isEmpty()) {
@@ -158,57 +156,6 @@ public class RoutePlanningServiceImpl implements RoutePlanningService {
     return optimalStations;
   }
 
-  private double calculateStationScore(Station station, double startLat, double startLon,
-      double destLat, double destLon, double batteryCapacity, double carAutonomy) {
-
-    // Calculate distances
-    double distanceToStart =
-        calculateDistance(startLat, startLon, station.getLatitude(), station.getLongitude());
-    double distanceToDest =
-        calculateDistance(station.getLatitude(), station.getLongitude(), destLat, destLon);
-    double totalDistance = distanceToStart + distanceToDest;
-
-    // Calculate battery usage
-    double batteryToStation = distanceToStart / carAutonomy;
-
-    // Calculate optimality score (lower is better)
-    double score = 0;
-
-    // Prefer stations that are closer to the midpoint of the route
-    double directDistance = calculateDistance(startLat, startLon, destLat, destLon);
-    double detourRatio = totalDistance / directDistance;
-
-    // Heavily penalize stations that are too far from the route
-    if (detourRatio > 1.5 || totalDistance > directDistance * 2.5) { // If detour is more than 50%
-                                                                     // longer than direct route or
-                                                                     // total distance is more than
-                                                                     // 2.5x
-      return Double.MAX_VALUE; // Effectively exclude this station
-    }
-
-    // Calculate battery at station
-    double batteryAtStation = batteryCapacity - batteryToStation;
-
-    // Exclude stations that would leave battery too low or too high
-    if (batteryAtStation < config.getMinBatteryPercentage() * batteryCapacity) {
-      return Double.MAX_VALUE;
-    }
-    if (batteryAtStation > config.getMaxBatteryPercentage() * batteryCapacity) {
-      return Double.MAX_VALUE;
-    }
-
-    // Score based on detour ratio (lower is better)
-    score += detourRatio * 1000; // Increased weight for detour distance
-
-    // Prefer stations with higher power (faster charging)
-    score -= station.getPower() * 0.1;
-
-    // Prefer stations with more available chargers
-    score -= station.getQuantityOfChargers() * 10;
-
-    return score;
-  }
-
   double calculateDetourDistance(double startLat, double startLon, double destLat, double destLon,
       double stationLat, double stationLon) {
     // Calculate direct distance between start and destination
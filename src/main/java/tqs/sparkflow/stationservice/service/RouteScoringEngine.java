@@ -0,0 +1,177 @@
+package tqs.sparkflow.stationservice.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+import tqs.sparkflow.stationservice.config.RoutePlanningConfig;
+import tqs.sparkflow.stationservice.model.Station;
+import tqs.sparkflow.stationservice.util.GeoUtil;
+
+/**
+ * Ranks charging stop candidates for a route. Estimates charge duration from the station power,
+ * charge cost from the station price and queueing from the live free-charger count, then delegates
+ * the trade-off between them to a {@link RouteScoringStrategy}.
+ */
+@Component
+public class RouteScoringEngine {
+
+  // Candidates whose via-station distance exceeds the direct distance by more than 50% are skipped
+  private static final double MAX_DETOUR_RATIO = 1.5;
+
+  private final RoutePlanningConfig config;
+  private final StationService stationService;
+  private final Map<String, RouteScoringStrategy> strategies;
+
+  /**
+   * Creates a new RouteScoringEngine.
+   *
+   * @param config The route planning configuration
+   * @param stationService The service used to look up live charger occupancy
+   * @param strategies The available scoring strategies
+   */
+  public RouteScoringEngine(RoutePlanningConfig config, StationService stationService,
+      List<RouteScoringStrategy> strategies) {
+    this.config = config;
+    this.stationService = stationService;
+    this.strategies = strategies.stream()
+        .collect(Collectors.toUnmodifiableMap(RouteScoringStrategy::getName, Function.identity()));
+  }
+
+  /**
+   * Resolves a scoring strategy by name, falling back to the configured default.
+   *
+   * @param name The strategy name, or null for the default
+   * @return the strategy
+   * @throws ResponseStatusException if no strategy has the given name
+   */
+  public RouteScoringStrategy resolveStrategy(String name) {
+    String key = name == null || name.isBlank() ? config.getScoringStrategy()
+        : name.trim().toLowerCase(Locale.ROOT);
+    RouteScoringStrategy strategy = strategies.get(key);
+    if (strategy == null) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+          "Unknown scoring strategy: " + key);
+    }
+    return strategy;
+  }
+
+  /**
+   * Scores all candidates in a single pass and returns the best ones, best first. Candidates that
+   * would leave the battery outside the configured window on arrival are excluded.
+   *
+   * @param candidates The candidate stations
+   * @param strategyName The scoring strategy name, or null for the default
+   * @param startLat Start latitude
+   * @param startLon Start longitude
+   * @param destLat Destination latitude
+   * @param destLon Destination longitude
+   * @param batteryCapacity Battery capacity in kWh
+   * @param carAutonomy Car autonomy in km/kWh
+   * @param limit Maximum number of stations to return
+   * @return the selected stations, best first
+   */
+  public List<Station> selectStations(List<Station> candidates, String strategyName,
+      double startLat, double startLon, double destLat, double destLon, double batteryCapacity,
+      double carAutonomy, int limit) {
+    RouteScoringStrategy strategy = resolveStrategy(strategyName);
+    if (candidates.isEmpty() || limit <= 0) {
+      return new ArrayList<>();
+    }
+
+    int[] freeChargers = loadFreeChargers(candidates);
+    double directDistance = GeoUtil.distanceKm(startLat, startLon, destLat, destLon);
+    double minBattery = config.getMinBatteryPercentage() * batteryCapacity;
+    double maxBattery = config.getMaxBatteryPercentage() * batteryCapacity;
+    double queueWaitHours = config.getQueueWaitMinutes() / 60.0;
+
+    int[] bestIndex = new int[limit];
+    double[] bestScore = new double[limit];
+    int found = 0;
+
+    for (int i = 0; i < candidates.size(); i++) {
+      Station station = candidates.get(i);
+      double lat = station.getLatitude();
+      double lon = station.getLongitude();
+      double toStation = GeoUtil.distanceKm(startLat, startLon, lat, lon);
+      double toDest = GeoUtil.distanceKm(lat, lon, destLat, destLon);
+      double viaStation = toStation + toDest;
+      if (viaStation > directDistance * MAX_DETOUR_RATIO) {
+        continue;
+      }
+
+      double batteryAtStation = batteryCapacity - toStation / carAutonomy;
+      if (batteryAtStation < minBattery || batteryAtStation > maxBattery) {
+        continue;
+      }
+
+      // Charge enough to reach the destination with the minimum reserve, capped at the max level
+      double targetBattery = Math.min(maxBattery, toDest / carAutonomy + minBattery);
+      double energyKwh = Math.max(0, targetBattery - batteryAtStation);
+      double powerKw = station.getPower() != null && station.getPower() > 0 ? station.getPower()
+          : config.getDefaultPowerKw();
+      double price =
+          station.getPrice() != null ? station.getPrice() : config.getDefaultPricePerKwh();
+      double waitHours = freeChargers[i] > 0 ? 0 : queueWaitHours;
+
+      double score = strategy.score(viaStation - directDistance,
+          viaStation / config.getAverageSpeedKmh(), energyKwh / powerKw, energyKwh * price,
+          waitHours);
+      found = insertTopK(bestIndex, bestScore, found, i, score);
+    }
+
+    List<Station> selected = new ArrayList<>(found);
+    for (int k = 0; k < found; k++) {
+      selected.add(candidates.get(bestIndex[k]));
+    }
+    return selected;
+  }
+
+  /**
+   * Loads the number of free chargers for every candidate with one batched occupancy lookup.
+   */
+  private int[] loadFreeChargers(List<Station> candidates) {
+    List<Long> stationIds = candidates.stream().map(Station::getId).filter(Objects::nonNull)
+        .toList();
+    Map<Long, Integer> occupied =
+        stationService.getOccupiedChargers(stationIds, LocalDateTime.now());
+
+    int[] freeChargers = new int[candidates.size()];
+    for (int i = 0; i < freeChargers.length; i++) {
+      Station station = candidates.get(i);
+      int total = station.getQuantityOfChargers() != null ? station.getQuantityOfChargers() : 1;
+      Integer used = station.getId() != null ? occupied.get(station.getId()) : null;
+      freeChargers[i] = total - (used != null ? used : 0);
+    }
+    return freeChargers;
+  }
+
+  /**
+   * Inserts a candidate into the sorted top-k arrays if it beats the current worst entry.
+   *
+   * @return the new number of filled entries
+   */
+  private static int insertTopK(int[] bestIndex, double[] bestScore, int found, int index,
+      double score) {
+    int limit = bestIndex.length;
+    if (found == limit && score >= bestScore[limit - 1]) {
+      return found;
+    }
+    int pos = found < limit ? found : limit - 1;
+    while (pos > 0 && bestScore[pos - 1] > score) {
+      bestIndex[pos] = bestIndex[pos - 1];
+      bestScore[pos] = bestScore[pos - 1];
+      pos--;
+    }
+    bestIndex[pos] = index;
+    bestScore[pos] = score;
+    return found < limit ? found + 1 : found;
+  }
+}
@@ -0,0 +1,31 @@
+package tqs.sparkflow.stationservice.service;
+
+/**
+ * Strategy for ranking a charging stop candidate during route planning. All inputs are primitive
+ * estimates computed by {@link RouteScoringEngine}; lower scores are better.
+ */
+public interface RouteScoringStrategy {
+
+  /** Score added to candidates with no free charger so they rank after every free one. */
+  double OCCUPIED_PENALTY = 1_000_000.0;
+
+  /**
+   * Gets the name used to select this strategy in requests and configuration.
+   *
+   * @return the strategy name
+   */
+  String getName();
+
+  /**
+   * Scores a candidate station.
+   *
+   * @param detourKm Extra distance driven to stop at the station, in kilometers
+   * @param driveHours Estimated driving time of the whole trip via the station, in hours
+   * @param chargeHours Estimated time spent charging at the station, in hours
+   * @param chargeCost Estimated cost of the charge at the station, in euros
+   * @param waitHours Estimated wait for a free charger, in hours (0 when one is free)
+   * @return the score, lower is better
+   */
+  double score(double detourKm, double driveHours, double chargeHours, double chargeCost,
+      double waitHours);
+}
@@ -1,8 +1,13 @@
 package tqs.sparkflow.stationservice.service;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import tqs.sparkflow.stationservice.dto.StationFilterDTO;
 import tqs.sparkflow.stationservice.model.Booking;
 import tqs.sparkflow.stationservice.model.ChargingSession;
@@ -10,14 +15,21 @@ import tqs.sparkflow.stationservice.model.Station;
 import tqs.sparkflow.stationservice.repository.BookingRepository;
 import tqs.sparkflow.stationservice.repository.ChargingSessionRepository;
 import tqs.sparkflow.stationservice.repository.StationRepository;
-
-/** Service for managing charging stations. */
+import tqs.sparkflow.stationservice.repository.StationUsageCount;
+import tqs.sparkflow.stationservice.util.GeoUtil;
+
+/**
+ * Service for managing charging stations. Reads that only display data run in read-only
+ * transactions and may be answered by the replica; the availability checks that decide whether a
+ * booking or session is created run in read-write transactions, so they see the primary's view.
+ */
 @Service
 public class StationService {
 
   private final StationRepository stationRepository;
   private final BookingRepository bookingRepository;
   private final ChargingSessionRepository chargingSessionRepository;
+  private final StationSnapshotService stationSnapshots;
 
   // Maximum number of stations to return per search to prevent performance issues
   private static final int MAX_SEARCH_RESULTS = 500;
@@ -28,32 +40,39 @@ public class StationService {
    * @param stationRepository The repository for station data
    * @param bookingRepository The repository for booking data
    * @param chargingSessionRepository The repository for charging session data
+   * @param stationSnapshots The in-memory station snapshot scanned by search and nearby lookups
    */
   public StationService(StationRepository stationRepository, BookingRepository bookingRepository,
-      ChargingSessionRepository chargingSessionRepository) {
+      ChargingSessionRepository chargingSessionRepository,
+      StationSnapshotService stationSnapshots) {
     this.stationRepository = stationRepository;
     this.bookingRepository = bookingRepository;
     this.chargingSessionRepository = chargingSessionRepository;
+    this.stationSnapshots = stationSnapshots;
   }
 
   /**
-   * Gets all stations.
+   * Gets all stations. Served from the station snapshot, so the result matches the snapshot's ETag.
    *
    * @return List of all stations (limited to first 500 for performance)
    */
   public List<Station> getAllStations() {
-    List<Station> allStations = stationRepository.findAll();
-    return allStations.size() > MAX_SEARCH_RESULTS ? allStations.subList(0, MAX_SEARCH_RESULTS)
-        : allStations;
+    StationSnapshot snapshot = stationSnapshots.current();
+    int rows = Math.min(snapshot.size(), MAX_SEARCH_RESULTS);
+    List<Station> stations = new ArrayList<>(rows);
+    for (int row = 0; row < rows; row++) {
+      stations.add(snapshot.station(row));
+    }
+    return stations;
   }
 
   /**
-   * Gets the total count of stations in the database.
+   * Gets the total count of stations, as seen by the station snapshot.
    *
    * @return Total number of stations
    */
   public Long getTotalStationCount() {
-    return stationRepository.count();
+    return (long) stationSnapshots.current().size();
   }
 
   /**
@@ -64,6 +83,7 @@ public class StationService {
    * @throws IllegalArgumentException if station not found
    * @throws NullPointerException if id is null
    */
+  @Transactional(readOnly = true)
   public Station getStationById(Long id) {
     if (id == null) {
       throw new NullPointerException("Station ID cannot be null");
@@ -79,6 +99,7 @@ public class StationService {
    * @return the station with the given external ID
    * @throws IllegalArgumentException if no station exists with the given external ID
    */
+  @Transactional(readOnly = true)
   public Station getStationByExternalId(String externalId) {
     return stationRepository.findByExternalId(externalId).orElseThrow(
         () -> new IllegalArgumentException("Station not found with external id: " + externalId));
@@ -92,6 +113,7 @@ public class StationService {
    * @throws NullPointerException if station is null
    * @throws IllegalArgumentException if station has invalid data
    */
+  @Transactional
   public Station createStation(Station station) {
     if (station == null) {
       throw new NullPointerException("Station cannot be null");
@@ -110,7 +132,9 @@ public class StationService {
         && (station.getLongitude() < -180 || station.getLongitude() > 180)) {
       throw new IllegalArgumentException("Longitude must be between -180 and 180 degrees");
     }
-    return stationRepository.save(station);
+    Station saved = stationRepository.save(station);
+    stationSnapshots.stationSaved(saved);
+    return saved;
   }
 
   /**
@@ -121,12 +145,15 @@ public class StationService {
    * @return The updated station
    * @throws IllegalArgumentException if station not found
    */
+  @Transactional
   public Station updateStation(Long id, Station station) {
-    if (!stationRepository.existsById(id)) {
-      throw new IllegalArgumentException("Station not found with id: " + id);
-    }
+    Long version = stationRepository.findVersionById(id)
+        .orElseThrow(() -> new IllegalArgumentException("Station not found with id: " + id));
     station.setId(id);
-    return stationRepository.save(station);
+    station.setVersion(version);
+    Station saved = stationRepository.save(station);
+    stationSnapshots.stationSaved(saved);
+    return saved;
   }
 
   /**
@@ -136,6 +163,7 @@ public class StationService {
    * @throws IllegalArgumentException if station not found
    * @throws NullPointerException if id is null
    */
+  @Transactional
   public void deleteStation(Long id) {
     if (id == null) {
       throw new NullPointerException("Station ID cannot be null");
@@ -144,10 +172,12 @@ public class StationService {
       throw new IllegalArgumentException("Station not found with id: " + id);
     }
     stationRepository.deleteById(id);
+    stationSnapshots.stationDeleted(id);
   }
 
   /**
-   * Searches for stations based on criteria.
+   * Searches for stations based on criteria. Text filters match case-insensitively anywhere in
+   * the field; empty filters match every station.
    *
    * @param name The station name
    * @param city The city name
@@ -157,55 +187,36 @@ public class StationService {
    */
   public List<Station> searchStations(String name, String city, String country,
       Integer minChargers) {
-    return stationRepository.findAll().stream().filter(station -> matchesNameFilter(station, name))
-        .filter(station -> matchesCityFilter(station, city))
-        .filter(station -> matchesCountryFilter(station, country))
-        .filter(station -> matchesMinChargersFilter(station, minChargers)).limit(MAX_SEARCH_RESULTS)
-        .toList();
-  }
-
-  /**
-   * Checks if station matches the name filter.
-   */
-  private boolean matchesNameFilter(Station station, String name) {
-    if (isEmptyFilter(name)) {
-      return true;
-    }
-    return station.getName() != null
-        && station.getName().toLowerCase().contains(name.toLowerCase());
-  }
-
-  /**
-   * Checks if station matches the city filter.
-   */
-  private boolean matchesCityFilter(Station station, String city) {
-    if (isEmptyFilter(city)) {
-      return true;
+    String nameFilter = isEmptyFilter(name) ? null : name;
+    String cityFilter = isEmptyFilter(city) ? null : city;
+    String countryFilter = isEmptyFilter(country) ? null : country;
+    int chargersFilter = minChargers == null || minChargers <= 0 ? 0 : minChargers;
+
+    StationSnapshot stations = stationSnapshots.current();
+    List<Station> matches = new ArrayList<>();
+    for (int row = 0; row < stations.size() && matches.size() < MAX_SEARCH_RESULTS; row++) {
+      if (matchesTextFilter(stations.name(row), nameFilter)
+          && matchesTextFilter(stations.city(row), cityFilter)
+          && matchesTextFilter(stations.country(row), countryFilter)
+          && matchesMinChargersFilter(stations.chargers(row), chargersFilter)) {
+        matches.add(stations.station(row));
+      }
     }
-    return station.getCity() != null
-        && station.getCity().toLowerCase().contains(city.toLowerCase());
+    return matches;
   }
 
   /**
-   * Checks if station matches the country filter.
+   * Checks if a field matches a text filter; a null filter matches everything.
    */
-  private boolean matchesCountryFilter(Station station, String country) {
-    if (isEmptyFilter(country)) {
-      return true;
-    }
-    return station.getCountry() != null
-        && station.getCountry().toLowerCase().contains(country.toLowerCase());
+  private boolean matchesTextFilter(String value, String filter) {
+    return filter == null || (value != null && StationSnapshot.containsIgnoreCase(value, filter));
   }
 
   /**
-   * Checks if station matches the minimum chargers filter.
+   * Checks if a station matches the minimum chargers filter; zero matches everything.
    */
-  private boolean matchesMinChargersFilter(Station station, Integer minChargers) {
-    if (minChargers == null || minChargers <= 0) {
-      return true;
-    }
-    return station.getQuantityOfChargers() != null
-        && station.getQuantityOfChargers() >= minChargers;
+  private boolean matchesMinChargersFilter(int chargers, int minChargers) {
+    return minChargers == 0 || (chargers != StationSnapshot.MISSING && chargers >= minChargers);
   }
 
   /**
@@ -238,39 +249,19 @@ public class StationService {
       throw new IllegalArgumentException("Radius cannot be greater than 600 km");
     }
 
-    return stationRepository.findAll().stream().filter(station -> {
-      if (station.getLatitude() == null || station.getLongitude() == null) {
-        return false;
+    // No station further than this in latitude alone can be inside the radius
+    double maxLatitudeDelta = GeoUtil.latitudeSpanDegrees(radius);
+    StationSnapshot stations = stationSnapshots.current();
+    List<Station> nearby = new ArrayList<>();
+    for (int row = 0; row < stations.size() && nearby.size() < MAX_SEARCH_RESULTS; row++) {
+      if (stations.hasCoordinates(row)
+          && Math.abs(stations.latitude(row) - latitude) <= maxLatitudeDelta
+          && GeoUtil.distanceKm(latitude, longitude, stations.latitude(row),
+              stations.longitude(row)) <= radius) {
+        nearby.add(stations.station(row));
       }
-      double distance =
-          calculateDistance(latitude, longitude, station.getLatitude(), station.getLongitude());
-      return distance <= radius;
-    }).limit(MAX_SEARCH_RESULTS) // Limit to maximum results
-        .toList();
-  }
-
-  /**
-   * Calculates the distance between two points using the Haversine formula.
-   * 
-   * @param lat1 Latitude of first point
-   * @param lon1 Longitude of first point
-   * @param lat2 Latitude of second point
-   * @param lon2 Longitude of second point
-   * @return Distance in kilometers
-   */
-  private double calculateDistance(double lat1, double lon1, double lat2, double lon2) {
-    final int R = 6371; // Earth's radius in kilometers
-
-    double latDistance = Math.toRadians(lat2 - lat1);
-    double lonDistance = Math.toRadians(lon2 - lon1);
-
-    double a = Math.sin(latDistance / 2) * Math.sin(latDistance / 2)
-        + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
-            * Math.sin(lonDistance / 2) * Math.sin(lonDistance / 2);
-
-    double c = 2 * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
-
-    return R * c;
+    }
+    return nearby;
   }
 
   /**
@@ -281,6 +272,7 @@ public class StationService {
    * @throws NullPointerException if minChargers is null
    * @throws IllegalArgumentException if minChargers is less than 1
    */
+  @Transactional(readOnly = true)
   public List<Station> getStationsByMinChargers(Integer minChargers) {
     if (minChargers == null) {
       throw new NullPointerException("Minimum number of chargers cannot be null");
@@ -297,6 +289,7 @@ public class StationService {
    * @param filter The filter criteria
    * @return List of stations matching the filter criteria
    */
+  @Transactional(readOnly = true)
   public List<Station> getStationsByFilters(StationFilterDTO filter) {
     if (filter.getLatitude() != null && filter.getLongitude() != null
         && filter.getRadius() != null) {
@@ -318,6 +311,7 @@ public class StationService {
    * @param currentTime The current time
    * @return Number of available chargers
    */
+  @Transactional
   public int getAvailableChargers(Long stationId, LocalDateTime currentTime) {
     Station station = getStationById(stationId);
     int totalChargers = station.getQuantityOfChargers();
@@ -330,6 +324,35 @@ public class StationService {
     return totalChargers - activeBookings.size() - unfinishedSessions.size();
   }
 
+  /**
+   * Counts the chargers in use at each of the given stations at the current time, using one grouped
+   * query for bookings and one for unfinished sessions instead of one lookup per station.
+   *
+   * @param stationIds The station IDs
+   * @param currentTime The current time
+   * @return Map of station ID to occupied chargers; stations with no usage are absent
+   */
+  @Transactional(readOnly = true)
+  public Map<Long, Integer> getOccupiedChargers(Collection<Long> stationIds,
+      LocalDateTime currentTime) {
+    Map<Long, Integer> occupied = new HashMap<>();
+    if (stationIds.isEmpty()) {
+      return occupied;
+    }
+
+    for (StationUsageCount usage : bookingRepository
+        .countActiveBookingsByStationAtTime(stationIds, currentTime)) {
+      occupied.merge(usage.getStationId(), usage.getUsageCount().intValue(), Integer::sum);
+    }
+
+    for (StationUsageCount usage : chargingSessionRepository
+        .countUnfinishedSessionsByStations(stationIds)) {
+      occupied.merge(usage.getStationId(), usage.getUsageCount().intValue(), Integer::sum);
+    }
+
+    return occupied;
+  }
+
   /**
    * Checks if a user can use a station for a given time period.
    *
@@ -339,6 +362,7 @@ public class StationService {
    * @param endTime The end time
    * @return true if the user can use the station, false otherwise
    */
+  @Transactional
   public boolean canUseStation(Long stationId, Long userId, LocalDateTime startTime,
       LocalDateTime endTime) {
     List<Booking> overlappingBookings =
@@ -371,6 +395,7 @@ public class StationService {
    * @param endTime The end time
    * @throws IllegalStateException if no chargers are available
    */
+  @Transactional
   public void validateBooking(Long stationId, Long userId, LocalDateTime startTime,
       LocalDateTime endTime) {
     if (!canUseStation(stationId, userId, startTime, endTime)) {
@@ -387,6 +412,7 @@ public class StationService {
    * @param userId The user ID
    * @return true if the user can start a session, false otherwise
    */
+  @Transactional
   public boolean canStartSession(Long stationId, Long userId) {
     LocalDateTime now = LocalDateTime.now();
 
@@ -424,11 +450,8 @@ public class StationService {
    * @return true if the booking owner has an active session, false otherwise
    */
   private boolean hasActiveSessionForBooking(Booking booking) {
-    List<ChargingSession> userUnfinishedSessions =
-        chargingSessionRepository.findUnfinishedSessionsByStation(booking.getStationId()).stream()
-            .filter(session -> session.getUserId().equals(booking.getUserId().toString())).toList();
-
-    return !userUnfinishedSessions.isEmpty();
+    return chargingSessionRepository.existsByStationIdAndUserIdAndFinishedFalse(
+        booking.getStationId(), booking.getUserId());
   }
 
   /**
@@ -438,6 +461,7 @@ public class StationService {
    * @param userId The user ID
    * @throws IllegalStateException if the user cannot start a session
    */
+  @Transactional
   public void validateSessionStart(Long stationId, Long userId) {
     if (!canStartSession(stationId, userId)) {
       throw new IllegalStateException(
@@ -0,0 +1,315 @@
+package tqs.sparkflow.stationservice.service;
+
+import java.util.Arrays;
+import java.util.Collection;
+import tqs.sparkflow.stationservice.model.Station;
+
+/**
+ * Immutable, read-optimised copy of all stations, stored column by column in primitive arrays so
+ * a full scan touches no entities and allocates nothing. Rows are addressed by index from
+ * {@code 0} to {@link #size()}; only matching rows are turned back into {@link Station} objects,
+ * each a fresh copy. Low-cardinality strings (city, country, status) are interned.
+ *
+ * <p>Every snapshot also carries a {@link #fingerprint()} of the IDs and versions it holds, which
+ * changes whenever a station is added, updated or removed.
+ *
+ * <p>Writes never modify a snapshot: {@link #with} and {@link #without} return a new one.
+ */
+public final class StationSnapshot {
+
+  /** Value returned by the integer columns when the station has no value. */
+  public static final int MISSING = Integer.MIN_VALUE;
+
+  private static final long NO_ID = Long.MIN_VALUE;
+  private static final byte UNKNOWN = -1;
+
+  static final StationSnapshot EMPTY = new StationSnapshot(0);
+
+  private final int size;
+  private long fingerprint;
+  private final long[] ids;
+  private final long[] versions;
+  private final double[] latitudes;
+  private final double[] longitudes;
+  private final double[] prices;
+  private final int[] powers;
+  private final int[] chargers;
+  private final byte[] operational;
+  private final String[] externalIds;
+  private final String[] names;
+  private final String[] addresses;
+  private final String[] cities;
+  private final String[] countries;
+  private final String[] statuses;
+
+  private StationSnapshot(int size) {
+    this.size = size;
+    ids = new long[size];
+    versions = new long[size];
+    latitudes = new double[size];
+    longitudes = new double[size];
+    prices = new double[size];
+    powers = new int[size];
+    chargers = new int[size];
+    operational = new byte[size];
+    externalIds = new String[size];
+    names = new String[size];
+    addresses = new String[size];
+    cities = new String[size];
+    countries = new String[size];
+    statuses = new String[size];
+  }
+
+  private StationSnapshot(StationSnapshot source, int size) {
+    this.size = size;
+    fingerprint = source.fingerprint;
+    ids = Arrays.copyOf(source.ids, size);
+    versions = Arrays.copyOf(source.versions, size);
+    latitudes = Arrays.copyOf(source.latitudes, size);
+    longitudes = Arrays.copyOf(source.longitudes, size);
+    prices = Arrays.copyOf(source.prices, size);
+    powers = Arrays.copyOf(source.powers, size);
+    chargers = Arrays.copyOf(source.chargers, size);
+    operational = Arrays.copyOf(source.operational, size);
+    externalIds = Arrays.copyOf(source.externalIds, size);
+    names = Arrays.copyOf(source.names, size);
+    addresses = Arrays.copyOf(source.addresses, size);
+    cities = Arrays.copyOf(source.cities, size);
+    countries = Arrays.copyOf(source.countries, size);
+    statuses = Arrays.copyOf(source.statuses, size);
+  }
+
+  /**
+   * Builds a snapshot holding the given stations, in iteration order.
+   *
+   * @param stations The stations to copy
+   * @return The snapshot
+   */
+  public static StationSnapshot of(Collection<Station> stations) {
+    StationSnapshot snapshot = new StationSnapshot(stations.size());
+    int row = 0;
+    for (Station station : stations) {
+      snapshot.set(row++, station);
+    }
+    return snapshot;
+  }
+
+  /**
+   * Returns a snapshot in which the given station replaces the row with the same ID, or is
+   * appended when no such row exists.
+   *
+   * @param station The created or updated station
+   * @return The new snapshot
+   */
+  public StationSnapshot with(Station station) {
+    int row = station.getId() != null ? indexOf(station.getId()) : -1;
+    StationSnapshot copy = new StationSnapshot(this, row >= 0 ? size : size + 1);
+    if (row >= 0) {
+      copy.fingerprint ^= rowHash(ids[row], versions[row]);
+    }
+    copy.set(row >= 0 ? row : size, station);
+    return copy;
+  }
+
+  /**
+   * Returns a snapshot without the station with the given ID, or this snapshot when it has no
+   * such station.
+   *
+   * @param id The ID of the deleted station
+   * @return The new snapshot
+   */
+  public StationSnapshot without(Long id) {
+    int row = indexOf(id);
+    if (row < 0) {
+      return this;
+    }
+    StationSnapshot copy = new StationSnapshot(size - 1);
+    copyRows(this, 0, copy, 0, row);
+    copyRows(this, row + 1, copy, row, size - row - 1);
+    copy.fingerprint = fingerprint ^ rowHash(ids[row], versions[row]);
+    return copy;
+  }
+
+  /**
+   * Finds the row of a station.
+   *
+   * @param id The station ID
+   * @return The row index, or {@code -1} when the station is not in the snapshot
+   */
+  public int indexOf(Long id) {
+    if (id == null) {
+      return -1;
+    }
+    for (int row = 0; row < size; row++) {
+      if (ids[row] == id) {
+        return row;
+      }
+    }
+    return -1;
+  }
+
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Identifies the set of stations in this snapshot: equal for snapshots holding the same
+   * stations at the same versions, in any order, and different after any change to one of them.
+   *
+   * @return The fingerprint
+   */
+  public long fingerprint() {
+    return fingerprint;
+  }
+
+  /** The version of the row, {@code 0} for a station that has never been stored. */
+  public long version(int row) {
+    return versions[row];
+  }
+
+  /** Whether the row has both a latitude and a longitude. */
+  public boolean hasCoordinates(int row) {
+    return !Double.isNaN(latitudes[row]) && !Double.isNaN(longitudes[row]);
+  }
+
+  /** The latitude of the row, or {@code NaN} when unknown. */
+  public double latitude(int row) {
+    return latitudes[row];
+  }
+
+  /** The longitude of the row, or {@code NaN} when unknown. */
+  public double longitude(int row) {
+    return longitudes[row];
+  }
+
+  /** The price per kWh of the row, or {@code NaN} when unknown. */
+  public double price(int row) {
+    return prices[row];
+  }
+
+  /** The power of the row in kW, or {@link #MISSING}. */
+  public int power(int row) {
+    return powers[row];
+  }
+
+  /** The number of chargers of the row, or {@link #MISSING}. */
+  public int chargers(int row) {
+    return chargers[row];
+  }
+
+  /** Whether the row is known to be operational. */
+  public boolean isOperational(int row) {
+    return operational[row] == 1;
+  }
+
+  public String name(int row) {
+    return names[row];
+  }
+
+  public String city(int row) {
+    return cities[row];
+  }
+
+  public String country(int row) {
+    return countries[row];
+  }
+
+  public String status(int row) {
+    return statuses[row];
+  }
+
+  /**
+   * Creates a detached copy of a row. Callers may modify it without affecting the snapshot.
+   *
+   * @param row The row index
+   * @return A new station holding the row's values
+   */
+  public Station station(int row) {
+    Station station = new Station();
+    station.setId(ids[row] == NO_ID ? null : ids[row]);
+    station.setVersion(versions[row]);
+    station.setExternalId(externalIds[row]);
+    station.setName(names[row]);
+    station.setAddress(addresses[row]);
+    station.setCity(cities[row]);
+    station.setCountry(countries[row]);
+    station.setLatitude(Double.isNaN(latitudes[row]) ? null : latitudes[row]);
+    station.setLongitude(Double.isNaN(longitudes[row]) ? null : longitudes[row]);
+    station.setPrice(Double.isNaN(prices[row]) ? null : prices[row]);
+    station.setPower(powers[row] == MISSING ? null : powers[row]);
+    station.setQuantityOfChargers(chargers[row] == MISSING ? null : chargers[row]);
+    station.setIsOperational(operational[row] == UNKNOWN ? null : operational[row] == 1);
+    station.setStatus(statuses[row]);
+    return station;
+  }
+
+  /**
+   * Case-insensitive substring test that, unlike lower-casing both strings, allocates nothing.
+   *
+   * @param text The text to search in
+   * @param part The text to look for
+   * @return Whether {@code text} contains {@code part}, ignoring case
+   */
+  public static boolean containsIgnoreCase(String text, String part) {
+    int last = text.length() - part.length();
+    for (int offset = 0; offset <= last; offset++) {
+      if (text.regionMatches(true, offset, part, 0, part.length())) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private void set(int row, Station station) {
+    ids[row] = station.getId() != null ? station.getId() : NO_ID;
+    versions[row] = station.getVersion() != null ? station.getVersion() : 0L;
+    fingerprint ^= rowHash(ids[row], versions[row]);
+    latitudes[row] = station.getLatitude() != null ? station.getLatitude() : Double.NaN;
+    longitudes[row] = station.getLongitude() != null ? station.getLongitude() : Double.NaN;
+    prices[row] = station.getPrice() != null ? station.getPrice() : Double.NaN;
+    powers[row] = station.getPower() != null ? station.getPower() : MISSING;
+    chargers[row] =
+        station.getQuantityOfChargers() != null ? station.getQuantityOfChargers() : MISSING;
+    Boolean isOperational = station.getIsOperational();
+    operational[row] = isOperational == null ? UNKNOWN : (byte) (isOperational ? 1 : 0);
+    externalIds[row] = station.getExternalId();
+    names[row] = station.getName();
+    addresses[row] = station.getAddress();
+    cities[row] = intern(station.getCity());
+    countries[row] = intern(station.getCountry());
+    statuses[row] = intern(station.getStatus());
+  }
+
+  private static void copyRows(StationSnapshot from, int fromRow, StationSnapshot to, int toRow,
+      int rows) {
+    System.arraycopy(from.ids, fromRow, to.ids, toRow, rows);
+    System.arraycopy(from.versions, fromRow, to.versions, toRow, rows);
+    System.arraycopy(from.latitudes, fromRow, to.latitudes, toRow, rows);
+    System.arraycopy(from.longitudes, fromRow, to.longitudes, toRow, rows);
+    System.arraycopy(from.prices, fromRow, to.prices, toRow, rows);
+    System.arraycopy(from.powers, fromRow, to.powers, toRow, rows);
+    System.arraycopy(from.chargers, fromRow, to.chargers, toRow, rows);
+    System.arraycopy(from.operational, fromRow, to.operational, toRow, rows);
+    System.arraycopy(from.externalIds, fromRow, to.externalIds, toRow, rows);
+    System.arraycopy(from.names, fromRow, to.names, toRow, rows);
+    System.arraycopy(from.addresses, fromRow, to.addresses, toRow, rows);
+    System.arraycopy(from.cities, fromRow, to.cities, toRow, rows);
+    System.arraycopy(from.countries, fromRow, to.countries, toRow, rows);
+    System.arraycopy(from.statuses, fromRow, to.statuses, toRow, rows);
+  }
+
+  /**
+   * Mixes an ID and a version into a well-distributed hash, so that XOR-ing the rows together
+   * does not cancel out for nearby IDs and versions.
+   */
+  private static long rowHash(long id, long version) {
+    long hash = id * 0x9E3779B97F4A7C15L + version;
+    hash = (hash ^ (hash >>> 30)) * 0xBF58476D1CE4E5B9L;
+    hash = (hash ^ (hash >>> 27)) * 0x94D049BB133111EBL;
+    return hash ^ (hash >>> 31);
+  }
+
+  private static String intern(String value) {
+    return value != null ? value.intern() : null;
+  }
+}
@@ -0,0 +1,131 @@
+package tqs.sparkflow.stationservice.service;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import tqs.sparkflow.stationservice.model.Station;
+import tqs.sparkflow.stationservice.repository.StationRepository;
+
+/**
+ * Holds the current {@link StationSnapshot} for the read paths that scan every station. The
+ * snapshot is loaded on first use and swapped atomically on every change: single-station writes
+ * are applied as a delta once their transaction commits, so a rolled back write never shows up,
+ * while bulk imports invalidate it so the next read reloads it. A snapshot
+ * older than {@code station.snapshot.max-age} is also reloaded, which picks up writes made by
+ * other instances. Reloads read the primary, never the replica.
+ */
+@Service
+public class StationSnapshotService {
+
+  private final StationRepository stationRepository;
+  private final long maxAgeNanos;
+  private final AtomicLong generation = new AtomicLong();
+  private volatile Loaded loaded;
+
+  public StationSnapshotService(StationRepository stationRepository,
+      @Value("${station.snapshot.max-age:5m}") Duration maxAge) {
+    this.stationRepository = stationRepository;
+    this.maxAgeNanos = maxAge.toNanos();
+  }
+
+  /**
+   * Returns the current snapshot, loading it first if it is missing, invalidated or too old.
+   *
+   * @return The current snapshot
+   */
+  public StationSnapshot current() {
+    Loaded current = loaded;
+    if (isFresh(current)) {
+      return current.snapshot;
+    }
+    return reload();
+  }
+
+  /**
+   * Applies a created or updated station to the snapshot, if one is loaded, after the current
+   * transaction commits, or right away when there is none.
+   *
+   * @param station The saved station
+   */
+  public void stationSaved(Station station) {
+    afterCommit(() -> applySaved(station));
+  }
+
+  /**
+   * Removes a deleted station from the snapshot, if one is loaded, after the current transaction
+   * commits, or right away when there is none.
+   *
+   * @param id The ID of the deleted station
+   */
+  public void stationDeleted(Long id) {
+    afterCommit(() -> applyDeleted(id));
+  }
+
+  /**
+   * Marks the snapshot as outdated after a bulk write. A load already in progress when this is
+   * called is not trusted either, since it may have read the stations before the write.
+   */
+  public void invalidate() {
+    generation.incrementAndGet();
+  }
+
+  private static void afterCommit(Runnable delta) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      delta.run();
+      return;
+    }
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCommit() {
+        delta.run();
+      }
+    });
+  }
+
+  private synchronized void applySaved(Station station) {
+    Loaded current = loaded;
+    if (current != null && station != null) {
+      loaded = new Loaded(current.snapshot.with(station), current.loadedAt, current.generation);
+    }
+  }
+
+  private synchronized void applyDeleted(Long id) {
+    Loaded current = loaded;
+    if (current != null) {
+      loaded = new Loaded(current.snapshot.without(id), current.loadedAt, current.generation);
+    }
+  }
+
+  private synchronized StationSnapshot reload() {
+    Loaded current = loaded;
+    if (isFresh(current)) {
+      return current.snapshot;
+    }
+    long loadedGeneration = generation.get();
+    long loadedAt = System.nanoTime();
+    StationSnapshot snapshot = StationSnapshot.of(stationRepository.findAllOnPrimary());
+    loaded = new Loaded(snapshot, loadedAt, loadedGeneration);
+    return snapshot;
+  }
+
+  private boolean isFresh(Loaded current) {
+    return current != null && current.generation == generation.get()
+        && System.nanoTime() - current.loadedAt < maxAgeNanos;
+  }
+
+  /** A snapshot with the time it was read and the invalidation generation it reflects. */
+  private static final class Loaded {
+    private final StationSnapshot snapshot;
+    private final long loadedAt;
+    private final long generation;
+
+    private Loaded(StationSnapshot snapshot, long loadedAt, long generation) {
+      this.snapshot = snapshot;
+      this.loadedAt = loadedAt;
+      this.generation = generation;
+    }
+  }
+}
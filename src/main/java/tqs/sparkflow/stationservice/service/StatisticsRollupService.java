@@ -0,0 +1,176 @@
+package tqs.sparkflow.stationservice.service;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.Map;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import tqs.sparkflow.stationservice.model.Booking;
+import tqs.sparkflow.stationservice.model.ChargingSession;
+import tqs.sparkflow.stationservice.model.Station;
+import tqs.sparkflow.stationservice.model.UserMonthlyStats;
+import tqs.sparkflow.stationservice.repository.BookingRepository;
+import tqs.sparkflow.stationservice.repository.ChargingSessionRepository;
+import tqs.sparkflow.stationservice.repository.StationRepository;
+import tqs.sparkflow.stationservice.repository.UserMonthlyBookingCount;
+import tqs.sparkflow.stationservice.repository.UserMonthlySessionUsage;
+import tqs.sparkflow.stationservice.repository.UserMonthlyStatsRepository;
+import tqs.sparkflow.stationservice.repository.UserMonthlyStatsUpsertRepository;
+
+/**
+ * Maintains the {@code user_monthly_stats} rollup. Finished sessions and new bookings are added
+ * incrementally; a nightly backfill rebuilds the rows of the months still held in the live tables
+ * to heal any drift. Rows of archived months are kept as they were when their month was archived.
+ * Booking counts include bookings cancelled later, as the backfill counts every booking.
+ */
+@Service
+public class StatisticsRollupService {
+
+  static final double DEFAULT_KWH_PER_HOUR = 7.5; // Average kWh consumption per hour
+  static final double DEFAULT_PRICE_PER_KWH = 0.35; // Used when the station has no price
+  static final YearMonth FIRST_MONTH = YearMonth.of(1970, 1);
+
+  private final UserMonthlyStatsRepository userMonthlyStatsRepository;
+  private final UserMonthlyStatsUpsertRepository userMonthlyStatsUpsertRepository;
+  private final ChargingSessionRepository chargingSessionRepository;
+  private final BookingRepository bookingRepository;
+  private final StationRepository stationRepository;
+  private final boolean backfillOnStartup;
+  private final int retentionMonths;
+
+  /**
+   * Creates a new StatisticsRollupService.
+   *
+   * @param userMonthlyStatsRepository The repository for rollup rows
+   * @param userMonthlyStatsUpsertRepository The repository writing rollup rows
+   * @param chargingSessionRepository The repository for charging session data
+   * @param bookingRepository The repository for booking data
+   * @param stationRepository The repository for station data
+   * @param backfillOnStartup Whether to rebuild an empty rollup table when the application starts
+   * @param retentionMonths Months kept in the live tables besides the current one
+   */
+  public StatisticsRollupService(UserMonthlyStatsRepository userMonthlyStatsRepository,
+      UserMonthlyStatsUpsertRepository userMonthlyStatsUpsertRepository,
+      ChargingSessionRepository chargingSessionRepository, BookingRepository bookingRepository,
+      StationRepository stationRepository,
+      @Value("${statistics.rollup.backfill-on-startup:true}") boolean backfillOnStartup,
+      @Value("${station.archive.retention-months:24}") int retentionMonths) {
+    this.userMonthlyStatsRepository = userMonthlyStatsRepository;
+    this.userMonthlyStatsUpsertRepository = userMonthlyStatsUpsertRepository;
+    this.chargingSessionRepository = chargingSessionRepository;
+    this.bookingRepository = bookingRepository;
+    this.stationRepository = stationRepository;
+    this.backfillOnStartup = backfillOnStartup;
+    this.retentionMonths = retentionMonths;
+  }
+
+  /**
+   * Estimates the energy delivered during a charging period.
+   *
+   * @param minutes The charging duration in minutes
+   * @return the estimated kWh, rounded to the nearest integer
+   */
+  static int estimateKwh(long minutes) {
+    return (int) Math.round(minutes / 60.0 * DEFAULT_KWH_PER_HOUR);
+  }
+
+  /**
+   * Adds a finished session to the rollup row of its user and start month.
+   *
+   * @param session The finished session
+   */
+  @Transactional
+  public void recordFinishedSession(ChargingSession session) {
+    if (session.getStartTime() == null || session.getUserId() == null) {
+      return;
+    }
+
+    long minutes = 0;
+    int kwh = 0;
+    double cost = 0.0;
+    if (session.getEndTime() != null) {
+      minutes = ChronoUnit.MINUTES.between(session.getStartTime(), session.getEndTime());
+      kwh = estimateKwh(minutes);
+      double price = stationRepository.findById(session.getStationId())
+          .map(Station::getPrice).orElse(DEFAULT_PRICE_PER_KWH);
+      cost = kwh * price;
+    }
+
+    int monthKey = UserMonthlyStats.monthKey(YearMonth.from(session.getStartTime()));
+    userMonthlyStatsUpsertRepository.addSession(session.getUserId(), monthKey, minutes, kwh,
+        cost);
+  }
+
+  /**
+   * Adds a new booking to the rollup row of its user and start month.
+   *
+   * @param booking The created booking
+   */
+  @Transactional
+  public void recordBooking(Booking booking) {
+    if (booking.getStartTime() == null || booking.getUserId() == null) {
+      return;
+    }
+
+    int monthKey = UserMonthlyStats.monthKey(YearMonth.from(booking.getStartTime()));
+    userMonthlyStatsUpsertRepository.addBooking(booking.getUserId(), monthKey);
+  }
+
+  /**
+   * Rebuilds the rollup of the retained months from the raw session and booking tables. Runs
+   * nightly; concurrent increments that race with the rebuild are corrected by the next run.
+   */
+  @Scheduled(cron = "${statistics.rollup.backfill-cron:0 30 3 * * *}")
+  @Transactional
+  public void backfill() {
+    backfill(YearMonth.now().minusMonths(retentionMonths));
+  }
+
+  /**
+   * Rebuilds the rollup rows of a month and all later months using two grouped queries, which
+   * only read the partitions of those months.
+   *
+   * @param from The first month to rebuild
+   */
+  @Transactional
+  public void backfill(YearMonth from) {
+    LocalDateTime since = from.atDay(1).atStartOfDay();
+    Map<String, UserMonthlyStats> rows = new HashMap<>();
+
+    for (UserMonthlySessionUsage usage : chargingSessionRepository
+        .aggregateFinishedSessionsByUserAndMonth(since)) {
+      UserMonthlyStats stats = rows.computeIfAbsent(usage.getUserId() + ":" + usage.getMonthKey(),
+          key -> new UserMonthlyStats(usage.getUserId(), usage.getMonthKey()));
+      stats.setSessions(usage.getSessions().intValue());
+      stats.setDurationMinutes(usage.getDurationMinutes());
+      stats.setKwh(usage.getKwh().intValue());
+      stats.setCost(usage.getCost());
+    }
+
+    for (UserMonthlyBookingCount count : bookingRepository.countBookingsByUserAndMonth(since)) {
+      UserMonthlyStats stats = rows.computeIfAbsent(count.getUserId() + ":" + count.getMonthKey(),
+          key -> new UserMonthlyStats(count.getUserId(), count.getMonthKey()));
+      stats.setBookings(count.getBookings().intValue());
+    }
+
+    userMonthlyStatsRepository.deleteFromMonth(UserMonthlyStats.monthKey(from));
+    userMonthlyStatsUpsertRepository.replaceAll(rows.values());
+  }
+
+  /**
+   * Populates the rollup from all months on first start after deployment, when the table is still
+   * empty.
+   */
+  @EventListener(ApplicationReadyEvent.class)
+  public void backfillIfEmpty() {
+    if (backfillOnStartup && userMonthlyStatsRepository.count() == 0) {
+      backfill(FIRST_MONTH);
+    }
+  }
+}
@@ -10,4 +10,5 @@ public interface StatisticsService {
     List<StatisticsDTO.WeeklyData> getWeeklyDataCurrentMonth(Long userId);
     List<StatisticsDTO.CostTrendData> getCostTrendData(Long userId, int months);
     StatisticsDTO.PeriodDetails getPeriodDetails(Long userId, String type, String value);
+    StatisticsDTO.Dashboard getDashboard(Long userId, int months, int trendMonths);
 }
\ No newline at end of file
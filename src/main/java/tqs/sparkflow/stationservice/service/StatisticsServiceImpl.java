@@ -1,139 +1,122 @@
 package tqs.sparkflow.stationservice.service;
 
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import tqs.sparkflow.stationservice.dto.BookingDTO;
 import tqs.sparkflow.stationservice.dto.StatisticsDTO;
 import tqs.sparkflow.stationservice.model.Booking;
-import tqs.sparkflow.stationservice.model.ChargingSession;
 import tqs.sparkflow.stationservice.model.Station;
+import tqs.sparkflow.stationservice.model.UserMonthlyStats;
 import tqs.sparkflow.stationservice.repository.BookingRepository;
 import tqs.sparkflow.stationservice.repository.ChargingSessionRepository;
+import tqs.sparkflow.stationservice.repository.DailySessionUsage;
 import tqs.sparkflow.stationservice.repository.StationRepository;
+import tqs.sparkflow.stationservice.repository.UserMonthlyStatsRepository;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.YearMonth;
 import java.time.format.DateTimeFormatter;
 import java.time.temporal.ChronoUnit;
-import java.time.temporal.TemporalAdjusters;
 import java.time.temporal.WeekFields;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
-import java.util.Optional;
 
 @Service
+@Transactional(readOnly = true)
 public class StatisticsServiceImpl implements StatisticsService {
 
     private static final double DEFAULT_KWH_PER_HOUR = 7.5; // Average kWh consumption per hour
+    private static final double DEFAULT_PRICE_PER_KWH = 0.35; // Used when the station has no price
     private static final double CO2_SAVED_PER_KWH = 0.4; // kg CO2 saved per kWh (vs gasoline car)
 
     private final ChargingSessionRepository chargingSessionRepository;
     private final BookingRepository bookingRepository;
     private final StationRepository stationRepository;
+    private final UserMonthlyStatsRepository userMonthlyStatsRepository;
 
     public StatisticsServiceImpl(ChargingSessionRepository chargingSessionRepository,
-            BookingRepository bookingRepository, StationRepository stationRepository) {
+            BookingRepository bookingRepository, StationRepository stationRepository,
+            UserMonthlyStatsRepository userMonthlyStatsRepository) {
         this.chargingSessionRepository = chargingSessionRepository;
         this.bookingRepository = bookingRepository;
         this.stationRepository = stationRepository;
+        this.userMonthlyStatsRepository = userMonthlyStatsRepository;
     }
 
     @Override
     public StatisticsDTO.CurrentMonthStats getCurrentMonthStatistics(Long userId) {
-        LocalDateTime now = LocalDateTime.now();
-        LocalDateTime startOfMonth = now.with(TemporalAdjusters.firstDayOfMonth()).withHour(0)
-                .withMinute(0).withSecond(0);
-        LocalDateTime endOfMonth = now.with(TemporalAdjusters.lastDayOfMonth()).withHour(23)
-                .withMinute(59).withSecond(59);
+        YearMonth currentMonth = YearMonth.now();
+        return toCurrentMonthStats(loadRollup(userId, currentMonth, currentMonth), currentMonth);
+    }
 
-        // Get finished charging sessions for the current month
-        List<ChargingSession> sessions = chargingSessionRepository
-                .findFinishedSessionsByUserInPeriod(userId.toString(), startOfMonth, endOfMonth);
+    @Override
+    public List<StatisticsDTO.MonthlyData> getMonthlyData(Long userId, int months) {
+        YearMonth currentMonth = YearMonth.now();
+        YearMonth firstMonth = currentMonth.minusMonths(months - 1L);
+        return buildMonthlyData(currentMonth, months, loadRollup(userId, firstMonth, currentMonth),
+                loadReservationsByMonth(userId, firstMonth, currentMonth));
+    }
 
-        // Calculate statistics
-        StatisticsDTO.CurrentMonthStats stats = new StatisticsDTO.CurrentMonthStats();
-        stats.setTotalSessions(sessions.size());
-
-        double totalCost = 0.0;
-        int totalKwh = 0;
-
-        for (ChargingSession session : sessions) {
-            if (session.getStartTime() != null && session.getEndTime() != null) {
-                double duration =
-                        ChronoUnit.MINUTES.between(session.getStartTime(), session.getEndTime())
-                                / 60.0;
-                int kwh = (int) Math.round(duration * DEFAULT_KWH_PER_HOUR);
-                totalKwh += kwh;
-
-                // Get station price
-                Optional<Station> station =
-                        stationRepository.findById(Long.parseLong(session.getStationId()));
-                double price = station.map(Station::getPrice).orElse(0.35); // Default price per kWh
-                totalCost += kwh * price;
-            }
-        }
+    @Override
+    public StatisticsDTO.Dashboard getDashboard(Long userId, int months, int trendMonths) {
+        YearMonth currentMonth = YearMonth.now();
+        YearMonth firstMonth = currentMonth.minusMonths(Math.max(months, trendMonths) - 1L);
+
+        // One rollup read serves all three views; bookings are only listed for the monthly view
+        Map<Integer, UserMonthlyStats> rollups = loadRollup(userId, firstMonth, currentMonth);
+        Map<YearMonth, List<BookingDTO>> reservations = loadReservationsByMonth(userId,
+                currentMonth.minusMonths(months - 1L), currentMonth);
+
+        StatisticsDTO.Dashboard dashboard = new StatisticsDTO.Dashboard();
+        dashboard.setCurrentMonth(toCurrentMonthStats(rollups, currentMonth));
+        dashboard.setMonthly(buildMonthlyData(currentMonth, months, rollups, reservations));
+        dashboard.setCostTrend(buildCostTrend(currentMonth, trendMonths, rollups));
+        return dashboard;
+    }
 
-        stats.setTotalCost(Math.round(totalCost * 100.0) / 100.0);
-        stats.setEstimatedKwh(totalKwh);
-        stats.setCo2Saved((int) Math.round(totalKwh * CO2_SAVED_PER_KWH));
-        stats.setAvgCostPerSession(
-                !sessions.isEmpty() ? Math.round((totalCost / sessions.size()) * 100.0) / 100.0
-                        : 0.0);
+    private StatisticsDTO.CurrentMonthStats toCurrentMonthStats(
+            Map<Integer, UserMonthlyStats> rollups, YearMonth currentMonth) {
+        UserMonthlyStats rollup = rollups.getOrDefault(UserMonthlyStats.monthKey(currentMonth),
+                new UserMonthlyStats());
+
+        StatisticsDTO.CurrentMonthStats stats = new StatisticsDTO.CurrentMonthStats();
+        stats.setTotalSessions(rollup.getSessions());
+        stats.setTotalCost(Math.round(rollup.getCost() * 100.0) / 100.0);
+        stats.setEstimatedKwh(rollup.getKwh());
+        stats.setCo2Saved((int) Math.round(rollup.getKwh() * CO2_SAVED_PER_KWH));
+        stats.setAvgCostPerSession(rollup.getSessions() > 0
+                ? Math.round((rollup.getCost() / rollup.getSessions()) * 100.0) / 100.0
+                : 0.0);
 
         return stats;
     }
 
-    @Override
-    public List<StatisticsDTO.MonthlyData> getMonthlyData(Long userId, int months) {
-        LocalDateTime now = LocalDateTime.now();
+    private List<StatisticsDTO.MonthlyData> buildMonthlyData(YearMonth currentMonth, int months,
+            Map<Integer, UserMonthlyStats> rollups,
+            Map<YearMonth, List<BookingDTO>> reservations) {
         List<StatisticsDTO.MonthlyData> monthlyData = new ArrayList<>();
 
         for (int i = 0; i < months; i++) {
-            YearMonth yearMonth = YearMonth.from(now.minusMonths(i));
-            LocalDateTime startOfMonth = yearMonth.atDay(1).atStartOfDay();
-            LocalDateTime endOfMonth = yearMonth.atEndOfMonth().atTime(23, 59, 59);
-
-            // Get sessions for this month
-            List<ChargingSession> sessions =
-                    chargingSessionRepository.findFinishedSessionsByUserInPeriod(userId.toString(),
-                            startOfMonth, endOfMonth);
-
-            // Get bookings for this month
-            List<Booking> bookings = bookingRepository.findBookingsByUserInPeriod(userId.toString(),
-                    startOfMonth, endOfMonth);
+            YearMonth yearMonth = currentMonth.minusMonths(i);
+            UserMonthlyStats rollup = rollups.getOrDefault(UserMonthlyStats.monthKey(yearMonth),
+                    new UserMonthlyStats());
 
             StatisticsDTO.MonthlyData data = new StatisticsDTO.MonthlyData();
             data.setMonth(yearMonth.format(DateTimeFormatter.ofPattern("MMM")));
             data.setFullMonth(yearMonth.format(DateTimeFormatter.ofPattern("MMMM yyyy")));
-            data.setSessions(sessions.size());
-
-            // Calculate cost and duration
-            double totalCost = 0.0;
-            double totalDuration = 0.0;
-            int totalKwh = 0;
-
-            for (ChargingSession session : sessions) {
-                if (session.getStartTime() != null && session.getEndTime() != null) {
-                    double duration =
-                            ChronoUnit.MINUTES.between(session.getStartTime(), session.getEndTime())
-                                    / 60.0;
-                    totalDuration += duration;
-                    int kwh = (int) Math.round(duration * DEFAULT_KWH_PER_HOUR);
-                    totalKwh += kwh;
-
-                    Optional<Station> station =
-                            stationRepository.findById(Long.parseLong(session.getStationId()));
-                    double price = station.map(Station::getPrice).orElse(0.35);
-                    totalCost += kwh * price;
-                }
-            }
-
-            data.setCost(Math.round(totalCost * 100.0) / 100.0);
-            data.setDuration(Math.round(totalDuration * 100.0) / 100.0);
-            data.setKwh(totalKwh);
-            data.setReservations(bookings.stream().map(this::convertToBookingDTO).toList());
+            data.setSessions(rollup.getSessions());
+            data.setCost(Math.round(rollup.getCost() * 100.0) / 100.0);
+            data.setDuration(Math.round((rollup.getDurationMinutes() / 60.0) * 100.0) / 100.0);
+            data.setKwh(rollup.getKwh());
+            data.setReservations(reservations.getOrDefault(yearMonth, List.of()));
 
             monthlyData.add(data);
         }
@@ -143,63 +126,37 @@ public class StatisticsServiceImpl implements StatisticsService {
 
     @Override
     public List<StatisticsDTO.WeeklyData> getWeeklyDataCurrentMonth(Long userId) {
-        LocalDateTime now = LocalDateTime.now();
-        LocalDateTime startOfMonth = now.with(TemporalAdjusters.firstDayOfMonth()).withHour(0)
-                .withMinute(0).withSecond(0);
-        LocalDateTime endOfMonth = now.with(TemporalAdjusters.lastDayOfMonth()).withHour(23)
-                .withMinute(59).withSecond(59);
+        YearMonth currentMonth = YearMonth.now();
+        LocalDateTime startOfMonth = currentMonth.atDay(1).atStartOfDay();
+        LocalDateTime endOfMonth = currentMonth.atEndOfMonth().atTime(23, 59, 59);
 
-        // Get all sessions for current month
-        List<ChargingSession> sessions = chargingSessionRepository
-                .findFinishedSessionsByUserInPeriod(userId.toString(), startOfMonth, endOfMonth);
+        // One aggregation query prices every session of the month, grouped per day
+        List<DailySessionUsage> days = chargingSessionRepository
+                .aggregateFinishedSessionsByUserPerDay(userId, startOfMonth, endOfMonth);
 
-        // Group sessions by week
+        // Fold the days into weeks, keeping the order of the first day of each week
         WeekFields weekFields = WeekFields.of(Locale.getDefault());
-        Map<Integer, List<ChargingSession>> sessionsByWeek = sessions.stream()
-                .filter(session -> session.getStartTime() != null).collect(Collectors.groupingBy(
-                        session -> session.getStartTime().get(weekFields.weekOfYear())));
+        Map<Integer, List<DailySessionUsage>> daysByWeek = days.stream()
+                .collect(Collectors.groupingBy(day -> toDate(day).get(weekFields.weekOfYear()),
+                        LinkedHashMap::new, Collectors.toList()));
 
         List<StatisticsDTO.WeeklyData> weeklyData = new ArrayList<>();
 
         // Process each week
-        for (Map.Entry<Integer, List<ChargingSession>> entry : sessionsByWeek.entrySet()) {
-            List<ChargingSession> weekSessions = entry.getValue();
+        for (Map.Entry<Integer, List<DailySessionUsage>> entry : daysByWeek.entrySet()) {
+            List<DailySessionUsage> weekDays = entry.getValue();
 
             StatisticsDTO.WeeklyData data = new StatisticsDTO.WeeklyData();
             data.setWeek("Week " + entry.getKey());
-            data.setSessions(weekSessions.size());
-
-            // Calculate cost for the week
-            double totalCost = 0.0;
-            for (ChargingSession session : weekSessions) {
-                if (session.getStartTime() != null && session.getEndTime() != null) {
-                    double duration =
-                            ChronoUnit.MINUTES.between(session.getStartTime(), session.getEndTime())
-                                    / 60.0;
-                    int kwh = (int) Math.round(duration * DEFAULT_KWH_PER_HOUR);
-
-                    Optional<Station> station =
-                            stationRepository.findById(Long.parseLong(session.getStationId()));
-                    double price = station.map(Station::getPrice).orElse(0.35);
-                    totalCost += kwh * price;
-                }
-            }
-
-            data.setCost(Math.round(totalCost * 100.0) / 100.0);
+            data.setSessions(weekDays.stream().mapToInt(day -> day.getSessions().intValue()).sum());
+            data.setCost(Math.round(weekDays.stream().mapToDouble(DailySessionUsage::getCost).sum()
+                    * 100.0) / 100.0);
 
-            // Set date range for the week
-            if (!weekSessions.isEmpty()) {
-                LocalDateTime firstSession =
-                        weekSessions.stream().map(ChargingSession::getStartTime)
-                                .min(LocalDateTime::compareTo).orElse(null);
-                LocalDateTime lastSession = weekSessions.stream().map(ChargingSession::getStartTime)
-                        .max(LocalDateTime::compareTo).orElse(null);
-
-                if (firstSession != null && lastSession != null) {
-                    data.setDateRange(firstSession.format(DateTimeFormatter.ofPattern("MMM d"))
-                            + " - " + lastSession.format(DateTimeFormatter.ofPattern("MMM d")));
-                }
-            }
+            // Set date range for the week; days arrive ordered by date
+            LocalDate firstDay = toDate(weekDays.get(0));
+            LocalDate lastDay = toDate(weekDays.get(weekDays.size() - 1));
+            data.setDateRange(firstDay.format(DateTimeFormatter.ofPattern("MMM d")) + " - "
+                    + lastDay.format(DateTimeFormatter.ofPattern("MMM d")));
 
             data.setReservations(new ArrayList<>()); // No reservations for weekly data in this
                                                      // context
@@ -211,37 +168,24 @@ public class StatisticsServiceImpl implements StatisticsService {
 
     @Override
     public List<StatisticsDTO.CostTrendData> getCostTrendData(Long userId, int months) {
-        LocalDateTime now = LocalDateTime.now();
+        YearMonth currentMonth = YearMonth.now();
+        return buildCostTrend(currentMonth, months,
+                loadRollup(userId, currentMonth.minusMonths(months - 1L), currentMonth));
+    }
+
+    private List<StatisticsDTO.CostTrendData> buildCostTrend(YearMonth currentMonth, int months,
+            Map<Integer, UserMonthlyStats> rollups) {
         List<StatisticsDTO.CostTrendData> trendData = new ArrayList<>();
 
         for (int i = months - 1; i >= 0; i--) {
-            YearMonth yearMonth = YearMonth.from(now.minusMonths(i));
-            LocalDateTime startOfMonth = yearMonth.atDay(1).atStartOfDay();
-            LocalDateTime endOfMonth = yearMonth.atEndOfMonth().atTime(23, 59, 59);
-
-            List<ChargingSession> sessions =
-                    chargingSessionRepository.findFinishedSessionsByUserInPeriod(userId.toString(),
-                            startOfMonth, endOfMonth);
-
-            double totalCost = 0.0;
-            for (ChargingSession session : sessions) {
-                if (session.getStartTime() != null && session.getEndTime() != null) {
-                    double duration =
-                            ChronoUnit.MINUTES.between(session.getStartTime(), session.getEndTime())
-                                    / 60.0;
-                    int kwh = (int) Math.round(duration * DEFAULT_KWH_PER_HOUR);
-
-                    Optional<Station> station =
-                            stationRepository.findById(Long.parseLong(session.getStationId()));
-                    double price = station.map(Station::getPrice).orElse(0.35);
-                    totalCost += kwh * price;
-                }
-            }
+            YearMonth yearMonth = currentMonth.minusMonths(i);
+            UserMonthlyStats rollup = rollups.getOrDefault(UserMonthlyStats.monthKey(yearMonth),
+                    new UserMonthlyStats());
 
             StatisticsDTO.CostTrendData data = new StatisticsDTO.CostTrendData();
             data.setMonth(yearMonth.format(DateTimeFormatter.ofPattern("MMM yyyy")));
-            data.setCost(Math.round(totalCost * 100.0) / 100.0);
-            data.setSessions(sessions.size());
+            data.setCost(Math.round(rollup.getCost() * 100.0) / 100.0);
+            data.setSessions(rollup.getSessions());
 
             trendData.add(data);
         }
@@ -254,12 +198,21 @@ public class StatisticsServiceImpl implements StatisticsService {
         LocalDateTime startDate;
         LocalDateTime endDate;
 
+        double totalCost;
+        int totalSessions;
+
         // Parse the period based on type and value
         if ("month".equals(type)) {
             YearMonth yearMonth =
                     YearMonth.parse(value + "-01", DateTimeFormatter.ofPattern("yyyy-MM-dd"));
             startDate = yearMonth.atDay(1).atStartOfDay();
             endDate = yearMonth.atEndOfMonth().atTime(23, 59, 59);
+
+            // Whole months are served from the rollup
+            UserMonthlyStats rollup = loadRollup(userId, yearMonth, yearMonth)
+                    .getOrDefault(UserMonthlyStats.monthKey(yearMonth), new UserMonthlyStats());
+            totalCost = rollup.getCost();
+            totalSessions = rollup.getSessions();
         } else if ("week".equals(type)) {
             // Assume value is week number, use current year
             int weekNumber = Integer.parseInt(value);
@@ -268,44 +221,86 @@ public class StatisticsServiceImpl implements StatisticsService {
             startDate = now.with(weekFields.weekOfYear(), weekNumber)
                     .with(weekFields.dayOfWeek(), 1).withHour(0).withMinute(0).withSecond(0);
             endDate = startDate.plusDays(6).withHour(23).withMinute(59).withSecond(59);
+
+            List<DailySessionUsage> days = chargingSessionRepository
+                    .aggregateFinishedSessionsByUserPerDay(userId, startDate, endDate);
+            totalCost = days.stream().mapToDouble(DailySessionUsage::getCost).sum();
+            totalSessions = days.stream().mapToInt(day -> day.getSessions().intValue()).sum();
         } else {
             throw new IllegalArgumentException("Invalid period type: " + type);
         }
 
-        // Get sessions and bookings for the period
-        List<ChargingSession> sessions = chargingSessionRepository
-                .findFinishedSessionsByUserInPeriod(userId.toString(), startDate, endDate);
         List<Booking> bookings =
-                bookingRepository.findBookingsByUserInPeriod(userId.toString(), startDate, endDate);
-
-        // Calculate statistics
-        double totalCost = 0.0;
-        for (ChargingSession session : sessions) {
-            if (session.getStartTime() != null && session.getEndTime() != null) {
-                double duration =
-                        ChronoUnit.MINUTES.between(session.getStartTime(), session.getEndTime())
-                                / 60.0;
-                int kwh = (int) Math.round(duration * DEFAULT_KWH_PER_HOUR);
-
-                Optional<Station> station =
-                        stationRepository.findById(Long.parseLong(session.getStationId()));
-                double price = station.map(Station::getPrice).orElse(0.35);
-                totalCost += kwh * price;
-            }
-        }
+                bookingRepository.findBookingsByUserInPeriod(userId, startDate, endDate);
 
         StatisticsDTO.PeriodDetails details = new StatisticsDTO.PeriodDetails();
         details.setTotalReservations(bookings.size());
         details.setTotalCost(Math.round(totalCost * 100.0) / 100.0);
-        details.setAvgCostPerSession(
-                !sessions.isEmpty() ? Math.round((totalCost / sessions.size()) * 100.0) / 100.0
-                        : 0.0);
-        details.setReservations(bookings.stream().map(this::convertToBookingDTO).toList());
+        details.setAvgCostPerSession(totalSessions > 0
+                ? Math.round((totalCost / totalSessions) * 100.0) / 100.0
+                : 0.0);
+        details.setReservations(convertToBookingDTOs(bookings));
 
         return details;
     }
 
-    private BookingDTO convertToBookingDTO(Booking booking) {
+    /**
+     * Loads the rollup rows of a user for an inclusive range of months, keyed by month key.
+     */
+    private Map<Integer, UserMonthlyStats> loadRollup(Long userId, YearMonth from, YearMonth to) {
+        return userMonthlyStatsRepository
+                .findByUserIdAndMonthKeyBetweenOrderByMonthKey(userId,
+                        UserMonthlyStats.monthKey(from), UserMonthlyStats.monthKey(to))
+                .stream()
+                .collect(Collectors.toMap(UserMonthlyStats::getMonthKey, Function.identity()));
+    }
+
+    /**
+     * Loads the bookings of a user for an inclusive range of months with a single query and
+     * buckets them by month in one pass over the start-ordered result.
+     */
+    private Map<YearMonth, List<BookingDTO>> loadReservationsByMonth(Long userId, YearMonth from,
+            YearMonth to) {
+        Map<YearMonth, List<BookingDTO>> reservations = new HashMap<>();
+        if (from.isAfter(to)) {
+            return reservations;
+        }
+
+        List<Booking> bookings = bookingRepository.findBookingsByUserInPeriod(userId,
+                from.atDay(1).atStartOfDay(), to.atEndOfMonth().atTime(23, 59, 59));
+        List<BookingDTO> dtos = convertToBookingDTOs(bookings);
+        for (int i = 0; i < bookings.size(); i++) {
+            reservations.computeIfAbsent(YearMonth.from(bookings.get(i).getStartTime()),
+                    month -> new ArrayList<>()).add(dtos.get(i));
+        }
+        return reservations;
+    }
+
+    /**
+     * Decodes the yyyyMMdd day key of an aggregated row.
+     */
+    private static LocalDate toDate(DailySessionUsage day) {
+        int key = day.getDayKey();
+        return LocalDate.of(key / 10000, key / 100 % 100, key % 100);
+    }
+
+    /**
+     * Converts bookings to DTOs, loading all their stations with a single query.
+     */
+    private List<BookingDTO> convertToBookingDTOs(List<Booking> bookings) {
+        if (bookings.isEmpty()) {
+            return List.of();
+        }
+        Set<Long> stationIds =
+                bookings.stream().map(Booking::getStationId).collect(Collectors.toSet());
+        Map<Long, Station> stations = stationRepository.findAllById(stationIds).stream()
+                .collect(Collectors.toMap(Station::getId, Function.identity()));
+        return bookings.stream()
+                .map(booking -> convertToBookingDTO(booking, stations.get(booking.getStationId())))
+                .toList();
+    }
+
+    private BookingDTO convertToBookingDTO(Booking booking, Station station) {
         BookingDTO dto = new BookingDTO();
         dto.setId(booking.getId());
         dto.setStationId(booking.getStationId());
@@ -320,12 +315,14 @@ public class StatisticsServiceImpl implements StatisticsService {
                     ChronoUnit.MINUTES.between(booking.getStartTime(), booking.getEndTime()) / 60.0;
             int kwh = (int) Math.round(duration * DEFAULT_KWH_PER_HOUR);
 
-            Optional<Station> station = stationRepository.findById(booking.getStationId());
-            double price = station.map(Station::getPrice).orElse(0.35);
+            double price = station != null && station.getPrice() != null ? station.getPrice()
+                    : DEFAULT_PRICE_PER_KWH;
             dto.setEstimatedCost(Math.round((kwh * price) * 100.0) / 100.0);
 
             // Set station name
-            station.ifPresent(s -> dto.setStationName(s.getName()));
+            if (station != null) {
+                dto.setStationName(station.getName());
+            }
         }
 
         return dto;
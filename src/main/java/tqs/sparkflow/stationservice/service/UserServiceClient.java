@@ -0,0 +1,186 @@
+package tqs.sparkflow.stationservice.service;
+
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PreDestroy;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestTemplate;
+import tqs.sparkflow.stationservice.config.RestTemplateConfig;
+import tqs.sparkflow.stationservice.config.UserServiceCacheConfig;
+
+/**
+ * Looks up users and their roles in user-service, caching the answers per user. Concurrent
+ * lookups of the same uncached user share a single remote call. A 4xx answer is cached as a
+ * negative result for a shorter time; other failures are not cached so an outage of user-service
+ * does not outlive itself. Uncached lookups can also run asynchronously on a small bounded pool,
+ * so callers can overlap them with their own database work. When the pool is saturated or shut
+ * down the lookup runs on the caller instead.
+ */
+@Component
+public class UserServiceClient {
+
+  static final String EXISTS_CACHE = "userService.exists";
+  static final String ADMIN_CACHE = "userService.admin";
+  private static final String ADMIN_ROLE_CHECK = "/has-role/ADMIN";
+
+  private final RestTemplate restTemplate;
+  private final String usersUrl;
+  private final LoadingCache<Long, Boolean> userExists;
+  private final LoadingCache<Long, Boolean> userIsAdmin;
+  private final ExecutorService lookupExecutor;
+
+  /**
+   * Creates a new instance of UserServiceClient.
+   *
+   * @param restTemplate The RestTemplate for user-service
+   * @param userServiceUrl The URL of the user service
+   * @param usersPath The path of the users resource
+   * @param config The cache size and expiry settings
+   * @param meterRegistry The registry for cache hit and miss metrics
+   */
+  public UserServiceClient(@Qualifier(RestTemplateConfig.USER_SERVICE) RestTemplate restTemplate,
+      String userServiceUrl, @Value("${api.paths.users}") String usersPath,
+      UserServiceCacheConfig config, MeterRegistry meterRegistry) {
+    this.restTemplate = restTemplate;
+    this.usersUrl = userServiceUrl + usersPath;
+    this.userExists = buildCache(config, this::fetchUserExists);
+    this.userIsAdmin = buildCache(config, this::fetchUserIsAdmin);
+    CaffeineCacheMetrics.monitor(meterRegistry, userExists, EXISTS_CACHE);
+    CaffeineCacheMetrics.monitor(meterRegistry, userIsAdmin, ADMIN_CACHE);
+    this.lookupExecutor = lookupExecutor(config.getLookupThreads());
+  }
+
+  /**
+   * Checks whether a user exists.
+   *
+   * @param userId The ID of the user
+   * @return true if user-service knows the user, false if not or if it could not be reached
+   */
+  public boolean userExists(Long userId) {
+    return lookup(userExists, userId);
+  }
+
+  /**
+   * Checks whether a user exists without blocking the caller. Cached answers complete
+   * immediately; otherwise the lookup runs on the lookup pool.
+   *
+   * @param userId The ID of the user
+   * @return A future completing with the answer of {@link #userExists(Long)}
+   */
+  public CompletableFuture<Boolean> userExistsAsync(Long userId) {
+    Boolean cached = userId != null ? userExists.getIfPresent(userId) : null;
+    if (cached != null) {
+      return CompletableFuture.completedFuture(cached);
+    }
+    return CompletableFuture.supplyAsync(() -> userExists(userId), lookupExecutor);
+  }
+
+  /**
+   * Checks whether a user has the admin role.
+   *
+   * @param userId The ID of the user
+   * @return true if the user is an admin, false if not or if user-service could not be reached
+   */
+  public boolean isAdmin(Long userId) {
+    return lookup(userIsAdmin, userId);
+  }
+
+  private static boolean lookup(LoadingCache<Long, Boolean> cache, Long userId) {
+    if (userId == null) {
+      return false;
+    }
+    try {
+      return Boolean.TRUE.equals(cache.get(userId));
+    } catch (RuntimeException e) {
+      return false;
+    }
+  }
+
+  private Boolean fetchUserExists(Long userId) {
+    try {
+      restTemplate.getForObject(usersUrl + userId, Object.class);
+      return true;
+    } catch (HttpClientErrorException e) {
+      return false;
+    }
+  }
+
+  private Boolean fetchUserIsAdmin(Long userId) {
+    try {
+      return Boolean.TRUE.equals(
+          restTemplate.getForObject(usersUrl + userId + ADMIN_ROLE_CHECK, Boolean.class));
+    } catch (HttpClientErrorException e) {
+      return false;
+    }
+  }
+
+  @PreDestroy
+  void shutdown() {
+    lookupExecutor.shutdownNow();
+  }
+
+  private static ExecutorService lookupExecutor(int threads) {
+    // Bounded platform threads for now; a virtual-thread-per-task executor once we are on JDK 21
+    int size = Math.max(1, threads);
+    AtomicInteger count = new AtomicInteger();
+    ThreadPoolExecutor executor = new ThreadPoolExecutor(size, size, 30, TimeUnit.SECONDS,
+        new ArrayBlockingQueue<>(size * 8), runnable -> {
+          Thread thread = new Thread(runnable, "user-lookup-" + count.incrementAndGet());
+          thread.setDaemon(true);
+          return thread;
+        }, (task, rejectedBy) -> task.run());
+    executor.allowCoreThreadTimeOut(true);
+    return executor;
+  }
+
+  private static LoadingCache<Long, Boolean> buildCache(UserServiceCacheConfig config,
+      CacheLoader<Long, Boolean> loader) {
+    return Caffeine.newBuilder()
+        .maximumSize(config.getMaxSize())
+        .expireAfter(new ResultExpiry(config.getTtl().toNanos(),
+            config.getNegativeTtl().toNanos()))
+        .recordStats()
+        .build(loader);
+  }
+
+  /** Expires positive answers after the TTL and negative ones after the shorter negative TTL. */
+  private static final class ResultExpiry implements Expiry<Long, Boolean> {
+    private final long positiveNanos;
+    private final long negativeNanos;
+
+    ResultExpiry(long positiveNanos, long negativeNanos) {
+      this.positiveNanos = positiveNanos;
+      this.negativeNanos = negativeNanos;
+    }
+
+    @Override
+    public long expireAfterCreate(Long userId, Boolean result, long currentTime) {
+      return Boolean.TRUE.equals(result) ? positiveNanos : negativeNanos;
+    }
+
+    @Override
+    public long expireAfterUpdate(Long userId, Boolean result, long currentTime,
+        long currentDuration) {
+      return expireAfterCreate(userId, result, currentTime);
+    }
+
+    @Override
+    public long expireAfterRead(Long userId, Boolean result, long currentTime,
+        long currentDuration) {
+      return currentDuration;
+    }
+  }
+}
@@ -0,0 +1,42 @@
+package tqs.sparkflow.stationservice.util;
+
+/**
+ * Geographic helper functions shared by route planning and nearby search.
+ */
+public final class GeoUtil {
+
+  private static final double EARTH_RADIUS_KM = 6371;
+
+  private GeoUtil() {}
+
+  /**
+   * Calculates the great-circle distance between two points using the Haversine formula.
+   *
+   * @param lat1 Latitude of first point
+   * @param lon1 Longitude of first point
+   * @param lat2 Latitude of second point
+   * @param lon2 Longitude of second point
+   * @return Distance in kilometers
+   */
+  public static double distanceKm(double lat1, double lon1, double lat2, double lon2) {
+    double latDistance = Math.toRadians(lat2 - lat1);
+    double lonDistance = Math.toRadians(lon2 - lon1);
+    double a = Math.sin(latDistance / 2) * Math.sin(latDistance / 2)
+        + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+            * Math.sin(lonDistance / 2) * Math.sin(lonDistance / 2);
+    double c = 2 * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
+    return EARTH_RADIUS_KM * c;
+  }
+
+  /**
+   * Converts a distance to the latitude difference it spans along a meridian. Two points whose
+   * latitudes differ by more than this are always further apart than the distance, so it can be
+   * used to skip the Haversine calculation for most points outside a search radius.
+   *
+   * @param distanceKm Distance in kilometers
+   * @return Latitude difference in degrees
+   */
+  public static double latitudeSpanDegrees(double distanceKm) {
+    return Math.toDegrees(distanceKm / EARTH_RADIUS_KM);
+  }
+}
@@ -1,27 +1,94 @@
 package tqs.sparkflow.stationservice.util;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.WeakKeyException;
 import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
-import javax.crypto.SecretKey;
+import java.util.stream.Stream;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Component;
 
 /**
  * JWT utility class for token validation and extraction.
- * This service validates tokens issued by the user-service.
+ * This service validates tokens issued by the user-service. The signing key and parser are built
+ * once, and the claims of verified tokens are cached until the tokens expire, so a token's
+ * signature is checked once rather than on every request.
  */
 @Component
 @Profile({"!test", "securitytest"})
 public class JwtUtil {
 
-  @Value("${jwt.secret}")
-  private String secret;
+  private static final String ROLES_CLAIM = "roles";
+  private static final String USER_ID_CLAIM = "userId";
+  private static final String ROLE_PREFIX = "ROLE_";
+
+  private final JwtParser parser;
+  private final JwtException keyError;
+  private final Cache<String, Claims> verifiedClaims;
+
+  /**
+   * Creates a new instance of JwtUtil.
+   *
+   * @param secret the HMAC secret shared with user-service
+   * @param maxCachedTokens the maximum number of verified tokens to keep
+   */
+  public JwtUtil(@Value("${jwt.secret}") String secret,
+      @Value("${jwt.claims-cache.max-size:10000}") long maxCachedTokens) {
+    JwtParser builtParser = null;
+    JwtException error = null;
+    try {
+      builtParser = Jwts.parserBuilder()
+          .setSigningKey(Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8)))
+          .build();
+    } catch (WeakKeyException e) {
+      // Keep starting up; every token is rejected as it was when the key was built per call
+      error = e;
+    }
+    this.parser = builtParser;
+    this.keyError = error;
+    this.verifiedClaims = Caffeine.newBuilder()
+        .maximumSize(maxCachedTokens)
+        .expireAfter(new TokenExpiry())
+        .build();
+  }
+
+  /**
+   * Verifies a token and returns its claims. Tokens already verified are served from the cache
+   * until they expire.
+   *
+   * @param token the JWT token
+   * @return all claims
+   * @throws JwtException if the token is invalid or expired
+   * @throws IllegalArgumentException if the token is null or empty
+   */
+  public Claims parseClaims(String token) {
+    if (token == null) {
+      throw new IllegalArgumentException("JWT token must not be null");
+    }
+    return verifiedClaims.get(token, this::verify);
+  }
+
+  private Claims verify(String token) {
+    if (parser == null) {
+      throw keyError;
+    }
+    return parser.parseClaimsJws(token).getBody();
+  }
 
   /**
    * Extracts username from token.
@@ -52,32 +119,18 @@ public class JwtUtil {
    * @return the claim value
    */
   public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-    final Claims claims = extractAllClaims(token);
+    final Claims claims = parseClaims(token);
     return claimsResolver.apply(claims);
   }
 
   /**
-   * Extracts all claims from token.
-   *
-   * @param token the JWT token
-   * @return all claims
-   */
-  private Claims extractAllClaims(String token) {
-    return Jwts.parserBuilder()
-        .setSigningKey(getSigningKey())
-        .build()
-        .parseClaimsJws(token)
-        .getBody();
-  }
-
-  /**
-   * Checks if token is expired.
+   * Checks if the claims are expired.
    *
-   * @param token the JWT token
+   * @param claims the claims of a JWT token
    * @return true if token is expired
    */
-  private Boolean isTokenExpired(String token) {
-    return extractExpiration(token).before(new Date());
+  private static boolean isTokenExpired(Claims claims) {
+    return claims.getExpiration().before(new Date());
   }
 
   /**
@@ -89,8 +142,8 @@ public class JwtUtil {
    */
   public Boolean validateToken(String token, String username) {
     try {
-      final String extractedUsername = extractUsername(token);
-      return (extractedUsername.equals(username) && !isTokenExpired(token));
+      final Claims claims = parseClaims(token);
+      return (claims.getSubject().equals(username) && !isTokenExpired(claims));
     } catch (JwtException | IllegalArgumentException e) {
       return false;
     }
@@ -113,16 +166,108 @@ public class JwtUtil {
    * @return the operator status
    */
   public Boolean extractIsOperator(String token) {
-    return extractClaim(token, claims -> claims.get("isOperator", Boolean.class));
+    return extractClaim(token, JwtUtil::isOperator);
   }
 
   /**
-   * Gets the signing key for token validation.
+   * Reads the operator status from verified claims.
    *
-   * @return the signing key
+   * @param claims the claims of a JWT token
+   * @return the operator status
    */
-  private SecretKey getSigningKey() {
-    byte[] keyBytes = secret.getBytes(StandardCharsets.UTF_8);
-    return Keys.hmacShaKeyFor(keyBytes);
+  public static Boolean isOperator(Claims claims) {
+    return claims.get("isOperator", Boolean.class);
+  }
+
+  /**
+   * Extracts the numeric user ID from token. The subject holds the username, so the ID the
+   * station-service APIs take comes from its own claim.
+   *
+   * @param token the JWT token
+   * @return the user ID, or null if the token has no numeric user ID claim
+   */
+  public Long extractUserId(String token) {
+    return extractClaim(token, JwtUtil::userId);
+  }
+
+  /**
+   * Reads the numeric user ID from verified claims. The claim may hold a number or a numeric
+   * string.
+   *
+   * @param claims the claims of a JWT token
+   * @return the user ID, or null if there is no numeric user ID claim
+   */
+  public static Long userId(Claims claims) {
+    Object claim = claims.get(USER_ID_CLAIM);
+    if (claim instanceof Number number) {
+      return number.longValue();
+    }
+    if (claim == null) {
+      return null;
+    }
+    try {
+      return Long.valueOf(claim.toString().trim());
+    } catch (NumberFormatException e) {
+      return null;
+    }
+  }
+
+  /**
+   * Extracts the roles from token. The claim may hold a list of role names or a single
+   * comma-separated string.
+   *
+   * @param token the JWT token
+   * @return the role names without the {@code ROLE_} prefix, or null if the token has no roles
+   *     claim
+   */
+  public List<String> extractRoles(String token) {
+    return extractClaim(token, JwtUtil::roles);
+  }
+
+  /**
+   * Reads the roles from verified claims.
+   *
+   * @param claims the claims of a JWT token
+   * @return the role names without the {@code ROLE_} prefix, or null if there is no roles claim
+   */
+  public static List<String> roles(Claims claims) {
+    Object claim = claims.get(ROLES_CLAIM);
+    if (claim == null) {
+      return null;
+    }
+    Stream<?> values = claim instanceof Collection<?> collection ? collection.stream()
+        : Arrays.stream(claim.toString().split(","));
+    return values.filter(Objects::nonNull)
+        .map(value -> value.toString().trim().toUpperCase(Locale.ROOT))
+        .map(role -> role.startsWith(ROLE_PREFIX) ? role.substring(ROLE_PREFIX.length()) : role)
+        .filter(role -> !role.isEmpty())
+        .distinct()
+        .toList();
+  }
+
+  /** Keeps verified claims until the token's expiration; tokens without one are not kept. */
+  private static final class TokenExpiry implements Expiry<String, Claims> {
+
+    @Override
+    public long expireAfterCreate(String token, Claims claims, long currentTime) {
+      Date expiration = claims.getExpiration();
+      if (expiration == null) {
+        return 0;
+      }
+      long remainingMillis = expiration.getTime() - System.currentTimeMillis();
+      return TimeUnit.MILLISECONDS.toNanos(Math.max(0, remainingMillis));
+    }
+
+    @Override
+    public long expireAfterUpdate(String token, Claims claims, long currentTime,
+        long currentDuration) {
+      return currentDuration;
+    }
+
+    @Override
+    public long expireAfterRead(String token, Claims claims, long currentTime,
+        long currentDuration) {
+      return currentDuration;
+    }
   }
-}
\ No newline at end of file
+}
@@ -0,0 +1,87 @@
+-- Range-partitions charging_sessions and bookings by month of start_time. Queries bounded by
+-- start time only read the partitions of the months they cover, and old months are moved to the
+-- *_archive tables below by dropping whole partitions (see PartitionArchiveService).
+--
+-- MySQL restrictions on partitioned tables shape the changes:
+--   * every unique key must contain the partitioning column, so the primary keys become
+--     (id, start_time); IDs stay unique since they come from the pooled-lo tables of V9,
+--   * foreign keys cannot point into a partitioned table, so the cascade from
+--     booking_recurring_days to bookings is dropped; Hibernate already deletes the recurring days
+--     of a deleted booking, and the archive job moves them together with their bookings.
+--
+-- Months before 2025 share one partition. PartitionArchiveService splits pmax into new monthly
+-- partitions ahead of time; rows beyond the last month still land in pmax.
+-- Columns added to the live tables later must be added to their archive tables as well.
+
+ALTER TABLE booking_recurring_days DROP FOREIGN KEY booking_recurring_days_ibfk_1;
+ALTER TABLE bookings DROP PRIMARY KEY, ADD PRIMARY KEY (id, start_time);
+
+-- Sessions are always created with a start time; older rows without one are dated by their end
+UPDATE charging_sessions
+SET start_time = COALESCE(end_time, '1970-01-01 00:00:00')
+WHERE start_time IS NULL;
+ALTER TABLE charging_sessions MODIFY start_time DATETIME NOT NULL;
+ALTER TABLE charging_sessions DROP PRIMARY KEY, ADD PRIMARY KEY (id, start_time);
+
+-- Archive tables: same columns and keys as the live tables, unpartitioned
+CREATE TABLE bookings_archive LIKE bookings;
+CREATE TABLE booking_recurring_days_archive LIKE booking_recurring_days;
+CREATE TABLE charging_sessions_archive LIKE charging_sessions;
+
+ALTER TABLE bookings PARTITION BY RANGE COLUMNS (start_time) (
+    PARTITION p_history VALUES LESS THAN ('2025-01-01'),
+    PARTITION p202501 VALUES LESS THAN ('2025-02-01'),
+    PARTITION p202502 VALUES LESS THAN ('2025-03-01'),
+    PARTITION p202503 VALUES LESS THAN ('2025-04-01'),
+    PARTITION p202504 VALUES LESS THAN ('2025-05-01'),
+    PARTITION p202505 VALUES LESS THAN ('2025-06-01'),
+    PARTITION p202506 VALUES LESS THAN ('2025-07-01'),
+    PARTITION p202507 VALUES LESS THAN ('2025-08-01'),
+    PARTITION p202508 VALUES LESS THAN ('2025-09-01'),
+    PARTITION p202509 VALUES LESS THAN ('2025-10-01'),
+    PARTITION p202510 VALUES LESS THAN ('2025-11-01'),
+    PARTITION p202511 VALUES LESS THAN ('2025-12-01'),
+    PARTITION p202512 VALUES LESS THAN ('2026-01-01'),
+    PARTITION p202601 VALUES LESS THAN ('2026-02-01'),
+    PARTITION p202602 VALUES LESS THAN ('2026-03-01'),
+    PARTITION p202603 VALUES LESS THAN ('2026-04-01'),
+    PARTITION p202604 VALUES LESS THAN ('2026-05-01'),
+    PARTITION p202605 VALUES LESS THAN ('2026-06-01'),
+    PARTITION p202606 VALUES LESS THAN ('2026-07-01'),
+    PARTITION p202607 VALUES LESS THAN ('2026-08-01'),
+    PARTITION p202608 VALUES LESS THAN ('2026-09-01'),
+    PARTITION p202609 VALUES LESS THAN ('2026-10-01'),
+    PARTITION p202610 VALUES LESS THAN ('2026-11-01'),
+    PARTITION p202611 VALUES LESS THAN ('2026-12-01'),
+    PARTITION p202612 VALUES LESS THAN ('2027-01-01'),
+    PARTITION pmax VALUES LESS THAN (MAXVALUE)
+);
+
+ALTER TABLE charging_sessions PARTITION BY RANGE COLUMNS (start_time) (
+    PARTITION p_history VALUES LESS THAN ('2025-01-01'),
+    PARTITION p202501 VALUES LESS THAN ('2025-02-01'),
+    PARTITION p202502 VALUES LESS THAN ('2025-03-01'),
+    PARTITION p202503 VALUES LESS THAN ('2025-04-01'),
+    PARTITION p202504 VALUES LESS THAN ('2025-05-01'),
+    PARTITION p202505 VALUES LESS THAN ('2025-06-01'),
+    PARTITION p202506 VALUES LESS THAN ('2025-07-01'),
+    PARTITION p202507 VALUES LESS THAN ('2025-08-01'),
+    PARTITION p202508 VALUES LESS THAN ('2025-09-01'),
+    PARTITION p202509 VALUES LESS THAN ('2025-10-01'),
+    PARTITION p202510 VALUES LESS THAN ('2025-11-01'),
+    PARTITION p202511 VALUES LESS THAN ('2025-12-01'),
+    PARTITION p202512 VALUES LESS THAN ('2026-01-01'),
+    PARTITION p202601 VALUES LESS THAN ('2026-02-01'),
+    PARTITION p202602 VALUES LESS THAN ('2026-03-01'),
+    PARTITION p202603 VALUES LESS THAN ('2026-04-01'),
+    PARTITION p202604 VALUES LESS THAN ('2026-05-01'),
+    PARTITION p202605 VALUES LESS THAN ('2026-06-01'),
+    PARTITION p202606 VALUES LESS THAN ('2026-07-01'),
+    PARTITION p202607 VALUES LESS THAN ('2026-08-01'),
+    PARTITION p202608 VALUES LESS THAN ('2026-09-01'),
+    PARTITION p202609 VALUES LESS THAN ('2026-10-01'),
+    PARTITION p202610 VALUES LESS THAN ('2026-11-01'),
+    PARTITION p202611 VALUES LESS THAN ('2026-12-01'),
+    PARTITION p202612 VALUES LESS THAN ('2027-01-01'),
+    PARTITION pmax VALUES LESS THAN (MAXVALUE)
+);
@@ -0,0 +1,33 @@
+-- Replaces the single-column indexes of bookings and charging_sessions with composite indexes
+-- matching the queries of BookingRepository and ChargingSessionRepository: equality columns
+-- first, then the range or sort column, then any further columns the count and aggregate
+-- queries read, so those are answered from the index alone. Each index starting with a column
+-- it replaces also serves the queries on that column. RepositoryQueryPlanIT checks the plans.
+--
+-- InnoDB appends the primary key (id, start_time) to every secondary index, so
+-- idx_bookings_user_start also covers the ORDER BY start_time, id of the paged history.
+
+ALTER TABLE bookings
+    DROP INDEX idx_bookings_station_id,
+    DROP INDEX idx_bookings_user_id,
+    DROP INDEX idx_bookings_start_time,
+    -- Overlap and occupancy checks; the grouped count reads only these columns
+    ADD INDEX idx_bookings_station_status_time (station_id, status, start_time, end_time),
+    -- Paged history and period queries of a user
+    ADD INDEX idx_bookings_user_start (user_id, start_time),
+    -- Monthly rollup of bookings per user
+    ADD INDEX idx_bookings_start_user (start_time, user_id);
+
+ALTER TABLE charging_sessions
+    DROP INDEX idx_charging_sessions_station_finished,
+    DROP INDEX idx_charging_sessions_user_ref,
+    -- Unfinished sessions of a station, optionally within a start time range
+    ADD INDEX idx_charging_sessions_station_finished_start (station_ref, finished, start_time),
+    -- Finished sessions of a user in a period; the daily aggregate reads only these columns
+    ADD INDEX idx_charging_sessions_user_finished_start
+        (user_ref, finished, start_time, end_time, station_ref),
+    -- Monthly rollup of finished sessions per user, answered from the index alone
+    ADD INDEX idx_charging_sessions_finished_start_user
+        (finished, start_time, user_ref, end_time, station_ref),
+    -- Paged history of a user
+    ADD INDEX idx_charging_sessions_user_start (user_ref, start_time);
@@ -0,0 +1,5 @@
+-- user_monthly_stats rows are written by INSERT ... ON DUPLICATE KEY UPDATE without an ID, so
+-- they take their IDs from AUTO_INCREMENT again (the column kept it). The pooled-lo generator
+-- table added in V9 is no longer read. AUTO_INCREMENT continues above the IDs it handed out.
+
+DROP TABLE user_monthly_stats_ids;
@@ -0,0 +1,17 @@
+-- Per-user monthly statistics rollup read by the statistics endpoints.
+-- Rows are incremented when sessions finish and bookings are created and are rebuilt
+-- from charging_sessions and bookings by the nightly backfill job.
+
+CREATE TABLE user_monthly_stats (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    month_key INTEGER NOT NULL,
+    sessions INTEGER NOT NULL DEFAULT 0,
+    duration_minutes BIGINT NOT NULL DEFAULT 0,
+    kwh INTEGER NOT NULL DEFAULT 0,
+    cost DOUBLE NOT NULL DEFAULT 0,
+    bookings INTEGER NOT NULL DEFAULT 0,
+    CONSTRAINT uk_user_monthly_stats_user_month UNIQUE (user_id, month_key)
+);
+
+CREATE INDEX idx_user_monthly_stats_month ON user_monthly_stats(month_key);
@@ -0,0 +1,31 @@
+-- Give charging_sessions BIGINT station and user references, so they join stations.id and
+-- bookings.user_id on matching types and index compactly.
+--
+-- Expand step of an expand/contract migration. Every statement here is online on a large table:
+--   1. the VARCHAR station_id / user_id columns stay as they are, so instances still running the
+--      previous release keep reading and writing them,
+--   2. BIGINT station_ref / user_ref are added as nullable columns (an instant ADD COLUMN),
+--   3. a trigger fills them on insert from the VARCHAR values, whichever release wrote the row,
+--   4. the application writes both column pairs (dual write) and reads only the BIGINT ones.
+-- Existing rows are not updated here: ChargingSessionRefBackfillService fills their references in
+-- small ID ranges in the background. A later migration drops the trigger and the VARCHAR columns
+-- once the backfill has finished and no reader depends on them.
+
+ALTER TABLE charging_sessions
+    ADD COLUMN station_ref BIGINT NULL,
+    ADD COLUMN user_ref BIGINT NULL,
+    ALGORITHM = INSTANT;
+
+-- Non-numeric VARCHAR values cannot reference a station or user and leave the reference NULL
+CREATE TRIGGER charging_sessions_fill_refs BEFORE INSERT ON charging_sessions
+FOR EACH ROW SET
+    NEW.station_ref = COALESCE(NEW.station_ref,
+        IF(NEW.station_id REGEXP '^[0-9]+$', CAST(NEW.station_id AS UNSIGNED), NULL)),
+    NEW.user_ref = COALESCE(NEW.user_ref,
+        IF(NEW.user_id REGEXP '^[0-9]+$', CAST(NEW.user_id AS UNSIGNED), NULL));
+
+-- Occupancy checks filter on station and finished flag together
+ALTER TABLE charging_sessions
+    ADD INDEX idx_charging_sessions_station_finished (station_ref, finished),
+    ADD INDEX idx_charging_sessions_user_ref (user_ref),
+    ALGORITHM = INPLACE, LOCK = NONE;
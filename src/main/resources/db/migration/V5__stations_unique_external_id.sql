@@ -0,0 +1,64 @@
+-- Make OpenChargeMap imports idempotent: one row per external_id.
+-- Overlapping populate sweeps inserted the same OCM station many times, so duplicates are
+-- collapsed onto the lowest id (re-pointing bookings and sessions) before the unique key is added.
+--
+-- Stations imported before external IDs were stored have none: the old importer only set the OCM
+-- ID as the row ID, which IDENTITY generation replaced, so it cannot be read back. A legacy row
+-- with the same name and coordinates as a row that has an external ID takes that external ID and
+-- is collapsed below like any duplicate; legacy copies of each other are collapsed onto the
+-- lowest id. StationUpsertRepository adopts the remaining legacy rows on the next re-import.
+
+UPDATE stations legacy
+JOIN (
+    SELECT name, latitude, longitude, MIN(external_id) AS external_id
+    FROM stations
+    WHERE external_id IS NOT NULL
+    GROUP BY name, latitude, longitude
+) known ON known.name = legacy.name
+    AND known.latitude = legacy.latitude
+    AND known.longitude = legacy.longitude
+SET legacy.external_id = known.external_id
+WHERE legacy.external_id IS NULL;
+
+CREATE TEMPORARY TABLE station_duplicates AS
+SELECT s.id AS duplicate_id, k.keep_id
+FROM stations s
+JOIN (
+    SELECT external_id, MIN(id) AS keep_id
+    FROM stations
+    WHERE external_id IS NOT NULL
+    GROUP BY external_id
+    HAVING COUNT(*) > 1
+) k ON k.external_id = s.external_id AND s.id <> k.keep_id;
+
+INSERT INTO station_duplicates (duplicate_id, keep_id)
+SELECT s.id, k.keep_id
+FROM stations s
+JOIN (
+    SELECT name, latitude, longitude, MIN(id) AS keep_id
+    FROM stations
+    WHERE external_id IS NULL
+    GROUP BY name, latitude, longitude
+    HAVING COUNT(*) > 1
+) k ON k.name = s.name AND k.latitude = s.latitude AND k.longitude = s.longitude
+    AND s.id <> k.keep_id
+WHERE s.external_id IS NULL;
+
+UPDATE bookings b
+JOIN station_duplicates d ON d.duplicate_id = b.station_id
+SET b.station_id = d.keep_id;
+
+-- Sessions whose references are not backfilled yet still match on the VARCHAR station_id
+UPDATE charging_sessions cs
+JOIN station_duplicates d ON cs.station_id = CAST(d.duplicate_id AS CHAR)
+SET cs.station_ref = d.keep_id,
+    cs.station_id = CAST(d.keep_id AS CHAR);
+
+DELETE s FROM stations s
+JOIN station_duplicates d ON d.duplicate_id = s.id;
+
+DROP TEMPORARY TABLE station_duplicates;
+
+ALTER TABLE stations ADD COLUMN content_hash VARCHAR(64);
+
+CREATE UNIQUE INDEX uk_stations_external_id ON stations(external_id);
@@ -0,0 +1,23 @@
+-- Server-side OpenChargeMap region imports.
+-- completed_tiles is the resume checkpoint: every tile below it has been imported.
+
+CREATE TABLE import_jobs (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    min_latitude DOUBLE NOT NULL,
+    min_longitude DOUBLE NOT NULL,
+    max_latitude DOUBLE NOT NULL,
+    max_longitude DOUBLE NOT NULL,
+    tile_size_degrees DOUBLE NOT NULL,
+    tile_columns INT NOT NULL,
+    total_tiles INT NOT NULL,
+    completed_tiles INT NOT NULL DEFAULT 0,
+    inserted INT NOT NULL DEFAULT 0,
+    updated INT NOT NULL DEFAULT 0,
+    unchanged INT NOT NULL DEFAULT 0,
+    status VARCHAR(20) NOT NULL,
+    error VARCHAR(1000),
+    created_at DATETIME NOT NULL,
+    updated_at DATETIME NOT NULL
+);
+
+CREATE INDEX idx_import_jobs_status ON import_jobs(status);
@@ -0,0 +1,9 @@
+-- Watermarks for incremental syncs with external sources (e.g. the OpenChargeMap delta sync).
+
+CREATE TABLE sync_state (
+    name VARCHAR(64) PRIMARY KEY,
+    last_synced_at DATETIME,
+    last_run_at DATETIME,
+    last_duration_millis BIGINT NOT NULL DEFAULT 0,
+    last_rows_touched INT NOT NULL DEFAULT 0
+);
@@ -0,0 +1,4 @@
+-- Optimistic-locking version for stations, also used to build station ETags.
+-- Imports bump it in their upsert, so every change to a row yields a new version.
+
+ALTER TABLE stations ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,19 @@
+-- Bookings, charging sessions and monthly stats rows take their IDs from pooled-lo generators
+-- instead of AUTO_INCREMENT, so Hibernate can batch their INSERTs. MySQL has no sequences:
+-- Hibernate emulates each one with a single-row table holding the next unallocated value, and
+-- reserves 50 IDs per read. Each table starts above the current maximum ID.
+--
+-- stations keeps AUTO_INCREMENT: its bulk writes are the JDBC upsert, which is already batched
+-- and lets MySQL assign the IDs of new rows.
+
+CREATE TABLE booking_ids (next_val BIGINT NOT NULL);
+INSERT INTO booking_ids (next_val)
+SELECT COALESCE(MAX(id), 0) + 1 FROM bookings;
+
+CREATE TABLE charging_session_ids (next_val BIGINT NOT NULL);
+INSERT INTO charging_session_ids (next_val)
+SELECT COALESCE(MAX(id), 0) + 1 FROM charging_sessions;
+
+CREATE TABLE user_monthly_stats_ids (next_val BIGINT NOT NULL);
+INSERT INTO user_monthly_stats_ids (next_val)
+SELECT COALESCE(MAX(id), 0) + 1 FROM user_monthly_stats;
@@ -0,0 +1,94 @@
+package tqs.sparkflow.stationservice.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import tqs.sparkflow.stationservice.model.Station;
+
+/**
+ * Compares JSON with the CBOR and Smile encodings enabled by {@link BinaryFormatConfig} on a full
+ * station list of 500 stations: the benchmarks measure serialisation time, and {@link #main}
+ * first prints the payload size of each encoding. Not part of the test suite; run it with
+ * {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=tqs.sparkflow.stationservice.config.BinaryFormatBenchmark}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BinaryFormatBenchmark {
+
+    private static final int STATIONS = 500;
+
+    private final ObjectMapper json = new ObjectMapper();
+    private final ObjectMapper cbor = new ObjectMapper(new CBORFactory());
+    private final ObjectMapper smile = new ObjectMapper(new SmileFactory());
+    private List<Station> stations;
+
+    @Setup
+    public void setUp() {
+        stations = stations();
+    }
+
+    @Benchmark
+    public byte[] json() throws Exception {
+        return json.writeValueAsBytes(stations);
+    }
+
+    @Benchmark
+    public byte[] cbor() throws Exception {
+        return cbor.writeValueAsBytes(stations);
+    }
+
+    @Benchmark
+    public byte[] smile() throws Exception {
+        return smile.writeValueAsBytes(stations);
+    }
+
+    private static List<Station> stations() {
+        List<Station> stations = new ArrayList<>(STATIONS);
+        for (int i = 0; i < STATIONS; i++) {
+            Station station = new Station.Builder().externalId("OCM-" + (100000 + i))
+                    .name("Charging Station " + i).address(i + " Avenida da Liberdade")
+                    .city(i % 2 == 0 ? "Lisboa" : "Porto").country("Portugal")
+                    .latitude(38.7 + i * 0.001).longitude(-9.1 - i * 0.001)
+                    .quantityOfChargers(1 + i % 8).power(22 + i % 4 * 50).price(0.30)
+                    .status("Available").isOperational(true).build();
+            station.setId((long) i + 1);
+            stations.add(station);
+        }
+        return stations;
+    }
+
+    public static void main(String[] args) throws Exception {
+        BinaryFormatBenchmark sizes = new BinaryFormatBenchmark();
+        sizes.setUp();
+        System.out.printf("Payload bytes for %d stations: json=%d cbor=%d smile=%d%n", STATIONS,
+                sizes.json().length, sizes.cbor().length, sizes.smile().length);
+        runBenchmarks();
+    }
+
+    private static void runBenchmarks() throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(BinaryFormatBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
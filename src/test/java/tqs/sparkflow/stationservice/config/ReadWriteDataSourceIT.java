@@ -0,0 +1,117 @@
+package tqs.sparkflow.stationservice.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.zaxxer.hikari.HikariDataSource;
+import java.util.List;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/**
+ * Runs {@link ReadWriteDataSource} against two independent MySQL containers, each holding a
+ * station the other does not have, so every query shows which pool answered it. Skipped when
+ * Docker is not available.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class ReadWriteDataSourceIT {
+
+    private static final String STATION_NAMES = "SELECT name FROM stations ORDER BY id";
+
+    @Container
+    private static final MySQLContainer<?> PRIMARY = new MySQLContainer<>("mysql:8.0");
+
+    @Container
+    private static final MySQLContainer<?> REPLICA = new MySQLContainer<>("mysql:8.0");
+
+    private ReadWriteDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readWrite;
+    private TransactionTemplate readOnly;
+
+    @BeforeEach
+    void setUp() {
+        HikariDataSource primary = pool(PRIMARY, ReadReplicaDataSourceConfig.PRIMARY_POOL);
+        HikariDataSource replica = pool(REPLICA, ReadReplicaDataSourceConfig.REPLICA_POOL);
+        seed(primary, "Primary Station");
+        seed(replica, "Replica Station");
+
+        dataSource = new ReadWriteDataSource(primary, replica);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager transactionManager =
+                new DataSourceTransactionManager(dataSource);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        dataSource.close();
+    }
+
+    @Test
+    void whenTransactionIsReadOnly_thenReplicaAnswers() {
+        // When
+        List<String> names = readOnly.execute(
+                status -> jdbcTemplate.queryForList(STATION_NAMES, String.class));
+
+        // Then
+        assertThat(names).containsExactly("Replica Station");
+    }
+
+    @Test
+    void whenTransactionIsReadWrite_thenPrimaryAnswersAndReceivesTheWrites() {
+        // When
+        List<String> names = readWrite.execute(status -> {
+            insertStation(jdbcTemplate, "Written Station");
+            return jdbcTemplate.queryForList(STATION_NAMES, String.class);
+        });
+
+        // Then
+        assertThat(names).containsExactly("Primary Station", "Written Station");
+        assertThat(readOnly.execute(
+                status -> jdbcTemplate.queryForList(STATION_NAMES, String.class)))
+                .containsExactly("Replica Station");
+    }
+
+    @Test
+    void whenNoTransactionIsActive_thenPrimaryAnswers() {
+        // When
+        List<String> names = jdbcTemplate.queryForList(STATION_NAMES, String.class);
+
+        // Then
+        assertThat(names).containsExactly("Primary Station");
+    }
+
+    private static HikariDataSource pool(MySQLContainer<?> mysql, String poolName) {
+        HikariDataSource pool = new HikariDataSource();
+        pool.setJdbcUrl(mysql.getJdbcUrl());
+        pool.setUsername(mysql.getUsername());
+        pool.setPassword(mysql.getPassword());
+        pool.setPoolName(poolName);
+        pool.setMaximumPoolSize(2);
+        return pool;
+    }
+
+    private static void seed(HikariDataSource pool, String stationName) {
+        Flyway.configure().dataSource(pool).load().migrate();
+        JdbcTemplate template = new JdbcTemplate(pool);
+        template.execute("DELETE FROM stations");
+        insertStation(template, stationName);
+    }
+
+    private static void insertStation(JdbcTemplate template, String name) {
+        template.update("INSERT INTO stations (name, address, city, country, latitude, longitude,"
+                + " status, quantity_of_chargers, is_operational)"
+                + " VALUES (?, 'Address', 'Aveiro', 'Portugal', 40.62, -8.65, 'Available', 2,"
+                + " true)", name);
+    }
+}
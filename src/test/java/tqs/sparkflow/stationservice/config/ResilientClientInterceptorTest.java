@@ -0,0 +1,205 @@
+package tqs.sparkflow.stationservice.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.RestTemplate;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class ResilientClientInterceptorTest {
+
+    private static final String CLIENT = "user-service";
+
+    private FaultInjectingServer server;
+    private SimpleMeterRegistry meterRegistry;
+    private CircuitBreakerRegistry circuitBreakers;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = new FaultInjectingServer();
+        meterRegistry = new SimpleMeterRegistry();
+        circuitBreakers = CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+                .slidingWindowSize(4)
+                .minimumNumberOfCalls(4)
+                .failureRateThreshold(50)
+                .waitDurationInOpenState(Duration.ofMillis(200))
+                .permittedNumberOfCallsInHalfOpenState(1)
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.close();
+    }
+
+    @Test
+    void whenDownstreamKeepsFailing_thenBreakerOpensAndCallsFailFast() {
+        // Given
+        RestTemplate restTemplate = restTemplate(10);
+        server.respondWith(503);
+        for (int i = 0; i < 4; i++) {
+            assertThatThrownBy(() -> restTemplate.getForObject(server.url("/users/1"),
+                    String.class)).isInstanceOf(HttpServerErrorException.class);
+        }
+
+        // When/Then
+        assertThatThrownBy(() -> restTemplate.getForObject(server.url("/users/1"), String.class))
+                .isInstanceOf(CallNotPermittedException.class);
+        assertThat(server.requestCount()).isEqualTo(4);
+        assertThat(circuitBreakers.circuitBreaker(CLIENT).getState())
+                .isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(meterRegistry.get(ResilientClientInterceptor.REJECTED_METRIC)
+                .tag("client", CLIENT).tag("reason", "circuit_open").counter().count())
+                        .isEqualTo(1.0);
+    }
+
+    @Test
+    void whenDownstreamRecovers_thenHalfOpenProbeClosesBreaker() throws Exception {
+        // Given
+        RestTemplate restTemplate = restTemplate(10);
+        circuitBreakers.circuitBreaker(CLIENT).transitionToOpenState();
+        server.respondWith(200);
+
+        // When
+        Thread.sleep(300);
+        String body = restTemplate.getForObject(server.url("/users/1"), String.class);
+
+        // Then
+        assertThat(body).isEqualTo("{}");
+        assertThat(server.requestCount()).isEqualTo(1);
+        assertThat(circuitBreakers.circuitBreaker(CLIENT).getState())
+                .isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void whenDownstreamAnswersClientErrors_thenBreakerStaysClosed() {
+        // Given
+        RestTemplate restTemplate = restTemplate(10);
+        server.respondWith(404);
+
+        // When
+        for (int i = 0; i < 6; i++) {
+            assertThatThrownBy(() -> restTemplate.getForObject(server.url("/users/1"),
+                    String.class)).isInstanceOf(HttpClientErrorException.class);
+        }
+
+        // Then
+        assertThat(server.requestCount()).isEqualTo(6);
+        assertThat(circuitBreakers.circuitBreaker(CLIENT).getState())
+                .isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void whenBulkheadIsFull_thenExtraCallsAreRejected() throws Exception {
+        // Given
+        RestTemplate restTemplate = restTemplate(1);
+        server.delayBy(500);
+        CompletableFuture<String> inFlight = CompletableFuture.supplyAsync(
+                () -> restTemplate.getForObject(server.url("/users/1"), String.class));
+        assertThat(server.awaitRequest(2000)).isTrue();
+
+        // When/Then
+        assertThatThrownBy(() -> restTemplate.getForObject(server.url("/users/2"), String.class))
+                .isInstanceOf(BulkheadFullException.class);
+        assertThat(inFlight.get(5, TimeUnit.SECONDS)).isEqualTo("{}");
+        assertThat(server.requestCount()).isEqualTo(1);
+        assertThat(meterRegistry.get(ResilientClientInterceptor.REJECTED_METRIC)
+                .tag("client", CLIENT).tag("reason", "bulkhead").counter().count())
+                        .isEqualTo(1.0);
+    }
+
+    @Test
+    void whenBodyIsBeingRead_thenPermitIsStillHeld() {
+        // Given
+        RestTemplate restTemplate = restTemplate(1);
+        server.respondWith(200);
+
+        // When
+        String body = restTemplate.execute(server.url("/users/1"), HttpMethod.GET, null,
+                response -> {
+                    assertThatThrownBy(() -> restTemplate.getForObject(server.url("/users/2"),
+                            String.class)).isInstanceOf(BulkheadFullException.class);
+                    return StreamUtils.copyToString(response.getBody(), StandardCharsets.UTF_8);
+                });
+
+        // Then
+        assertThat(body).isEqualTo("{}");
+        assertThat(restTemplate.getForObject(server.url("/users/3"), String.class))
+                .isEqualTo("{}");
+        assertThat(server.requestCount()).isEqualTo(2);
+    }
+
+    @Test
+    void whenBodyReadFails_thenFailureIsRecordedAndPermitReleased() throws Exception {
+        // Given
+        CircuitBreaker circuitBreaker = circuitBreakers.circuitBreaker(CLIENT);
+        Bulkhead bulkhead = Bulkhead.of(CLIENT, BulkheadConfig.custom()
+                .maxConcurrentCalls(1)
+                .maxWaitDuration(Duration.ZERO)
+                .build());
+        ResilientClientInterceptor interceptor = new ResilientClientInterceptor(CLIENT,
+                circuitBreaker, bulkhead, meterRegistry);
+        InputStream broken = new InputStream() {
+            @Override
+            public int read() throws IOException {
+                throw new IOException("Connection reset");
+            }
+        };
+        ClientHttpRequestExecution execution =
+                (request, requestBody) -> new MockClientHttpResponse(broken, HttpStatus.OK);
+
+        // When
+        ClientHttpResponse response = interceptor.intercept(
+                new MockClientHttpRequest(HttpMethod.GET, URI.create(server.url("/users/1"))),
+                new byte[0], execution);
+        assertThat(bulkhead.getMetrics().getAvailableConcurrentCalls()).isZero();
+        assertThatThrownBy(() -> response.getBody().read()).isInstanceOf(IOException.class);
+        response.close();
+
+        // Then
+        assertThat(bulkhead.getMetrics().getAvailableConcurrentCalls()).isEqualTo(1);
+        assertThat(circuitBreaker.getMetrics().getNumberOfFailedCalls()).isEqualTo(1);
+        assertThat(circuitBreaker.getMetrics().getNumberOfSuccessfulCalls()).isZero();
+    }
+
+    private RestTemplate restTemplate(int maxConcurrentCalls) {
+        BulkheadRegistry bulkheads = BulkheadRegistry.of(BulkheadConfig.custom()
+                .maxConcurrentCalls(maxConcurrentCalls)
+                .maxWaitDuration(Duration.ZERO)
+                .build());
+        RestTemplate restTemplate = RestTemplateConfig.pooledRestTemplate(CLIENT,
+                new HttpClientPoolConfig.Pool(4, Duration.ofSeconds(1), Duration.ofSeconds(2)),
+                null);
+        return RestTemplateConfig.guarded(restTemplate, CLIENT, circuitBreakers, bulkheads,
+                meterRegistry);
+    }
+}
@@ -1,21 +1,82 @@
 package tqs.sparkflow.stationservice.config;
 
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+
 import org.junit.jupiter.api.Test;
-import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestTemplate;
 
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
-@SpringBootTest(classes = RestTemplateConfig.class)
+@SpringBootTest(classes = {RestTemplateConfig.class, HttpClientPoolConfig.class})
 class RestTemplateConfigTest {
     @Autowired
-    private RestTemplateConfig restTemplateConfig;
+    @Qualifier(RestTemplateConfig.OPEN_CHARGE_MAP)
+    private RestTemplate openChargeMapRestTemplate;
+
+    @Autowired
+    @Qualifier(RestTemplateConfig.USER_SERVICE)
+    private RestTemplate userServiceRestTemplate;
 
     @Test
     void contextLoads() {
-        assertThat(restTemplateConfig).isNotNull();
-        RestTemplate restTemplate = restTemplateConfig.restTemplate();
-        assertThat(restTemplate).isNotNull();
+        assertThat(openChargeMapRestTemplate.getRequestFactory())
+                .isInstanceOf(HttpComponentsClientHttpRequestFactory.class);
+        assertThat(userServiceRestTemplate.getRequestFactory())
+                .isInstanceOf(HttpComponentsClientHttpRequestFactory.class);
+        assertThat(userServiceRestTemplate).isNotSameAs(openChargeMapRestTemplate);
+    }
+
+    @Test
+    void whenMeterRegistryPresent_thenPoolMetricsAreTaggedWithClientName() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        HttpClientPoolConfig.Pool pool =
+                new HttpClientPoolConfig.Pool(7, Duration.ofSeconds(1), Duration.ofSeconds(1));
+
+        RestTemplateConfig.pooledRestTemplate("openchargemap", pool, registry);
+
+        assertThat(registry.get("httpcomponents.httpclient.pool.total.max")
+                .tag("httpclient", "openchargemap").gauge().value()).isEqualTo(7.0);
+    }
+
+    @Test
+    void whenServerIsSlowerThanReadTimeout_thenRequestFails() throws Exception {
+        HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/slow", exchange -> {
+            try {
+                Thread.sleep(2000);
+                exchange.sendResponseHeaders(200, 2);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write("ok".getBytes());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                exchange.close();
+            }
+        });
+        server.start();
+        try {
+            RestTemplate restTemplate = RestTemplateConfig.pooledRestTemplate("slow",
+                    new HttpClientPoolConfig.Pool(1, Duration.ofSeconds(1),
+                            Duration.ofMillis(200)),
+                    null);
+            String url = "http://localhost:" + server.getAddress().getPort() + "/slow";
+
+            assertThatThrownBy(() -> restTemplate.getForObject(url, String.class))
+                    .isInstanceOf(ResourceAccessException.class);
+        } finally {
+            server.stop(0);
+        }
     }
 }
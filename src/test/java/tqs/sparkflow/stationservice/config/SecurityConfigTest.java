@@ -56,7 +56,7 @@ class SecurityConfigTest {
     @WithMockUser(roles = "USER")
     void whenAccessingUserEndpoint_thenSuccess() throws Exception {
         // Mock the service behavior
-        ChargingSession session = new ChargingSession("1", "1");
+        ChargingSession session = new ChargingSession(1L, 1L);
         when(chargingSessionService.getSession("1")).thenReturn(session);
 
         mockMvc.perform(get("/api/v1/charging-sessions/1")).andExpect(status().isOk());
@@ -0,0 +1,109 @@
+package tqs.sparkflow.stationservice.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.CountAtBucket;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class SlowQueryListenerTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private SqlMonitoringConfig config;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        config = new SqlMonitoringConfig();
+        config.setSlowThreshold(Duration.ofMillis(100));
+    }
+
+    @Test
+    void whenStatementsDifferOnlyInValues_thenTheyShareOneTimer() {
+        // Given
+        SlowQueryListener listener = new SlowQueryListener(config, meterRegistry);
+
+        // When
+        listener.afterQuery(execution(12, true),
+                List.of(new QueryInfo("select * from stations where id = 1")));
+        listener.afterQuery(execution(250, true),
+                List.of(new QueryInfo("select *  from stations\nwhere id = 42")));
+
+        // Then
+        Timer timer = meterRegistry.get(SlowQueryListener.METRIC)
+                .tag("signature", "select * from stations where id = ?")
+                .tag("outcome", "success").timer();
+        assertThat(timer.count()).isEqualTo(2);
+        assertThat(timer.max(TimeUnit.MILLISECONDS)).isEqualTo(250);
+    }
+
+    @Test
+    void whenStatementIsTimed_thenOnlyTheFixedBucketsArePublished() {
+        // Given
+        SlowQueryListener listener = new SlowQueryListener(config, meterRegistry);
+
+        // When
+        listener.afterQuery(execution(30, true), List.of(new QueryInfo("select 1 from stations")));
+
+        // Then
+        CountAtBucket[] buckets = meterRegistry.get(SlowQueryListener.METRIC).timer()
+                .takeSnapshot().histogramCounts();
+        assertThat(buckets).extracting(bucket -> bucket.bucket(TimeUnit.MILLISECONDS))
+                .containsExactly(10.0, 50.0, 100.0, 1000.0);
+        assertThat(buckets).extracting(CountAtBucket::count)
+                .containsExactly(0.0, 1.0, 1.0, 1.0);
+    }
+
+    @Test
+    void whenFailedStatementIsRecorded_thenItIsTaggedAsError() {
+        // Given
+        SlowQueryListener listener = new SlowQueryListener(config, meterRegistry);
+
+        // When
+        listener.afterQuery(execution(5, false),
+                List.of(new QueryInfo("delete from bookings where id = 3")));
+
+        // Then
+        assertThat(meterRegistry.get(SlowQueryListener.METRIC).tag("outcome", "error").timer()
+                .count()).isEqualTo(1);
+    }
+
+    @Test
+    void whenSignatureLimitIsReached_thenNewSignaturesShareTheOtherTag() {
+        // Given
+        config.setMaxSignatures(1);
+        SlowQueryListener listener = new SlowQueryListener(config, meterRegistry);
+
+        // When
+        listener.afterQuery(execution(1, true), List.of(new QueryInfo("select 1 from stations")));
+        listener.afterQuery(execution(1, true), List.of(new QueryInfo("select 1 from bookings")));
+
+        // Then
+        assertThat(meterRegistry.get(SlowQueryListener.METRIC)
+                .tag("signature", SlowQueryListener.OTHER_SIGNATURE).timer().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void signature_collapsesLiteralsInListsAndWhitespace() {
+        assertThat(SlowQueryListener.signature(
+                "SELECT s.id FROM stations s\n  WHERE s.city = 'O''Porto' AND s.id IN (?, ?, ?)"
+                        + " AND s.power >= 22.5"))
+                .isEqualTo("SELECT s.id FROM stations s WHERE s.city = ? AND s.id IN (?)"
+                        + " AND s.power >= ?");
+    }
+
+    private ExecutionInfo execution(long elapsedMillis, boolean success) {
+        ExecutionInfo execution = new ExecutionInfo();
+        execution.setElapsedTime(elapsedMillis);
+        execution.setSuccess(success);
+        return execution;
+    }
+}
@@ -0,0 +1,177 @@
+package tqs.sparkflow.stationservice.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import tqs.sparkflow.stationservice.controller.StationController;
+import tqs.sparkflow.stationservice.controller.StationETags;
+import tqs.sparkflow.stationservice.model.Station;
+import tqs.sparkflow.stationservice.repository.StationRepository;
+import tqs.sparkflow.stationservice.service.StationService;
+import tqs.sparkflow.stationservice.service.StationSnapshotService;
+
+@ExtendWith(MockitoExtension.class)
+class StationConditionalGetInterceptorTest {
+
+    @Mock
+    private StationRepository stationRepository;
+
+    @Mock
+    private StationService stationService;
+
+    private StationSnapshotService stationSnapshots;
+    private StationHttpCacheConfig config;
+    private StationConditionalGetInterceptor interceptor;
+    private StationController controller;
+    private MockHttpServletResponse response;
+
+    @BeforeEach
+    void setUp() {
+        stationSnapshots = new StationSnapshotService(stationRepository, Duration.ofMinutes(5));
+        config = new StationHttpCacheConfig();
+        config.setListCacheControl("max-age=30");
+        interceptor = new StationConditionalGetInterceptor(stationSnapshots, config);
+        controller = new StationController(stationService);
+        response = new MockHttpServletResponse();
+    }
+
+    @Test
+    void whenListTagMatches_thenNotModifiedIsReturnedWithoutCallingTheHandler() throws Exception {
+        // Given
+        givenStationAtVersion(2L);
+        String etag = StationETags.stations(stationSnapshots.current());
+        MockHttpServletRequest request = get("/api/v1/stations");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "\"other\", W/" + etag);
+
+        // When
+        boolean proceed = interceptor.preHandle(request, response, handler("getAllStations"));
+
+        // Then
+        assertThat(proceed).isFalse();
+        assertThat(response.getStatus()).isEqualTo(304);
+        assertThat(response.getHeader(HttpHeaders.ETAG)).isEqualTo(etag);
+        assertThat(response.getHeader(HttpHeaders.CACHE_CONTROL)).isEqualTo("max-age=30");
+        assertThat(response.getHeader(HttpHeaders.VARY)).isEqualTo(HttpHeaders.ACCEPT);
+        verifyNoInteractions(stationService);
+    }
+
+    @Test
+    void whenCborIsAccepted_thenJsonTagDoesNotMatch() throws Exception {
+        // Given
+        givenStationAtVersion(2L);
+        String jsonTag = StationETags.stations(stationSnapshots.current());
+        MockHttpServletRequest request = get("/api/v1/stations");
+        request.addHeader(HttpHeaders.ACCEPT, "application/cbor");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, jsonTag);
+
+        // When
+        boolean proceed = interceptor.preHandle(request, response, handler("getAllStations"));
+
+        // Then
+        assertThat(proceed).isTrue();
+        assertThat(response.getHeader(HttpHeaders.ETAG))
+                .isEqualTo(jsonTag.replaceFirst("\"$", "-cbor\""));
+        assertThat(response.getHeader(HttpHeaders.VARY)).isEqualTo(HttpHeaders.ACCEPT);
+    }
+
+    @Test
+    void whenListTagIsStale_thenRequestProceedsWithCurrentTag() throws Exception {
+        // Given
+        givenStationAtVersion(2L);
+        MockHttpServletRequest request = get("/api/v1/stations");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "\"stations-0-0\"");
+
+        // When
+        boolean proceed = interceptor.preHandle(request, response, handler("getAllStations"));
+
+        // Then
+        assertThat(proceed).isTrue();
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getHeader(HttpHeaders.ETAG))
+                .isEqualTo(StationETags.stations(stationSnapshots.current()));
+    }
+
+    @Test
+    void whenStationTagMatches_thenNotModifiedIsReturned() throws Exception {
+        // Given
+        givenStationAtVersion(2L);
+        MockHttpServletRequest request = get("/api/v1/stations/1");
+        request.setAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE, Map.of("id", "1"));
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "\"1.2\"");
+
+        // When
+        boolean proceed = interceptor.preHandle(request, response,
+                handler("getStationById", Long.class, String.class));
+
+        // Then
+        assertThat(proceed).isFalse();
+        assertThat(response.getStatus()).isEqualTo(304);
+        assertThat(response.getHeader(HttpHeaders.CACHE_CONTROL)).isEqualTo("no-cache");
+    }
+
+    @Test
+    void whenStationWasUpdated_thenRequestProceedsAndTagIsLeftToTheController()
+            throws Exception {
+        // Given
+        givenStationAtVersion(2L);
+        MockHttpServletRequest request = get("/api/v1/stations/1");
+        request.setAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE, Map.of("id", "1"));
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "\"1.1\"");
+
+        // When
+        boolean proceed = interceptor.preHandle(request, response,
+                handler("getStationById", Long.class, String.class));
+
+        // Then
+        assertThat(proceed).isTrue();
+        assertThat(response.getHeader(HttpHeaders.ETAG)).isNull();
+    }
+
+    @Test
+    void whenEndpointHasNoStationTag_thenSnapshotIsNotRead() throws Exception {
+        // Given
+        MockHttpServletRequest request = get("/api/v1/stations/search");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "*");
+
+        // When
+        boolean proceed = interceptor.preHandle(request, response, handler("searchStations",
+                String.class, String.class, String.class, Integer.class));
+
+        // Then
+        assertThat(proceed).isTrue();
+        assertThat(response.getHeader(HttpHeaders.CACHE_CONTROL)).isNull();
+        verifyNoInteractions(stationRepository);
+    }
+
+    private void givenStationAtVersion(long version) {
+        Station station = new Station();
+        station.setId(1L);
+        station.setVersion(version);
+        when(stationRepository.findAllOnPrimary()).thenReturn(List.of(station));
+    }
+
+    private MockHttpServletRequest get(String uri) {
+        return new MockHttpServletRequest("GET", uri);
+    }
+
+    private HandlerMethod handler(String name, Class<?>... parameterTypes) throws Exception {
+        return new HandlerMethod(controller, StationController.class.getMethod(name,
+                parameterTypes));
+    }
+}
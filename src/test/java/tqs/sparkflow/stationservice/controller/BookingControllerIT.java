@@ -7,6 +7,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Pageable;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
@@ -34,6 +35,7 @@ import java.util.HashSet;
 import java.util.Set;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -109,7 +111,7 @@ class BookingControllerIT {
                                 .thenReturn(Optional.of(testBooking));
                 when(bookingService.getBookingsByStationId(anyLong(), anyLong()))
                                 .thenReturn(Collections.singletonList(testBooking));
-                when(bookingService.getBookingsByUserId(anyLong()))
+                when(bookingService.getBookingsByUserId(anyLong(), anyInt(), anyInt()))
                                 .thenReturn(Collections.singletonList(testBooking));
                 when(bookingService.getAllBookings(anyLong()))
                                 .thenReturn(Collections.singletonList(testBooking));
@@ -125,7 +127,8 @@ class BookingControllerIT {
                         booking.setId(1L);
                         return booking;
                 });
-                when(bookingRepository.findByUserId(anyLong()))
+                when(bookingRepository.findRecentBookingsByUser(anyLong(),
+                                any(Pageable.class)))
                                 .thenReturn(Collections.singletonList(testBooking));
                 when(bookingRepository.findByStationId(anyLong()))
                                 .thenReturn(Collections.singletonList(testBooking));
@@ -243,7 +246,7 @@ class BookingControllerIT {
         @Requirement("BOOKING-9")
         @WithMockUser(username = "1")
         void whenGetBookingsByUserId_withNoBookings_thenReturnNoContent() throws Exception {
-                when(bookingService.getBookingsByUserId(anyLong()))
+                when(bookingService.getBookingsByUserId(anyLong(), anyInt(), anyInt()))
                                 .thenReturn(Collections.emptyList());
                 mockMvc.perform(get("/api/v1/bookings/user/1")).andExpect(status().isNoContent());
         }
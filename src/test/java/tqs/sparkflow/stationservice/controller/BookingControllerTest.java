@@ -1,6 +1,7 @@
 package tqs.sparkflow.stationservice.controller;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.when;
 import static org.assertj.core.api.Assertions.assertThat;
@@ -199,9 +200,10 @@ class BookingControllerTest {
     @Requirement("BOOKING-10")
     void whenGetBookingsByUserId_thenReturnList() {
         List<Booking> bookings = Arrays.asList(testBooking);
-        when(bookingService.getBookingsByUserId(anyLong())).thenReturn(bookings);
+        when(bookingService.getBookingsByUserId(anyLong(), anyInt(), anyInt()))
+                .thenReturn(bookings);
 
-        ResponseEntity<List<Booking>> response = bookingController.getBookingsByUserId(1L);
+        ResponseEntity<List<Booking>> response = bookingController.getBookingsByUserId(1L, 0, 20);
 
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
         assertThat(response.getBody()).isNotNull().satisfies(body -> {
@@ -288,9 +290,10 @@ class BookingControllerTest {
     @XrayTest(key = "BOOKING-18")
     @Requirement("BOOKING-18")
     void whenGetBookingsByUserId_withNoResults_thenNoContent() {
-        when(bookingService.getBookingsByUserId(anyLong())).thenReturn(List.of());
+        when(bookingService.getBookingsByUserId(anyLong(), anyInt(), anyInt()))
+                .thenReturn(List.of());
 
-        ResponseEntity<List<Booking>> response = bookingController.getBookingsByUserId(1L);
+        ResponseEntity<List<Booking>> response = bookingController.getBookingsByUserId(1L, 0, 20);
 
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NO_CONTENT);
     }
@@ -94,8 +94,8 @@ class ChargingSessionControllerIT {
         given().contentType(ContentType.JSON).when()
                 .get("/api/v1/charging-sessions/{sessionId}", session.getId()).then()
                 .statusCode(200).body("id", equalTo(session.getId().intValue()))
-                .body("stationId", equalTo(station.getId().toString()))
-                .body("userId", equalTo("1"));
+                .body("stationId", equalTo(station.getId().intValue()))
+                .body("userId", equalTo(1));
     }
 
     @Test
@@ -107,7 +107,7 @@ class ChargingSessionControllerIT {
         station = stationRepository.save(station);
 
         // Create a session to occupy the only charger
-        ChargingSession existingSession = new ChargingSession(station.getId().toString(), "2");
+        ChargingSession existingSession = new ChargingSession(station.getId(), 2L);
         existingSession.setStartTime(LocalDateTime.now());
         chargingSessionRepository.save(existingSession);
 
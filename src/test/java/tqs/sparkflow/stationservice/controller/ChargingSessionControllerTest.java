@@ -27,8 +27,8 @@ class ChargingSessionControllerTest {
     void setUp() {
         chargingSessionController = new ChargingSessionController(chargingSessionService);
         testSession = new ChargingSession();
-        testSession.setStationId("STATION-001");
-        testSession.setUserId("USER-001");
+        testSession.setStationId(1L);
+        testSession.setUserId(2L);
     }
 
     @Test
@@ -36,16 +36,16 @@ class ChargingSessionControllerTest {
     @Requirement("CHARGING-SESSION-1")
     void whenStartSession_thenReturnSuccess() {
         // Given
-        when(chargingSessionService.createSession(anyString(), anyString()))
+        when(chargingSessionService.createSession(anyLong(), anyLong()))
                 .thenReturn(testSession);
 
         // When
-        var response = chargingSessionController.startSession("STATION-001", "USER-001");
+        var response = chargingSessionController.startSession(1L, 2L);
 
         // Then
         assertThat(response.getStatusCode().is2xxSuccessful()).isTrue();
         assertThat(response.getBody()).isNotNull().satisfies(body -> {
-            assertThat(body.getStationId()).isEqualTo("STATION-001");
+            assertThat(body.getStationId()).isEqualTo(1L);
         });
     }
 
@@ -5,10 +5,15 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import tqs.sparkflow.stationservice.dto.ImportJobRequestDTO;
+import tqs.sparkflow.stationservice.model.ImportJob;
+import tqs.sparkflow.stationservice.service.OpenChargeMapImportJobService;
 import tqs.sparkflow.stationservice.service.OpenChargeMapService;
+import org.springframework.http.HttpStatus;
+import java.util.Optional;
 import static org.mockito.Mockito.when;
 import static org.assertj.core.api.Assertions.assertThat;
-import java.util.Collections;
+import tqs.sparkflow.stationservice.dto.StationImportResult;
 import app.getxray.xray.junit.customjunitxml.annotations.XrayTest;
 import app.getxray.xray.junit.customjunitxml.annotations.Requirement;
 
@@ -17,11 +22,15 @@ class OpenChargeMapControllerTest {
     @Mock
     private OpenChargeMapService openChargeMapService;
 
+    @Mock
+    private OpenChargeMapImportJobService importJobService;
+
     private OpenChargeMapController openChargeMapController;
 
     @BeforeEach
     void setUp() {
-        openChargeMapController = new OpenChargeMapController(openChargeMapService);
+        openChargeMapController = new OpenChargeMapController(openChargeMapService,
+                importJobService);
     }
 
     @Test
@@ -29,11 +38,12 @@ class OpenChargeMapControllerTest {
     @Requirement("OPEN-CHARGE-MAP-1")
     void testPopulateStationsEndpoint() {
         when(openChargeMapService.populateStations(40.0, -8.0, 10))
-                .thenReturn(Collections.emptyList());
+                .thenReturn(new StationImportResult(3, 1, 2));
 
         var response = openChargeMapController.populateStations(40.0, -8.0, 10);
         assertThat(response.getStatusCode().is2xxSuccessful()).isTrue();
-        assertThat(response.getBody()).isEqualTo("Stations populated successfully");
+        assertThat(response.getBody()).isEqualTo(
+                "Stations populated successfully (inserted: 3, updated: 1, unchanged: 2)");
     }
 
     @Test
@@ -85,4 +95,67 @@ class OpenChargeMapControllerTest {
         assertThat(response.getStatusCode().is5xxServerError()).isTrue();
         assertThat(response.getBody()).isEqualTo("No stations found");
     }
+
+    @Test
+    void testCreateImportJobEndpoint() {
+        ImportJobRequestDTO request = new ImportJobRequestDTO(36.8, -9.5, 42.1, -6.2);
+        ImportJob job = new ImportJob();
+        job.setId(1L);
+        when(importJobService.createJob(request)).thenReturn(job);
+
+        var response = openChargeMapController.createImportJob(request);
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.ACCEPTED);
+        assertThat(response.getBody()).isSameAs(job);
+    }
+
+    @Test
+    void testCreateImportJobEndpoint_withInvalidBoundingBox() {
+        ImportJobRequestDTO request = new ImportJobRequestDTO(42.1, -9.5, 36.8, -6.2);
+        when(importJobService.createJob(request)).thenThrow(new IllegalArgumentException(
+                "Minimum coordinates must be below maximum coordinates"));
+
+        var response = openChargeMapController.createImportJob(request);
+        assertThat(response.getStatusCode().is4xxClientError()).isTrue();
+        assertThat(response.getBody())
+                .isEqualTo("Minimum coordinates must be below maximum coordinates");
+    }
+
+    @Test
+    void testGetImportJobEndpoint() {
+        ImportJob job = new ImportJob();
+        job.setId(1L);
+        when(importJobService.getJob(1L)).thenReturn(Optional.of(job));
+
+        var response = openChargeMapController.getImportJob(1L);
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).isSameAs(job);
+    }
+
+    @Test
+    void testGetImportJobEndpoint_whenMissing_thenNotFound() {
+        when(importJobService.getJob(99L)).thenReturn(Optional.empty());
+
+        var response = openChargeMapController.getImportJob(99L);
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+    }
+
+    @Test
+    void testResumeImportJobEndpoint() {
+        ImportJob job = new ImportJob();
+        job.setId(1L);
+        when(importJobService.resumeJob(1L)).thenReturn(Optional.of(job));
+
+        var response = openChargeMapController.resumeImportJob(1L);
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.ACCEPTED);
+        assertThat(response.getBody()).isSameAs(job);
+    }
+
+    @Test
+    void testResumeImportJobEndpoint_whenNotFailed_thenConflict() {
+        when(importJobService.resumeJob(1L)).thenThrow(
+                new IllegalStateException("Only failed import jobs can be resumed"));
+
+        var response = openChargeMapController.resumeImportJob(1L);
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+    }
 }
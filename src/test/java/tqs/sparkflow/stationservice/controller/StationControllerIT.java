@@ -1,5 +1,8 @@
 package tqs.sparkflow.stationservice.controller;
 
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -7,8 +10,11 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.web.client.TestRestTemplate;
 import org.springframework.boot.test.web.server.LocalServerPort;
 import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.test.context.ActiveProfiles;
 import tqs.sparkflow.stationservice.StationServiceApplication;
@@ -20,6 +26,7 @@ import app.getxray.xray.junit.customjunitxml.annotations.XrayTest;
 import app.getxray.xray.junit.customjunitxml.annotations.Requirement;
 
 import java.util.List;
+import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -188,6 +195,88 @@ class StationControllerIT {
         });
     }
 
+    @Test
+    @XrayTest(key = "STATION-IT-8")
+    @Requirement("STATION-IT-8")
+    void whenGettingStationsWithFields_thenOnlyRequestedFieldsAreReturned() {
+        // Given
+        Station station = createTestStation("Sparse Station");
+        station.setExternalId("TEST-SPARSE");
+        stationRepository.save(station);
+
+        // When
+        ResponseEntity<List<Map<String, Object>>> response = restTemplate.exchange(
+                baseUrl + "?fields=name,id", HttpMethod.GET, null,
+                new ParameterizedTypeReference<List<Map<String, Object>>>() {});
+
+        // Then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).singleElement().satisfies(fields -> {
+            assertThat(fields.keySet()).containsExactly("name", "id");
+            assertThat(fields.get("name")).isEqualTo("Sparse Station");
+        });
+    }
+
+    @Test
+    @XrayTest(key = "STATION-IT-9")
+    @Requirement("STATION-IT-9")
+    void whenGettingStationsWithUnknownField_thenReturnsBadRequest() {
+        // When
+        ResponseEntity<String> response =
+                restTemplate.getForEntity(baseUrl + "?fields=name,secret", String.class);
+
+        // Then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+    }
+
+    @Test
+    @XrayTest(key = "STATION-IT-10")
+    @Requirement("STATION-IT-10")
+    void whenRevalidatingStationsWithCurrentETag_thenReturnsNotModified() {
+        // Given
+        stationRepository.save(createTestStation("Tagged Station"));
+        ResponseEntity<String> first = restTemplate.getForEntity(baseUrl, String.class);
+        ResponseEntity<String> sparse =
+                restTemplate.getForEntity(baseUrl + "?fields=id", String.class);
+        HttpHeaders headers = new HttpHeaders();
+        headers.setIfNoneMatch(first.getHeaders().getETag());
+
+        // When
+        ResponseEntity<String> response = restTemplate.exchange(baseUrl, HttpMethod.GET,
+                new HttpEntity<>(headers), String.class);
+
+        // Then
+        assertThat(first.getHeaders().getETag()).isNotNull()
+                .isNotEqualTo(sparse.getHeaders().getETag());
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(response.getBody()).isNull();
+    }
+
+    @Test
+    @XrayTest(key = "STATION-IT-11")
+    @Requirement("STATION-IT-11")
+    void whenClientAcceptsCbor_thenStationsAreEncodedInCbor() throws Exception {
+        // Given
+        Station station = createTestStation("Binary Station");
+        station.setExternalId("TEST-CBOR");
+        stationRepository.save(station);
+        HttpHeaders headers = new HttpHeaders();
+        headers.setAccept(List.of(MediaType.APPLICATION_CBOR));
+
+        // When
+        ResponseEntity<byte[]> response = restTemplate.exchange(baseUrl, HttpMethod.GET,
+                new HttpEntity<>(headers), byte[].class);
+
+        // Then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_CBOR);
+        CBORMapper mapper = CBORMapper.builder()
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES).build();
+        List<Station> stations =
+                mapper.readValue(response.getBody(), new TypeReference<List<Station>>() {});
+        assertThat(stations).extracting(Station::getName).containsExactly("Binary Station");
+    }
+
     private Station createTestStation(String name) {
         Station station = new Station();
         station.setName(name);
@@ -64,14 +64,32 @@ class StationControllerTest {
         when(stationService.getStationById(stationId)).thenReturn(expectedStation);
 
         // When
-        ResponseEntity<Station> response = stationController.getStationById(stationId);
+        ResponseEntity<Station> response = stationController.getStationById(stationId, null);
 
         // Then
         assertThat(response.getStatusCode().is2xxSuccessful()).isTrue();
         assertThat(response.getBody()).isEqualTo(expectedStation);
+        assertThat(response.getHeaders().getETag()).isEqualTo("\"1.0\"");
         verify(stationService).getStationById(stationId);
     }
 
+    @Test
+    @XrayTest(key = "STATION-2")
+    @Requirement("STATION-2")
+    void whenGettingStationAsSmile_thenTagNamesTheEncoding() {
+        // Given
+        Long stationId = 1L;
+        when(stationService.getStationById(stationId))
+                .thenReturn(createTestStation(stationId, "Test Station"));
+
+        // When
+        ResponseEntity<Station> response = stationController.getStationById(stationId,
+                "application/x-jackson-smile, application/json;q=0.5");
+
+        // Then
+        assertThat(response.getHeaders().getETag()).isEqualTo("\"1.0-smile\"");
+    }
+
     @Test
     @XrayTest(key = "STATION-3")
     @Requirement("STATION-3")
@@ -161,7 +179,7 @@ class StationControllerTest {
     void whenGettingStationByIdNotFound_thenReturnsNotFound() {
         Long stationId = 99L;
         when(stationService.getStationById(stationId)).thenThrow(new IllegalArgumentException());
-        ResponseEntity<Station> response = stationController.getStationById(stationId);
+        ResponseEntity<Station> response = stationController.getStationById(stationId, null);
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
         verify(stationService).getStationById(stationId);
     }
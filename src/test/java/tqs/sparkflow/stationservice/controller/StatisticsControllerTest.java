@@ -211,6 +211,29 @@ class StatisticsControllerTest {
         assertEquals(3.58, response.getBody().getAvgCostPerSession());
     }
 
+    @Test
+    @DisplayName("Should get dashboard successfully")
+    void shouldGetDashboardSuccessfully() {
+        // Given
+        Long userId = 123L;
+        StatisticsDTO.Dashboard dashboard = new StatisticsDTO.Dashboard();
+        dashboard.setCurrentMonth(currentMonthStats);
+        dashboard.setMonthly(monthlyData);
+        dashboard.setCostTrend(costTrendData);
+        when(statisticsService.getDashboard(userId, 12, 8)).thenReturn(dashboard);
+
+        // When
+        ResponseEntity<StatisticsDTO.Dashboard> response =
+                statisticsController.getDashboard(userId, 12, 8);
+
+        // Then
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertNotNull(response.getBody());
+        assertEquals(15, response.getBody().getCurrentMonth().getTotalSessions());
+        assertEquals(1, response.getBody().getMonthly().size());
+        assertEquals(1, response.getBody().getCostTrend().size());
+    }
+
     @Test
     @DisplayName("Should handle service exceptions gracefully")
     void shouldHandleServiceExceptionsGracefully() {
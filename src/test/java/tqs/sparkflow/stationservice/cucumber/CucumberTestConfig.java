@@ -12,9 +12,11 @@ import org.springframework.test.context.ActiveProfiles;
 import org.springframework.web.client.RestTemplate;
 import tqs.sparkflow.stationservice.service.OpenChargeMapService;
 import tqs.sparkflow.stationservice.service.StationService;
+import tqs.sparkflow.stationservice.service.StationSnapshotService;
 import tqs.sparkflow.stationservice.repository.BookingRepository;
 import tqs.sparkflow.stationservice.repository.ChargingSessionRepository;
 import tqs.sparkflow.stationservice.repository.StationRepository;
+import tqs.sparkflow.stationservice.repository.StationUpsertRepository;
 
 @TestConfiguration
 @EnableWebSecurity
@@ -32,6 +34,7 @@ public class CucumberTestConfig {
   }
 
   @Bean
+  @Primary
   public RestTemplate restTemplate() {
     return new RestTemplate();
   }
@@ -46,15 +49,17 @@ public class CucumberTestConfig {
   @Bean
   @Primary
   public StationService stationService(StationRepository stationRepository,
-      BookingRepository bookingRepository, ChargingSessionRepository chargingSessionRepository) {
-    return new StationService(stationRepository, bookingRepository, chargingSessionRepository);
+      BookingRepository bookingRepository, ChargingSessionRepository chargingSessionRepository,
+      StationSnapshotService stationSnapshots) {
+    return new StationService(stationRepository, bookingRepository, chargingSessionRepository,
+        stationSnapshots);
   }
 
   @Bean
   @Primary
   public OpenChargeMapService openChargeMapService(RestTemplate restTemplate,
-      StationRepository stationRepository) {
-    return new OpenChargeMapService(restTemplate, stationRepository, "test-api-key",
-        "https://api.openchargemap.io/v3/poi");
+      StationUpsertRepository stationUpsertRepository, StationSnapshotService stationSnapshots) {
+    return new OpenChargeMapService(restTemplate, stationUpsertRepository, stationSnapshots,
+        "test-api-key", "https://api.openchargemap.io/v3/poi");
   }
 }
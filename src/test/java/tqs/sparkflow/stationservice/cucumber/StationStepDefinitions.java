@@ -12,7 +12,9 @@ import org.springframework.http.ResponseEntity;
 import tqs.sparkflow.stationservice.model.Station;
 import tqs.sparkflow.stationservice.repository.StationRepository;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -29,6 +31,9 @@ public class StationStepDefinitions {
 
   private ResponseEntity<List<Station>> response;
   private ResponseEntity<Station> singleResponse;
+  // The IDs the feature refers to stations by, mapped to the IDs the database generated for them
+  private final Map<String, Long> stationIds = new HashMap<>();
+  private Long requestedStationId;
 
   @Given("there are stations in the system")
   public void thereAreStationsInTheSystem() {
@@ -37,14 +42,12 @@ public class StationStepDefinitions {
         new Station.Builder().name("Test Station 1").address("Test Address 1").city("Test City")
             .country("Test Country").latitude(38.7223).longitude(-9.1393).quantityOfChargers(2)
             .power(22).status("Available").isOperational(true).price(0.30).build();
-    station1.setId(1L);
     stationRepository.save(station1);
 
     Station station2 =
         new Station.Builder().name("Test Station 2").address("Test Address 2").city("Test City")
             .country("Test Country").latitude(38.7223).longitude(-9.1393).quantityOfChargers(3)
             .power(22).status("Available").isOperational(true).price(0.30).build();
-    station2.setId(2L);
     stationRepository.save(station2);
   }
 
@@ -70,14 +73,15 @@ public class StationStepDefinitions {
         new Station.Builder().name("Test Station " + id).address("Test Address").city("Test City")
             .country("Test Country").latitude(38.7223).longitude(-9.1393).quantityOfChargers(2)
             .power(22).status("Available").isOperational(true).price(0.30).build();
-    station.setId(Long.parseLong(id));
-    stationRepository.save(station);
+    stationIds.put(id, stationRepository.save(station).getId());
   }
 
   @When("I request the station with ID {string}")
   public void iRequestTheStationWithId(String id) {
-    singleResponse = restTemplate
-        .getForEntity("http://localhost:" + port + "/api/v1/stations/" + id, Station.class);
+    requestedStationId = stationIds.get(id);
+    assertNotNull(requestedStationId, "No station was created with ID " + id);
+    singleResponse = restTemplate.getForEntity(
+        "http://localhost:" + port + "/api/v1/stations/" + requestedStationId, Station.class);
   }
 
   @Then("I should receive the station details")
@@ -86,7 +90,7 @@ public class StationStepDefinitions {
     assertEquals(200, singleResponse.getStatusCode().value(), "Status code should be 200");
     Station body = singleResponse.getBody();
     assertNotNull(body, "Response body should not be null");
-    assertEquals(1L, body.getId(), "Station ID should match");
+    assertEquals(requestedStationId, body.getId(), "Station ID should match");
     assertEquals("Test Station 1", body.getName(), "Station name should match");
   }
 }
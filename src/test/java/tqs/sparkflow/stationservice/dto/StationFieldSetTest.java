@@ -0,0 +1,42 @@
+package tqs.sparkflow.stationservice.dto;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import tqs.sparkflow.stationservice.model.Station;
+
+class StationFieldSetTest {
+
+    @Test
+    void whenFieldsAreRequested_thenProjectionHoldsOnlyThoseInRequestOrder() {
+        // Given
+        Station station = new Station.Builder().name("Aveiro Central").city("Aveiro")
+                .latitude(40.62).longitude(-8.65).quantityOfChargers(2).build();
+        station.setId(7L);
+
+        // When
+        Map<String, Object> projected =
+                StationFieldSet.parse(" latitude, id,latitude,,name").project(station);
+
+        // Then
+        assertThat(projected).containsExactly(Map.entry("latitude", 40.62), Map.entry("id", 7L),
+                Map.entry("name", "Aveiro Central"));
+    }
+
+    @Test
+    void whenFieldIsUnknown_thenParsingFails() {
+        assertThatThrownBy(() -> StationFieldSet.parse("name,contentHash"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Unknown station field: contentHash");
+    }
+
+    @Test
+    void whenNoFieldIsGiven_thenParsingFails() {
+        assertThatThrownBy(() -> StationFieldSet.parse(" , "))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -11,8 +11,8 @@ class ChargingSessionTest {
     @Test
     void whenCreatingNewSession_thenInitialStateIsCorrect() {
         // Given
-        String stationId = "STATION-001";
-        String userId = "USER-001";
+        Long stationId = 1L;
+        Long userId = 2L;
 
         // When
         ChargingSession session = new ChargingSession();
@@ -30,8 +30,8 @@ class ChargingSessionTest {
     @Test
     void whenCreatingSessionWithConstructor_thenStartTimeIsSet() {
         // Given
-        String stationId = "STATION-001";
-        String userId = "USER-001";
+        Long stationId = 1L;
+        Long userId = 2L;
 
         // When
         ChargingSession session = new ChargingSession(stationId, userId);
@@ -47,7 +47,7 @@ class ChargingSessionTest {
     @Test
     void whenFinishingSession_thenFinishedFlagIsSet() {
         // Given
-        ChargingSession session = new ChargingSession("STATION-001", "USER-001");
+        ChargingSession session = new ChargingSession(1L, 2L);
 
         // When
         session.setFinished(true);
@@ -63,8 +63,8 @@ class ChargingSessionTest {
         // Given
         ChargingSession session = new ChargingSession();
         Long id = 1L;
-        String stationId = "STATION-001";
-        String userId = "USER-001";
+        Long stationId = 1L;
+        Long userId = 2L;
         LocalDateTime startTime = LocalDateTime.now();
         LocalDateTime endTime = startTime.plusHours(2);
 
@@ -0,0 +1,164 @@
+package tqs.sparkflow.stationservice.repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.flywaydb.core.Flyway;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.testcontainers.containers.MySQLContainer;
+
+/**
+ * Times the monthly usage aggregation of {@link ChargingSessionRepository} and a run of station
+ * occupancy lookups over 200,000 sessions in MySQL, joining and filtering on the original VARCHAR
+ * {@code station_id} / {@code user_id} columns and on the BIGINT {@code station_ref} /
+ * {@code user_ref} columns of migration V4. The VARCHAR columns keep only their single-column
+ * indexes from V1, while the references have the covering indexes of V11, as in production. Also
+ * times the {@link ChargingSessionRefBackfillRepository} backfill of every session in ranges of
+ * 5,000 IDs. Needs Docker for the MySQL container. Not part of the test suite; run it with
+ * {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=tqs.sparkflow.stationservice.repository.ChargingSessionRefBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(1)
+public class ChargingSessionRefBenchmark {
+
+    private static final int STATIONS = 2_000;
+    private static final int USERS = 10_000;
+    private static final int SESSIONS = 200_000;
+    private static final int BACKFILL_BATCH = 5_000;
+    private static final LocalDateTime FIRST_START = LocalDateTime.of(2025, 1, 1, 0, 0);
+
+    /** The station reference column: the original VARCHAR one or the BIGINT one. */
+    @Param({"station_id", "station_ref"})
+    private String stationColumn;
+
+    private MySQLContainer<?> mysql;
+    private JdbcTemplate jdbcTemplate;
+    private ChargingSessionRefBackfillRepository backfillRepository;
+    private String userColumn;
+    private String monthlyUsageSql;
+    private String occupancySql;
+
+    @Setup(Level.Trial)
+    public void startDatabase() {
+        mysql = new MySQLContainer<>("mysql:8.0");
+        mysql.start();
+        String url = mysql.getJdbcUrl() + (mysql.getJdbcUrl().contains("?") ? "&" : "?")
+                + "rewriteBatchedStatements=true";
+        DriverManagerDataSource dataSource =
+                new DriverManagerDataSource(url, mysql.getUsername(), mysql.getPassword());
+        Flyway.configure().dataSource(dataSource).load().migrate();
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        backfillRepository = new ChargingSessionRefBackfillRepository(
+                new NamedParameterJdbcTemplate(jdbcTemplate));
+        userColumn = stationColumn.equals("station_ref") ? "user_ref" : "user_id";
+        monthlyUsageSql = "SELECT cs." + userColumn + " AS userId, "
+                + "YEAR(cs.start_time) * 100 + MONTH(cs.start_time) AS monthKey, "
+                + ChargingSessionRepository.SESSION_USAGE_COLUMNS_SQL
+                        .replace("cs.station_ref", "cs." + stationColumn)
+                + "WHERE cs.finished = TRUE AND cs.start_time >= ? "
+                + "GROUP BY cs." + userColumn
+                + ", YEAR(cs.start_time) * 100 + MONTH(cs.start_time)";
+        occupancySql = "SELECT COUNT(*) FROM charging_sessions cs WHERE cs." + stationColumn
+                + " = ? AND cs.finished = FALSE";
+        seed();
+    }
+
+    @TearDown(Level.Trial)
+    public void stopDatabase() {
+        mysql.stop();
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> monthlyUsage() {
+        return jdbcTemplate.queryForList(monthlyUsageSql, Timestamp.valueOf(FIRST_START));
+    }
+
+    @Benchmark
+    public long stationOccupancy() {
+        long unfinished = 0;
+        for (long station = 1; station <= STATIONS; station++) {
+            Object id = stationColumn.equals("station_ref") ? station : Long.toString(station);
+            Long count = jdbcTemplate.queryForObject(occupancySql, Long.class, id);
+            unfinished += count != null ? count : 0;
+        }
+        return unfinished;
+    }
+
+    /** Clears every session reference before each backfill, which fills them all again. */
+    @State(Scope.Benchmark)
+    public static class ClearedReferences {
+
+        @Setup(Level.Invocation)
+        public void clearReferences(ChargingSessionRefBenchmark benchmark) {
+            benchmark.jdbcTemplate.update(
+                    "UPDATE charging_sessions SET station_ref = NULL, user_ref = NULL");
+        }
+    }
+
+    @Benchmark
+    public long backfill(ClearedReferences cleared) {
+        long updated = 0;
+        long[] range = backfillRepository.findPendingIdRange("charging_sessions").orElseThrow();
+        for (long from = range[0]; from <= range[1]; from += BACKFILL_BATCH) {
+            updated += backfillRepository.backfillRange("charging_sessions", from,
+                    from + BACKFILL_BATCH);
+        }
+        return updated;
+    }
+
+    private void seed() {
+        jdbcTemplate.execute("DELETE FROM stations");
+        List<Object[]> stations = new ArrayList<>(STATIONS);
+        for (int i = 1; i <= STATIONS; i++) {
+            stations.add(new Object[] {i, "BENCH-" + i, "Station " + i, 38.7 + i * 1e-4,
+                -9.1 - i * 1e-4, 0.25 + i % 10 * 0.01});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO stations (id, external_id, name, address, city,"
+                + " country, latitude, longitude, status, quantity_of_chargers, is_operational,"
+                + " price) VALUES (?, ?, ?, 'Address', 'Lisboa', 'Portugal', ?, ?, 'Available',"
+                + " 4, true, ?)", stations);
+        List<Object[]> sessions = new ArrayList<>(SESSIONS);
+        for (int i = 1; i <= SESSIONS; i++) {
+            LocalDateTime start = FIRST_START.plusMinutes(i * 3L);
+            // The V4 insert trigger fills station_ref and user_ref from these VARCHAR values
+            sessions.add(new Object[] {i, Integer.toString(1 + i % STATIONS),
+                Integer.toString(1 + i % USERS), i % 50 != 0, Timestamp.valueOf(start),
+                Timestamp.valueOf(start.plusMinutes(30 + i % 90))});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO charging_sessions (id, station_id, user_id,"
+                + " finished, start_time, end_time) VALUES (?, ?, ?, ?, ?, ?)", sessions);
+        jdbcTemplate.execute("ANALYZE TABLE stations, charging_sessions");
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ChargingSessionRefBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,273 @@
+package tqs.sparkflow.stationservice.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.DynamicTest.dynamicTest;
+
+import java.lang.reflect.Method;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Stream;
+import javax.sql.DataSource;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.lang.NonNull;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/**
+ * Runs every query of {@link BookingRepository} and {@link ChargingSessionRepository} against
+ * MySQL migrated by Flyway, captures the SQL and parameters Hibernate sends, and fails when
+ * {@code EXPLAIN} shows a full table or full index scan. The tables hold a few thousand rows
+ * spread over two years, so the optimizer picks its plans from realistic statistics. Skipped when
+ * Docker is not available.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class RepositoryQueryPlanIT {
+
+    /** EXPLAIN access types that read a whole table or a whole index. */
+    private static final Set<String> FULL_SCANS = Set.of("ALL", "index");
+
+    /** Statements whose plans are checked, by their first keyword. */
+    private static final Set<String> EXPLAINED = Set.of("select", "update");
+
+    /** Repository methods that return every row by design. */
+    private static final Set<String> UNBOUNDED = Set.of("BookingRepository.findAll");
+
+    private static final String[] BOOKING_STATUSES = {"ACTIVE", "CANCELLED", "COMPLETED"};
+    private static final int ROWS = 5000;
+    private static final int STATIONS = 20;
+    private static final int USERS = 200;
+    private static final long STATION_ID = 3L;
+    private static final long USER_ID = 7L;
+    private static final LocalDateTime NOW = LocalDateTime.now().withNano(0);
+
+    private static final List<QueryInfo> EXECUTED = new CopyOnWriteArrayList<>();
+
+    @Container
+    private static final MySQLContainer<?> MYSQL = new MySQLContainer<>("mysql:8.0");
+
+    private static boolean seeded;
+
+    @DynamicPropertySource
+    static void mysqlProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", MYSQL::getJdbcUrl);
+        registry.add("spring.datasource.username", MYSQL::getUsername);
+        registry.add("spring.datasource.password", MYSQL::getPassword);
+        registry.add("spring.datasource.driver-class-name", () -> "com.mysql.cj.jdbc.Driver");
+        registry.add("spring.jpa.database-platform", () -> "org.hibernate.dialect.MySQLDialect");
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "none");
+        registry.add("spring.flyway.enabled", () -> "true");
+    }
+
+    /** Records every statement sent through the data source. */
+    @TestConfiguration
+    static class StatementRecording {
+
+        @Bean
+        static BeanPostProcessor recordingDataSourcePostProcessor() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(@NonNull Object bean,
+                        @NonNull String beanName) {
+                    if (!(bean instanceof DataSource dataSource)
+                            || bean instanceof ProxyDataSource) {
+                        return bean;
+                    }
+                    return ProxyDataSourceBuilder.create(dataSource).name(beanName)
+                            .afterQuery((execution, queries) -> EXECUTED.addAll(queries))
+                            .build();
+                }
+            };
+        }
+    }
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private ChargingSessionRepository sessionRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        if (!seeded) {
+            seed();
+            seeded = true;
+        }
+    }
+
+    @TestFactory
+    Stream<DynamicTest> repositoryQueriesAvoidFullScans() {
+        return repositoryQueries().entrySet().stream()
+                .map(query -> dynamicTest(query.getKey(), () -> {
+                    // When
+                    List<QueryInfo> statements = run(query.getValue());
+
+                    // Then
+                    assertThat(statements).as("Statements of %s", query.getKey()).isNotEmpty();
+                    for (QueryInfo statement : statements) {
+                        assertThat(explain(statement)).as("Plan of %s", statement.getQuery())
+                                .isNotEmpty()
+                                .noneMatch(row -> FULL_SCANS.contains(row.get("type")));
+                    }
+                }));
+    }
+
+    @Test
+    void whenRepositoryDeclaresAQuery_thenItsPlanIsChecked() {
+        // Given
+        Stream<Class<?>> repositories =
+                Stream.of(BookingRepository.class, ChargingSessionRepository.class);
+
+        // When
+        List<String> declared = repositories
+                .flatMap(repository -> Arrays.stream(repository.getDeclaredMethods())
+                        .filter(method -> !method.isSynthetic())
+                        .map(Method::getName)
+                        .map(name -> repository.getSimpleName() + "." + name))
+                .filter(name -> !UNBOUNDED.contains(name))
+                .distinct()
+                .toList();
+
+        // Then
+        assertThat(repositoryQueries().keySet()).containsExactlyInAnyOrderElementsOf(declared);
+    }
+
+    private Map<String, Runnable> repositoryQueries() {
+        List<Long> stationIds = List.of(1L, 2L, STATION_ID);
+        PageRequest firstPage = PageRequest.of(0, 20);
+        Map<String, Runnable> queries = new LinkedHashMap<>();
+        queries.put("BookingRepository.findOverlappingBookings",
+                () -> bookingRepository.findOverlappingBookings(STATION_ID, NOW,
+                        NOW.plusHours(2)));
+        queries.put("BookingRepository.findActiveBookingsForStationAtTime",
+                () -> bookingRepository.findActiveBookingsForStationAtTime(STATION_ID, NOW));
+        queries.put("BookingRepository.countActiveBookingsByStationAtTime",
+                () -> bookingRepository.countActiveBookingsByStationAtTime(stationIds, NOW));
+        queries.put("BookingRepository.findByStationId",
+                () -> bookingRepository.findByStationId(STATION_ID));
+        queries.put("BookingRepository.findRecentBookingsByUser",
+                () -> bookingRepository.findRecentBookingsByUser(USER_ID, firstPage));
+        queries.put("BookingRepository.findByStationIdAndUserId",
+                () -> bookingRepository.findByStationIdAndUserId(STATION_ID, USER_ID));
+        queries.put("BookingRepository.findBookingsByUserInPeriod",
+                () -> bookingRepository.findBookingsByUserInPeriod(USER_ID, NOW.minusMonths(1),
+                        NOW));
+        queries.put("BookingRepository.countBookingsByUserAndMonth",
+                () -> bookingRepository.countBookingsByUserAndMonth(NOW.minusMonths(1)));
+        queries.put("ChargingSessionRepository.findUnfinishedSessionsByStation",
+                () -> sessionRepository.findUnfinishedSessionsByStation(STATION_ID));
+        queries.put("ChargingSessionRepository.existsByStationIdAndUserIdAndFinishedFalse",
+                () -> sessionRepository.existsByStationIdAndUserIdAndFinishedFalse(STATION_ID,
+                        USER_ID));
+        queries.put("ChargingSessionRepository.countUnfinishedSessionsByStations",
+                () -> sessionRepository.countUnfinishedSessionsByStations(stationIds));
+        queries.put("ChargingSessionRepository.findUnfinishedSessionsByStationInTimeRange",
+                () -> sessionRepository.findUnfinishedSessionsByStationInTimeRange(STATION_ID,
+                        NOW.minusDays(7), NOW));
+        queries.put("ChargingSessionRepository.findFinishedSessionsByUserInPeriod",
+                () -> sessionRepository.findFinishedSessionsByUserInPeriod(USER_ID,
+                        NOW.minusMonths(1), NOW));
+        queries.put("ChargingSessionRepository.aggregateFinishedSessionsByUserAndMonth",
+                () -> sessionRepository.aggregateFinishedSessionsByUserAndMonth(
+                        NOW.minusMonths(1)));
+        queries.put("ChargingSessionRepository.aggregateFinishedSessionsByUserPerDay",
+                () -> sessionRepository.aggregateFinishedSessionsByUserPerDay(USER_ID,
+                        NOW.minusMonths(1), NOW));
+        queries.put("ChargingSessionRepository.findRecentSessionsByUser",
+                () -> sessionRepository.findRecentSessionsByUser(USER_ID, firstPage));
+        // Session 2 is seeded finished, so the conditional update leaves the data unchanged
+        queries.put("ChargingSessionRepository.finishSession",
+                () -> sessionRepository.finishSession(2L, NOW));
+        return queries;
+    }
+
+    private static List<QueryInfo> run(Runnable query) {
+        EXECUTED.clear();
+        query.run();
+        return EXECUTED.stream()
+                .filter(statement -> EXPLAINED.contains(statement.getQuery().stripLeading()
+                        .toLowerCase(Locale.ROOT).split("\\s+", 2)[0]))
+                .toList();
+    }
+
+    private List<Map<String, Object>> explain(QueryInfo statement) {
+        return jdbcTemplate.queryForList("EXPLAIN " + statement.getQuery(),
+                parameters(statement));
+    }
+
+    /** Parameter values of a statement in placeholder order; {@code setNull} binds null. */
+    private static Object[] parameters(QueryInfo statement) {
+        List<ParameterSetOperation> operations = statement.getParametersList().isEmpty()
+                ? List.of() : statement.getParametersList().get(0);
+        return operations.stream()
+                .sorted(Comparator.comparingInt(operation -> (Integer) operation.getArgs()[0]))
+                .map(operation -> "setNull".equals(operation.getMethod().getName())
+                        ? null : operation.getArgs()[1])
+                .toArray();
+    }
+
+    private void seed() {
+        List<Object[]> bookings = new ArrayList<>();
+        List<Object[]> recurringDays = new ArrayList<>();
+        List<Object[]> sessions = new ArrayList<>();
+        for (int i = 0; i < ROWS; i++) {
+            long id = i + 1L;
+            long stationId = i % STATIONS + 1L;
+            long userId = i % USERS + 1L;
+            LocalDateTime start = NOW.minusHours(4L * i);
+            bookings.add(new Object[] {id, stationId, userId, start, start.plusHours(2),
+                BOOKING_STATUSES[i % BOOKING_STATUSES.length]});
+            if (i % 4 == 0) {
+                recurringDays.add(new Object[] {id, i % 7 + 1});
+            }
+            sessions.add(new Object[] {id, stationId, userId, i % 10 != 0, start,
+                start.plusHours(1)});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO bookings "
+                + "(id, station_id, user_id, start_time, end_time, status) "
+                + "VALUES (?, ?, ?, ?, ?, ?)", bookings);
+        jdbcTemplate.batchUpdate("INSERT INTO booking_recurring_days (booking_id, day_of_week) "
+                + "VALUES (?, ?)", recurringDays);
+        // The V4 insert trigger fills station_ref and user_ref from station_id and user_id
+        jdbcTemplate.batchUpdate("INSERT INTO charging_sessions "
+                + "(id, station_id, user_id, finished, start_time, end_time) "
+                + "VALUES (?, ?, ?, ?, ?, ?)", sessions);
+        jdbcTemplate.execute("ANALYZE TABLE bookings, booking_recurring_days, charging_sessions");
+    }
+}
@@ -0,0 +1,101 @@
+package tqs.sparkflow.stationservice.repository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.flywaydb.core.Flyway;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.testcontainers.containers.MySQLContainer;
+import tqs.sparkflow.stationservice.dto.StationImportResult;
+import tqs.sparkflow.stationservice.model.Station;
+
+/**
+ * Times importing 50,000 new stations through {@link StationUpsertRepository} into MySQL, with the
+ * driver's {@code rewriteBatchedStatements} off (one INSERT round trip per row) and on (multi-row
+ * INSERTs). Needs Docker for the MySQL container. Not part of the test suite; run it with
+ * {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=tqs.sparkflow.stationservice.repository.StationImportBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(1)
+public class StationImportBenchmark {
+
+    private static final int STATIONS = 50_000;
+
+    @Param({"false", "true"})
+    private boolean rewriteBatchedStatements;
+
+    private MySQLContainer<?> mysql;
+    private NamedParameterJdbcTemplate jdbcTemplate;
+    private StationUpsertRepository repository;
+    private List<Station> stations;
+
+    @Setup(Level.Trial)
+    public void startDatabase() {
+        mysql = new MySQLContainer<>("mysql:8.0");
+        mysql.start();
+        String url = mysql.getJdbcUrl() + (mysql.getJdbcUrl().contains("?") ? "&" : "?")
+                + "rewriteBatchedStatements=" + rewriteBatchedStatements;
+        DriverManagerDataSource dataSource =
+                new DriverManagerDataSource(url, mysql.getUsername(), mysql.getPassword());
+        Flyway.configure().dataSource(dataSource).load().migrate();
+        jdbcTemplate = new NamedParameterJdbcTemplate(dataSource);
+        repository = new StationUpsertRepository(jdbcTemplate, new ConcurrentMapCacheManager());
+        stations = stations();
+    }
+
+    @Setup(Level.Invocation)
+    public void emptyStations() {
+        jdbcTemplate.getJdbcTemplate().execute("DELETE FROM stations");
+    }
+
+    @TearDown(Level.Trial)
+    public void stopDatabase() {
+        mysql.stop();
+    }
+
+    @Benchmark
+    public StationImportResult importStations() {
+        return repository.upsertByExternalId(stations);
+    }
+
+    private static List<Station> stations() {
+        List<Station> stations = new ArrayList<>(STATIONS);
+        for (int i = 0; i < STATIONS; i++) {
+            stations.add(new Station.Builder().externalId("OCM-" + i).name("Station " + i)
+                    .address(i + " Main Street").city("Lisboa").country("Portugal")
+                    .latitude(38.7 + i * 1e-5).longitude(-9.1 - i * 1e-5)
+                    .quantityOfChargers(1 + i % 8).power(22).status("Available")
+                    .isOperational(true).price(0.30).build());
+        }
+        return stations;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(StationImportBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
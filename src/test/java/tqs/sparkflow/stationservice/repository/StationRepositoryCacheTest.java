@@ -0,0 +1,118 @@
+package tqs.sparkflow.stationservice.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.cache.CacheType;
+import org.springframework.boot.test.autoconfigure.core.AutoConfigureCache;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import tqs.sparkflow.stationservice.config.CacheConfig;
+import tqs.sparkflow.stationservice.model.Station;
+
+/**
+ * Runs without a surrounding test transaction, since the caches only apply puts and evictions
+ * once the repository's own transaction commits.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Import(CacheConfig.class)
+@AutoConfigureCache(cacheProvider = CacheType.CAFFEINE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class StationRepositoryCacheTest {
+
+    @Autowired
+    private StationRepository stationRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private Cache byId;
+    private Cache byExternalId;
+    private Station station;
+
+    @BeforeEach
+    void setUp() {
+        byId = cacheManager.getCache(CacheConfig.STATIONS_BY_ID);
+        byExternalId = cacheManager.getCache(CacheConfig.STATIONS_BY_EXTERNAL_ID);
+        station = new Station();
+        station.setName("Cached Station");
+        station.setAddress("Address");
+        station.setCity("Aveiro");
+        station.setCountry("Portugal");
+        station.setLatitude(40.62);
+        station.setLongitude(-8.65);
+        station.setQuantityOfChargers(2);
+        station.setStatus("Available");
+        station.setExternalId("EXT-CACHE");
+        station.setIsOperational(true);
+        station = stationRepository.save(station);
+    }
+
+    @AfterEach
+    void tearDown() {
+        stationRepository.deleteAll();
+    }
+
+    @Test
+    void whenStationIsLookedUp_thenItIsCachedByIdAndExternalId() {
+        // When
+        stationRepository.findById(station.getId());
+        stationRepository.findByExternalId("EXT-CACHE");
+
+        // Then
+        assertThat(byId.get(station.getId())).isNotNull();
+        assertThat(byExternalId.get("EXT-CACHE")).isNotNull();
+    }
+
+    @Test
+    void whenStationIsMissing_thenAbsenceIsNotCached() {
+        // When
+        stationRepository.findById(-1L);
+        stationRepository.findByExternalId("MISSING");
+
+        // Then
+        assertThat(byId.get(-1L)).isNull();
+        assertThat(byExternalId.get("MISSING")).isNull();
+    }
+
+    @Test
+    void whenStationIsUpdated_thenNextLookupSeesTheChange() {
+        // Given
+        stationRepository.findById(station.getId());
+        stationRepository.findByExternalId("EXT-CACHE");
+
+        // When
+        station.setName("Renamed Station");
+        stationRepository.save(station);
+
+        // Then
+        assertThat(byId.get(station.getId())).isNull();
+        assertThat(byExternalId.get("EXT-CACHE")).isNull();
+        assertThat(stationRepository.findById(station.getId()))
+                .hasValueSatisfying(found -> assertThat(found.getName())
+                        .isEqualTo("Renamed Station"));
+    }
+
+    @Test
+    void whenStationIsDeleted_thenItIsNoLongerFound() {
+        // Given
+        stationRepository.findById(station.getId());
+        stationRepository.findByExternalId("EXT-CACHE");
+
+        // When
+        stationRepository.deleteById(station.getId());
+
+        // Then
+        assertThat(stationRepository.findById(station.getId())).isEmpty();
+        assertThat(stationRepository.findByExternalId("EXT-CACHE")).isEmpty();
+    }
+}
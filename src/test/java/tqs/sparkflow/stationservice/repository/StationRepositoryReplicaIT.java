@@ -0,0 +1,143 @@
+package tqs.sparkflow.stationservice.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Optional;
+import javax.sql.DataSource;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.cache.CacheType;
+import org.springframework.boot.test.autoconfigure.core.AutoConfigureCache;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import tqs.sparkflow.stationservice.config.CacheConfig;
+import tqs.sparkflow.stationservice.config.ReadReplicaDataSourceConfig;
+import tqs.sparkflow.stationservice.model.Station;
+
+/**
+ * Runs the cached station lookups against a primary and a replica that still holds the station's
+ * previous name, as a lagging replica would. Read-only callers must still cache what the primary
+ * holds. Skipped when Docker is not available.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@AutoConfigureCache(cacheProvider = CacheType.CAFFEINE)
+@Import({CacheConfig.class, ReadReplicaDataSourceConfig.class})
+@Testcontainers(disabledWithoutDocker = true)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class StationRepositoryReplicaIT {
+
+    private static final long STATION_ID = 1L;
+    private static final String EXTERNAL_ID = "EXT-LAG";
+
+    @Container
+    private static final MySQLContainer<?> PRIMARY = new MySQLContainer<>("mysql:8.0");
+
+    @Container
+    private static final MySQLContainer<?> REPLICA = new MySQLContainer<>("mysql:8.0");
+
+    @DynamicPropertySource
+    static void mysqlProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", PRIMARY::getJdbcUrl);
+        registry.add("spring.datasource.username", PRIMARY::getUsername);
+        registry.add("spring.datasource.password", PRIMARY::getPassword);
+        registry.add("spring.datasource.driver-class-name", () -> "com.mysql.cj.jdbc.Driver");
+        registry.add("spring.datasource.replica.url", REPLICA::getJdbcUrl);
+        registry.add("spring.jpa.database-platform", () -> "org.hibernate.dialect.MySQLDialect");
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "none");
+        registry.add("spring.flyway.enabled", () -> "true");
+    }
+
+    @Autowired
+    private StationRepository stationRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate readOnly;
+
+    @BeforeEach
+    void setUp() {
+        DataSource replica = new DriverManagerDataSource(REPLICA.getJdbcUrl(),
+                PRIMARY.getUsername(), PRIMARY.getPassword());
+        Flyway.configure().dataSource(replica).load().migrate();
+        // Without a transaction the routing data source hands out the primary
+        seed(new JdbcTemplate(dataSource), "Renamed Station");
+        seed(new JdbcTemplate(replica), "Old Station");
+        cacheManager.getCache(CacheConfig.STATIONS_BY_ID).clear();
+        cacheManager.getCache(CacheConfig.STATIONS_BY_EXTERNAL_ID).clear();
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    @Test
+    void whenReadOnlyCallerMissesTheIdCache_thenPrimaryRowIsCached() {
+        // When
+        Optional<Station> found = readOnly.execute(
+                status -> stationRepository.findById(STATION_ID));
+
+        // Then
+        assertThat(found).map(Station::getName).contains("Renamed Station");
+        assertThat(cachedName(CacheConfig.STATIONS_BY_ID, STATION_ID))
+                .isEqualTo("Renamed Station");
+    }
+
+    @Test
+    void whenReadOnlyCallerMissesTheExternalIdCache_thenPrimaryRowIsCached() {
+        // When
+        Optional<Station> found = readOnly.execute(
+                status -> stationRepository.findByExternalId(EXTERNAL_ID));
+
+        // Then
+        assertThat(found).map(Station::getName).contains("Renamed Station");
+        assertThat(cachedName(CacheConfig.STATIONS_BY_EXTERNAL_ID, EXTERNAL_ID))
+                .isEqualTo("Renamed Station");
+    }
+
+    @Test
+    void whenReadOnlyCallerRunsAnUncachedQuery_thenReplicaAnswers() {
+        // When
+        List<Station> found = readOnly.execute(
+                status -> stationRepository.findByCity("Aveiro"));
+
+        // Then
+        assertThat(found).extracting(Station::getName).containsExactly("Old Station");
+    }
+
+    private String cachedName(String cacheName, Object key) {
+        Cache.ValueWrapper cached = cacheManager.getCache(cacheName).get(key);
+        assertThat(cached).isNotNull();
+        return ((Station) cached.get()).getName();
+    }
+
+    private static void seed(JdbcTemplate template, String name) {
+        template.execute("DELETE FROM stations");
+        template.update("INSERT INTO stations (id, external_id, name, address, city, country,"
+                + " latitude, longitude, status, quantity_of_chargers, is_operational)"
+                + " VALUES (?, ?, ?, 'Address', 'Aveiro', 'Portugal', 40.62, -8.65, 'Available',"
+                + " 2, true)", STATION_ID, EXTERNAL_ID, name);
+    }
+}
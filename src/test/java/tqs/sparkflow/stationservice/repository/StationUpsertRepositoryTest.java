@@ -0,0 +1,237 @@
+package tqs.sparkflow.stationservice.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.ResultSet;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+
+import tqs.sparkflow.stationservice.config.CacheConfig;
+import tqs.sparkflow.stationservice.dto.StationImportResult;
+import tqs.sparkflow.stationservice.model.Station;
+
+@ExtendWith(MockitoExtension.class)
+class StationUpsertRepositoryTest {
+
+    @Mock
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    private ConcurrentMapCacheManager cacheManager;
+    private StationUpsertRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager = new ConcurrentMapCacheManager(CacheConfig.STATIONS_BY_ID,
+                CacheConfig.STATIONS_BY_EXTERNAL_ID);
+        repository = new StationUpsertRepository(jdbcTemplate, cacheManager);
+    }
+
+    @Test
+    void whenStationsAreNewChangedAndUnchanged_thenEachIsCountedAndOnlyChangesAreWritten() {
+        // Given
+        Station unchanged = station("1", "Same Name");
+        Station changed = station("2", "New Name");
+        Station fresh = station("3", "Fresh");
+        givenStoredHashes(Map.of("1", StationUpsertRepository.contentHash(unchanged), "2",
+                StationUpsertRepository.contentHash(station("2", "Old Name"))));
+
+        // When
+        StationImportResult result =
+                repository.upsertByExternalId(List.of(unchanged, changed, fresh));
+
+        // Then
+        assertThat(result.getInserted()).isEqualTo(1);
+        assertThat(result.getUpdated()).isEqualTo(1);
+        assertThat(result.getUnchanged()).isEqualTo(1);
+        assertThat(writtenExternalIds()).containsExactly("2", "3");
+    }
+
+    @Test
+    void whenOnlyUpdating_thenNewStationsAreSkipped() {
+        // Given
+        Station changed = station("2", "New Name");
+        Station fresh = station("3", "Fresh");
+        givenStoredHashes(Map.of("2", StationUpsertRepository.contentHash(station("2", "Old"))));
+
+        // When
+        StationImportResult result = repository.updateByExternalId(List.of(changed, fresh));
+
+        // Then
+        assertThat(result.getInserted()).isZero();
+        assertThat(result.getUpdated()).isEqualTo(1);
+        assertThat(writtenExternalIds()).containsExactly("2");
+        verify(jdbcTemplate, never()).batchUpdate(eq(StationUpsertRepository.ADOPT_LEGACY_SQL),
+                any(SqlParameterSource[].class));
+    }
+
+    @Test
+    void whenAllStationsUnchanged_thenNothingIsWritten() {
+        // Given
+        Station station = station("1", "Same Name");
+        givenStoredHashes(Map.of("1", StationUpsertRepository.contentHash(station)));
+
+        // When
+        StationImportResult result = repository.upsertByExternalId(List.of(station));
+
+        // Then
+        assertThat(result.getUnchanged()).isEqualTo(1);
+        assertThat(result.getTotal()).isEqualTo(1);
+        verify(jdbcTemplate, never()).batchUpdate(any(String.class),
+                any(SqlParameterSource[].class));
+    }
+
+    @Test
+    void whenExternalIdRepeatedOrMissing_thenStationIsWrittenOnceAndMissingIsIgnored() {
+        // Given
+        givenStoredHashes(Map.of());
+
+        // When
+        StationImportResult result = repository.upsertByExternalId(
+                Arrays.asList(station("1", "First"), station("1", "Second"), station(null, "None"),
+                        null));
+
+        // Then
+        assertThat(result.getInserted()).isEqualTo(1);
+        assertThat(result.getTotal()).isEqualTo(1);
+        assertThat(writtenExternalIds()).containsExactly("1");
+    }
+
+    @Test
+    void whenNewStationMatchesLegacyStation_thenItIsAdoptedAndCountedAsUpdated() {
+        // Given
+        Station legacyTwin = station("1", "Legacy");
+        Station fresh = station("2", "Fresh");
+        givenStoredHashes(Map.of());
+        when(jdbcTemplate.batchUpdate(eq(StationUpsertRepository.ADOPT_LEGACY_SQL),
+                any(SqlParameterSource[].class))).thenReturn(new int[] {1, 0});
+        Cache byId = cacheManager.getCache(CacheConfig.STATIONS_BY_ID);
+        byId.put(7L, legacyTwin);
+
+        // When
+        StationImportResult result = repository.upsertByExternalId(List.of(legacyTwin, fresh));
+
+        // Then
+        assertThat(result.getUpdated()).isEqualTo(1);
+        assertThat(result.getInserted()).isEqualTo(1);
+        assertThat(writtenExternalIds()).containsExactly("1", "2");
+        assertThat(byId.get(7L)).isNull();
+    }
+
+    @Test
+    void whenStoredHashIsMissing_thenStationIsUpdated() {
+        // Given
+        Station station = station("1", "Name");
+        givenStoredHashes(Collections.singletonMap("1", null));
+
+        // When
+        StationImportResult result = repository.upsertByExternalId(List.of(station));
+
+        // Then
+        assertThat(result.getUpdated()).isEqualTo(1);
+        assertThat(station.getContentHash())
+                .isEqualTo(StationUpsertRepository.contentHash(station));
+    }
+
+    @Test
+    void whenStationsAreUpdated_thenOnlyTheirCacheEntriesAreEvicted() {
+        // Given
+        Station unchanged = station("1", "Same Name");
+        Station changed = station("2", "New Name");
+        Cache byId = cacheManager.getCache(CacheConfig.STATIONS_BY_ID);
+        Cache byExternalId = cacheManager.getCache(CacheConfig.STATIONS_BY_EXTERNAL_ID);
+        byId.put(1L, unchanged);
+        byId.put(2L, changed);
+        byExternalId.put("1", unchanged);
+        byExternalId.put("2", changed);
+        givenStoredHashes(Map.of("1", StationUpsertRepository.contentHash(unchanged), "2",
+                StationUpsertRepository.contentHash(station("2", "Old Name"))));
+
+        // When
+        repository.upsertByExternalId(List.of(unchanged, changed));
+
+        // Then
+        assertThat(byId.get(1L)).isNotNull();
+        assertThat(byExternalId.get("1")).isNotNull();
+        assertThat(byId.get(2L)).isNull();
+        assertThat(byExternalId.get("2")).isNull();
+    }
+
+    @Test
+    void contentHash_ignoresLocallyManagedFields() {
+        Station imported = station("1", "Name");
+        Station managed = station("1", "Name");
+        managed.setPrice(0.45);
+        managed.setIsOperational(false);
+        managed.setStatus("Maintenance");
+
+        assertThat(StationUpsertRepository.contentHash(managed))
+                .isEqualTo(StationUpsertRepository.contentHash(imported));
+    }
+
+    @Test
+    void upsert_leavesLocallyManagedColumnsOutOfTheConflictUpdate() {
+        String onConflict = StationUpsertRepository.UPSERT_SQL
+                .substring(StationUpsertRepository.UPSERT_SQL.indexOf("ON DUPLICATE KEY UPDATE"));
+
+        assertThat(onConflict).doesNotContain("status").doesNotContain("price")
+                .doesNotContain("is_operational");
+    }
+
+    private void givenStoredHashes(Map<String, String> hashes) {
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(2);
+            for (Map.Entry<String, String> entry : hashes.entrySet()) {
+                ResultSet rs = mock(ResultSet.class);
+                when(rs.getLong("id")).thenReturn(Long.valueOf(entry.getKey()));
+                when(rs.getString("external_id")).thenReturn(entry.getKey());
+                when(rs.getString("content_hash")).thenReturn(entry.getValue());
+                handler.processRow(rs);
+            }
+            return null;
+        }).when(jdbcTemplate).query(eq(StationUpsertRepository.SELECT_HASHES_SQL),
+                any(SqlParameterSource.class), any(RowCallbackHandler.class));
+    }
+
+    private List<Object> writtenExternalIds() {
+        ArgumentCaptor<SqlParameterSource[]> captor =
+                ArgumentCaptor.forClass(SqlParameterSource[].class);
+        verify(jdbcTemplate).batchUpdate(eq(StationUpsertRepository.UPSERT_SQL),
+                captor.capture());
+        return Arrays.stream(captor.getValue()).map(p -> p.getValue("externalId")).toList();
+    }
+
+    private Station station(String externalId, String name) {
+        Station station = new Station();
+        station.setExternalId(externalId);
+        station.setName(name);
+        station.setAddress("Address");
+        station.setCity("Aveiro");
+        station.setCountry("Portugal");
+        station.setLatitude(40.62);
+        station.setLongitude(-8.65);
+        station.setStatus("Available");
+        station.setQuantityOfChargers(2);
+        return station;
+    }
+}
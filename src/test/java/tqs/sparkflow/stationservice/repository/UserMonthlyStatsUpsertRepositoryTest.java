@@ -0,0 +1,77 @@
+package tqs.sparkflow.stationservice.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+
+import tqs.sparkflow.stationservice.model.UserMonthlyStats;
+
+@ExtendWith(MockitoExtension.class)
+class UserMonthlyStatsUpsertRepositoryTest {
+
+    @Mock
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    private UserMonthlyStatsUpsertRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = new UserMonthlyStatsUpsertRepository(jdbcTemplate);
+    }
+
+    @Test
+    void whenBookingIsAdded_thenOneUpsertIsSent() {
+        // When
+        repository.addBooking(42L, 202403);
+
+        // Then
+        verify(jdbcTemplate).update(UserMonthlyStatsUpsertRepository.ADD_BOOKING_SQL,
+                Map.of("userId", 42L, "monthKey", 202403));
+    }
+
+    @Test
+    void whenRowsAreReplaced_thenTheyAreWrittenInOneBatch() {
+        // Given
+        UserMonthlyStats march = new UserMonthlyStats(42L, 202403);
+        march.setSessions(3);
+        march.setBookings(2);
+        UserMonthlyStats april = new UserMonthlyStats(42L, 202404);
+
+        // When
+        repository.replaceAll(List.of(march, april));
+
+        // Then
+        ArgumentCaptor<SqlParameterSource[]> captor =
+                ArgumentCaptor.forClass(SqlParameterSource[].class);
+        verify(jdbcTemplate).batchUpdate(eq(UserMonthlyStatsUpsertRepository.REPLACE_SQL),
+                captor.capture());
+        assertThat(captor.getValue()).hasSize(2);
+        assertThat(captor.getValue()[0].getValue("sessions")).isEqualTo(3);
+        assertThat(captor.getValue()[0].getValue("bookings")).isEqualTo(2);
+        assertThat(captor.getValue()[1].getValue("monthKey")).isEqualTo(202404);
+    }
+
+    @Test
+    void whenNoRowsAreReplaced_thenNothingIsSent() {
+        // When
+        repository.replaceAll(List.of());
+
+        // Then
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), any(SqlParameterSource[].class));
+    }
+}
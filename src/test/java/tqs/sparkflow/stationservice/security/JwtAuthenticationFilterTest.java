@@ -3,10 +3,15 @@ package tqs.sparkflow.stationservice.security;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
+import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.MalformedJwtException;
 import io.jsonwebtoken.security.SignatureException;
 import jakarta.servlet.FilterChain;
@@ -14,6 +19,7 @@ import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
+import java.util.List;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -24,6 +30,7 @@ import org.junit.jupiter.params.provider.ValueSource;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import tqs.sparkflow.stationservice.util.JwtUtil;
 
@@ -61,9 +68,7 @@ class JwtAuthenticationFilterTest {
         Boolean isOperator = false;
         
         when(request.getHeader("Authorization")).thenReturn(bearerToken);
-        when(jwtUtil.extractUsername(token)).thenReturn(username);
-        when(jwtUtil.validateToken(token, username)).thenReturn(true);
-        when(jwtUtil.extractIsOperator(token)).thenReturn(isOperator);
+        when(jwtUtil.parseClaims(token)).thenReturn(claims(username, isOperator, null));
         
         // When
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
@@ -89,9 +94,7 @@ class JwtAuthenticationFilterTest {
         Boolean isOperator = true;
         
         when(request.getHeader("Authorization")).thenReturn(bearerToken);
-        when(jwtUtil.extractUsername(token)).thenReturn(username);
-        when(jwtUtil.validateToken(token, username)).thenReturn(true);
-        when(jwtUtil.extractIsOperator(token)).thenReturn(isOperator);
+        when(jwtUtil.parseClaims(token)).thenReturn(claims(username, isOperator, null));
         
         // When
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
@@ -107,17 +110,72 @@ class JwtAuthenticationFilterTest {
         verify(filterChain).doFilter(request, response);
     }
     
+    @Test
+    @DisplayName("Should carry roles claim into the security context")
+    void shouldCarryRolesClaimIntoSecurityContext() throws ServletException, IOException {
+        // Given
+        String token = "valid.jwt.token";
+        
+        when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
+        when(jwtUtil.parseClaims(token))
+            .thenReturn(claims("testuser", 42L, false, List.of("ADMIN")));
+        
+        // When
+        jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
+        
+        // Then
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        assertThat(auth).isInstanceOf(JwtRoleAuthenticationToken.class);
+        assertThat(auth.getAuthorities()).extracting(GrantedAuthority::getAuthority)
+            .containsExactly("ROLE_USER", "ROLE_ADMIN");
+        assertThat(JwtRoleAuthenticationToken.currentUserHasRole(42L, "ADMIN")).contains(true);
+        assertThat(JwtRoleAuthenticationToken.currentUserHasRole(7L, "ADMIN")).isEmpty();
+    }
+    
+    @Test
+    @DisplayName("Should not take a numeric subject for the user ID")
+    void shouldNotTakeNumericSubjectForUserId() throws ServletException, IOException {
+        // Given
+        String token = "valid.jwt.token";
+        
+        when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
+        when(jwtUtil.parseClaims(token)).thenReturn(claims("42", false, List.of("ADMIN")));
+        
+        // When
+        jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
+        
+        // Then
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNotNull();
+        assertThat(JwtRoleAuthenticationToken.currentUserHasRole(42L, "ADMIN")).isEmpty();
+    }
+    
+    @Test
+    @DisplayName("Should leave role checks to user-service when token has no roles claim")
+    void shouldLeaveRoleChecksToUserServiceWhenTokenHasNoRolesClaim()
+            throws ServletException, IOException {
+        // Given
+        String token = "valid.jwt.token";
+        
+        when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
+        when(jwtUtil.parseClaims(token)).thenReturn(claims("testuser", 42L, false, null));
+        
+        // When
+        jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
+        
+        // Then
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNotNull();
+        assertThat(JwtRoleAuthenticationToken.currentUserHasRole(42L, "ADMIN")).isEmpty();
+    }
+    
     @Test
     @DisplayName("Should not authenticate with invalid token")
     void shouldNotAuthenticateWithInvalidToken() throws ServletException, IOException {
         // Given
         String token = "invalid.jwt.token";
         String bearerToken = "Bearer " + token;
-        String username = "testuser";
         
         when(request.getHeader("Authorization")).thenReturn(bearerToken);
-        when(jwtUtil.extractUsername(token)).thenReturn(username);
-        when(jwtUtil.validateToken(token, username)).thenReturn(false);
+        when(jwtUtil.parseClaims(token)).thenThrow(new JwtException("Invalid token"));
         
         // When
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
@@ -127,7 +185,6 @@ class JwtAuthenticationFilterTest {
         assertThat(auth).isNull();
         
         verify(filterChain).doFilter(request, response);
-        verify(jwtUtil, never()).extractIsOperator(anyString());
     }
     
     @ParameterizedTest
@@ -150,7 +207,7 @@ class JwtAuthenticationFilterTest {
         assertThat(auth).isNull();
         
         verify(filterChain).doFilter(request, response);
-        verify(jwtUtil, never()).extractUsername(anyString());
+        verify(jwtUtil, never()).parseClaims(anyString());
     }
     
     @Test
@@ -161,7 +218,7 @@ class JwtAuthenticationFilterTest {
         String bearerToken = "Bearer " + token;
         
         when(request.getHeader("Authorization")).thenReturn(bearerToken);
-        when(jwtUtil.extractUsername(token)).thenThrow(new ExpiredJwtException(null, null, "Token expired"));
+        when(jwtUtil.parseClaims(token)).thenThrow(new ExpiredJwtException(null, null, "Token expired"));
         
         // When
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
@@ -181,7 +238,7 @@ class JwtAuthenticationFilterTest {
         String bearerToken = "Bearer " + token;
         
         when(request.getHeader("Authorization")).thenReturn(bearerToken);
-        when(jwtUtil.extractUsername(token)).thenThrow(new SignatureException("Invalid signature"));
+        when(jwtUtil.parseClaims(token)).thenThrow(new SignatureException("Invalid signature"));
         
         // When
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
@@ -201,7 +258,7 @@ class JwtAuthenticationFilterTest {
         String bearerToken = "Bearer " + token;
         
         when(request.getHeader("Authorization")).thenReturn(bearerToken);
-        when(jwtUtil.extractUsername(token)).thenThrow(new MalformedJwtException("Malformed token"));
+        when(jwtUtil.parseClaims(token)).thenThrow(new MalformedJwtException("Malformed token"));
         
         // When
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
@@ -219,11 +276,9 @@ class JwtAuthenticationFilterTest {
         // Given
         String token = "valid.jwt.token";
         String bearerToken = "Bearer " + token;
-        String username = "testuser";
         
         when(request.getHeader("Authorization")).thenReturn(bearerToken);
-        when(jwtUtil.extractUsername(token)).thenReturn(username);
-        when(jwtUtil.validateToken(token, username)).thenThrow(new IllegalArgumentException("Validation error"));
+        when(jwtUtil.parseClaims(token)).thenThrow(new IllegalArgumentException("Validation error"));
         
         // When
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
@@ -250,7 +305,7 @@ class JwtAuthenticationFilterTest {
         SecurityContextHolder.getContext().setAuthentication(existingAuth);
         
         when(request.getHeader("Authorization")).thenReturn(bearerToken);
-        when(jwtUtil.extractUsername(token)).thenReturn(username);
+        when(jwtUtil.parseClaims(token)).thenReturn(claims(username, true, List.of("ADMIN")));
         
         // When
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
@@ -258,9 +313,9 @@ class JwtAuthenticationFilterTest {
         // Then
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
         assertThat(auth.getName()).isEqualTo("existinguser");
+        assertThat(auth.getAuthorities()).isEmpty();
         
         verify(filterChain).doFilter(request, response);
-        verify(jwtUtil, never()).validateToken(anyString(), anyString());
     }
     
     @Test
@@ -271,7 +326,7 @@ class JwtAuthenticationFilterTest {
         String bearerToken = "Bearer " + token;
         
         when(request.getHeader("Authorization")).thenReturn(bearerToken);
-        when(jwtUtil.extractUsername(token)).thenReturn(null);
+        when(jwtUtil.parseClaims(token)).thenReturn(claims(null, false, null));
         
         // When
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
@@ -281,7 +336,6 @@ class JwtAuthenticationFilterTest {
         assertThat(auth).isNull();
         
         verify(filterChain).doFilter(request, response);
-        verify(jwtUtil, never()).validateToken(anyString(), anyString());
     }
     
     @Test
@@ -292,7 +346,7 @@ class JwtAuthenticationFilterTest {
         String bearerToken = "Bearer " + token;
         
         when(request.getHeader("Authorization")).thenReturn(bearerToken);
-        when(jwtUtil.extractUsername(token)).thenReturn("");
+        when(jwtUtil.parseClaims(token)).thenReturn(claims("", false, null));
         
         // When
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
@@ -302,7 +356,40 @@ class JwtAuthenticationFilterTest {
         assertThat(auth).isNull();
         
         verify(filterChain).doFilter(request, response);
-        // Empty username should still cause validation to be skipped
-        verify(jwtUtil, never()).validateToken(anyString(), anyString());
+    }
+    
+    @Test
+    @DisplayName("Should verify the token only once per request")
+    void shouldVerifyTokenOnlyOncePerRequest() throws ServletException, IOException {
+        // Given
+        String token = "valid.jwt.token";
+        
+        when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
+        when(jwtUtil.parseClaims(token)).thenReturn(claims("testuser", false, List.of("USER")));
+        
+        // When
+        jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
+        
+        // Then
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNotNull();
+        verify(jwtUtil, times(1)).parseClaims(token);
+        verifyNoMoreInteractions(jwtUtil);
+    }
+    
+    private static Claims claims(String subject, Boolean isOperator, List<String> roles) {
+        return claims(subject, null, isOperator, roles);
+    }
+    
+    private static Claims claims(String subject, Long userId, Boolean isOperator,
+            List<String> roles) {
+        Claims claims = Jwts.claims().setSubject(subject);
+        claims.put("isOperator", isOperator);
+        if (userId != null) {
+            claims.put("userId", userId);
+        }
+        if (roles != null) {
+            claims.put("roles", roles);
+        }
+        return claims;
     }
 }
\ No newline at end of file
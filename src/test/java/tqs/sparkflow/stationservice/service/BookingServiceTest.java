@@ -4,6 +4,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
@@ -15,21 +16,32 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
 import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import tqs.sparkflow.stationservice.config.UserServiceCacheConfig;
 import tqs.sparkflow.stationservice.model.Booking;
 import tqs.sparkflow.stationservice.model.BookingStatus;
 import tqs.sparkflow.stationservice.model.Station;
 import tqs.sparkflow.stationservice.repository.BookingRepository;
 import tqs.sparkflow.stationservice.repository.StationRepository;
+import tqs.sparkflow.stationservice.security.JwtRoleAuthenticationToken;
 
 /**
  * Comprehensive unit tests for BookingServiceImpl class. Tests all public methods, error scenarios,
@@ -47,6 +59,12 @@ class BookingServiceTest {
         @Mock
         private RestTemplate restTemplate;
 
+        @Mock
+        private StatisticsRollupService statisticsRollupService;
+
+        @Mock
+        private PlatformTransactionManager transactionManager;
+
         private BookingServiceImpl bookingService;
 
         private static final String USER_SERVICE_URL = "http://test-user-service:8081";
@@ -58,8 +76,11 @@ class BookingServiceTest {
 
         @BeforeEach
         void setUp() {
+                UserServiceClient userServiceClient = new UserServiceClient(restTemplate,
+                                USER_SERVICE_URL, "/users/", new UserServiceCacheConfig(),
+                                new SimpleMeterRegistry());
                 bookingService = new BookingServiceImpl(bookingRepository, stationRepository,
-                                restTemplate, USER_SERVICE_URL);
+                                userServiceClient, statisticsRollupService, transactionManager);
 
                 now = LocalDateTime.now();
                 recurringDays = new HashSet<>(Arrays.asList(1, 2, 3)); // Monday, Tuesday, Wednesday
@@ -79,6 +100,19 @@ class BookingServiceTest {
                 testBooking.setStatus(BookingStatus.ACTIVE);
         }
 
+        @AfterEach
+        void tearDown() {
+                SecurityContextHolder.clearContext();
+        }
+
+        private void authenticateWithRoles(Long userId, String... roles) {
+                List<SimpleGrantedAuthority> authorities = Arrays.stream(roles)
+                                .map(role -> new SimpleGrantedAuthority("ROLE_" + role)).toList();
+                SecurityContextHolder.getContext().setAuthentication(
+                                new JwtRoleAuthenticationToken("testuser", userId,
+                                                authorities, true));
+        }
+
         // ===============================================
         // Tests for createRecurringBooking method
         // ===============================================
@@ -102,6 +136,37 @@ class BookingServiceTest {
                 assertThat(createdBooking.getUserId()).isEqualTo(1L);
                 assertThat(createdBooking.getStatus()).isEqualTo(BookingStatus.ACTIVE);
                 verify(bookingRepository).save(any(Booking.class));
+                verify(statisticsRollupService).recordBooking(testBooking);
+                verify(transactionManager).commit(any());
+        }
+
+        @Test
+        @DisplayName("Should validate the user while the station is being read")
+        void whenCreateRecurringBooking_thenUserCheckOverlapsStationReads() {
+                // Given: the user-service answer is held back until the station has been read
+                CountDownLatch stationRead = new CountDownLatch(1);
+                when(restTemplate.getForObject(anyString(), eq(Object.class))).thenAnswer(
+                                invocation -> {
+                                        if (!stationRead.await(5, TimeUnit.SECONDS)) {
+                                                throw new RestClientException("Not concurrent");
+                                        }
+                                        return new Object();
+                                });
+                when(stationRepository.findById(1L)).thenAnswer(invocation -> {
+                        stationRead.countDown();
+                        return Optional.of(testStation);
+                });
+                when(bookingRepository.findOverlappingBookings(any(), any(), any()))
+                                .thenReturn(List.of());
+                when(bookingRepository.save(any(Booking.class))).thenReturn(testBooking);
+
+                // When
+                Booking createdBooking = bookingService.createRecurringBooking(1L, 1L, now,
+                                now.plusHours(2), recurringDays);
+
+                // Then
+                assertThat(createdBooking).isNotNull();
+                assertThat(stationRead.getCount()).isZero();
         }
 
         @Test
@@ -148,12 +213,42 @@ class BookingServiceTest {
 
         @Test
         void whenGetAllBookings_thenReturnList() {
+                when(restTemplate.getForObject(anyString(), eq(Boolean.class))).thenReturn(true);
                 when(bookingRepository.findAll()).thenReturn(List.of(testBooking));
 
                 List<Booking> bookings = bookingService.getAllBookings(1L);
 
                 assertThat(bookings).hasSize(1);
                 assertThat(bookings.get(0).getId()).isEqualTo(1L);
+                verify(transactionManager).getTransaction(
+                                argThat(TransactionDefinition::isReadOnly));
+        }
+
+        @Test
+        void whenTokenCarriesAdminRole_thenAdminCheckIsLocal() {
+                authenticateWithRoles(1L, "ADMIN");
+                when(bookingRepository.findAll()).thenReturn(List.of(testBooking));
+
+                List<Booking> bookings = bookingService.getAllBookings(1L);
+
+                assertThat(bookings).hasSize(1);
+                verify(restTemplate, never()).getForObject(anyString(), eq(Boolean.class));
+        }
+
+        @Test
+        void whenTokenCarriesRolesWithoutAdmin_thenAccessIsDeniedWithoutRemoteCheck() {
+                authenticateWithRoles(1L);
+                when(bookingRepository.findByStationIdAndUserId(1L, 1L))
+                                .thenReturn(List.of(testBooking));
+
+                List<Booking> bookings = bookingService.getBookingsByStationId(1L, 1L);
+
+                assertThat(bookings).hasSize(1);
+                verify(bookingRepository, never()).findByStationId(1L);
+                verify(restTemplate, never()).getForObject(anyString(), eq(Boolean.class));
+                assertThatThrownBy(() -> bookingService.getAllBookings(1L))
+                                .isInstanceOf(IllegalStateException.class)
+                                .hasMessage("User not authorized to access all bookings");
         }
 
         @Test
@@ -168,6 +263,7 @@ class BookingServiceTest {
 
         @Test
         void whenGetBookingsByStationId_thenReturnList() {
+                when(restTemplate.getForObject(anyString(), eq(Boolean.class))).thenReturn(true);
                 when(bookingRepository.findByStationId(1L)).thenReturn(List.of(testBooking));
 
                 List<Booking> bookings = bookingService.getBookingsByStationId(1L, 1L);
@@ -178,9 +274,10 @@ class BookingServiceTest {
 
         @Test
         void whenGetBookingsByUserId_thenReturnList() {
-                when(bookingRepository.findByUserId(1L)).thenReturn(List.of(testBooking));
+                when(bookingRepository.findRecentBookingsByUser(1L, PageRequest.of(0, 20)))
+                                .thenReturn(List.of(testBooking));
 
-                List<Booking> bookings = bookingService.getBookingsByUserId(1L);
+                List<Booking> bookings = bookingService.getBookingsByUserId(1L, 0, 20);
 
                 assertThat(bookings).hasSize(1);
                 assertThat(bookings.get(0).getUserId()).isEqualTo(1L);
@@ -198,6 +295,7 @@ class BookingServiceTest {
                                 endTime, recurringDays)).isInstanceOf(IllegalStateException.class)
                                                 .hasMessageContaining(
                                                                 "User not found or not authorized");
+                verify(transactionManager, never()).getTransaction(any());
         }
 
         @Test
@@ -210,6 +308,7 @@ class BookingServiceTest {
                 assertThatThrownBy(() -> bookingService.getAllBookings(99L))
                                 .isInstanceOf(IllegalStateException.class)
                                 .hasMessageContaining("User not found or not authorized");
+                verify(transactionManager, never()).getTransaction(any());
         }
 
         @Test
@@ -222,6 +321,7 @@ class BookingServiceTest {
                 assertThatThrownBy(() -> bookingService.getBookingsByStationId(99L, 99L))
                                 .isInstanceOf(IllegalStateException.class)
                                 .hasMessageContaining("User not found or not authorized");
+                verify(transactionManager, never()).getTransaction(any());
         }
 
         @Test
@@ -231,7 +331,7 @@ class BookingServiceTest {
                                 .thenThrow(new RestClientException("User not found"));
 
                 // When & Then
-                assertThatThrownBy(() -> bookingService.getBookingsByUserId(99L))
+                assertThatThrownBy(() -> bookingService.getBookingsByUserId(99L, 0, 20))
                                 .isInstanceOf(IllegalStateException.class)
                                 .hasMessageContaining("User not found or not authorized");
         }
@@ -0,0 +1,135 @@
+package tqs.sparkflow.stationservice.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import tqs.sparkflow.stationservice.config.ChargingSessionRefBackfillConfig;
+import tqs.sparkflow.stationservice.repository.ChargingSessionRefBackfillRepository;
+import tqs.sparkflow.stationservice.repository.PartitionRepository;
+
+@ExtendWith(MockitoExtension.class)
+class ChargingSessionRefBackfillServiceTest {
+
+    private static final String SESSIONS = "charging_sessions";
+    private static final String ARCHIVE = "charging_sessions_archive";
+
+    @Mock
+    private ChargingSessionRefBackfillRepository backfillRepository;
+
+    @Mock
+    private PartitionRepository partitionRepository;
+
+    private ChargingSessionRefBackfillConfig config;
+
+    private ChargingSessionRefBackfillService backfillService;
+
+    @BeforeEach
+    void setUp() {
+        config = new ChargingSessionRefBackfillConfig();
+        config.setBatchSize(100);
+        config.setPause(Duration.ZERO);
+        backfillService = new ChargingSessionRefBackfillService(backfillRepository,
+                partitionRepository, config);
+        lenient().when(partitionRepository.runExclusively(
+                eq(ChargingSessionRefBackfillService.LOCK_NAME), any())).thenAnswer(invocation -> {
+                    invocation.<Runnable>getArgument(1).run();
+                    return true;
+                });
+    }
+
+    @Test
+    void whenSessionsLackReferences_thenTheirIdsAreWalkedInBatchSizeRanges() {
+        // Given
+        when(backfillRepository.tableExists(SESSIONS)).thenReturn(true);
+        when(backfillRepository.tableExists(ARCHIVE)).thenReturn(false);
+        when(backfillRepository.findPendingIdRange(SESSIONS))
+                .thenReturn(Optional.of(new long[] {1, 250}));
+        when(backfillRepository.backfillRange(eq(SESSIONS), anyLong(), anyLong()))
+                .thenReturn(100, 100, 50);
+
+        // When
+        long updated = backfillService.backfill();
+
+        // Then
+        assertThat(updated).isEqualTo(250);
+        InOrder order = inOrder(backfillRepository);
+        order.verify(backfillRepository).backfillRange(SESSIONS, 1, 101);
+        order.verify(backfillRepository).backfillRange(SESSIONS, 101, 201);
+        order.verify(backfillRepository).backfillRange(SESSIONS, 201, 301);
+        order.verifyNoMoreInteractions();
+        assertThat(backfillService.isComplete()).isTrue();
+    }
+
+    @Test
+    void whenNoSessionLacksReferences_thenNothingIsUpdated() {
+        // Given
+        when(backfillRepository.tableExists(anyString())).thenReturn(true);
+        when(backfillRepository.findPendingIdRange(anyString())).thenReturn(Optional.empty());
+
+        // When
+        long updated = backfillService.backfill();
+
+        // Then
+        assertThat(updated).isZero();
+        verify(backfillRepository, never()).backfillRange(anyString(), anyLong(), anyLong());
+        assertThat(backfillService.isComplete()).isTrue();
+    }
+
+    @Test
+    void whenAnotherInstanceHoldsTheLock_thenTheRunIsSkippedAndRetriedLater() {
+        // Given
+        when(partitionRepository.runExclusively(
+                eq(ChargingSessionRefBackfillService.LOCK_NAME), any())).thenReturn(false);
+
+        // When
+        long updated = backfillService.backfill();
+
+        // Then
+        assertThat(updated).isZero();
+        assertThat(backfillService.isComplete()).isFalse();
+    }
+
+    @Test
+    void whenTheBackfillHasCompleted_thenScheduledRunsStop() {
+        // Given
+        when(backfillRepository.tableExists(anyString())).thenReturn(false);
+        backfillService.scheduledBackfill();
+
+        // When
+        backfillService.scheduledBackfill();
+
+        // Then
+        verify(partitionRepository).runExclusively(eq(ChargingSessionRefBackfillService.LOCK_NAME),
+                any());
+    }
+
+    @Test
+    void whenBackfillIsDisabled_thenScheduledRunDoesNothing() {
+        // Given
+        config.setEnabled(false);
+
+        // When
+        backfillService.scheduledBackfill();
+
+        // Then
+        verify(partitionRepository, never()).runExclusively(anyString(), any());
+    }
+}
@@ -7,6 +7,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -33,6 +34,9 @@ class ChargingSessionServiceIT {
     @Autowired
     private StationRepository stationRepository;
 
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
     private Station testStation;
 
     @BeforeEach
@@ -59,8 +63,8 @@ class ChargingSessionServiceIT {
     @Test
     void whenCreateSession_thenSessionIsCreated() {
         // Given
-        String stationId = testStation.getId().toString();
-        String userId = "1";
+        Long stationId = testStation.getId();
+        Long userId = 1L;
 
         // When
         ChargingSession result = chargingSessionService.createSession(stationId, userId);
@@ -77,8 +81,8 @@ class ChargingSessionServiceIT {
     @Test
     void whenEndSession_thenSessionIsCompleted() {
         // Given
-        String stationId = testStation.getId().toString();
-        String userId = "1";
+        Long stationId = testStation.getId();
+        Long userId = 1L;
         ChargingSession session = chargingSessionService.createSession(stationId, userId);
 
         // When
@@ -90,11 +94,26 @@ class ChargingSessionServiceIT {
         assertThat(result.getEndTime()).isNotNull();
     }
 
+    @Test
+    void whenEndSessionTwice_thenFirstEndTimeIsKept() {
+        // Given
+        ChargingSession session = chargingSessionService.createSession(testStation.getId(), 1L);
+        ChargingSession ended = chargingSessionService.endSession(session.getId().toString());
+
+        // When
+        ChargingSession endedAgain =
+                chargingSessionService.endSession(session.getId().toString());
+
+        // Then
+        assertThat(endedAgain.isFinished()).isTrue();
+        assertThat(endedAgain.getEndTime()).isEqualTo(ended.getEndTime());
+    }
+
     @Test
     void whenGetSession_thenReturnSession() {
         // Given
-        String stationId = testStation.getId().toString();
-        String userId = "1";
+        Long stationId = testStation.getId();
+        Long userId = 1L;
         ChargingSession session = chargingSessionService.createSession(stationId, userId);
 
         // When
@@ -130,8 +149,8 @@ class ChargingSessionServiceIT {
     @Test
     void whenCompleteChargingFlow_thenAllStatesAreCorrect() {
         // Given
-        String stationId = testStation.getId().toString();
-        String userId = "1";
+        Long stationId = testStation.getId();
+        Long userId = 1L;
 
         // When
         ChargingSession created = chargingSessionService.createSession(stationId, userId);
@@ -145,4 +164,22 @@ class ChargingSessionServiceIT {
         assertThat(created.getStartTime()).isNotNull();
         assertThat(completed.getEndTime()).isNotNull();
     }
+
+    @Test
+    void whenCreateSession_thenLegacyIdColumnsAreStillWritten() {
+        // Given
+        Long stationId = testStation.getId();
+
+        // When
+        ChargingSession session = chargingSessionService.createSession(stationId, 7L);
+        chargingSessionRepository.flush();
+
+        // Then
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT station_id FROM charging_sessions WHERE id = ?", String.class,
+                session.getId())).isEqualTo(stationId.toString());
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT user_id FROM charging_sessions WHERE id = ?", String.class,
+                session.getId())).isEqualTo("7");
+    }
 }
@@ -5,6 +5,7 @@ import static org.mockito.Mockito.*;
 
 import java.time.LocalDateTime;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -13,6 +14,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
 
 import tqs.sparkflow.stationservice.exception.ChargingSessionNotFoundException;
 import tqs.sparkflow.stationservice.model.Booking;
@@ -33,19 +35,22 @@ class ChargingSessionServiceTest {
         @Mock
         private StationService stationService;
 
+        @Mock
+        private StatisticsRollupService statisticsRollupService;
+
         private ChargingSessionService chargingSessionService;
 
         @BeforeEach
         void setUp() {
                 chargingSessionService = new ChargingSessionService(chargingSessionRepository,
-                                bookingRepository, stationService);
+                                bookingRepository, stationService, statisticsRollupService);
         }
 
         @Test
         void whenCreateSessionAndFreeChargersExists_thenSessionIsCreatedAndStarted() {
                 // Given
-                String stationId = "1";
-                String userId = "1";
+                Long stationId = 1L;
+                Long userId = 1L;
                 ChargingSession session = new ChargingSession(stationId, userId);
                 when(chargingSessionRepository.save(any(ChargingSession.class)))
                                 .thenReturn(session);
@@ -67,8 +72,8 @@ class ChargingSessionServiceTest {
         @Test
         void whenCreateSessionAndNoFreeChargersExists_thenSessionIsNotCreated() {
                 // Given
-                String stationId = "1";
-                String userId = "123";
+                Long stationId = 1L;
+                Long userId = 123L;
                 doThrow(new IllegalStateException(
                                 "Cannot start session: no booking or free chargers available"))
                                                 .when(stationService)
@@ -87,8 +92,8 @@ class ChargingSessionServiceTest {
         @Test
         void whenCreateSession_thenValidationIsCalledWithCorrectParameters() {
                 // Given
-                String stationId = "123";
-                String userId = "456";
+                Long stationId = 123L;
+                Long userId = 456L;
                 ChargingSession session = new ChargingSession(stationId, userId);
                 when(chargingSessionRepository.save(any(ChargingSession.class)))
                                 .thenReturn(session);
@@ -106,8 +111,8 @@ class ChargingSessionServiceTest {
         @Test
         void whenCreateSession_withInvalidUser_thenThrowException() {
                 // Given
-                String stationId = "1";
-                String userId = "1";
+                Long stationId = 1L;
+                Long userId = 1L;
                 doThrow(new IllegalStateException(
                                 "Cannot start session: no booking or free chargers available"))
                                                 .when(stationService).validateSessionStart(1L, 1L);
@@ -125,8 +130,8 @@ class ChargingSessionServiceTest {
         @Test
         void whenCreateSession_thenSessionHasCorrectInitialState() {
                 // Given
-                String stationId = "1";
-                String userId = "1";
+                Long stationId = 1L;
+                Long userId = 1L;
                 ArgumentCaptor<ChargingSession> sessionCaptor =
                                 ArgumentCaptor.forClass(ChargingSession.class);
                 when(chargingSessionRepository.save(sessionCaptor.capture()))
@@ -154,15 +159,15 @@ class ChargingSessionServiceTest {
         @Test
         void whenCreateSession_thenClosesUserBooking() {
                 // Given
-                String stationId = "1";
-                String userId = "123";
+                Long stationId = 1L;
+                Long userId = 123L;
 
                 ChargingSession session = new ChargingSession(stationId, userId);
 
                 Booking userBooking = new Booking();
                 userBooking.setId(1L);
-                userBooking.setStationId(Long.valueOf(stationId));
-                userBooking.setUserId(Long.valueOf(userId));
+                userBooking.setStationId(stationId);
+                userBooking.setUserId(userId);
                 userBooking.setStatus(BookingStatus.ACTIVE);
                 userBooking.setStartTime(LocalDateTime.now().minusMinutes(30));
                 userBooking.setEndTime(LocalDateTime.now().plusMinutes(30));
@@ -196,8 +201,8 @@ class ChargingSessionServiceTest {
         @Test
         void whenCreateSession_withMultipleBookings_thenClosesOnlyUserBooking() {
                 // Given
-                String stationId = "1";
-                String userId = "123";
+                Long stationId = 1L;
+                Long userId = 123L;
 
                 ChargingSession session = new ChargingSession(stationId, userId);
 
@@ -238,8 +243,8 @@ class ChargingSessionServiceTest {
         @Test
         void whenCreateSession_withNoActiveBookings_thenNoBookingIsClosed() {
                 // Given
-                String stationId = "1";
-                String userId = "123";
+                Long stationId = 1L;
+                Long userId = 123L;
                 ChargingSession session = new ChargingSession(stationId, userId);
 
                 when(chargingSessionRepository.save(any(ChargingSession.class)))
@@ -264,10 +269,7 @@ class ChargingSessionServiceTest {
                 ChargingSession session = new ChargingSession();
                 session.setId(sessionId);
                 session.setStartTime(LocalDateTime.now().minusHours(1));
-                when(chargingSessionRepository.findById(sessionId))
-                                .thenReturn(Optional.of(session));
-                when(chargingSessionRepository.save(any(ChargingSession.class)))
-                                .thenReturn(session);
+                finishInDatabase(sessionId, session);
 
                 // When
                 ChargingSession result = chargingSessionService.endSession(sessionId.toString());
@@ -276,7 +278,8 @@ class ChargingSessionServiceTest {
                 assertNotNull(result);
                 assertTrue(result.isFinished());
                 assertNotNull(result.getEndTime());
-                verify(chargingSessionRepository).save(any(ChargingSession.class));
+                verify(chargingSessionRepository, never()).save(any(ChargingSession.class));
+                verify(statisticsRollupService).recordFinishedSession(session);
         }
 
         @Test
@@ -286,11 +289,7 @@ class ChargingSessionServiceTest {
                 ChargingSession session = new ChargingSession();
                 session.setStartTime(LocalDateTime.now());
                 LocalDateTime beforeEnd = LocalDateTime.now();
-
-                when(chargingSessionRepository.findById(sessionId))
-                                .thenReturn(Optional.of(session));
-                when(chargingSessionRepository.save(any(ChargingSession.class)))
-                                .thenReturn(session);
+                finishInDatabase(sessionId, session);
 
                 // When
                 ChargingSession result = chargingSessionService.endSession(sessionId.toString());
@@ -317,31 +316,32 @@ class ChargingSessionServiceTest {
                                                 () -> chargingSessionService.endSession(sessionId));
 
                 assertEquals("Session not found: " + sessionId, exception.getMessage());
-                verify(chargingSessionRepository, never()).save(any(ChargingSession.class));
+                verify(statisticsRollupService, never()).recordFinishedSession(any());
         }
 
         @Test
-        void whenEndSession_withAlreadyFinishedSession_thenStillCompletes() {
+        void whenEndSession_withAlreadyFinishedSession_thenItIsLeftUnchanged() {
                 // Given
                 Long sessionId = 1L;
+                LocalDateTime endTime = LocalDateTime.now().minusMinutes(30);
                 ChargingSession session = new ChargingSession();
                 session.setId(sessionId);
                 session.setFinished(true);
-                session.setEndTime(LocalDateTime.now().minusMinutes(30));
+                session.setEndTime(endTime);
 
+                when(chargingSessionRepository.finishSession(eq(sessionId),
+                                any(LocalDateTime.class))).thenReturn(0);
                 when(chargingSessionRepository.findById(sessionId))
                                 .thenReturn(Optional.of(session));
-                when(chargingSessionRepository.save(any(ChargingSession.class)))
-                                .thenReturn(session);
 
                 // When
                 ChargingSession result = chargingSessionService.endSession(sessionId.toString());
 
                 // Then
-                assertNotNull(result);
                 assertTrue(result.isFinished());
-                assertNotNull(result.getEndTime());
-                verify(chargingSessionRepository).save(any(ChargingSession.class));
+                assertEquals(endTime, result.getEndTime());
+                verify(chargingSessionRepository, never()).save(any(ChargingSession.class));
+                verify(statisticsRollupService, never()).recordFinishedSession(any());
         }
 
         @Test
@@ -350,8 +350,8 @@ class ChargingSessionServiceTest {
                 String sessionId = "1";
                 ChargingSession session = new ChargingSession();
                 session.setId(1L);
-                session.setStationId("1");
-                session.setUserId("123");
+                session.setStationId(1L);
+                session.setUserId(123L);
                 when(chargingSessionRepository.findById(1L)).thenReturn(Optional.of(session));
 
                 // When
@@ -361,8 +361,8 @@ class ChargingSessionServiceTest {
                 assertNotNull(result);
                 assertEquals(session, result);
                 assertEquals(1L, result.getId());
-                assertEquals("1", result.getStationId());
-                assertEquals("123", result.getUserId());
+                assertEquals(1L, result.getStationId());
+                assertEquals(123L, result.getUserId());
         }
 
         @Test
@@ -390,28 +390,6 @@ class ChargingSessionServiceTest {
                                 () -> chargingSessionService.getSession(invalidSessionId));
         }
 
-        @Test
-        void whenCreateSession_withInvalidStationIdFormat_thenThrowNumberFormatException() {
-                // Given
-                String invalidStationId = "invalid";
-                String userId = "1";
-
-                // When/Then
-                assertThrows(NumberFormatException.class, () -> chargingSessionService
-                                .createSession(invalidStationId, userId));
-        }
-
-        @Test
-        void whenCreateSession_withInvalidUserIdFormat_thenThrowNumberFormatException() {
-                // Given
-                String stationId = "1";
-                String invalidUserId = "invalid";
-
-                // When/Then
-                assertThrows(NumberFormatException.class, () -> chargingSessionService
-                                .createSession(stationId, invalidUserId));
-        }
-
         @Test
         void whenEndSession_withInvalidSessionIdFormat_thenThrowNumberFormatException() {
                 // Given
@@ -425,8 +403,8 @@ class ChargingSessionServiceTest {
         @Test
         void whenCreateSession_thenBookingRepositoryIsCalledWithCorrectParameters() {
                 // Given
-                String stationId = "42";
-                String userId = "123";
+                Long stationId = 42L;
+                Long userId = 123L;
                 ChargingSession session = new ChargingSession(stationId, userId);
 
                 when(chargingSessionRepository.save(any(ChargingSession.class)))
@@ -450,4 +428,40 @@ class ChargingSessionServiceTest {
                 assertTrue(timeCaptor.getValue().isBefore(LocalDateTime.now().plusSeconds(1)));
                 assertTrue(timeCaptor.getValue().isAfter(LocalDateTime.now().minusSeconds(1)));
         }
+
+        @Test
+        void whenGetSessionsByUser_thenOnePageIsRequestedWithACappedSize() {
+                // Given
+                ChargingSession session = new ChargingSession(1L, 7L);
+                when(chargingSessionRepository.findRecentSessionsByUser(7L,
+                                PageRequest.of(2, HistoryPages.MAX_PAGE_SIZE)))
+                                .thenReturn(List.of(session));
+
+                // When
+                List<ChargingSession> sessions =
+                                chargingSessionService.getSessionsByUser(7L, 2, 1000);
+
+                // Then
+                assertEquals(List.of(session), sessions);
+        }
+
+        @Test
+        void whenGetSessionsByUser_withNegativePage_thenThrowException() {
+                // When & Then
+                assertThrows(IllegalArgumentException.class,
+                                () -> chargingSessionService.getSessionsByUser(7L, -1, 20));
+                verifyNoInteractions(chargingSessionRepository);
+        }
+
+        /** Makes the conditional update finish the session, as the database would. */
+        private void finishInDatabase(Long sessionId, ChargingSession session) {
+                when(chargingSessionRepository.finishSession(eq(sessionId),
+                                any(LocalDateTime.class))).thenAnswer(invocation -> {
+                                        session.setFinished(true);
+                                        session.setEndTime(invocation.getArgument(1));
+                                        return 1;
+                                });
+                when(chargingSessionRepository.findById(sessionId))
+                                .thenReturn(Optional.of(session));
+        }
 }
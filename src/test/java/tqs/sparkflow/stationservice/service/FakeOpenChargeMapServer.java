@@ -0,0 +1,121 @@
+package tqs.sparkflow.stationservice.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Local stand-in for the OpenChargeMap POI endpoint. It serves the POIs it was given and honours
+ * the {@code modifiedsince}, {@code greaterthanid} and {@code maxresults} parameters, so delta
+ * sync and pagination can be tested without network access.
+ */
+class FakeOpenChargeMapServer implements AutoCloseable {
+
+    private final HttpServer server;
+    private final List<Map<String, Object>> pois = new CopyOnWriteArrayList<>();
+    private final List<Map<String, String>> requests = new CopyOnWriteArrayList<>();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private volatile int failWithStatus;
+
+    FakeOpenChargeMapServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/poi", this::handle);
+        server.start();
+    }
+
+    String baseUrl() {
+        return "http://localhost:" + server.getAddress().getPort() + "/poi";
+    }
+
+    /** Adds a POI with the given OpenChargeMap ID, last modified at the given UTC time. */
+    void addPoi(long id, String title, LocalDateTime modifiedAt) {
+        Map<String, Object> addressInfo = new HashMap<>();
+        addressInfo.put("Title", title);
+        addressInfo.put("AddressLine1", "Rua " + id);
+        addressInfo.put("Town", "Lisboa");
+        addressInfo.put("Country", "Portugal");
+        addressInfo.put("Latitude", 38.7);
+        addressInfo.put("Longitude", -9.1);
+
+        Map<String, Object> poi = new HashMap<>();
+        poi.put("ID", id);
+        poi.put("DateLastStatusUpdate", modifiedAt.toInstant(ZoneOffset.UTC).toString());
+        poi.put("AddressInfo", addressInfo);
+        poi.put("Connections", List.of(Map.of("Quantity", 2)));
+        pois.add(poi);
+    }
+
+    void failWith(int status) {
+        this.failWithStatus = status;
+    }
+
+    /** Query parameters of every request received, in order. */
+    List<Map<String, String>> requests() {
+        return requests;
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        Map<String, String> params = parseQuery(exchange.getRequestURI().getRawQuery());
+        requests.add(params);
+        if (failWithStatus != 0) {
+            exchange.sendResponseHeaders(failWithStatus, -1);
+            exchange.close();
+            return;
+        }
+
+        Instant since = params.containsKey("modifiedsince")
+                ? LocalDateTime.parse(params.get("modifiedsince")).toInstant(ZoneOffset.UTC)
+                : Instant.MIN;
+        long afterId = Long.parseLong(params.getOrDefault("greaterthanid", "0"));
+        int maxResults = Integer.parseInt(params.getOrDefault("maxresults", "100"));
+
+        List<Map<String, Object>> page = new ArrayList<>();
+        pois.stream().sorted(Comparator.comparingLong(poi -> ((Number) poi.get("ID")).longValue()))
+                .filter(poi -> ((Number) poi.get("ID")).longValue() > afterId)
+                .filter(poi -> !Instant.parse((String) poi.get("DateLastStatusUpdate"))
+                        .isBefore(since))
+                .limit(maxResults).forEach(page::add);
+
+        byte[] body = objectMapper.writeValueAsBytes(page);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private static Map<String, String> parseQuery(String query) {
+        Map<String, String> params = new HashMap<>();
+        if (query == null) {
+            return params;
+        }
+        for (String pair : query.split("&")) {
+            int eq = pair.indexOf('=');
+            if (eq > 0) {
+                params.put(URLDecoder.decode(pair.substring(0, eq), StandardCharsets.UTF_8),
+                        URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8));
+            }
+        }
+        return params;
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+}
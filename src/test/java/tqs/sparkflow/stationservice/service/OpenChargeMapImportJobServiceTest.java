@@ -0,0 +1,305 @@
+package tqs.sparkflow.stationservice.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import tqs.sparkflow.stationservice.config.OpenChargeMapImportConfig;
+import tqs.sparkflow.stationservice.dto.ImportJobRequestDTO;
+import tqs.sparkflow.stationservice.dto.StationImportResult;
+import tqs.sparkflow.stationservice.model.ImportJob;
+import tqs.sparkflow.stationservice.model.ImportJobStatus;
+import tqs.sparkflow.stationservice.repository.ImportJobRepository;
+
+@ExtendWith(MockitoExtension.class)
+class OpenChargeMapImportJobServiceTest {
+
+    @Mock
+    private ImportJobRepository importJobRepository;
+
+    @Mock
+    private OpenChargeMapService openChargeMapService;
+
+    private OpenChargeMapImportJobService service;
+
+    @BeforeEach
+    void setUp() {
+        OpenChargeMapImportConfig config = new OpenChargeMapImportConfig();
+        config.setTileSizeDegrees(1.0);
+        config.setConcurrency(2);
+        config.setRequestsPerSecond(1000.0);
+        config.setMaxResultsPerTile(100);
+        config.setTileRetryDelay(Duration.ZERO);
+        service = new OpenChargeMapImportJobService(importJobRepository, openChargeMapService,
+                config);
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    void whenCreatingJob_thenRegionIsTiledWithoutOverlap() {
+        // Given
+        when(importJobRepository.save(any(ImportJob.class))).thenAnswer(invocation -> {
+            ImportJob job = invocation.getArgument(0);
+            job.setId(1L);
+            return job;
+        });
+
+        // When
+        ImportJob job = service.createJob(new ImportJobRequestDTO(36.8, -9.5, 42.1, -6.2));
+
+        // Then: 5.3 degrees of latitude and 3.3 of longitude need 6 x 4 one-degree tiles
+        assertThat(job.getTileColumns()).isEqualTo(4);
+        assertThat(job.getTotalTiles()).isEqualTo(24);
+        assertThat(job.getCompletedTiles()).isZero();
+        assertThat(job.getCreatedAt()).isNotNull();
+    }
+
+    @Test
+    void whenCreatingJobWithInvertedBox_thenThrowsException() {
+        assertThatThrownBy(
+                () -> service.createJob(new ImportJobRequestDTO(42.1, -9.5, 36.8, -6.2)))
+                        .isInstanceOf(IllegalArgumentException.class)
+                        .hasMessage("Minimum coordinates must be below maximum coordinates");
+        verify(importJobRepository, never()).save(any());
+    }
+
+    @Test
+    void whenCreatingJobWithMissingEdge_thenThrowsException() {
+        assertThatThrownBy(
+                () -> service.createJob(new ImportJobRequestDTO(36.8, null, 42.1, -6.2)))
+                        .isInstanceOf(IllegalArgumentException.class)
+                        .hasMessage("Bounding box must define all four edges");
+    }
+
+    @Test
+    void whenRunningJob_thenEveryTileIsImportedAndCountsAreSummed() {
+        // Given: a 2 x 2 degree box is four tiles
+        ImportJob job = job(0, 0, 2, 2, 2, 4);
+        job.setCompletedTiles(0);
+        when(importJobRepository.findById(1L)).thenReturn(Optional.of(job));
+        when(openChargeMapService.importBoundingBox(anyDouble(), anyDouble(), anyDouble(),
+                anyDouble(), anyLong(), eq(100)))
+                        .thenReturn(page(new StationImportResult(2, 1, 0)));
+
+        // When
+        service.runJob(1L);
+
+        // Then
+        assertThat(job.getStatus()).isEqualTo(ImportJobStatus.COMPLETED);
+        assertThat(job.getCompletedTiles()).isEqualTo(4);
+        assertThat(job.getInserted()).isEqualTo(8);
+        assertThat(job.getUpdated()).isEqualTo(4);
+        verify(openChargeMapService).importBoundingBox(0, 0, 1, 1, 0L, 100);
+        verify(openChargeMapService).importBoundingBox(0, 1, 1, 2, 0L, 100);
+        verify(openChargeMapService).importBoundingBox(1, 0, 2, 1, 0L, 100);
+        verify(openChargeMapService).importBoundingBox(1, 1, 2, 2, 0L, 100);
+    }
+
+    @Test
+    void whenTileFillsAPage_thenTheNextPageStartsAfterItsLastId() {
+        // Given
+        ImportJob job = job(0, 0, 1, 1, 1, 1);
+        when(importJobRepository.findById(1L)).thenReturn(Optional.of(job));
+        when(openChargeMapService.importBoundingBox(0, 0, 1, 1, 0L, 100)).thenReturn(
+                new OpenChargeMapService.DeltaPage(new StationImportResult(100, 0, 0), 100, 740));
+        when(openChargeMapService.importBoundingBox(0, 0, 1, 1, 740L, 100)).thenReturn(
+                new OpenChargeMapService.DeltaPage(new StationImportResult(20, 0, 0), 20, 910));
+
+        // When
+        service.runJob(1L);
+
+        // Then
+        assertThat(job.getStatus()).isEqualTo(ImportJobStatus.COMPLETED);
+        assertThat(job.getInserted()).isEqualTo(120);
+    }
+
+    @Test
+    void whenFullPageCannotBeContinued_thenTileFails() {
+        // Given: a full page without IDs to continue after
+        ImportJob job = job(0, 0, 1, 1, 1, 1);
+        when(importJobRepository.findById(1L)).thenReturn(Optional.of(job));
+        when(openChargeMapService.importBoundingBox(0, 0, 1, 1, 0L, 100)).thenReturn(
+                new OpenChargeMapService.DeltaPage(new StationImportResult(0, 0, 100), 100, 0));
+
+        // When
+        service.runJob(1L);
+
+        // Then
+        assertThat(job.getStatus()).isEqualTo(ImportJobStatus.FAILED);
+        assertThat(job.getCompletedTiles()).isZero();
+        assertThat(job.getError()).contains("full page");
+    }
+
+    @Test
+    void whenResumingJob_thenCompletedTilesAreSkipped() {
+        // Given
+        ImportJob job = job(0, 0, 2, 2, 2, 4);
+        job.setStatus(ImportJobStatus.RUNNING);
+        job.setCompletedTiles(2);
+        job.setInserted(5);
+        when(importJobRepository.findById(1L)).thenReturn(Optional.of(job));
+        when(openChargeMapService.importBoundingBox(anyDouble(), anyDouble(), anyDouble(),
+                anyDouble(), anyLong(), anyInt()))
+                        .thenReturn(page(new StationImportResult(1, 0, 0)));
+
+        // When
+        service.runJob(1L);
+
+        // Then
+        assertThat(job.getStatus()).isEqualTo(ImportJobStatus.COMPLETED);
+        assertThat(job.getInserted()).isEqualTo(7);
+        verify(openChargeMapService, times(2)).importBoundingBox(eq(1.0), anyDouble(),
+                eq(2.0), anyDouble(), anyLong(), anyInt());
+        verify(openChargeMapService, never()).importBoundingBox(eq(0.0), anyDouble(),
+                anyDouble(), anyDouble(), anyLong(), anyInt());
+    }
+
+    @Test
+    void whenTileFails_thenJobFailsAndKeepsLastCheckpoint() {
+        // Given
+        ImportJob job = job(0, 0, 2, 2, 2, 4);
+        when(importJobRepository.findById(1L)).thenReturn(Optional.of(job));
+        when(openChargeMapService.importBoundingBox(anyDouble(), anyDouble(), anyDouble(),
+                anyDouble(), anyLong(), anyInt()))
+                        .thenReturn(page(new StationImportResult(1, 0, 0)))
+                        .thenReturn(page(new StationImportResult(1, 0, 0)))
+                        .thenThrow(new IllegalStateException("quota exceeded"));
+
+        // When
+        service.runJob(1L);
+
+        // Then
+        assertThat(job.getStatus()).isEqualTo(ImportJobStatus.FAILED);
+        assertThat(job.getCompletedTiles()).isEqualTo(2);
+        assertThat(job.getInserted()).isEqualTo(2);
+        assertThat(job.getError()).contains("quota exceeded");
+    }
+
+    @Test
+    void whenTileFailsOnce_thenItIsRetriedAndTheJobCompletes() {
+        // Given
+        ImportJob job = job(0, 0, 1, 1, 1, 1);
+        when(importJobRepository.findById(1L)).thenReturn(Optional.of(job));
+        when(openChargeMapService.importBoundingBox(anyDouble(), anyDouble(), anyDouble(),
+                anyDouble(), anyLong(), anyInt()))
+                        .thenThrow(new IllegalStateException("timeout"))
+                        .thenReturn(page(new StationImportResult(3, 0, 0)));
+
+        // When
+        service.runJob(1L);
+
+        // Then
+        assertThat(job.getStatus()).isEqualTo(ImportJobStatus.COMPLETED);
+        assertThat(job.getInserted()).isEqualTo(3);
+        verify(openChargeMapService, times(2)).importBoundingBox(0, 0, 1, 1, 0L, 100);
+    }
+
+    @Test
+    void whenLaterTileOfWaveFails_thenEarlierTilesOfTheWaveAreCheckpointed() {
+        // Given: tile 1 of the first wave keeps failing, tile 0 succeeds
+        ImportJob job = job(0, 0, 1, 2, 2, 2);
+        when(importJobRepository.findById(1L)).thenReturn(Optional.of(job));
+        when(openChargeMapService.importBoundingBox(0, 0, 1, 1, 0L, 100))
+                .thenReturn(page(new StationImportResult(4, 0, 0)));
+        when(openChargeMapService.importBoundingBox(0, 1, 1, 2, 0L, 100))
+                .thenThrow(new IllegalStateException("quota exceeded"));
+
+        // When
+        service.runJob(1L);
+
+        // Then
+        assertThat(job.getStatus()).isEqualTo(ImportJobStatus.FAILED);
+        assertThat(job.getCompletedTiles()).isEqualTo(1);
+        assertThat(job.getInserted()).isEqualTo(4);
+        verify(openChargeMapService, times(3)).importBoundingBox(0, 1, 1, 2, 0L, 100);
+    }
+
+    @Test
+    void whenResumingFailedJob_thenRemainingTilesAreImportedInTheBackground() {
+        // Given
+        ImportJob job = job(0, 0, 2, 2, 2, 4);
+        job.setStatus(ImportJobStatus.FAILED);
+        job.setError("Tile import failed: quota exceeded");
+        job.setCompletedTiles(2);
+        when(importJobRepository.findById(1L)).thenReturn(Optional.of(job));
+        when(openChargeMapService.importBoundingBox(anyDouble(), anyDouble(), anyDouble(),
+                anyDouble(), anyLong(), anyInt()))
+                        .thenReturn(page(new StationImportResult(1, 0, 0)));
+
+        // When
+        Optional<ImportJob> resumed = service.resumeJob(1L);
+
+        // Then
+        assertThat(resumed).containsSame(job);
+        verify(openChargeMapService, timeout(2000).times(2)).importBoundingBox(eq(1.0),
+                anyDouble(), eq(2.0), anyDouble(), anyLong(), anyInt());
+        verify(openChargeMapService, never()).importBoundingBox(eq(0.0), anyDouble(),
+                anyDouble(), anyDouble(), anyLong(), anyInt());
+        assertThat(job.getError()).isNull();
+    }
+
+    @Test
+    void whenResumingJobThatHasNotFailed_thenThrowsException() {
+        ImportJob job = job(0, 0, 2, 2, 2, 4);
+        job.setStatus(ImportJobStatus.RUNNING);
+        when(importJobRepository.findById(1L)).thenReturn(Optional.of(job));
+
+        assertThatThrownBy(() -> service.resumeJob(1L))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("Only failed import jobs can be resumed");
+    }
+
+    @Test
+    void whenJobAlreadyCompleted_thenNothingIsImported() {
+        ImportJob job = job(0, 0, 2, 2, 2, 4);
+        job.setStatus(ImportJobStatus.COMPLETED);
+        when(importJobRepository.findById(1L)).thenReturn(Optional.of(job));
+
+        service.runJob(1L);
+
+        verify(openChargeMapService, never()).importBoundingBox(anyDouble(), anyDouble(),
+                anyDouble(), anyDouble(), anyLong(), anyInt());
+    }
+
+    /** A page with room to spare, which ends its tile. */
+    private static OpenChargeMapService.DeltaPage page(StationImportResult result) {
+        return new OpenChargeMapService.DeltaPage(result, result.getTotal(), 0);
+    }
+
+    private ImportJob job(double minLat, double minLon, double maxLat, double maxLon,
+            int columns, int totalTiles) {
+        ImportJob job = new ImportJob();
+        job.setId(1L);
+        job.setMinLatitude(minLat);
+        job.setMinLongitude(minLon);
+        job.setMaxLatitude(maxLat);
+        job.setMaxLongitude(maxLon);
+        job.setTileSizeDegrees(1.0);
+        job.setTileColumns(columns);
+        job.setTotalTiles(totalTiles);
+        return job;
+    }
+}
@@ -9,25 +9,25 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.Mockito;
 
-import java.util.List;
-import java.util.Map;
-
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
-import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.TestPropertySource;
 import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RequestCallback;
+import org.springframework.web.client.ResponseExtractor;
 import org.springframework.web.client.RestTemplate;
 
 import tqs.sparkflow.stationservice.StationServiceApplication;
 import tqs.sparkflow.stationservice.config.TestConfig;
 import tqs.sparkflow.stationservice.config.OpenChargeMapTestConfig;
+import tqs.sparkflow.stationservice.dto.StationImportResult;
 import tqs.sparkflow.stationservice.repository.StationRepository;
+import tqs.sparkflow.stationservice.repository.StationUpsertRepository;
 
 @SpringBootTest(
         classes = {StationServiceApplication.class, TestConfig.class,
@@ -41,6 +41,12 @@ class OpenChargeMapServiceIT {
     @Autowired
     private StationRepository stationRepository;
 
+    @Autowired
+    private StationUpsertRepository stationUpsertRepository;
+
+    @Autowired
+    private StationSnapshotService stationSnapshots;
+
     @Mock
     private RestTemplate restTemplate;
 
@@ -49,7 +55,8 @@ class OpenChargeMapServiceIT {
     @BeforeEach
     void setUp() {
         stationRepository.deleteAll();
-        openChargeMapService = new OpenChargeMapService(restTemplate, stationRepository, "test-key",
+        openChargeMapService = new OpenChargeMapService(restTemplate, stationUpsertRepository,
+                stationSnapshots, "test-key",
                 "http://test-url");
     }
 
@@ -84,8 +91,9 @@ class OpenChargeMapServiceIT {
     @Test
     void whenApiKeyInvalid_thenThrowsException() {
         // Given
-        Mockito.when(restTemplate.exchange(anyString(), eq(HttpMethod.GET), eq(null),
-                ArgumentMatchers.<ParameterizedTypeReference<List<Map<String, Object>>>>any()))
+        Mockito.when(restTemplate.execute(anyString(), eq(HttpMethod.GET),
+                ArgumentMatchers.any(RequestCallback.class),
+                ArgumentMatchers.<ResponseExtractor<StationImportResult>>any()))
                 .thenThrow(new HttpClientErrorException(HttpStatus.UNAUTHORIZED));
 
         // When/Then
@@ -103,9 +111,9 @@ class OpenChargeMapServiceIT {
 
         // Mock RestTemplate to throw 401 Unauthorized
         Mockito.lenient()
-                .when(restTemplate.exchange(anyString(), eq(HttpMethod.GET), eq(null),
-                        ArgumentMatchers
-                                .<ParameterizedTypeReference<List<Map<String, Object>>>>any()))
+                .when(restTemplate.execute(anyString(), eq(HttpMethod.GET),
+                        ArgumentMatchers.any(RequestCallback.class),
+                        ArgumentMatchers.<ResponseExtractor<StationImportResult>>any()))
                 .thenThrow(new HttpClientErrorException(HttpStatus.UNAUTHORIZED));
 
         // When/Then
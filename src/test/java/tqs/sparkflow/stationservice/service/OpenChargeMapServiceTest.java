@@ -1,20 +1,29 @@
 package tqs.sparkflow.stationservice.service;
 
+import java.io.ByteArrayInputStream;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.when;
 import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import org.mockito.Mock;
+import org.springframework.web.client.RequestCallback;
+import org.springframework.web.client.ResponseExtractor;
 import org.springframework.web.client.RestTemplate;
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -22,14 +31,14 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.junit.jupiter.MockitoExtension;
 import app.getxray.xray.junit.customjunitxml.annotations.Requirement;
 import app.getxray.xray.junit.customjunitxml.annotations.XrayTest;
+import tqs.sparkflow.stationservice.dto.StationImportResult;
 import tqs.sparkflow.stationservice.model.OpenChargeMapResponse;
 import tqs.sparkflow.stationservice.model.OpenChargeMapStation;
 import tqs.sparkflow.stationservice.model.Station;
-import tqs.sparkflow.stationservice.repository.StationRepository;
-import org.springframework.core.ParameterizedTypeReference;
+import tqs.sparkflow.stationservice.repository.StationUpsertRepository;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
-import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.ClientHttpResponse;
 import org.springframework.web.client.HttpClientErrorException;
 
 @ExtendWith(MockitoExtension.class)
@@ -39,7 +48,10 @@ class OpenChargeMapServiceTest {
         private RestTemplate restTemplate;
 
         @Mock
-        private StationRepository stationRepository;
+        private StationUpsertRepository stationUpsertRepository;
+
+        @Mock
+        private StationSnapshotService stationSnapshots;
 
         private OpenChargeMapService service;
 
@@ -49,8 +61,8 @@ class OpenChargeMapServiceTest {
         @BeforeEach
         void setUp() {
                 // Create service manually with mocked dependencies
-                service = new OpenChargeMapService(restTemplate, stationRepository, apiKey,
-                                baseUrl);
+                service = new OpenChargeMapService(restTemplate, stationUpsertRepository,
+                                stationSnapshots, apiKey, baseUrl);
         }
 
         @Test
@@ -161,7 +173,7 @@ class OpenChargeMapServiceTest {
         @Test
         @XrayTest(key = "OCM-SVC-1")
         @Requirement("OCM-SVC-1")
-        void whenPopulatingStations_thenReturnsSavedStations() {
+        void whenPopulatingStations_thenReturnsSavedStations() throws Exception {
                 // Given
                 double latitude = 40.123;
                 double longitude = -8.456;
@@ -181,22 +193,22 @@ class OpenChargeMapServiceTest {
                 stationData.put("AddressInfo", addressInfo);
                 stationData.put("Connections", new ArrayList<>());
 
-                List<Map<String, Object>> stationsData = List.of(stationData);
-                ResponseEntity<List<Map<String, Object>>> mockResponse =
-                                new ResponseEntity<>(stationsData, HttpStatus.OK);
+                givenResponseBody(new ObjectMapper().writeValueAsString(List.of(stationData)));
 
-                List<Station> expectedStations = List.of(new Station());
+                StationImportResult expectedResult = new StationImportResult(1, 0, 0);
 
-                when(restTemplate.exchange(anyString(), eq(HttpMethod.GET), eq(null),
-                                any(ParameterizedTypeReference.class))).thenReturn(mockResponse);
-                when(stationRepository.saveAll(any())).thenReturn(expectedStations);
+                when(stationUpsertRepository.upsertByExternalId(any()))
+                                .thenReturn(expectedResult);
 
                 // When
-                List<Station> result = service.populateStations(latitude, longitude, radius);
+                StationImportResult result =
+                                service.populateStations(latitude, longitude, radius);
 
                 // Then
-                assertThat(result).isEqualTo(expectedStations);
-                verify(stationRepository).saveAll(any());
+                assertThat(result).isEqualTo(expectedResult);
+                verify(stationUpsertRepository).upsertByExternalId(
+                                argThat(stations -> stations.size() == 1 && "123".equals(
+                                                stations.iterator().next().getExternalId())));
         }
 
         @Test
@@ -234,8 +246,8 @@ class OpenChargeMapServiceTest {
         @Requirement("OCM-SVC-5")
         void whenPopulatingStationsWithUnauthorizedError_thenThrowsException() {
                 // Given
-                when(restTemplate.exchange(anyString(), eq(HttpMethod.GET), eq(null),
-                                any(ParameterizedTypeReference.class)))
+                when(restTemplate.execute(anyString(), eq(HttpMethod.GET),
+                                any(RequestCallback.class), any(ResponseExtractor.class)))
                                                 .thenThrow(new HttpClientErrorException(
                                                                 HttpStatus.UNAUTHORIZED));
 
@@ -250,9 +262,10 @@ class OpenChargeMapServiceTest {
         @Requirement("OCM-SVC-6")
         void whenPopulatingStationsWithForbiddenError_thenThrowsException() {
                 // Given
-                when(restTemplate.exchange(anyString(), eq(HttpMethod.GET), eq(null),
-                                any(ParameterizedTypeReference.class))).thenThrow(
-                                                new HttpClientErrorException(HttpStatus.FORBIDDEN));
+                when(restTemplate.execute(anyString(), eq(HttpMethod.GET),
+                                any(RequestCallback.class), any(ResponseExtractor.class)))
+                                                .thenThrow(new HttpClientErrorException(
+                                                                HttpStatus.FORBIDDEN));
 
                 // When/Then
                 assertThatThrownBy(() -> service.populateStations(40.123, -8.456, 10))
@@ -263,13 +276,9 @@ class OpenChargeMapServiceTest {
         @Test
         @XrayTest(key = "OCM-SVC-7")
         @Requirement("OCM-SVC-7")
-        void whenPopulatingStationsWithEmptyResponse_thenThrowsException() {
+        void whenPopulatingStationsWithEmptyResponse_thenThrowsException() throws Exception {
                 // Given
-                ResponseEntity<List<Map<String, Object>>> mockResponse =
-                                new ResponseEntity<>(new ArrayList<>(), HttpStatus.OK);
-
-                when(restTemplate.exchange(anyString(), eq(HttpMethod.GET), eq(null),
-                                any(ParameterizedTypeReference.class))).thenReturn(mockResponse);
+                givenResponseBody("[]");
 
                 // When/Then
                 assertThatThrownBy(() -> service.populateStations(40.123, -8.456, 10))
@@ -365,7 +374,60 @@ class OpenChargeMapServiceTest {
         }
 
         @Test
-        void whenConvertingStationDataWithStringId_thenIdIsParsed() {
+        void whenImportingLargeResponse_thenStationsAreUpsertedInFixedSizeBatches()
+                        throws Exception {
+                // Given
+                int total = OpenChargeMapService.IMPORT_BATCH_SIZE * 2 + 1;
+                StringBuilder json = new StringBuilder("[");
+                for (int i = 0; i < total; i++) {
+                        json.append(i == 0 ? "" : ",").append("{\"ID\":").append(i)
+                                        .append(",\"AddressInfo\":{\"Title\":\"S").append(i)
+                                        .append("\"},\"Connections\":[{\"Quantity\":2}]}");
+                }
+                json.append("]");
+                List<Integer> batchSizes = new ArrayList<>();
+                when(stationUpsertRepository.upsertByExternalId(any())).thenAnswer(invocation -> {
+                        Collection<Station> batch = invocation.getArgument(0);
+                        batchSizes.add(batch.size());
+                        return new StationImportResult(batch.size(), 0, 0);
+                });
+
+                // When
+                StationImportResult result = service.importStations(
+                                new ByteArrayInputStream(json.toString().getBytes(UTF_8)));
+
+                // Then
+                assertThat(batchSizes).containsExactly(OpenChargeMapService.IMPORT_BATCH_SIZE,
+                                OpenChargeMapService.IMPORT_BATCH_SIZE, 1);
+                assertThat(result.getInserted()).isEqualTo(total);
+                verify(stationSnapshots).invalidate();
+        }
+
+        @Test
+        void whenImportChangesNoStation_thenSnapshotIsKept() throws Exception {
+                // Given
+                when(stationUpsertRepository.upsertByExternalId(any()))
+                                .thenReturn(new StationImportResult(0, 0, 1));
+                String json = "[{\"ID\":1,\"AddressInfo\":{\"Title\":\"S\"},"
+                                + "\"Connections\":[{\"Quantity\":2}]}]";
+
+                // When
+                service.importStations(new ByteArrayInputStream(json.getBytes(UTF_8)));
+
+                // Then
+                verify(stationSnapshots, never()).invalidate();
+        }
+
+        @Test
+        void whenImportingResponseThatIsNotAnArray_thenThrowsException() {
+                assertThatThrownBy(() -> service.importStations(
+                                new ByteArrayInputStream("{\"bad\":1}".getBytes(UTF_8))))
+                                                .isInstanceOf(IllegalStateException.class)
+                                                .hasMessageContaining("Unexpected");
+        }
+
+        @Test
+        void whenConvertingStationDataWithStringId_thenExternalIdIsParsed() {
                 // Given
                 Map<String, Object> stationData = new HashMap<>();
                 stationData.put("ID", "123");
@@ -376,7 +438,8 @@ class OpenChargeMapServiceTest {
                 Station result = service.convertMapToStation(stationData);
 
                 // Then
-                assertThat(result.getId()).isEqualTo(123L);
+                assertThat(result.getExternalId()).isEqualTo("123");
+                assertThat(result.getId()).isNull();
         }
 
         @Test
@@ -450,6 +513,7 @@ class OpenChargeMapServiceTest {
                 // Then
                 assertThat(result).isNotNull();
                 assertThat(result.getId()).isNull();
+                assertThat(result.getExternalId()).isNull();
                 assertThat(result.getName()).isEqualTo("Unknown");
                 assertThat(result.getAddress()).isEqualTo("Unknown");
                 assertThat(result.getLatitude()).isEqualTo(0.0);
@@ -541,4 +605,16 @@ class OpenChargeMapServiceTest {
                 assertThat(result).isNotNull();
                 assertThat(result.getQuantityOfChargers()).isEqualTo(1);
         }
+
+        private void givenResponseBody(String json) throws Exception {
+                ClientHttpResponse response = mock(ClientHttpResponse.class);
+                when(response.getBody()).thenReturn(new ByteArrayInputStream(json.getBytes(UTF_8)));
+                when(restTemplate.execute(anyString(), eq(HttpMethod.GET),
+                                any(RequestCallback.class), any(ResponseExtractor.class)))
+                                                .thenAnswer(invocation -> {
+                                                        ResponseExtractor<?> extractor =
+                                                                        invocation.getArgument(3);
+                                                        return extractor.extractData(response);
+                                                });
+        }
 }
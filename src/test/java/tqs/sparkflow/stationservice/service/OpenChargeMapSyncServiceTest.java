@@ -0,0 +1,185 @@
+package tqs.sparkflow.stationservice.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.RestTemplate;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import tqs.sparkflow.stationservice.config.OpenChargeMapSyncConfig;
+import tqs.sparkflow.stationservice.dto.StationImportResult;
+import tqs.sparkflow.stationservice.model.Station;
+import tqs.sparkflow.stationservice.model.SyncState;
+import tqs.sparkflow.stationservice.repository.StationUpsertRepository;
+import tqs.sparkflow.stationservice.repository.SyncStateRepository;
+
+@ExtendWith(MockitoExtension.class)
+class OpenChargeMapSyncServiceTest {
+
+    private static final LocalDateTime WATERMARK = LocalDateTime.of(2025, 3, 1, 12, 0);
+
+    @Mock
+    private StationUpsertRepository stationUpsertRepository;
+
+    @Mock
+    private SyncStateRepository syncStateRepository;
+
+    @Mock
+    private StationSnapshotService stationSnapshots;
+
+    private FakeOpenChargeMapServer ocm;
+    private SimpleMeterRegistry meterRegistry;
+    private OpenChargeMapSyncConfig config;
+    private OpenChargeMapSyncService syncService;
+    private final List<String> upsertedIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        ocm = new FakeOpenChargeMapServer();
+        meterRegistry = new SimpleMeterRegistry();
+
+        config = new OpenChargeMapSyncConfig();
+        config.setPageSize(2);
+        config.setOverlapMinutes(5);
+        config.setCountryCodes(List.of("PT", "ES"));
+
+        OpenChargeMapService openChargeMapService = new OpenChargeMapService(new RestTemplate(),
+                stationUpsertRepository, stationSnapshots, "test-key", ocm.baseUrl());
+        syncService = new OpenChargeMapSyncService(openChargeMapService, syncStateRepository,
+                config, meterRegistry);
+
+        lenient().when(stationUpsertRepository.upsertByExternalId(any())).thenAnswer(invocation -> {
+            Collection<Station> batch = invocation.getArgument(0);
+            batch.forEach(station -> upsertedIds.add(station.getExternalId()));
+            return new StationImportResult(batch.size(), 0, 0);
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        ocm.close();
+    }
+
+    @Test
+    void whenSyncing_thenOnlyStationsModifiedSinceWatermarkAreImportedAcrossPages() {
+        // Given
+        ocm.addPoi(1, "Old", WATERMARK.minusDays(3));
+        ocm.addPoi(2, "Changed A", WATERMARK.plusHours(1));
+        ocm.addPoi(3, "Old too", WATERMARK.minusMinutes(1));
+        ocm.addPoi(4, "Changed B", WATERMARK.plusHours(2));
+        ocm.addPoi(5, "Changed C", WATERMARK.plusHours(3));
+        givenWatermark(WATERMARK);
+
+        // When
+        StationImportResult result = syncService.sync();
+
+        // Then
+        assertThat(result.getInserted()).isEqualTo(3);
+        assertThat(upsertedIds).containsExactly("2", "4", "5");
+        assertThat(ocm.requests()).hasSize(2);
+        assertThat(ocm.requests().get(0)).containsEntry("greaterthanid", "0")
+                .containsEntry("modifiedsince", "2025-03-01T12:00:00")
+                .containsEntry("maxresults", "2")
+                .containsEntry("countrycode", "PT,ES");
+        assertThat(ocm.requests().get(1)).containsEntry("greaterthanid", "4");
+    }
+
+    @Test
+    void whenNoCountriesAreConfigured_thenOnlyStoredStationsAreUpdated() {
+        // Given
+        config.setCountryCodes(List.of());
+        ocm.addPoi(2, "Changed", WATERMARK.plusHours(1));
+        givenWatermark(WATERMARK);
+        when(stationUpsertRepository.updateByExternalId(any()))
+                .thenReturn(new StationImportResult(0, 1, 0));
+
+        // When
+        StationImportResult result = syncService.sync();
+
+        // Then
+        assertThat(result.getInserted()).isZero();
+        assertThat(result.getUpdated()).isEqualTo(1);
+        assertThat(ocm.requests().get(0)).doesNotContainKey("countrycode");
+        verify(stationUpsertRepository, never()).upsertByExternalId(any());
+    }
+
+    @Test
+    void whenSyncSucceeds_thenWatermarkAdvancesAndMetricsAreRecorded() {
+        // Given
+        ocm.addPoi(7, "Changed", WATERMARK.plusHours(1));
+        givenWatermark(WATERMARK);
+        LocalDateTime before = LocalDateTime.now(ZoneOffset.UTC);
+
+        // When
+        syncService.sync();
+
+        // Then
+        ArgumentCaptor<SyncState> saved = ArgumentCaptor.forClass(SyncState.class);
+        verify(syncStateRepository).save(saved.capture());
+        assertThat(saved.getValue().getLastSyncedAt())
+                .isAfterOrEqualTo(before.minusMinutes(5).truncatedTo(ChronoUnit.SECONDS));
+        assertThat(saved.getValue().getLastRowsTouched()).isEqualTo(1);
+        assertThat(meterRegistry.get(OpenChargeMapSyncService.ROWS_METRIC)
+                .tag("result", "inserted").counter().count()).isEqualTo(1.0);
+        assertThat(meterRegistry.get(OpenChargeMapSyncService.DURATION_METRIC)
+                .tag("outcome", "success").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void whenNeverSynced_thenInitialLookbackIsUsed() {
+        // Given
+        when(syncStateRepository.findById(OpenChargeMapSyncService.SYNC_NAME))
+                .thenReturn(Optional.empty());
+
+        // When
+        StationImportResult result = syncService.sync();
+
+        // Then
+        assertThat(result.getTotal()).isZero();
+        LocalDateTime since = LocalDateTime.parse(ocm.requests().get(0).get("modifiedsince"));
+        assertThat(since).isBefore(LocalDateTime.now(ZoneOffset.UTC).minusDays(6));
+        verify(syncStateRepository).save(any(SyncState.class));
+    }
+
+    @Test
+    void whenOpenChargeMapFails_thenWatermarkIsKeptAndFailureIsRecorded() {
+        // Given
+        givenWatermark(WATERMARK);
+        ocm.failWith(503);
+
+        // When/Then
+        assertThatThrownBy(() -> syncService.sync())
+                .isInstanceOf(HttpServerErrorException.class);
+        verify(syncStateRepository, never()).save(any());
+        assertThat(meterRegistry.get(OpenChargeMapSyncService.DURATION_METRIC)
+                .tag("outcome", "failure").timer().count()).isEqualTo(1);
+    }
+
+    private void givenWatermark(LocalDateTime lastSyncedAt) {
+        SyncState state = new SyncState(OpenChargeMapSyncService.SYNC_NAME);
+        state.setLastSyncedAt(lastSyncedAt);
+        when(syncStateRepository.findById(OpenChargeMapSyncService.SYNC_NAME))
+                .thenReturn(Optional.of(state));
+    }
+}
@@ -0,0 +1,222 @@
+package tqs.sparkflow.stationservice.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import tqs.sparkflow.stationservice.config.PartitionArchiveConfig;
+import tqs.sparkflow.stationservice.repository.MonthPartition;
+import tqs.sparkflow.stationservice.repository.PartitionRepository;
+
+@ExtendWith(MockitoExtension.class)
+class PartitionArchiveServiceTest {
+
+    private static final YearMonth CURRENT_MONTH = YearMonth.of(2026, 10);
+
+    @Mock
+    private PartitionRepository partitionRepository;
+
+    private PartitionArchiveService archiveService;
+
+    @BeforeEach
+    void setUp() {
+        PartitionArchiveConfig config = new PartitionArchiveConfig();
+        config.setRetentionMonths(12);
+        config.setMonthsAhead(2);
+        archiveService = new PartitionArchiveService(partitionRepository, config);
+        lenient().when(partitionRepository.runExclusively(
+                eq(PartitionArchiveService.LOCK_NAME), any())).thenAnswer(invocation -> {
+                    invocation.<Runnable>getArgument(1).run();
+                    return true;
+                });
+    }
+
+    @Test
+    void whenComingMonthsHaveNoPartition_thenTheyAreSplitOffTheMaxPartition() {
+        // Given
+        givenPartitions(PartitionArchiveService.SESSIONS, partition("p202610", "2026-11-01"),
+                partition(PartitionRepository.MAX_PARTITION, null));
+        givenPartitions(PartitionArchiveService.BOOKINGS);
+
+        // When
+        int archived = archiveService.maintain(CURRENT_MONTH);
+
+        // Then
+        assertThat(archived).isZero();
+        verify(partitionRepository).addMonthPartitions(PartitionArchiveService.SESSIONS,
+                List.of(YearMonth.of(2026, 11), YearMonth.of(2026, 12)), true);
+    }
+
+    @Test
+    void whenComingMonthsArePartitioned_thenNothingIsAdded() {
+        // Given
+        givenPartitions(PartitionArchiveService.SESSIONS, partition("p202612", "2027-01-01"),
+                partition(PartitionRepository.MAX_PARTITION, null));
+        givenPartitions(PartitionArchiveService.BOOKINGS);
+
+        // When
+        archiveService.maintain(CURRENT_MONTH);
+
+        // Then
+        verify(partitionRepository, never()).addMonthPartitions(anyString(), anyList(),
+                anyBoolean());
+    }
+
+    @Test
+    void whenSessionMonthsArePastRetention_thenTheyAreExchangedArchivedAndDropped() {
+        // Given
+        givenPartitions(PartitionArchiveService.SESSIONS, partition("p_history", "2025-01-01"),
+                partition("p202509", "2025-10-01"), partition("p202510", "2025-11-01"),
+                partition("p202612", "2027-01-01"),
+                partition(PartitionRepository.MAX_PARTITION, null));
+        givenPartitions(PartitionArchiveService.BOOKINGS);
+        when(partitionRepository.countUnfinishedSessions(anyString())).thenReturn(0L);
+        when(partitionRepository.dropPartitionIfEmpty(eq("charging_sessions"), anyString()))
+                .thenReturn(true);
+
+        // When
+        int archived = archiveService.maintain(CURRENT_MONTH);
+
+        // Then
+        assertThat(archived).isEqualTo(2);
+        InOrder order = inOrder(partitionRepository);
+        order.verify(partitionRepository).exchangeToStaging("charging_sessions", "p_history");
+        order.verify(partitionRepository).archiveStaged("charging_sessions",
+                "charging_sessions_archive");
+        order.verify(partitionRepository).dropPartitionIfEmpty("charging_sessions", "p_history");
+        order.verify(partitionRepository).exchangeToStaging("charging_sessions", "p202509");
+        order.verify(partitionRepository).dropPartitionIfEmpty("charging_sessions", "p202509");
+        verify(partitionRepository, never()).exchangeToStaging("charging_sessions", "p202510");
+    }
+
+    @Test
+    void whenSessionMonthStillHasUnfinishedSessions_thenItIsKept() {
+        // Given
+        givenPartitions(PartitionArchiveService.SESSIONS, partition("p202509", "2025-10-01"),
+                partition("p202612", "2027-01-01"));
+        givenPartitions(PartitionArchiveService.BOOKINGS);
+        when(partitionRepository.countUnfinishedSessions("p202509")).thenReturn(1L);
+
+        // When
+        int archived = archiveService.maintain(CURRENT_MONTH);
+
+        // Then
+        assertThat(archived).isZero();
+        verify(partitionRepository, never()).exchangeToStaging(anyString(), anyString());
+    }
+
+    @Test
+    void whenPartitionReceivesRowsWhileArchived_thenItIsNotDroppedOrCounted() {
+        // Given
+        givenPartitions(PartitionArchiveService.SESSIONS, partition("p202509", "2025-10-01"),
+                partition("p202612", "2027-01-01"));
+        givenPartitions(PartitionArchiveService.BOOKINGS);
+        when(partitionRepository.countUnfinishedSessions("p202509")).thenReturn(0L);
+        when(partitionRepository.dropPartitionIfEmpty("charging_sessions", "p202509"))
+                .thenReturn(false);
+
+        // When
+        int archived = archiveService.maintain(CURRENT_MONTH);
+
+        // Then
+        assertThat(archived).isZero();
+        verify(partitionRepository).exchangeToStaging("charging_sessions", "p202509");
+    }
+
+    @Test
+    void whenBookingMonthIsPastRetention_thenRecurringDaysMoveFirst() {
+        // Given
+        givenPartitions(PartitionArchiveService.SESSIONS);
+        givenPartitions(PartitionArchiveService.BOOKINGS, partition("p202509", "2025-10-01"),
+                partition("p202612", "2027-01-01"));
+        when(partitionRepository.countActiveBookingsEndingAfter("p202509",
+                LocalDateTime.of(2025, 10, 1, 0, 0))).thenReturn(0L);
+        when(partitionRepository.dropPartitionIfEmpty("bookings", "p202509")).thenReturn(true);
+
+        // When
+        int archived = archiveService.maintain(CURRENT_MONTH);
+
+        // Then
+        assertThat(archived).isEqualTo(1);
+        InOrder order = inOrder(partitionRepository);
+        order.verify(partitionRepository).moveRecurringDays("p202509");
+        order.verify(partitionRepository).exchangeToStaging("bookings", "p202509");
+        order.verify(partitionRepository).archiveStaged("bookings", "bookings_archive");
+        order.verify(partitionRepository).dropPartitionIfEmpty("bookings", "p202509");
+    }
+
+    @Test
+    void whenBookingMonthStillHasActiveBookings_thenItIsKept() {
+        // Given
+        givenPartitions(PartitionArchiveService.SESSIONS);
+        givenPartitions(PartitionArchiveService.BOOKINGS, partition("p202509", "2025-10-01"),
+                partition("p202612", "2027-01-01"));
+        when(partitionRepository.countActiveBookingsEndingAfter(eq("p202509"), any()))
+                .thenReturn(1L);
+
+        // When
+        int archived = archiveService.maintain(CURRENT_MONTH);
+
+        // Then
+        assertThat(archived).isZero();
+        verify(partitionRepository, never()).moveRecurringDays(anyString());
+        verify(partitionRepository, never()).dropPartitionIfEmpty(anyString(), anyString());
+    }
+
+    @Test
+    void whenAnotherInstanceHoldsTheLock_thenNothingIsDone() {
+        // Given
+        doReturn(false).when(partitionRepository)
+                .runExclusively(eq(PartitionArchiveService.LOCK_NAME), any());
+
+        // When
+        int archived = archiveService.maintain(CURRENT_MONTH);
+
+        // Then
+        assertThat(archived).isZero();
+        verify(partitionRepository, never()).findPartitions(anyString());
+    }
+
+    @Test
+    void whenTablesAreNotPartitioned_thenTheyAreLeftAlone() {
+        // Given
+        givenPartitions(PartitionArchiveService.SESSIONS);
+        givenPartitions(PartitionArchiveService.BOOKINGS);
+
+        // When
+        int archived = archiveService.maintain(CURRENT_MONTH);
+
+        // Then
+        assertThat(archived).isZero();
+        verify(partitionRepository, never()).exchangeToStaging(anyString(), anyString());
+    }
+
+    private void givenPartitions(String table, MonthPartition... partitions) {
+        when(partitionRepository.findPartitions(table)).thenReturn(List.of(partitions));
+    }
+
+    private static MonthPartition partition(String name, String upperBound) {
+        return new MonthPartition(name, upperBound != null ? LocalDate.parse(upperBound) : null);
+    }
+}
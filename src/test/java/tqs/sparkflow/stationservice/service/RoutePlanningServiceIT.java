@@ -25,7 +25,9 @@ import java.util.List;
 import static org.junit.jupiter.api.Assertions.*;
 
 @DataJpaTest
-@Import({RoutePlanningServiceImpl.class, RoutePlanningConfig.class})
+@Import({RoutePlanningServiceImpl.class, RoutePlanningConfig.class, RouteScoringEngine.class,
+    FastestTripScoringStrategy.class, CheapestScoringStrategy.class,
+    LeastDetourScoringStrategy.class, StationService.class})
 @TestPropertySource(properties = {"route.planning.min-battery-percentage=0.2",
     "route.planning.max-battery-percentage=0.8", "route.planning.max-detour-distance=20.0",
     "route.planning.requests-per-second=10.0"})
@@ -3,7 +3,6 @@ package tqs.sparkflow.stationservice.service;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
@@ -17,6 +16,7 @@ import tqs.sparkflow.stationservice.model.Station;
 import tqs.sparkflow.stationservice.repository.StationRepository;
 import com.google.common.util.concurrent.RateLimiter;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -36,7 +36,9 @@ class RoutePlanningServiceTest {
     @Mock
     private RateLimiter rateLimiter;
 
-    @InjectMocks
+    @Mock
+    private StationService stationService;
+
     private RoutePlanningServiceImpl routePlanningService;
 
     private List<Station> testStations;
@@ -48,6 +50,18 @@ class RoutePlanningServiceTest {
         when(config.getMaxBatteryPercentage()).thenReturn(0.8);
         when(config.getMaxDetourDistance()).thenReturn(20.0);
         when(config.getRequestsPerSecond()).thenReturn(10.0);
+        when(config.getScoringStrategy()).thenReturn("fastest");
+        when(config.getAverageSpeedKmh()).thenReturn(90.0);
+        when(config.getDefaultPowerKw()).thenReturn(22.0);
+        when(config.getDefaultPricePerKwh()).thenReturn(0.35);
+        when(config.getQueueWaitMinutes()).thenReturn(30.0);
+
+        RouteScoringEngine scoringEngine = new RouteScoringEngine(config, stationService,
+                List.of(new FastestTripScoringStrategy(), new CheapestScoringStrategy(),
+                        new LeastDetourScoringStrategy()));
+        routePlanningService =
+                new RoutePlanningServiceImpl(new StationSnapshotService(stationRepository,
+                        Duration.ofMinutes(5)), config, rateLimiter, scoringEngine);
 
         // Configure rate limiter
         when(rateLimiter.tryAcquire()).thenReturn(true);
@@ -79,7 +93,7 @@ class RoutePlanningServiceTest {
         station2.setPrice(0.35);
         testStations.add(station2);
 
-        when(stationRepository.findAll()).thenReturn(testStations);
+        when(stationRepository.findAllOnPrimary()).thenReturn(testStations);
     }
 
     @Test
@@ -153,7 +167,7 @@ class RoutePlanningServiceTest {
 
     @Test
     void whenNoAvailableStations_thenThrowsServiceUnavailable() {
-        when(stationRepository.findAll()).thenReturn(new ArrayList<>());
+        when(stationRepository.findAllOnPrimary()).thenReturn(new ArrayList<>());
 
         RoutePlanningRequestDTO request = createValidRequest();
 
@@ -175,7 +189,7 @@ class RoutePlanningServiceTest {
         lowBatteryStation.setIsOperational(true);
         lowBatteryStation.setStatus("Available");
 
-        when(stationRepository.findAll()).thenReturn(List.of(lowBatteryStation));
+        when(stationRepository.findAllOnPrimary()).thenReturn(List.of(lowBatteryStation));
 
         RoutePlanningRequestDTO request = createValidRequest();
         request.setBatteryCapacity(20.0); // Small battery
@@ -198,7 +212,7 @@ class RoutePlanningServiceTest {
         highBatteryStation.setIsOperational(true);
         highBatteryStation.setStatus("Available");
 
-        when(stationRepository.findAll()).thenReturn(List.of(highBatteryStation));
+        when(stationRepository.findAllOnPrimary()).thenReturn(List.of(highBatteryStation));
 
         RoutePlanningRequestDTO request = createValidRequest();
         request.setBatteryCapacity(100.0); // Large battery
@@ -260,7 +274,7 @@ class RoutePlanningServiceTest {
         nearMidpoint.setCity("Midpoint");
         nearMidpoint.setPrice(0.30);
 
-        when(stationRepository.findAll()).thenReturn(List.of(nearMidpoint));
+        when(stationRepository.findAllOnPrimary()).thenReturn(List.of(nearMidpoint));
 
         RoutePlanningRequestDTO request = createValidRequest();
         request.setBatteryCapacity(20.0); // Very small battery to force charging
@@ -292,7 +306,7 @@ class RoutePlanningServiceTest {
         farStation.setCity("Far City");
         farStation.setPrice(0.40);
 
-        when(stationRepository.findAll()).thenReturn(List.of(farStation));
+        when(stationRepository.findAllOnPrimary()).thenReturn(List.of(farStation));
 
         RoutePlanningRequestDTO request = createValidRequest();
         request.setBatteryCapacity(10.0); // Very small battery to force charging need
@@ -319,7 +333,7 @@ class RoutePlanningServiceTest {
         penalizedStation.setCity("Penalized City");
         penalizedStation.setPrice(0.50);
 
-        when(stationRepository.findAll()).thenReturn(List.of(penalizedStation));
+        when(stationRepository.findAllOnPrimary()).thenReturn(List.of(penalizedStation));
         when(config.getMinBatteryPercentage()).thenReturn(0.9); // Very high minimum battery requirement
 
         RoutePlanningRequestDTO request = createValidRequest();
@@ -369,7 +383,8 @@ class RoutePlanningServiceTest {
         badStation.setCity("Bad City");
         badStation.setPrice(0.45);
 
-        when(stationRepository.findAll()).thenReturn(List.of(goodStation, okStation, badStation));
+        when(stationRepository.findAllOnPrimary())
+                .thenReturn(List.of(goodStation, okStation, badStation));
 
         RoutePlanningRequestDTO request = createValidRequest();
         request.setBatteryCapacity(20.0); // Small battery to ensure charging is needed
@@ -404,6 +419,18 @@ class RoutePlanningServiceTest {
         assertTrue(response.getBatteryUsage() >= 0);
     }
 
+    @Test
+    void whenUnknownStrategy_thenThrowsBadRequest() {
+        RoutePlanningRequestDTO request = createValidRequest();
+        request.setStrategy("scenic");
+
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> routePlanningService.planRoute(request));
+
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getStatusCode());
+        assertEquals("Unknown scoring strategy: scenic", exception.getReason());
+    }
+
     private RoutePlanningRequestDTO createValidRequest() {
         RoutePlanningRequestDTO request = new RoutePlanningRequestDTO();
         request.setStartLatitude(41.1579);
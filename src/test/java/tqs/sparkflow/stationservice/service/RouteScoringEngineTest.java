@@ -0,0 +1,126 @@
+package tqs.sparkflow.stationservice.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+import tqs.sparkflow.stationservice.config.RoutePlanningConfig;
+import tqs.sparkflow.stationservice.model.Station;
+
+@ExtendWith(MockitoExtension.class)
+class RouteScoringEngineTest {
+
+    private static final double START_LAT = 41.1579;
+    private static final double START_LON = -8.6291;
+    private static final double DEST_LAT = 38.7223;
+    private static final double DEST_LON = -9.1393;
+
+    @Mock
+    private StationService stationService;
+
+    private RouteScoringEngine engine;
+    private Station fastStation;
+    private Station cheapStation;
+    private Station busyStation;
+
+    @BeforeEach
+    void setUp() {
+        engine = new RouteScoringEngine(new RoutePlanningConfig(), stationService,
+                List.of(new FastestTripScoringStrategy(), new CheapestScoringStrategy(),
+                        new LeastDetourScoringStrategy()));
+
+        fastStation = createStation(1L, "Fast", 39.9, -8.8, 150, 0.50, 2);
+        cheapStation = createStation(2L, "Cheap", 39.9, -8.8, 22, 0.20, 2);
+        busyStation = createStation(3L, "Busy", 39.95, -8.82, 300, 0.10, 1);
+    }
+
+    @Test
+    void whenFastestStrategy_thenAddsQueueWaitForOccupiedStation() {
+        when(stationService.getOccupiedChargers(anyCollection(), any()))
+                .thenReturn(Map.of(3L, 1));
+
+        List<Station> result = select("fastest");
+
+        // The 300 kW station loses to the 150 kW one once its 30 minute queue is counted
+        assertEquals(List.of(fastStation, busyStation, cheapStation), result);
+    }
+
+    @Test
+    void whenCheapestStrategy_thenSkipsOccupiedStationUntilLast() {
+        when(stationService.getOccupiedChargers(anyCollection(), any()))
+                .thenReturn(Map.of(3L, 1));
+
+        List<Station> result = select("cheapest");
+
+        assertEquals(List.of(cheapStation, fastStation, busyStation), result);
+    }
+
+    @Test
+    void whenStationIsFree_thenCheapestPicksLowestPrice() {
+        when(stationService.getOccupiedChargers(anyCollection(), any())).thenReturn(Map.of());
+
+        List<Station> result = select("cheapest");
+
+        assertEquals(busyStation, result.get(0));
+    }
+
+    @Test
+    void whenLimitIsSmallerThanCandidates_thenReturnsOnlyBest() {
+        when(stationService.getOccupiedChargers(anyCollection(), any())).thenReturn(Map.of());
+
+        List<Station> result = engine.selectStations(
+                List.of(cheapStation, fastStation, busyStation), "fastest", START_LAT, START_LON,
+                DEST_LAT, DEST_LON, 50.0, 5.0, 1);
+
+        assertEquals(List.of(busyStation), result);
+    }
+
+    @Test
+    void whenBatteryOutsideWindow_thenExcludesStation() {
+        when(stationService.getOccupiedChargers(anyCollection(), any())).thenReturn(Map.of());
+
+        // 500 kWh battery arrives at the midpoint well above the 80% ceiling
+        List<Station> result = engine.selectStations(List.of(fastStation), "fastest", START_LAT,
+                START_LON, DEST_LAT, DEST_LON, 500.0, 5.0, 3);
+
+        assertTrue(result.isEmpty());
+    }
+
+    @Test
+    void whenStrategyIsNull_thenUsesConfiguredDefault() {
+        assertEquals("fastest", engine.resolveStrategy(null).getName());
+        assertEquals("least-detour", engine.resolveStrategy(" Least-Detour ").getName());
+    }
+
+    @Test
+    void whenStrategyIsUnknown_thenThrowsBadRequest() {
+        ResponseStatusException exception =
+                assertThrows(ResponseStatusException.class, () -> engine.resolveStrategy("scenic"));
+
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getStatusCode());
+    }
+
+    private List<Station> select(String strategy) {
+        return engine.selectStations(List.of(cheapStation, fastStation, busyStation), strategy,
+                START_LAT, START_LON, DEST_LAT, DEST_LON, 50.0, 5.0, 3);
+    }
+
+    private Station createStation(Long id, String name, double latitude, double longitude,
+            int power, double price, int chargers) {
+        Station station = new Station.Builder().name(name).latitude(latitude).longitude(longitude)
+                .power(power).price(price).quantityOfChargers(chargers).status("Available")
+                .isOperational(true).build();
+        station.setId(id);
+        return station;
+    }
+}
@@ -1,13 +1,14 @@
 package tqs.sparkflow.stationservice.service;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -29,9 +30,14 @@ class StationLimitAndSearchTest {
   @Mock
   private StationRepository stationRepository;
 
-  @InjectMocks
   private StationService stationService;
 
+  @BeforeEach
+  void setUp() {
+    stationService = new StationService(stationRepository, null, null,
+        new StationSnapshotService(stationRepository, Duration.ofMinutes(5)));
+  }
+
   private List<Station> createLargeStationList(int count, String namePrefix) {
     List<Station> stationList = new ArrayList<>();
     for (int i = 1; i <= count; i++) {
@@ -59,7 +65,7 @@ class StationLimitAndSearchTest {
   void whenGettingAllStations_thenLimitsTo500Results() {
     // Given - Create a list of 600 stations to test the 500 limit
     List<Station> largeStationList = createLargeStationList(600, "Station");
-    when(stationRepository.findAll()).thenReturn(largeStationList);
+    when(stationRepository.findAllOnPrimary()).thenReturn(largeStationList);
 
     // When
     List<Station> result = stationService.getAllStations();
@@ -69,7 +75,7 @@ class StationLimitAndSearchTest {
       assertThat(stations.get(0).getName()).isEqualTo("Station 1");
       assertThat(stations.get(499).getName()).isEqualTo("Station 500");
     });
-    verify(stationRepository).findAll();
+    verify(stationRepository).findAllOnPrimary();
   }
 
   @Test
@@ -78,14 +84,14 @@ class StationLimitAndSearchTest {
   void whenGettingAllStationsWithLessThan500_thenReturnsAllStations() {
     // Given - Create a list of 50 stations (less than limit)
     List<Station> smallStationList = createLargeStationList(50, "Station");
-    when(stationRepository.findAll()).thenReturn(smallStationList);
+    when(stationRepository.findAllOnPrimary()).thenReturn(smallStationList);
 
     // When
     List<Station> result = stationService.getAllStations();
 
     // Then
     assertThat(result).hasSize(50).isEqualTo(smallStationList);
-    verify(stationRepository).findAll();
+    verify(stationRepository).findAllOnPrimary();
   }
 
   @Test
@@ -95,7 +101,7 @@ class StationLimitAndSearchTest {
     // Given - Create a list of 600 matching stations
     List<Station> largeStationList = createLargeStationList(600, "TestStation");
     largeStationList.forEach(station -> station.setCity("TestCity"));
-    when(stationRepository.findAll()).thenReturn(largeStationList);
+    when(stationRepository.findAllOnPrimary()).thenReturn(largeStationList);
 
     // When
     List<Station> result = stationService.searchStations("TestStation", "TestCity", null, null);
@@ -105,7 +111,7 @@ class StationLimitAndSearchTest {
       assertThat(stations.get(0).getName()).isEqualTo("TestStation 1");
       assertThat(stations.get(499).getName()).isEqualTo("TestStation 500");
     });
-    verify(stationRepository).findAll();
+    verify(stationRepository).findAllOnPrimary();
   }
 
   @Test
@@ -118,7 +124,7 @@ class StationLimitAndSearchTest {
             createTestStationWithName(2L, "Continente Power Hub"),
             createTestStationWithName(3L, "Mercadona Express Charger"),
             createTestStationWithName(4L, "Lidl Charging Point"));
-    when(stationRepository.findAll()).thenReturn(allStations);
+    when(stationRepository.findAllOnPrimary()).thenReturn(allStations);
 
     // When
     List<Station> result = stationService.searchStations("Mercadona", null, null, null);
@@ -126,7 +132,7 @@ class StationLimitAndSearchTest {
     // Then
     assertThat(result).hasSize(2).extracting(Station::getName)
         .containsExactlyInAnyOrder("Mercadona Charging Station", "Mercadona Express Charger");
-    verify(stationRepository).findAll();
+    verify(stationRepository).findAllOnPrimary();
   }
 
   @Test
@@ -138,14 +144,14 @@ class StationLimitAndSearchTest {
         Arrays.asList(createTestStationWithNameAndCity(1L, "AVEIRO Station", "aveiro"),
             createTestStationWithNameAndCity(2L, "Porto Station", "PORTO"),
             createTestStationWithNameAndCity(3L, "Lisboa Station", "Lisboa"));
-    when(stationRepository.findAll()).thenReturn(allStations);
+    when(stationRepository.findAllOnPrimary()).thenReturn(allStations);
 
     // When
     List<Station> result = stationService.searchStations("aveiro", "AVEIRO", null, null);
 
     // Then
     assertThat(result).hasSize(1).first().extracting(Station::getName).isEqualTo("AVEIRO Station");
-    verify(stationRepository).findAll();
+    verify(stationRepository).findAllOnPrimary();
   }
 
   @Test
@@ -158,14 +164,14 @@ class StationLimitAndSearchTest {
             createTestStationWithDetails(2L, "Station B", "Porto", "Portugal"),
             createTestStationWithDetails(3L, "Station C", "Aveiro", "Spain"),
             createTestStationWithDetails(4L, "Station D", "Madrid", "Spain"));
-    when(stationRepository.findAll()).thenReturn(allStations);
+    when(stationRepository.findAllOnPrimary()).thenReturn(allStations);
 
     // When
     List<Station> result = stationService.searchStations(null, "Aveiro", "Portugal", null);
 
     // Then
     assertThat(result).hasSize(1).first().extracting(Station::getName).isEqualTo("Station A");
-    verify(stationRepository).findAll();
+    verify(stationRepository).findAllOnPrimary();
   }
 
   @Test
@@ -185,14 +191,14 @@ class StationLimitAndSearchTest {
       station.setLongitude(centerLon + (i * 0.001));
       largeNearbyList.add(station);
     }
-    when(stationRepository.findAll()).thenReturn(largeNearbyList);
+    when(stationRepository.findAllOnPrimary()).thenReturn(largeNearbyList);
 
     // When
     List<Station> result = stationService.getNearbyStations(centerLat, centerLon, radius);
 
     // Then
     assertThat(result).hasSize(500);
-    verify(stationRepository).findAll();
+    verify(stationRepository).findAllOnPrimary();
   }
 
   // Helper methods for creating test stations with specific properties
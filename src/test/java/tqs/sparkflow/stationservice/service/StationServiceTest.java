@@ -1,5 +1,6 @@
 package tqs.sparkflow.stationservice.service;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
@@ -12,7 +13,6 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.verify;
@@ -45,7 +45,6 @@ class StationServiceTest {
   @Mock
   private ChargingSessionRepository chargingSessionRepository;
 
-  @InjectMocks
   private StationService stationService;
 
   private Station station1;
@@ -56,6 +55,10 @@ class StationServiceTest {
 
   @BeforeEach
   void setUp() {
+    stationService = new StationService(stationRepository, bookingRepository,
+        chargingSessionRepository, new StationSnapshotService(stationRepository,
+            Duration.ofMinutes(5)));
+
     // Create test stations
     station1 =
         new Station.Builder().name("Tesla Supercharger Aveiro").address("Address 1").city("Aveiro")
@@ -90,14 +93,14 @@ class StationServiceTest {
   void whenGettingAllStations_thenReturnsAllStations() {
     // Given
     List<Station> expectedStations = Arrays.asList(station1, station2);
-    when(stationRepository.findAll()).thenReturn(expectedStations);
+    when(stationRepository.findAllOnPrimary()).thenReturn(expectedStations);
 
     // When
     List<Station> result = stationService.getAllStations();
 
     // Then
     assertThat(result).isEqualTo(expectedStations);
-    verify(stationRepository).findAll();
+    verify(stationRepository).findAllOnPrimary();
   }
 
   @Test
@@ -147,14 +150,14 @@ class StationServiceTest {
   void whenSearchingStationsByName_thenReturnsMatchingStations() {
     // Given
     List<Station> allStations = Arrays.asList(station1, station2, station3, station4, station5);
-    when(stationRepository.findAll()).thenReturn(allStations);
+    when(stationRepository.findAllOnPrimary()).thenReturn(allStations);
 
     // When - Search for "Tesla"
     List<Station> result = stationService.searchStations("Tesla", null, null, null);
 
     // Then
     assertThat(result).hasSize(1).containsExactly(station1);
-    verify(stationRepository).findAll();
+    verify(stationRepository).findAllOnPrimary();
   }
 
   @ParameterizedTest
@@ -165,7 +168,7 @@ class StationServiceTest {
       List<String> expectedStationNames) {
     // Given
     List<Station> allStations = Arrays.asList(station1, station2, station3, station4, station5);
-    when(stationRepository.findAll()).thenReturn(allStations);
+    when(stationRepository.findAllOnPrimary()).thenReturn(allStations);
 
     // When
     List<Station> result = stationService.searchStations(searchTerm, null, null, null);
@@ -181,7 +184,7 @@ class StationServiceTest {
   void whenGettingNearbyStationsWithMediumRadius_thenIncludesPortoAndCoimbra() {
     // Given
     List<Station> allStations = Arrays.asList(station1, station2, station3, station5);
-    when(stationRepository.findAll()).thenReturn(allStations);
+    when(stationRepository.findAllOnPrimary()).thenReturn(allStations);
 
     // When - Search within 70km from Aveiro (includes both Porto ~68km and Braga ~62km)
     List<Station> result = stationService.getNearbyStations(40.623361, -8.650256, 70);
@@ -196,7 +199,7 @@ class StationServiceTest {
   void whenSearchingStationsByCaseInsensitiveName_thenReturnsMatchingStations() {
     // Given
     List<Station> allStations = Arrays.asList(station1, station2, station3, station4, station5);
-    when(stationRepository.findAll()).thenReturn(allStations);
+    when(stationRepository.findAllOnPrimary()).thenReturn(allStations);
 
     // When - Search with different case
     List<Station> result = stationService.searchStations("IONITY", null, null, null);
@@ -211,7 +214,7 @@ class StationServiceTest {
   void whenSearchingStationsByCity_thenReturnsMatchingStations() {
     // Given
     List<Station> allStations = Arrays.asList(station1, station2, station3, station4, station5);
-    when(stationRepository.findAll()).thenReturn(allStations);
+    when(stationRepository.findAllOnPrimary()).thenReturn(allStations);
 
     // When - Search by city
     List<Station> result = stationService.searchStations(null, "Porto", null, null);
@@ -226,7 +229,7 @@ class StationServiceTest {
   void whenSearchingStationsByCountry_thenReturnsMatchingStations() {
     // Given
     List<Station> allStations = Arrays.asList(station1, station2, station3, station4, station5);
-    when(stationRepository.findAll()).thenReturn(allStations);
+    when(stationRepository.findAllOnPrimary()).thenReturn(allStations);
 
     // When - Search by country
     List<Station> result = stationService.searchStations(null, null, "Portugal", null);
@@ -241,7 +244,7 @@ class StationServiceTest {
   void whenSearchingStationsByMinChargers_thenReturnsMatchingStations() {
     // Given
     List<Station> allStations = Arrays.asList(station1, station2, station3, station4, station5);
-    when(stationRepository.findAll()).thenReturn(allStations);
+    when(stationRepository.findAllOnPrimary()).thenReturn(allStations);
 
     // When - Search for stations with at least 6 chargers
     List<Station> result = stationService.searchStations(null, null, null, 6);
@@ -256,7 +259,7 @@ class StationServiceTest {
   void whenSearchingStationsWithMultipleCriteria_thenReturnsMatchingStations() {
     // Given
     List<Station> allStations = Arrays.asList(station1, station2, station3, station4, station5);
-    when(stationRepository.findAll()).thenReturn(allStations);
+    when(stationRepository.findAllOnPrimary()).thenReturn(allStations);
 
     // When - Search with multiple criteria: Portugal + at least 3 chargers
     List<Station> result = stationService.searchStations(null, null, "Portugal", 3);
@@ -272,7 +275,7 @@ class StationServiceTest {
   void whenSearchingStationsWithNoMatches_thenReturnsEmptyList() {
     // Given
     List<Station> allStations = Arrays.asList(station1, station2, station3, station4, station5);
-    when(stationRepository.findAll()).thenReturn(allStations);
+    when(stationRepository.findAllOnPrimary()).thenReturn(allStations);
 
     // When - Search for non-existent criteria
     List<Station> result = stationService.searchStations("NonExistent", null, null, null);
@@ -294,7 +297,7 @@ class StationServiceTest {
     stationWithNulls.setQuantityOfChargers(null);
 
     List<Station> allStations = Arrays.asList(station1, stationWithNulls);
-    when(stationRepository.findAll()).thenReturn(allStations);
+    when(stationRepository.findAllOnPrimary()).thenReturn(allStations);
 
     // When - Search that should exclude null values
     List<Station> result = stationService.searchStations("Tesla", null, null, null);
@@ -310,7 +313,7 @@ class StationServiceTest {
   void whenSearchingStationsWithEmptyStrings_thenIgnoresEmptyFilters() {
     // Given
     List<Station> allStations = Arrays.asList(station1, station2);
-    when(stationRepository.findAll()).thenReturn(allStations);
+    when(stationRepository.findAllOnPrimary()).thenReturn(allStations);
 
     // When - Search with empty strings (should return all)
     List<Station> result = stationService.searchStations("", "", "", null);
@@ -331,7 +334,7 @@ class StationServiceTest {
     nearbyStation.setLongitude(-8.651256);
 
     List<Station> allStations = Arrays.asList(station1, station2, station3, nearbyStation);
-    when(stationRepository.findAll()).thenReturn(allStations);
+    when(stationRepository.findAllOnPrimary()).thenReturn(allStations);
 
     // When - Search within 1km from Aveiro (very small radius)
     List<Station> result = stationService.getNearbyStations(40.623361, -8.650256, 1);
@@ -346,7 +349,7 @@ class StationServiceTest {
   void whenGettingNearbyStationsWithSmallRadius_thenReturnsOnlyVeryCloseStations() {
     // Given
     List<Station> allStations = Arrays.asList(station1, station2, station3, station5);
-    when(stationRepository.findAll()).thenReturn(allStations);
+    when(stationRepository.findAllOnPrimary()).thenReturn(allStations);
 
     // When - Search within 1km from Aveiro
     List<Station> result = stationService.getNearbyStations(40.623361, -8.650256, 1);
@@ -361,7 +364,7 @@ class StationServiceTest {
   void whenGettingNearbyStationsWithLargeRadius_thenReturnsAllStationsWithinRange() {
     // Given
     List<Station> allStations = Arrays.asList(station1, station2, station3, station5);
-    when(stationRepository.findAll()).thenReturn(allStations);
+    when(stationRepository.findAllOnPrimary()).thenReturn(allStations);
 
     // When - Search within 100km from Aveiro
     List<Station> result = stationService.getNearbyStations(40.623361, -8.650256, 100);
@@ -424,7 +427,7 @@ class StationServiceTest {
     nullCoordsStation.setLongitude(null);
 
     List<Station> allStations = Arrays.asList(nearbyStation, farStation, nullCoordsStation);
-    when(stationRepository.findAll()).thenReturn(allStations);
+    when(stationRepository.findAllOnPrimary()).thenReturn(allStations);
 
     // When
     List<Station> result = stationService.getNearbyStations(centerLat, centerLon, radius);
@@ -432,7 +435,7 @@ class StationServiceTest {
     // Then
     assertThat(result).hasSize(1).containsOnly(nearbyStation).doesNotContain(farStation,
         nullCoordsStation);
-    verify(stationRepository).findAll();
+    verify(stationRepository).findAllOnPrimary();
   }
 
   @Test
@@ -487,14 +490,15 @@ class StationServiceTest {
   @Requirement("STATION-SVC-38")
   void whenGettingTotalStationCount_thenReturnsCorrectCount() {
     // Given
-    when(stationRepository.count()).thenReturn(1500L);
+    when(stationRepository.findAllOnPrimary())
+        .thenReturn(Arrays.asList(station1, station2, station3));
 
     // When
     Long result = stationService.getTotalStationCount();
 
     // Then
-    assertThat(result).isEqualTo(1500L);
-    verify(stationRepository).count();
+    assertThat(result).isEqualTo(3L);
+    verify(stationRepository).findAllOnPrimary();
   }
 
   @Test
@@ -620,6 +624,39 @@ class StationServiceTest {
         .isInstanceOf(NullPointerException.class).hasMessageContaining("Station cannot be null");
   }
 
+  @Test
+  @XrayTest(key = "STATION-SVC-59")
+  @Requirement("STATION-SVC-59")
+  void whenUpdatingExistingStation_thenStoredVersionIsCarriedOver() {
+    // Given
+    when(stationRepository.findVersionById(1L)).thenReturn(Optional.of(3L));
+    when(stationRepository.save(any(Station.class))).thenAnswer(invocation -> {
+      Station saved = invocation.getArgument(0);
+      saved.setVersion(saved.getVersion() + 1);
+      return saved;
+    });
+
+    // When
+    Station result = stationService.updateStation(1L, station2);
+
+    // Then
+    assertThat(result.getId()).isEqualTo(1L);
+    assertThat(result.getVersion()).isEqualTo(4L);
+  }
+
+  @Test
+  @XrayTest(key = "STATION-SVC-60")
+  @Requirement("STATION-SVC-60")
+  void whenUpdatingNonExistentStation_thenThrowsException() {
+    // Given
+    when(stationRepository.findVersionById(1L)).thenReturn(Optional.empty());
+
+    // When/Then
+    assertThatThrownBy(() -> stationService.updateStation(1L, station2))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessageContaining("Station not found with id: 1");
+  }
+
   @Test
   @XrayTest(key = "STATION-SVC-18")
   @Requirement("STATION-SVC-18")
@@ -692,14 +729,14 @@ class StationServiceTest {
   void whenFilteringStationsByPriceRange_thenReturnMatchingStations() {
     // Given
     List<Station> expectedStations = Arrays.asList(station1, station3);
-    when(stationRepository.findAll()).thenReturn(expectedStations);
+    when(stationRepository.findAllOnPrimary()).thenReturn(expectedStations);
 
     // When
     List<Station> result = stationService.searchStations(null, null, null, null);
 
     // Then
     assertThat(result).hasSize(2);
-    verify(stationRepository).findAll();
+    verify(stationRepository).findAllOnPrimary();
   }
 
   @Test
@@ -1030,8 +1067,8 @@ class StationServiceTest {
       LocalDateTime startTime) {
     ChargingSession session = new ChargingSession();
     session.setId(id);
-    session.setStationId(String.valueOf(stationId));
-    session.setUserId(String.valueOf(userId));
+    session.setStationId(stationId);
+    session.setUserId(userId);
     session.setStartTime(startTime);
     return session;
   }
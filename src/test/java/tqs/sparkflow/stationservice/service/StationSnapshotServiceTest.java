@@ -0,0 +1,157 @@
+package tqs.sparkflow.stationservice.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import tqs.sparkflow.stationservice.model.Station;
+import tqs.sparkflow.stationservice.repository.StationRepository;
+
+@ExtendWith(MockitoExtension.class)
+class StationSnapshotServiceTest {
+
+    @Mock
+    private StationRepository stationRepository;
+
+    private StationSnapshotService stationSnapshots;
+
+    @BeforeEach
+    void setUp() {
+        stationSnapshots = new StationSnapshotService(stationRepository, Duration.ofMinutes(5));
+    }
+
+    @Test
+    void whenSnapshotIsReadRepeatedly_thenStationsAreLoadedOnce() {
+        // Given
+        when(stationRepository.findAllOnPrimary()).thenReturn(List.of(station(1L, "First")));
+
+        // When
+        StationSnapshot first = stationSnapshots.current();
+        StationSnapshot second = stationSnapshots.current();
+
+        // Then
+        assertThat(second).isSameAs(first);
+        verify(stationRepository, times(1)).findAllOnPrimary();
+    }
+
+    @Test
+    void whenStationIsSavedOrDeleted_thenDeltaIsAppliedWithoutReloading() {
+        // Given
+        when(stationRepository.findAllOnPrimary())
+                .thenReturn(List.of(station(1L, "First"), station(2L, "Second")));
+        StationSnapshot loaded = stationSnapshots.current();
+
+        // When
+        stationSnapshots.stationSaved(station(3L, "Third"));
+        stationSnapshots.stationDeleted(1L);
+
+        // Then
+        StationSnapshot current = stationSnapshots.current();
+        assertThat(current).isNotSameAs(loaded);
+        assertThat(current.size()).isEqualTo(2);
+        assertThat(current.name(0)).isEqualTo("Second");
+        assertThat(current.name(1)).isEqualTo("Third");
+        assertThat(loaded.size()).isEqualTo(2);
+        verify(stationRepository, times(1)).findAllOnPrimary();
+    }
+
+    @Test
+    void whenWriteIsInATransaction_thenDeltaWaitsForTheCommit() {
+        // Given
+        when(stationRepository.findAllOnPrimary()).thenReturn(List.of(station(1L, "First")));
+        stationSnapshots.current();
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            // When
+            stationSnapshots.stationSaved(station(2L, "Second"));
+            stationSnapshots.stationDeleted(1L);
+
+            // Then
+            assertThat(stationSnapshots.current().name(0)).isEqualTo("First");
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(TransactionSynchronization::afterCommit);
+            assertThat(stationSnapshots.current().size()).isEqualTo(1);
+            assertThat(stationSnapshots.current().name(0)).isEqualTo("Second");
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void whenTransactionRollsBack_thenDeltaIsDropped() {
+        // Given
+        when(stationRepository.findAllOnPrimary()).thenReturn(List.of(station(1L, "First")));
+        StationSnapshot loaded = stationSnapshots.current();
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            stationSnapshots.stationSaved(station(2L, "Second"));
+
+            // When
+            TransactionSynchronizationManager.getSynchronizations().forEach(synchronization ->
+                    synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        // Then
+        assertThat(stationSnapshots.current()).isSameAs(loaded);
+    }
+
+    @Test
+    void whenSnapshotIsInvalidated_thenNextReadReloads() {
+        // Given
+        when(stationRepository.findAllOnPrimary()).thenReturn(List.of(station(1L, "First")),
+                List.of(station(1L, "First"), station(2L, "Imported")));
+        stationSnapshots.current();
+
+        // When
+        stationSnapshots.invalidate();
+
+        // Then
+        assertThat(stationSnapshots.current().size()).isEqualTo(2);
+        verify(stationRepository, times(2)).findAllOnPrimary();
+    }
+
+    @Test
+    void whenSnapshotIsOlderThanMaxAge_thenNextReadReloads() {
+        // Given
+        stationSnapshots = new StationSnapshotService(stationRepository, Duration.ZERO);
+        when(stationRepository.findAllOnPrimary()).thenReturn(List.of(station(1L, "First")));
+
+        // When
+        stationSnapshots.current();
+        stationSnapshots.current();
+
+        // Then
+        verify(stationRepository, times(2)).findAllOnPrimary();
+    }
+
+    @Test
+    void whenNothingIsLoaded_thenWritesDoNotLoadTheSnapshot() {
+        // When
+        stationSnapshots.stationSaved(station(1L, "First"));
+        stationSnapshots.stationDeleted(1L);
+
+        // Then
+        verify(stationRepository, times(0)).findAllOnPrimary();
+    }
+
+    private Station station(Long id, String name) {
+        Station station = new Station();
+        station.setId(id);
+        station.setName(name);
+        return station;
+    }
+}
@@ -0,0 +1,134 @@
+package tqs.sparkflow.stationservice.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import tqs.sparkflow.stationservice.model.Station;
+
+class StationSnapshotTest {
+
+    @Test
+    void whenRowIsMaterialized_thenItEqualsTheOriginalStation() {
+        // Given
+        Station original = station(1L, "Aveiro Central");
+        original.setPrice(0.30);
+        original.setPower(50);
+
+        // When
+        Station copy = StationSnapshot.of(List.of(original)).station(0);
+
+        // Then
+        assertThat(copy).isEqualTo(original).isNotSameAs(original);
+        assertThat(copy.getExternalId()).isEqualTo(original.getExternalId());
+    }
+
+    @Test
+    void whenFieldsAreMissing_thenTheyStayMissing() {
+        // Given
+        Station sparse = new Station();
+        sparse.setId(7L);
+
+        // When
+        StationSnapshot snapshot = StationSnapshot.of(List.of(sparse));
+
+        // Then
+        assertThat(snapshot.hasCoordinates(0)).isFalse();
+        assertThat(snapshot.chargers(0)).isEqualTo(StationSnapshot.MISSING);
+        assertThat(snapshot.isOperational(0)).isFalse();
+        assertThat(snapshot.station(0)).isEqualTo(sparse);
+    }
+
+    @Test
+    void whenStationIsSaved_thenNewSnapshotReplacesOrAppendsAndOriginalIsUnchanged() {
+        // Given
+        StationSnapshot snapshot =
+                StationSnapshot.of(List.of(station(1L, "First"), station(2L, "Second")));
+
+        // When
+        StationSnapshot updated = snapshot.with(station(2L, "Renamed"));
+        StationSnapshot appended = updated.with(station(3L, "Third"));
+
+        // Then
+        assertThat(snapshot.name(1)).isEqualTo("Second");
+        assertThat(updated.size()).isEqualTo(2);
+        assertThat(updated.name(1)).isEqualTo("Renamed");
+        assertThat(appended.size()).isEqualTo(3);
+        assertThat(appended.indexOf(3L)).isEqualTo(2);
+    }
+
+    @Test
+    void whenStationIsRemoved_thenLaterRowsShiftUp() {
+        // Given
+        StationSnapshot snapshot = StationSnapshot.of(
+                List.of(station(1L, "First"), station(2L, "Second"), station(3L, "Third")));
+
+        // When
+        StationSnapshot removed = snapshot.without(2L);
+
+        // Then
+        assertThat(removed.size()).isEqualTo(2);
+        assertThat(removed.name(0)).isEqualTo("First");
+        assertThat(removed.name(1)).isEqualTo("Third");
+        assertThat(removed.indexOf(2L)).isEqualTo(-1);
+        assertThat(snapshot.without(99L)).isSameAs(snapshot);
+    }
+
+    @Test
+    void whenStationsShareACity_thenTheCityIsStoredOnce() {
+        // Given
+        Station first = station(1L, "First");
+        Station second = station(2L, "Second");
+        second.setCity(new String("Aveiro"));
+
+        // When
+        StationSnapshot snapshot = StationSnapshot.of(List.of(first, second));
+
+        // Then
+        assertThat(snapshot.city(1)).isSameAs(snapshot.city(0));
+    }
+
+    @Test
+    void whenStationsChange_thenFingerprintFollowsIdsAndVersions() {
+        // Given
+        Station first = station(1L, "First");
+        Station second = station(2L, "Second");
+        StationSnapshot snapshot = StationSnapshot.of(List.of(first, second));
+
+        // When
+        Station updated = station(2L, "Second");
+        updated.setVersion(1L);
+        StationSnapshot afterUpdate = snapshot.with(updated);
+        StationSnapshot afterRemoval = snapshot.without(2L);
+
+        // Then
+        assertThat(StationSnapshot.of(List.of(second, first)).fingerprint())
+                .isEqualTo(snapshot.fingerprint());
+        assertThat(snapshot.with(station(2L, "Renamed")).fingerprint())
+                .isEqualTo(snapshot.fingerprint());
+        assertThat(afterUpdate.fingerprint()).isNotEqualTo(snapshot.fingerprint())
+                .isEqualTo(StationSnapshot.of(List.of(first, updated)).fingerprint());
+        assertThat(afterUpdate.version(1)).isEqualTo(1L);
+        assertThat(afterRemoval.fingerprint())
+                .isEqualTo(StationSnapshot.of(List.of(first)).fingerprint());
+    }
+
+    @Test
+    void containsIgnoreCase_matchesAnywhereRegardlessOfCase() {
+        assertThat(StationSnapshot.containsIgnoreCase("Tesla Supercharger", "CHARGER")).isTrue();
+        assertThat(StationSnapshot.containsIgnoreCase("Tesla", "tesla")).isTrue();
+        assertThat(StationSnapshot.containsIgnoreCase("Tesla", "Teslas")).isFalse();
+        assertThat(StationSnapshot.containsIgnoreCase("Tesla", "")).isTrue();
+    }
+
+    private Station station(Long id, String name) {
+        Station station = new Station.Builder().externalId("EXT-" + id).name(name)
+                .address("Address").city("Aveiro").country("Portugal").latitude(40.62)
+                .longitude(-8.65).quantityOfChargers(2).status("Available").isOperational(true)
+                .build();
+        station.setId(id);
+        return station;
+    }
+}
@@ -0,0 +1,168 @@
+package tqs.sparkflow.stationservice.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import tqs.sparkflow.stationservice.model.Booking;
+import tqs.sparkflow.stationservice.model.ChargingSession;
+import tqs.sparkflow.stationservice.model.Station;
+import tqs.sparkflow.stationservice.model.UserMonthlyStats;
+import tqs.sparkflow.stationservice.repository.BookingRepository;
+import tqs.sparkflow.stationservice.repository.ChargingSessionRepository;
+import tqs.sparkflow.stationservice.repository.StationRepository;
+import tqs.sparkflow.stationservice.repository.UserMonthlyBookingCount;
+import tqs.sparkflow.stationservice.repository.UserMonthlySessionUsage;
+import tqs.sparkflow.stationservice.repository.UserMonthlyStatsRepository;
+import tqs.sparkflow.stationservice.repository.UserMonthlyStatsUpsertRepository;
+
+@ExtendWith(MockitoExtension.class)
+class StatisticsRollupServiceTest {
+
+  private static final LocalDateTime MARCH_START = LocalDateTime.of(2024, 3, 10, 10, 0);
+
+  @Mock
+  private UserMonthlyStatsRepository userMonthlyStatsRepository;
+
+  @Mock
+  private UserMonthlyStatsUpsertRepository userMonthlyStatsUpsertRepository;
+
+  @Mock
+  private ChargingSessionRepository chargingSessionRepository;
+
+  @Mock
+  private BookingRepository bookingRepository;
+
+  @Mock
+  private StationRepository stationRepository;
+
+  private StatisticsRollupService rollupService;
+
+  @BeforeEach
+  void setUp() {
+    rollupService = new StatisticsRollupService(userMonthlyStatsRepository,
+        userMonthlyStatsUpsertRepository, chargingSessionRepository, bookingRepository,
+        stationRepository, true, 24);
+  }
+
+  private ChargingSession finishedSession(long minutes) {
+    ChargingSession session = new ChargingSession(1L, 42L);
+    session.setStartTime(MARCH_START);
+    session.setEndTime(MARCH_START.plusMinutes(minutes));
+    session.setFinished(true);
+    return session;
+  }
+
+  @Test
+  void whenRecordFinishedSession_thenUsageIsUpserted() {
+    Station station = new Station();
+    station.setPrice(0.5);
+    when(stationRepository.findById(1L)).thenReturn(Optional.of(station));
+
+    rollupService.recordFinishedSession(finishedSession(120));
+
+    verify(userMonthlyStatsUpsertRepository).addSession(42L, 202403, 120L, 15, 7.5);
+  }
+
+  @Test
+  void whenRecordFinishedSession_atUnknownStation_thenDefaultPriceIsUsed() {
+    when(stationRepository.findById(1L)).thenReturn(Optional.empty());
+
+    rollupService.recordFinishedSession(finishedSession(60));
+
+    verify(userMonthlyStatsUpsertRepository).addSession(42L, 202403, 60L, 8,
+        8 * StatisticsRollupService.DEFAULT_PRICE_PER_KWH);
+  }
+
+  @Test
+  void whenRecordBooking_thenBookingIsUpserted() {
+    Booking booking = new Booking();
+    booking.setUserId(42L);
+    booking.setStartTime(MARCH_START);
+
+    rollupService.recordBooking(booking);
+
+    verify(userMonthlyStatsUpsertRepository).addBooking(42L, 202403);
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void whenBackfill_thenSessionsAndBookingsAreMergedPerUserAndMonth() {
+    UserMonthlySessionUsage usage = mock(UserMonthlySessionUsage.class);
+    when(usage.getUserId()).thenReturn(42L);
+    when(usage.getMonthKey()).thenReturn(202403);
+    when(usage.getSessions()).thenReturn(3L);
+    when(usage.getDurationMinutes()).thenReturn(180L);
+    when(usage.getKwh()).thenReturn(23L);
+    when(usage.getCost()).thenReturn(8.05);
+
+    UserMonthlyBookingCount sameMonth = mock(UserMonthlyBookingCount.class);
+    when(sameMonth.getUserId()).thenReturn(42L);
+    when(sameMonth.getMonthKey()).thenReturn(202403);
+    when(sameMonth.getBookings()).thenReturn(2L);
+    UserMonthlyBookingCount otherMonth = mock(UserMonthlyBookingCount.class);
+    when(otherMonth.getUserId()).thenReturn(42L);
+    when(otherMonth.getMonthKey()).thenReturn(202404);
+    when(otherMonth.getBookings()).thenReturn(1L);
+
+    LocalDateTime since = LocalDateTime.of(2024, 1, 1, 0, 0);
+    when(chargingSessionRepository.aggregateFinishedSessionsByUserAndMonth(since))
+        .thenReturn(List.of(usage));
+    when(bookingRepository.countBookingsByUserAndMonth(since))
+        .thenReturn(List.of(sameMonth, otherMonth));
+
+    rollupService.backfill(YearMonth.of(2024, 1));
+
+    verify(userMonthlyStatsRepository).deleteFromMonth(202401);
+    verify(userMonthlyStatsRepository, never()).deleteAllInBatch();
+    ArgumentCaptor<Collection<UserMonthlyStats>> captor = ArgumentCaptor.forClass(Collection.class);
+    verify(userMonthlyStatsUpsertRepository).replaceAll(captor.capture());
+    List<UserMonthlyStats> rows = new ArrayList<>(captor.getValue());
+    rows.sort(Comparator.comparingInt(UserMonthlyStats::getMonthKey));
+
+    assertEquals(2, rows.size());
+    assertEquals(3, rows.get(0).getSessions());
+    assertEquals(180, rows.get(0).getDurationMinutes());
+    assertEquals(23, rows.get(0).getKwh());
+    assertEquals(8.05, rows.get(0).getCost(), 1e-9);
+    assertEquals(2, rows.get(0).getBookings());
+    assertEquals(0, rows.get(1).getSessions());
+    assertEquals(1, rows.get(1).getBookings());
+  }
+
+  @Test
+  void whenBackfillIfEmpty_andRowsExist_thenNothingIsRebuilt() {
+    when(userMonthlyStatsRepository.count()).thenReturn(5L);
+
+    rollupService.backfillIfEmpty();
+
+    verify(chargingSessionRepository, never()).aggregateFinishedSessionsByUserAndMonth(any());
+  }
+
+  @Test
+  void whenBackfillIfEmpty_andNoRowsExist_thenAllMonthsAreRebuilt() {
+    when(userMonthlyStatsRepository.count()).thenReturn(0L);
+
+    rollupService.backfillIfEmpty();
+
+    verify(chargingSessionRepository).aggregateFinishedSessionsByUserAndMonth(
+        StatisticsRollupService.FIRST_MONTH.atDay(1).atStartOfDay());
+    verify(userMonthlyStatsRepository).deleteFromMonth(197001);
+  }
+}
@@ -0,0 +1,123 @@
+package tqs.sparkflow.stationservice.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import jakarta.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.temporal.WeekFields;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import tqs.sparkflow.stationservice.dto.StatisticsDTO;
+import tqs.sparkflow.stationservice.model.Booking;
+import tqs.sparkflow.stationservice.model.BookingStatus;
+import tqs.sparkflow.stationservice.model.ChargingSession;
+import tqs.sparkflow.stationservice.model.Station;
+
+/**
+ * Guards against per-session and per-booking lookups creeping back into the statistics service:
+ * the number of JDBC statements must not grow with the number of sessions or bookings.
+ */
+@DataJpaTest
+@Import(StatisticsServiceImpl.class)
+@TestPropertySource(properties = {"spring.jpa.properties.hibernate.generate_statistics=true"})
+class StatisticsServiceQueryCountIT {
+
+  private static final Long USER_ID = 42L;
+  private static final int SESSIONS = 30;
+  private static final int BOOKINGS = 10;
+
+  @Autowired
+  private TestEntityManager entityManager;
+
+  @Autowired
+  private EntityManagerFactory entityManagerFactory;
+
+  @Autowired
+  private StatisticsService statisticsService;
+
+  private Statistics statistics;
+
+  @BeforeEach
+  void setUp() {
+    Station station = new Station();
+    station.setName("Query Count Station");
+    station.setLatitude(41.1579);
+    station.setLongitude(-8.6291);
+    station.setQuantityOfChargers(2);
+    station.setStatus("Available");
+    station.setIsOperational(true);
+    station.setPrice(0.5);
+    entityManager.persist(station);
+
+    LocalDateTime monthStart = YearMonth.now().atDay(1).atTime(8, 0);
+    for (int i = 0; i < SESSIONS; i++) {
+      // Spread the sessions over the first 25 days of the month, one hour each
+      ChargingSession session = new ChargingSession(station.getId(), USER_ID);
+      session.setStartTime(monthStart.plusHours(i * 20L));
+      session.setEndTime(monthStart.plusHours(i * 20L + 1));
+      session.setFinished(true);
+      entityManager.persist(session);
+    }
+    for (int i = 0; i < BOOKINGS; i++) {
+      Booking booking = new Booking();
+      booking.setStationId(station.getId());
+      booking.setUserId(USER_ID);
+      booking.setStartTime(monthStart.plusDays(i));
+      booking.setEndTime(monthStart.plusDays(i).plusHours(1));
+      booking.setRecurringDays(Set.of());
+      booking.setStatus(BookingStatus.ACTIVE);
+      entityManager.persist(booking);
+    }
+    entityManager.flush();
+    entityManager.clear();
+
+    statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    statistics.clear();
+  }
+
+  @Test
+  void weeklyDataUsesSingleAggregationQuery() {
+    List<StatisticsDTO.WeeklyData> weeks = statisticsService.getWeeklyDataCurrentMonth(USER_ID);
+
+    assertEquals(1, statistics.getPrepareStatementCount());
+    assertEquals(SESSIONS, weeks.stream().mapToInt(StatisticsDTO.WeeklyData::getSessions).sum());
+    // One hour each: 8 kWh at 0.5 EUR/kWh
+    assertEquals(SESSIONS * 4.0,
+        weeks.stream().mapToDouble(StatisticsDTO.WeeklyData::getCost).sum(), 1e-6);
+  }
+
+  @Test
+  void weekPeriodDetailsDoNotLoadStationsPerBooking() {
+    String week = String.valueOf(
+        YearMonth.now().atDay(1).get(WeekFields.of(Locale.getDefault()).weekOfYear()));
+
+    statisticsService.getPeriodDetails(USER_ID, "week", week);
+
+    // Session aggregation, bookings and one batched station lookup
+    assertTrue(statistics.getPrepareStatementCount() <= 3,
+        "Expected at most 3 statements but was " + statistics.getPrepareStatementCount());
+  }
+
+  @Test
+  void monthlyDataQueryCountDoesNotDependOnBookingsOrMonths() {
+    int months = 3;
+
+    List<StatisticsDTO.MonthlyData> data = statisticsService.getMonthlyData(USER_ID, months);
+
+    assertEquals(BOOKINGS, data.get(0).getReservations().size());
+    // Rollup rows, the bookings of the whole window and one batched station lookup
+    assertEquals(3, statistics.getPrepareStatementCount());
+  }
+}
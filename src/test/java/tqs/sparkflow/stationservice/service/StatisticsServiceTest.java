@@ -11,19 +11,26 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import tqs.sparkflow.stationservice.dto.StatisticsDTO;
 import tqs.sparkflow.stationservice.model.Booking;
 import tqs.sparkflow.stationservice.model.BookingStatus;
-import tqs.sparkflow.stationservice.model.ChargingSession;
 import tqs.sparkflow.stationservice.model.Station;
+import tqs.sparkflow.stationservice.model.UserMonthlyStats;
 import tqs.sparkflow.stationservice.repository.BookingRepository;
 import tqs.sparkflow.stationservice.repository.ChargingSessionRepository;
+import tqs.sparkflow.stationservice.repository.DailySessionUsage;
 import tqs.sparkflow.stationservice.repository.StationRepository;
+import tqs.sparkflow.stationservice.repository.UserMonthlyStatsRepository;
 
-import java.time.LocalDateTime;
+import java.time.LocalDate;
+import java.time.YearMonth;
 import java.util.Arrays;
 import java.util.List;
-import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -38,13 +45,16 @@ class StatisticsServiceTest {
     
     @Mock
     private StationRepository stationRepository;
+
+    @Mock
+    private UserMonthlyStatsRepository userMonthlyStatsRepository;
     
     @InjectMocks
     private StatisticsServiceImpl statisticsService;
     
     private Station testStation;
-    private ChargingSession testSession;
     private Booking testBooking;
+    private UserMonthlyStats currentMonthRollup;
     
     @BeforeEach
     void setUp() {
@@ -53,21 +63,21 @@ class StatisticsServiceTest {
         testStation.setName("Test Station");
         testStation.setPrice(0.35);
         
-        testSession = new ChargingSession();
-        testSession.setId(1L);
-        testSession.setStationId("1");
-        testSession.setUserId("123");
-        testSession.setStartTime(LocalDateTime.now().minusHours(2));
-        testSession.setEndTime(LocalDateTime.now().minusHours(1));
-        testSession.setFinished(true);
-        
         testBooking = new Booking();
         testBooking.setId(1L);
         testBooking.setStationId(1L);
         testBooking.setUserId(123L);
-        testBooking.setStartTime(LocalDateTime.now().minusHours(2));
-        testBooking.setEndTime(LocalDateTime.now().minusHours(1));
+        testBooking.setStartTime(YearMonth.now().atDay(1).atTime(10, 0));
+        testBooking.setEndTime(YearMonth.now().atDay(1).atTime(11, 0));
         testBooking.setStatus(BookingStatus.ACTIVE);
+
+        // One finished one-hour session at a 0.35 EUR/kWh station
+        currentMonthRollup = new UserMonthlyStats(123L, UserMonthlyStats.monthKey(YearMonth.now()));
+        currentMonthRollup.setSessions(1);
+        currentMonthRollup.setDurationMinutes(60);
+        currentMonthRollup.setKwh(8);
+        currentMonthRollup.setCost(2.8);
+        currentMonthRollup.setBookings(1);
     }
 
     @Test
@@ -75,10 +85,8 @@ class StatisticsServiceTest {
     void shouldCalculateCurrentMonthStatisticsSuccessfully() {
         // Given
         Long userId = 123L;
-        when(chargingSessionRepository.findFinishedSessionsByUserInPeriod(anyString(), any(), any()))
-            .thenReturn(Arrays.asList(testSession));
-        when(stationRepository.findById(1L))
-            .thenReturn(Optional.of(testStation));
+        when(userMonthlyStatsRepository.findByUserIdAndMonthKeyBetweenOrderByMonthKey(eq(userId),
+            anyInt(), anyInt())).thenReturn(Arrays.asList(currentMonthRollup));
         
         // When
         StatisticsDTO.CurrentMonthStats result = statisticsService.getCurrentMonthStatistics(userId);
@@ -86,10 +94,12 @@ class StatisticsServiceTest {
         // Then
         assertNotNull(result);
         assertEquals(1, result.getTotalSessions());
-        assertTrue(result.getTotalCost() > 0);
-        assertTrue(result.getEstimatedKwh() > 0);
-        assertTrue(result.getCo2Saved() > 0);
-        assertTrue(result.getAvgCostPerSession() > 0);
+        assertEquals(2.8, result.getTotalCost());
+        assertEquals(8, result.getEstimatedKwh());
+        assertEquals(3, result.getCo2Saved());
+        assertEquals(2.8, result.getAvgCostPerSession());
+        verify(chargingSessionRepository, never())
+            .findFinishedSessionsByUserInPeriod(anyLong(), any(), any());
     }
 
     @Test
@@ -97,8 +107,8 @@ class StatisticsServiceTest {
     void shouldReturnEmptyStatisticsWhenNoSessionsFound() {
         // Given
         Long userId = 123L;
-        when(chargingSessionRepository.findFinishedSessionsByUserInPeriod(anyString(), any(), any()))
-            .thenReturn(Arrays.asList());
+        when(userMonthlyStatsRepository.findByUserIdAndMonthKeyBetweenOrderByMonthKey(eq(userId),
+            anyInt(), anyInt())).thenReturn(Arrays.asList());
         
         // When
         StatisticsDTO.CurrentMonthStats result = statisticsService.getCurrentMonthStatistics(userId);
@@ -118,12 +128,12 @@ class StatisticsServiceTest {
         // Given
         Long userId = 123L;
         int months = 3;
-        when(chargingSessionRepository.findFinishedSessionsByUserInPeriod(anyString(), any(), any()))
-            .thenReturn(Arrays.asList(testSession));
-        when(bookingRepository.findBookingsByUserInPeriod(anyString(), any(), any()))
+        when(userMonthlyStatsRepository.findByUserIdAndMonthKeyBetweenOrderByMonthKey(eq(userId),
+            anyInt(), anyInt())).thenReturn(Arrays.asList(currentMonthRollup));
+        when(bookingRepository.findBookingsByUserInPeriod(anyLong(), any(), any()))
             .thenReturn(Arrays.asList(testBooking));
-        when(stationRepository.findById(1L))
-            .thenReturn(Optional.of(testStation));
+        when(stationRepository.findAllById(anyCollection()))
+            .thenReturn(Arrays.asList(testStation));
         
         // When
         List<StatisticsDTO.MonthlyData> result = statisticsService.getMonthlyData(userId, months);
@@ -131,13 +141,47 @@ class StatisticsServiceTest {
         // Then
         assertNotNull(result);
         assertEquals(months, result.size());
+        assertEquals("Test Station", result.get(0).getReservations().get(0).getStationName());
+        verify(stationRepository, never()).findById(any());
         
         StatisticsDTO.MonthlyData firstMonth = result.get(0);
         assertNotNull(firstMonth.getMonth());
         assertNotNull(firstMonth.getFullMonth());
         assertEquals(1, firstMonth.getSessions());
-        assertTrue(firstMonth.getCost() > 0);
+        assertEquals(2.8, firstMonth.getCost());
+        assertEquals(1.0, firstMonth.getDuration());
+        assertEquals(8, firstMonth.getKwh());
         assertEquals(1, firstMonth.getReservations().size());
+        assertEquals(0, result.get(1).getSessions());
+        assertTrue(result.get(1).getReservations().isEmpty());
+        // The whole window is fetched with one bookings query, not one per month
+        verify(bookingRepository, times(1)).findBookingsByUserInPeriod(anyLong(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should compute dashboard from a single rollup read")
+    void shouldComputeDashboardFromSingleRollupRead() {
+        // Given
+        Long userId = 123L;
+        when(userMonthlyStatsRepository.findByUserIdAndMonthKeyBetweenOrderByMonthKey(eq(userId),
+            anyInt(), anyInt())).thenReturn(Arrays.asList(currentMonthRollup));
+        when(bookingRepository.findBookingsByUserInPeriod(anyLong(), any(), any()))
+            .thenReturn(Arrays.asList(testBooking));
+        when(stationRepository.findAllById(anyCollection()))
+            .thenReturn(Arrays.asList(testStation));
+
+        // When
+        StatisticsDTO.Dashboard result = statisticsService.getDashboard(userId, 3, 6);
+
+        // Then
+        assertEquals(1, result.getCurrentMonth().getTotalSessions());
+        assertEquals(3, result.getMonthly().size());
+        assertEquals(1, result.getMonthly().get(0).getReservations().size());
+        assertEquals(6, result.getCostTrend().size());
+        assertEquals(2.8, result.getCostTrend().get(5).getCost());
+        verify(userMonthlyStatsRepository, times(1))
+            .findByUserIdAndMonthKeyBetweenOrderByMonthKey(eq(userId), anyInt(), anyInt());
+        verify(bookingRepository, times(1)).findBookingsByUserInPeriod(anyLong(), any(), any());
     }
 
     @Test
@@ -145,17 +189,22 @@ class StatisticsServiceTest {
     void shouldGetWeeklyDataForCurrentMonthSuccessfully() {
         // Given
         Long userId = 123L;
-        when(chargingSessionRepository.findFinishedSessionsByUserInPeriod(anyString(), any(), any()))
-            .thenReturn(Arrays.asList(testSession));
-        when(stationRepository.findById(1L))
-            .thenReturn(Optional.of(testStation));
+        LocalDate firstDay = YearMonth.now().atDay(1);
+        LocalDate secondDay = firstDay.plusDays(1);
+        DailySessionUsage first = dailyUsage(firstDay, 1, 2.8);
+        DailySessionUsage second = dailyUsage(secondDay, 2, 1.4);
+        when(chargingSessionRepository.aggregateFinishedSessionsByUserPerDay(eq(123L), any(),
+            any())).thenReturn(Arrays.asList(first, second));
         
         // When
         List<StatisticsDTO.WeeklyData> result = statisticsService.getWeeklyDataCurrentMonth(userId);
         
         // Then
         assertNotNull(result);
-        // Results depend on current month's sessions, could be 0 or more
+        assertEquals(3, result.stream().mapToInt(StatisticsDTO.WeeklyData::getSessions).sum());
+        assertEquals(4.2, result.stream().mapToDouble(StatisticsDTO.WeeklyData::getCost).sum(),
+            1e-9);
+        verify(stationRepository, never()).findById(any());
     }
 
     @Test
@@ -164,10 +213,8 @@ class StatisticsServiceTest {
         // Given
         Long userId = 123L;
         int months = 6;
-        when(chargingSessionRepository.findFinishedSessionsByUserInPeriod(anyString(), any(), any()))
-            .thenReturn(Arrays.asList(testSession));
-        when(stationRepository.findById(1L))
-            .thenReturn(Optional.of(testStation));
+        when(userMonthlyStatsRepository.findByUserIdAndMonthKeyBetweenOrderByMonthKey(eq(userId),
+            anyInt(), anyInt())).thenReturn(Arrays.asList(currentMonthRollup));
         
         // When
         List<StatisticsDTO.CostTrendData> result = statisticsService.getCostTrendData(userId, months);
@@ -178,8 +225,13 @@ class StatisticsServiceTest {
         
         StatisticsDTO.CostTrendData firstTrend = result.get(0);
         assertNotNull(firstTrend.getMonth());
-        assertTrue(firstTrend.getCost() >= 0);
-        assertTrue(firstTrend.getSessions() >= 0);
+        assertEquals(0.0, firstTrend.getCost());
+        assertEquals(0, firstTrend.getSessions());
+
+        // Oldest month first, so the current month comes last
+        StatisticsDTO.CostTrendData lastTrend = result.get(months - 1);
+        assertEquals(2.8, lastTrend.getCost());
+        assertEquals(1, lastTrend.getSessions());
     }
 
     @Test
@@ -189,12 +241,15 @@ class StatisticsServiceTest {
         Long userId = 123L;
         String type = "month";
         String value = "2024-01";
-        when(chargingSessionRepository.findFinishedSessionsByUserInPeriod(anyString(), any(), any()))
-            .thenReturn(Arrays.asList(testSession));
-        when(bookingRepository.findBookingsByUserInPeriod(anyString(), any(), any()))
+        UserMonthlyStats januaryRollup = new UserMonthlyStats(userId, 202401);
+        januaryRollup.setSessions(2);
+        januaryRollup.setCost(5.6);
+        when(userMonthlyStatsRepository.findByUserIdAndMonthKeyBetweenOrderByMonthKey(userId,
+            202401, 202401)).thenReturn(Arrays.asList(januaryRollup));
+        when(bookingRepository.findBookingsByUserInPeriod(anyLong(), any(), any()))
             .thenReturn(Arrays.asList(testBooking));
-        when(stationRepository.findById(1L))
-            .thenReturn(Optional.of(testStation));
+        when(stationRepository.findAllById(anyCollection()))
+            .thenReturn(Arrays.asList(testStation));
         
         // When
         StatisticsDTO.PeriodDetails result = statisticsService.getPeriodDetails(userId, type, value);
@@ -202,11 +257,53 @@ class StatisticsServiceTest {
         // Then
         assertNotNull(result);
         assertEquals(1, result.getTotalReservations());
-        assertTrue(result.getTotalCost() > 0);
-        assertTrue(result.getAvgCostPerSession() > 0);
+        assertEquals(5.6, result.getTotalCost());
+        assertEquals(2.8, result.getAvgCostPerSession());
         assertEquals(1, result.getReservations().size());
     }
 
+    @Test
+    @DisplayName("Should get period details for week from raw sessions")
+    void shouldGetPeriodDetailsForWeekFromRawSessions() {
+        // Given
+        Long userId = 123L;
+        DailySessionUsage day = dailyUsage(LocalDate.now(), 1, 2.8);
+        when(chargingSessionRepository.aggregateFinishedSessionsByUserPerDay(eq(123L), any(),
+            any())).thenReturn(Arrays.asList(day));
+        when(bookingRepository.findBookingsByUserInPeriod(anyLong(), any(), any()))
+            .thenReturn(Arrays.asList());
+
+        // When
+        StatisticsDTO.PeriodDetails result = statisticsService.getPeriodDetails(userId, "week", "10");
+
+        // Then
+        assertNotNull(result);
+        assertEquals(0, result.getTotalReservations());
+        assertEquals(2.8, result.getTotalCost());
+        assertEquals(2.8, result.getAvgCostPerSession());
+    }
+
+    @Test
+    @DisplayName("Should use default price for bookings whose station is not found")
+    void shouldUseDefaultPriceWhenStationNotFound() {
+        // Given
+        Long userId = 123L;
+        when(bookingRepository.findBookingsByUserInPeriod(anyLong(), any(), any()))
+            .thenReturn(Arrays.asList(testBooking));
+        when(stationRepository.findAllById(anyCollection())).thenReturn(Arrays.asList());
+        when(userMonthlyStatsRepository.findByUserIdAndMonthKeyBetweenOrderByMonthKey(eq(userId),
+            anyInt(), anyInt())).thenReturn(Arrays.asList());
+
+        // When
+        StatisticsDTO.PeriodDetails result =
+            statisticsService.getPeriodDetails(userId, "month", "2024-01");
+
+        // Then
+        // One hour booking: 8 kWh at the default 0.35 EUR/kWh
+        assertEquals(2.8, result.getReservations().get(0).getEstimatedCost());
+        assertNull(result.getReservations().get(0).getStationName());
+    }
+
     @Test
     @DisplayName("Should throw exception for invalid period type")
     void shouldThrowExceptionForInvalidPeriodType() {
@@ -221,22 +318,12 @@ class StatisticsServiceTest {
         });
     }
 
-    @Test
-    @DisplayName("Should use default price when station not found")
-    void shouldUseDefaultPriceWhenStationNotFound() {
-        // Given
-        Long userId = 123L;
-        when(chargingSessionRepository.findFinishedSessionsByUserInPeriod(anyString(), any(), any()))
-            .thenReturn(Arrays.asList(testSession));
-        when(stationRepository.findById(1L))
-            .thenReturn(Optional.empty());
-        
-        // When
-        StatisticsDTO.CurrentMonthStats result = statisticsService.getCurrentMonthStatistics(userId);
-        
-        // Then
-        assertNotNull(result);
-        assertEquals(1, result.getTotalSessions());
-        assertTrue(result.getTotalCost() > 0); // Should use default price
+    private static DailySessionUsage dailyUsage(LocalDate day, long sessions, double cost) {
+        DailySessionUsage usage = mock(DailySessionUsage.class);
+        lenient().when(usage.getDayKey())
+            .thenReturn(day.getYear() * 10000 + day.getMonthValue() * 100 + day.getDayOfMonth());
+        lenient().when(usage.getSessions()).thenReturn(sessions);
+        lenient().when(usage.getCost()).thenReturn(cost);
+        return usage;
     }
-}
\ No newline at end of file
+}
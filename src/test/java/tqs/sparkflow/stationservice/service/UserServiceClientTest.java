@@ -0,0 +1,199 @@
+package tqs.sparkflow.stationservice.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.RestTemplate;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import tqs.sparkflow.stationservice.config.UserServiceCacheConfig;
+
+@ExtendWith(MockitoExtension.class)
+class UserServiceClientTest {
+
+    private static final String USER_URL = "http://user-service/users/1";
+
+    @Mock
+    private RestTemplate restTemplate;
+
+    private UserServiceCacheConfig config;
+    private SimpleMeterRegistry meterRegistry;
+    private final List<UserServiceClient> clients = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        config = new UserServiceCacheConfig();
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void tearDown() {
+        clients.forEach(UserServiceClient::shutdown);
+    }
+
+    @Test
+    void whenUserIsLookedUpRepeatedly_thenUserServiceIsCalledOnce() {
+        // Given
+        when(restTemplate.getForObject(USER_URL, Object.class)).thenReturn(new Object());
+        UserServiceClient client = client();
+
+        // When
+        boolean first = client.userExists(1L);
+        boolean second = client.userExists(1L);
+
+        // Then
+        assertThat(first).isTrue();
+        assertThat(second).isTrue();
+        verify(restTemplate, times(1)).getForObject(USER_URL, Object.class);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", UserServiceClient.EXISTS_CACHE)
+                .tag("result", "hit").functionCounter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void whenUserIsUnknown_thenNegativeResultIsCached() {
+        // Given
+        when(restTemplate.getForObject(USER_URL, Object.class))
+                .thenThrow(new HttpClientErrorException(HttpStatus.NOT_FOUND));
+        UserServiceClient client = client();
+
+        // When/Then
+        assertThat(client.userExists(1L)).isFalse();
+        assertThat(client.userExists(1L)).isFalse();
+        verify(restTemplate, times(1)).getForObject(USER_URL, Object.class);
+    }
+
+    @Test
+    void whenNegativeTtlElapses_thenUnknownUserIsLookedUpAgain() {
+        // Given
+        config.setNegativeTtl(Duration.ZERO);
+        when(restTemplate.getForObject(USER_URL, Object.class))
+                .thenThrow(new HttpClientErrorException(HttpStatus.NOT_FOUND))
+                .thenReturn(new Object());
+        UserServiceClient client = client();
+
+        // When/Then
+        assertThat(client.userExists(1L)).isFalse();
+        assertThat(client.userExists(1L)).isTrue();
+    }
+
+    @Test
+    void whenUserServiceFails_thenFailureIsNotCached() {
+        // Given
+        when(restTemplate.getForObject(USER_URL, Object.class))
+                .thenThrow(new HttpServerErrorException(HttpStatus.SERVICE_UNAVAILABLE))
+                .thenReturn(new Object());
+        UserServiceClient client = client();
+
+        // When/Then
+        assertThat(client.userExists(1L)).isFalse();
+        assertThat(client.userExists(1L)).isTrue();
+        verify(restTemplate, times(2)).getForObject(USER_URL, Object.class);
+    }
+
+    @Test
+    void whenCheckingAdminRole_thenForbiddenMeansNotAdminAndIsCachedSeparately() {
+        // Given
+        when(restTemplate.getForObject(eq(USER_URL + "/has-role/ADMIN"), eq(Boolean.class)))
+                .thenThrow(new HttpClientErrorException(HttpStatus.FORBIDDEN));
+        when(restTemplate.getForObject(USER_URL, Object.class)).thenReturn(new Object());
+        UserServiceClient client = client();
+
+        // When/Then
+        assertThat(client.isAdmin(1L)).isFalse();
+        assertThat(client.isAdmin(1L)).isFalse();
+        assertThat(client.userExists(1L)).isTrue();
+        verify(restTemplate, times(1)).getForObject(USER_URL + "/has-role/ADMIN", Boolean.class);
+    }
+
+    @Test
+    void whenUserServiceAnswersFalse_thenUserIsNotAdmin() {
+        // Given
+        when(restTemplate.getForObject(USER_URL + "/has-role/ADMIN", Boolean.class))
+                .thenReturn(false);
+        when(restTemplate.getForObject("http://user-service/users/2/has-role/ADMIN",
+                Boolean.class)).thenReturn(true);
+        UserServiceClient client = client();
+
+        // When/Then
+        assertThat(client.isAdmin(1L)).isFalse();
+        assertThat(client.isAdmin(2L)).isTrue();
+    }
+
+    @Test
+    void whenConcurrentMissesForSameUser_thenOneRemoteCallIsShared() throws Exception {
+        // Given
+        CountDownLatch callStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(restTemplate.getForObject(anyString(), eq(Object.class))).thenAnswer(invocation -> {
+            callStarted.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return new Object();
+        });
+        UserServiceClient client = client();
+
+        // When
+        CompletableFuture<Boolean> first =
+                CompletableFuture.supplyAsync(() -> client.userExists(1L));
+        assertThat(callStarted.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<Boolean> second =
+                CompletableFuture.supplyAsync(() -> client.userExists(1L));
+        Thread.sleep(100);
+        release.countDown();
+
+        // Then
+        assertThat(first.get(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(second.get(5, TimeUnit.SECONDS)).isTrue();
+        verify(restTemplate, times(1)).getForObject(anyString(), eq(Object.class));
+    }
+
+    @Test
+    void whenLookingUpAsynchronously_thenCachedAnswerCompletesImmediately() throws Exception {
+        // Given
+        when(restTemplate.getForObject(USER_URL, Object.class)).thenReturn(new Object());
+        UserServiceClient client = client();
+
+        // When
+        boolean first = client.userExistsAsync(1L).get(5, TimeUnit.SECONDS);
+        CompletableFuture<Boolean> second = client.userExistsAsync(1L);
+
+        // Then
+        assertThat(first).isTrue();
+        assertThat(second).isCompletedWithValue(true);
+        verify(restTemplate, times(1)).getForObject(USER_URL, Object.class);
+    }
+
+    @Test
+    void whenUserIdIsNull_thenUserIsRejectedWithoutRemoteCall() {
+        UserServiceClient client = client();
+
+        assertThat(client.userExists(null)).isFalse();
+        assertThat(client.isAdmin(null)).isFalse();
+    }
+
+    private UserServiceClient client() {
+        UserServiceClient client = new UserServiceClient(restTemplate, "http://user-service",
+                "/users/", config, meterRegistry);
+        clients.add(client);
+        return client;
+    }
+}
@@ -3,14 +3,17 @@ package tqs.sparkflow.stationservice.util;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
+import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.MalformedJwtException;
 import io.jsonwebtoken.security.Keys;
 import io.jsonwebtoken.security.SignatureException;
+import io.jsonwebtoken.security.WeakKeyException;
 import java.nio.charset.StandardCharsets;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import javax.crypto.SecretKey;
 import org.junit.jupiter.api.BeforeEach;
@@ -29,15 +32,7 @@ class JwtUtilTest {
     
     @BeforeEach
     void setUp() {
-        jwtUtil = new JwtUtil();
-        // Use reflection to set the secret field
-        try {
-            var field = JwtUtil.class.getDeclaredField("secret");
-            field.setAccessible(true);
-            field.set(jwtUtil, secret);
-        } catch (Exception e) {
-            throw new RuntimeException("Failed to set secret field", e);
-        }
+        jwtUtil = new JwtUtil(secret, 100);
         
         // Create test tokens
         createTestTokens();
@@ -238,5 +233,84 @@ class JwtUtilTest {
         assertThat(username).isEqualTo("testuser");
         assertThat(email).isNull();
         assertThat(isOperator).isNull();
+    }    
+    @Test
+    @DisplayName("Should extract roles from list and comma-separated claims")
+    void shouldExtractRolesFromListAndCommaSeparatedClaims() {
+        String listToken = tokenWithRoles(List.of("admin", "ROLE_USER"));
+        String stringToken = tokenWithRoles("ADMIN, user");
+        
+        assertThat(jwtUtil.extractRoles(listToken)).containsExactly("ADMIN", "USER");
+        assertThat(jwtUtil.extractRoles(stringToken)).containsExactly("ADMIN", "USER");
+    }
+    
+    @Test
+    @DisplayName("Should return null roles when token has no roles claim")
+    void shouldReturnNullRolesWhenTokenHasNoRolesClaim() {
+        assertThat(jwtUtil.extractRoles(validToken)).isNull();
+        assertThat(jwtUtil.extractRoles(tokenWithRoles(List.of()))).isEmpty();
+    }
+    
+    @Test
+    @DisplayName("Should extract the user ID claim from a token whose subject is a username")
+    void shouldExtractUserIdClaimFromTokenWithUsernameSubject() {
+        assertThat(jwtUtil.extractUsername(tokenWithUserId(42))).isEqualTo("testuser");
+        assertThat(jwtUtil.extractUserId(tokenWithUserId(42))).isEqualTo(42L);
+        assertThat(jwtUtil.extractUserId(tokenWithUserId("42"))).isEqualTo(42L);
+        assertThat(jwtUtil.extractUserId(tokenWithUserId("testuser"))).isNull();
+        assertThat(jwtUtil.extractUserId(validToken)).isNull();
+    }
+    
+    @Test
+    @DisplayName("Should reuse verified claims for the same token")
+    void shouldReuseVerifiedClaimsForSameToken() {
+        Claims first = jwtUtil.parseClaims(validToken);
+        Claims second = jwtUtil.parseClaims(validToken);
+        
+        assertThat(second).isSameAs(first);
+        assertThat(jwtUtil.validateToken(validToken, "testuser")).isTrue();
+    }
+    
+    @Test
+    @DisplayName("Should not cache rejected tokens")
+    void shouldNotCacheRejectedTokens() {
+        assertThatThrownBy(() -> jwtUtil.parseClaims(invalidToken))
+            .isInstanceOf(SignatureException.class);
+        assertThatThrownBy(() -> jwtUtil.parseClaims(invalidToken))
+            .isInstanceOf(SignatureException.class);
+        assertThatThrownBy(() -> jwtUtil.parseClaims(null))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+    
+    @Test
+    @DisplayName("Should start with a weak secret but reject every token")
+    void shouldStartWithWeakSecretButRejectEveryToken() {
+        JwtUtil weakJwtUtil = new JwtUtil("short", 100);
+        
+        assertThatThrownBy(() -> weakJwtUtil.parseClaims(validToken))
+            .isInstanceOf(WeakKeyException.class);
+        assertThat(weakJwtUtil.validateToken(validToken, "testuser")).isFalse();
+    }
+    
+    private String tokenWithUserId(Object userId) {
+        SecretKey key = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        return Jwts.builder()
+            .claim("userId", userId)
+            .setSubject("testuser")
+            .setIssuedAt(new Date(System.currentTimeMillis()))
+            .setExpiration(new Date(System.currentTimeMillis() + 1000 * 60 * 60))
+            .signWith(key)
+            .compact();
+    }
+    
+    private String tokenWithRoles(Object roles) {
+        SecretKey key = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        return Jwts.builder()
+            .claim("roles", roles)
+            .setSubject("testuser")
+            .setIssuedAt(new Date(System.currentTimeMillis()))
+            .setExpiration(new Date(System.currentTimeMillis() + 1000 * 60 * 60))
+            .signWith(key)
+            .compact();
     }
-}
\ No newline at end of file
+}